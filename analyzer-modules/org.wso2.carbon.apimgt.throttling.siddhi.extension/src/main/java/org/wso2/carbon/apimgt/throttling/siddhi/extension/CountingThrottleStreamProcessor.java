@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.throttling.siddhi.extension;
+
+import org.apache.log4j.Logger;
+import org.wso2.siddhi.annotation.Example;
+import org.wso2.siddhi.annotation.Extension;
+import org.wso2.siddhi.annotation.Parameter;
+import org.wso2.siddhi.annotation.util.DataType;
+import org.wso2.siddhi.core.config.SiddhiAppContext;
+import org.wso2.siddhi.core.event.ComplexEvent;
+import org.wso2.siddhi.core.event.ComplexEventChunk;
+import org.wso2.siddhi.core.event.stream.StreamEvent;
+import org.wso2.siddhi.core.event.stream.StreamEventCloner;
+import org.wso2.siddhi.core.event.stream.populater.ComplexEventPopulater;
+import org.wso2.siddhi.core.executor.ConstantExpressionExecutor;
+import org.wso2.siddhi.core.executor.ExpressionExecutor;
+import org.wso2.siddhi.core.query.processor.Processor;
+import org.wso2.siddhi.core.query.processor.SchedulingProcessor;
+import org.wso2.siddhi.core.query.processor.stream.StreamProcessor;
+import org.wso2.siddhi.core.util.Scheduler;
+import org.wso2.siddhi.core.util.config.ConfigReader;
+import org.wso2.siddhi.query.api.definition.AbstractDefinition;
+import org.wso2.siddhi.query.api.definition.Attribute;
+import org.wso2.siddhi.query.api.exception.SiddhiAppValidationException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Counting variant of the throttle batch window.
+ * <p>
+ * Instead of holding a copy of every event of the window to replay it as an expired event, this window keeps only a
+ * counter per throttle key and adds the count of the key in the current window to each event as
+ * {@code eventCount}. When the window closes, one expired event is emitted per key, with an {@code eventCount} of 0,
+ * so the memory held by the window depends on the number of keys and not on the number of events. Events are counted
+ * under the shared read lock of their window, so events of different keys do not wait on each other, and a window is
+ * closed under its write lock before its expired events are created, so no event is counted in a closed window.
+ * <p>
+ * As the count is computed by the window, queries use {@code eventCount} instead of a {@code count()} aggregation
+ * grouped by the throttle key.
+ */
+@Extension(name = "countingTimeBatch", namespace = "throttler", description =
+        "A batch (tumbling) time window that counts the events of each key that arrive during window.time periods, "
+                + "and gets reset for each window.time.", parameters = {
+        @Parameter(name = "window.time", description = "The batch time period for which the window should count "
+                + "events.", type = {DataType.INT, DataType.LONG, DataType.TIME }),
+        @Parameter(name = "key", description = "The key by which the events are counted.", type = {
+                DataType.STRING }),
+        @Parameter(name = "start.time", description = "This specifies an offset in milliseconds in order to start the "
+                + "window at a time different to the standard time.", type = { DataType.INT }) }, examples = {
+        @Example(syntax = "from EligibilityStream#throttler:countingTimeBatch(1 min, throttleKey, 0)\n"
+                + "select throttleKey, (eventCount >= 10) as isThrottled, expiryTimeStamp\n"
+                + "insert all events into ResultStream;", description =
+                "This will count the events of each throttle key arrived every minute and throttle a key once it has "
+                        + "10 events in the minute.") })
+public class CountingThrottleStreamProcessor extends StreamProcessor implements SchedulingProcessor {
+
+    private static final Logger log = Logger.getLogger(CountingThrottleStreamProcessor.class);
+    private static final String EXPIRY_TIME_STAMP = "expiryTimeStamp";
+    private static final String EVENT_COUNT = "eventCount";
+    private static final Object NULL_KEY = new Object();
+
+    private final AtomicReference<CounterWindow> window = new AtomicReference<CounterWindow>();
+    private long timeInMilliSeconds;
+    private long startTime = -1;
+    private ExpressionExecutor keyExpressionExecutor;
+    private Scheduler scheduler;
+    private SiddhiAppContext siddhiAppContext;
+
+    @Override
+    public synchronized void setScheduler(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public synchronized Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    @Override
+    protected List<Attribute> init(AbstractDefinition abstractDefinition, ExpressionExecutor[] expressionExecutors,
+            ConfigReader configReader, SiddhiAppContext siddhiAppContext) {
+        this.siddhiAppContext = siddhiAppContext;
+
+        if (attributeExpressionExecutors.length != 2 && attributeExpressionExecutors.length != 3) {
+            throw new SiddhiAppValidationException("Throttle counting batch window should only have two/three "
+                    + "parameters (<int|long|time> windowTime, key (and <int|long> startTime), but found "
+                    + attributeExpressionExecutors.length + " input attributes");
+        }
+        if (!(attributeExpressionExecutors[0] instanceof ConstantExpressionExecutor)) {
+            throw new SiddhiAppValidationException("Throttle counting batch window 1st parameter needs to be "
+                    + "constant attribute but found a dynamic attribute " + attributeExpressionExecutors[0]
+                    .getClass().getCanonicalName());
+        }
+        if (attributeExpressionExecutors[0].getReturnType() == Attribute.Type.INT) {
+            timeInMilliSeconds = (Integer) ((ConstantExpressionExecutor) attributeExpressionExecutors[0]).getValue();
+        } else if (attributeExpressionExecutors[0].getReturnType() == Attribute.Type.LONG) {
+            timeInMilliSeconds = (Long) ((ConstantExpressionExecutor) attributeExpressionExecutors[0]).getValue();
+        } else {
+            throw new SiddhiAppValidationException("Throttle counting batch window's 1st parameter attribute should "
+                    + "be either int or long, but found " + attributeExpressionExecutors[0].getReturnType());
+        }
+        keyExpressionExecutor = attributeExpressionExecutors[1];
+
+        if (attributeExpressionExecutors.length == 3) {
+            if (attributeExpressionExecutors[2].getReturnType() == Attribute.Type.INT) {
+                startTime = Integer.parseInt(
+                        String.valueOf(((ConstantExpressionExecutor) attributeExpressionExecutors[2]).getValue()));
+            } else if (attributeExpressionExecutors[2].getReturnType() == Attribute.Type.LONG) {
+                startTime = Long.parseLong(
+                        String.valueOf(((ConstantExpressionExecutor) attributeExpressionExecutors[2]).getValue()));
+            } else {
+                throw new SiddhiAppValidationException("Throttle counting batch window 3rd parameter needs to be a "
+                        + "Long or Int type but found a " + attributeExpressionExecutors[2].getReturnType());
+            }
+        }
+
+        List<Attribute> attributeList = new ArrayList<Attribute>();
+        attributeList.add(new Attribute(EXPIRY_TIME_STAMP, Attribute.Type.LONG));
+        attributeList.add(new Attribute(EVENT_COUNT, Attribute.Type.LONG));
+        return attributeList;
+    }
+
+    @Override
+    protected void process(ComplexEventChunk<StreamEvent> streamEventChunk, Processor nextProcessor,
+            StreamEventCloner streamEventCloner, ComplexEventPopulater complexEventPopulater) {
+        long currentTime = siddhiAppContext.getTimestampGenerator().currentTime();
+        CounterWindow current = window.get();
+        if (current == null) {
+            long expiryTime = startTime != -1 ? addTimeShift(currentTime) : currentTime + timeInMilliSeconds;
+            if (window.compareAndSet(null, new CounterWindow(expiryTime))) {
+                notifyScheduler(expiryTime);
+            }
+            current = window.get();
+        }
+
+        // only the thread that replaces the window emits its expired events
+        StreamEvent expiredEvents = null;
+        while (currentTime >= current.expiryTime) {
+            long windowsPassed = (currentTime - current.expiryTime) / timeInMilliSeconds + 1;
+            CounterWindow next = new CounterWindow(current.expiryTime + windowsPassed * timeInMilliSeconds);
+            if (window.compareAndSet(current, next)) {
+                notifyScheduler(next.expiryTime);
+                // waits for the events being counted in the window, later events are counted in the next window
+                current.close();
+                expiredEvents = createExpiredEvents(current, complexEventPopulater);
+            }
+            current = window.get();
+        }
+
+        while (streamEventChunk.hasNext()) {
+            StreamEvent streamEvent = streamEventChunk.next();
+            if (expiredEvents != null) {
+                streamEventChunk.insertBeforeCurrent(expiredEvents);
+                expiredEvents = null;
+            }
+            if (streamEvent.getType() != ComplexEvent.Type.CURRENT) {
+                continue;
+            }
+            Object key = keyExpressionExecutor.execute(streamEvent);
+            while (!current.count(key == null ? NULL_KEY : key, streamEvent, streamEventCloner,
+                    complexEventPopulater)) {
+                // the window was closed by another thread, hence the event belongs to the next window
+                current = window.get();
+            }
+        }
+        if (expiredEvents != null) {
+            streamEventChunk.add(expiredEvents);
+        }
+        if (streamEventChunk.getFirst() != null) {
+            streamEventChunk.setBatch(true);
+            nextProcessor.process(streamEventChunk);
+            streamEventChunk.setBatch(false);
+        }
+    }
+
+    @Override
+    public void start() {
+        //Do nothing
+    }
+
+    @Override
+    public void stop() {
+        //Do nothing
+    }
+
+    @Override
+    public Map<String, Object> currentState() {
+        Map<String, Object> map = new HashMap<String, Object>();
+        CounterWindow current = window.get();
+        if (current != null) {
+            Map<Object, Long> counts = new HashMap<Object, Long>();
+            for (Map.Entry<Object, KeyCounter> entry : current.counters.entrySet()) {
+                counts.put(entry.getKey(), entry.getValue().count.get());
+            }
+            map.put(EXPIRY_TIME_STAMP, current.expiryTime);
+            map.put(EVENT_COUNT, counts);
+        }
+        return map;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void restoreState(Map<String, Object> map) {
+        Long expiryTime = (Long) map.get(EXPIRY_TIME_STAMP);
+        Map<Object, Long> counts = (Map<Object, Long>) map.get(EVENT_COUNT);
+        if (expiryTime == null || counts == null) {
+            return;
+        }
+        // restored keys have no event to expire with, they start from a count of 1 in the next window
+        CounterWindow restored = new CounterWindow(expiryTime);
+        for (Map.Entry<Object, Long> entry : counts.entrySet()) {
+            restored.getCounter(entry.getKey()).count.set(entry.getValue());
+        }
+        CounterWindow previous = window.getAndSet(restored);
+        if (previous != null) {
+            previous.close();
+        }
+        notifyScheduler(expiryTime);
+    }
+
+    private StreamEvent createExpiredEvents(CounterWindow expiredWindow, ComplexEventPopulater complexEventPopulater) {
+        ComplexEventChunk<StreamEvent> expiredEventChunk = new ComplexEventChunk<StreamEvent>(true);
+        for (KeyCounter counter : expiredWindow.counters.values()) {
+            StreamEvent expiredEvent = counter.expiredEvent;
+            if (expiredEvent == null) {
+                continue;
+            }
+            expiredEvent.setType(StreamEvent.Type.EXPIRED);
+            expiredEvent.setTimestamp(expiredWindow.expiryTime);
+            complexEventPopulater.populateComplexEvent(expiredEvent, new Object[] { expiredWindow.expiryTime, 0L });
+            expiredEventChunk.add(expiredEvent);
+        }
+        return expiredEventChunk.getFirst();
+    }
+
+    private void notifyScheduler(long time) {
+        Scheduler currentScheduler = getScheduler();
+        if (currentScheduler != null) {
+            currentScheduler.notifyAt(time);
+        } else {
+            log.error("scheduler is not initiated");
+        }
+    }
+
+    private long addTimeShift(long currentTime) {
+        long timePassedUntilNow = (currentTime - startTime) % timeInMilliSeconds;
+        return currentTime + (timeInMilliSeconds - timePassedUntilNow);
+    }
+
+    /**
+     * Counters of the keys of one window.
+     */
+    private static class CounterWindow {
+        private final long expiryTime;
+        private final ConcurrentHashMap<Object, KeyCounter> counters = new ConcurrentHashMap<Object, KeyCounter>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private boolean closed;
+
+        private CounterWindow(long expiryTime) {
+            this.expiryTime = expiryTime;
+        }
+
+        /**
+         * Counts an event of a key and adds the count of the key and the expiry time of the window to the event.
+         *
+         * @return false if the window has been closed, in which case the event is not counted
+         */
+        private boolean count(Object key, StreamEvent streamEvent, StreamEventCloner streamEventCloner,
+                ComplexEventPopulater complexEventPopulater) {
+            lock.readLock().lock();
+            try {
+                if (closed) {
+                    return false;
+                }
+                KeyCounter counter = getCounter(key);
+                long count = counter.count.incrementAndGet();
+                complexEventPopulater.populateComplexEvent(streamEvent, new Object[] { expiryTime, count });
+                if (count == 1) {
+                    // the first event of a key in the window is kept to emit the expired event of the key
+                    counter.expiredEvent = streamEventCloner.copyStreamEvent(streamEvent);
+                }
+                return true;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Stops counting events in the window, once the events being counted are done.
+         */
+        private void close() {
+            lock.writeLock().lock();
+            try {
+                closed = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private KeyCounter getCounter(Object key) {
+            KeyCounter counter = counters.get(key);
+            if (counter == null) {
+                KeyCounter newCounter = new KeyCounter();
+                counter = counters.putIfAbsent(key, newCounter);
+                if (counter == null) {
+                    counter = newCounter;
+                }
+            }
+            return counter;
+        }
+    }
+
+    /**
+     * Event count of a key, along with the event to be emitted when the window of the key expires.
+     */
+    private static class KeyCounter {
+        private final AtomicLong count = new AtomicLong();
+        private volatile StreamEvent expiredEvent;
+    }
+}
@@ -39,8 +39,11 @@ import org.wso2.siddhi.query.api.exception.SiddhiAppValidationException;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This is a custom extension, written for a certain throttler.
@@ -51,15 +54,20 @@ import java.util.Map;
  *
  * If this request is the first request from a certain key, then that requested will be emitted out.
  *
+ * Only the keys whose last request was not throttled are remembered, and a key is forgotten once its throttle window
+ * has expired, or an hour after its last request when the expiry time is not given. A forgotten key is treated as a
+ * new key, so at most an extra not throttled event is emitted for it.
+ *
  * This is useful when the throttler needs to alert only when the throttling decision is changed, in contrast to
  * alerting about every decision taken.
  *
  * Usage:
- * throttler:emitOnStateChange(key, isThrottled)
+ * throttler:emitOnStateChange(key, isThrottled[, expiryTimeStamp])
  *
  * Parameters:
  * key: The key coming in the request, based on which throttling decision was made.
  * isThrottled: The throttling decision made.
+ * expiryTimeStamp: The time at which the throttle window of the decision expires.
  *
  * Example on usage:
  * from DecisionStream#throttler:emitOnStateChange(key, isThrottled)
@@ -72,7 +80,10 @@ import java.util.Map;
         @Parameter(name = "throttle.key", description = "The priority/type of this log message.", type = {
                 DataType.STRING }),
         @Parameter(name = "is.throttled", description = "This submit the log message.", type = {
-                DataType.STRING }) }, examples = {
+                DataType.STRING }),
+        @Parameter(name = "expiry.time.stamp", description = "The time at which the throttle window of the "
+                + "decision expires, after which the state of the key is no longer kept.", type = {
+                DataType.LONG }) }, examples = {
         @Example(syntax = "from fooStream#log(\"INFO\", \"Sample Event :\", true)\nselect *\ninsert into barStream;",
                 description = "This will log as INFO with the message \"Sample Event :\" + fooStream:events."),
         @Example(syntax = "from fooStream#log(\"Sample Event :\", true)\nselect *\ninsert into barStream;",
@@ -84,10 +95,27 @@ import java.util.Map;
         @Example(syntax = "from fooStream#log(\"Sample Event :\")\nselect *\ninsert into barStream;",
                 description = "This will log message and fooStream:events.") })
 public class EmitOnStateChange extends StreamProcessor {
+    private static final Logger log = Logger.getLogger(EmitOnStateChange.class);
+    /**
+     * Time a key is remembered after its last request, when the expiry time of the throttle window is not given.
+     */
+    private static final long DEFAULT_STATE_TIMEOUT = 60 * 60 * 1000L;
+    private static final long SWEEP_INTERVAL = 60 * 1000L;
+    private static final String THROTTLE_STATE = "throttleState";
+
     private VariableExpressionExecutor keyExpressionExecutor;
     private VariableExpressionExecutor isThrottledExpressionExecutor;
-    private Map<String, Object> throttleStateMap = new HashMap<String, Object>();
-    private static final Logger log = Logger.getLogger(ThrottleStreamProcessor.class);
+    private ExpressionExecutor expiryTimeExpressionExecutor;
+    private SiddhiAppContext siddhiAppContext;
+    /**
+     * Keys whose last request was not throttled, with the time until which the state is kept. A throttled key is
+     * always emitted, so it is not kept, and a key that is not in the map is treated as not seen before.
+     */
+    private final ConcurrentHashMap<String, KeyState> unthrottledKeys = new ConcurrentHashMap<String, KeyState>();
+    private final AtomicLong nextSweepTime = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private long lastSweepTime;
+    private long lastEvictedCount;
 
     @Override
     public void start() {
@@ -101,37 +129,125 @@ public class EmitOnStateChange extends StreamProcessor {
 
     @Override
     public Map<String, Object> currentState() {
-        return throttleStateMap;
+        Map<String, Long> state = new HashMap<String, Long>();
+        for (Map.Entry<String, KeyState> entry : unthrottledKeys.entrySet()) {
+            state.put(entry.getKey(), entry.getValue().expiryTime);
+        }
+        Map<String, Object> map = new HashMap<String, Object>();
+        map.put(THROTTLE_STATE, state);
+        return map;
     }
 
     @Override
     public void restoreState(Map<String, Object> map) {
-        throttleStateMap = map;
+        unthrottledKeys.clear();
+        Object state = map.get(THROTTLE_STATE);
+        if (state instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) state).entrySet()) {
+                unthrottledKeys.put((String) entry.getKey(), new KeyState((Long) entry.getValue()));
+            }
+        } else {
+            // state saved before the keys expired, which maps every key to its last throttle decision
+            long expiryTime = siddhiAppContext.getTimestampGenerator().currentTime() + DEFAULT_STATE_TIMEOUT;
+            for (Map.Entry<String, Object> entry : map.entrySet()) {
+                if (Boolean.FALSE.equals(entry.getValue())) {
+                    unthrottledKeys.put(entry.getKey(), new KeyState(expiryTime));
+                }
+            }
+        }
     }
 
     @Override
     protected void process(ComplexEventChunk<StreamEvent> streamEventChunk, Processor processor,
             StreamEventCloner streamEventCloner, ComplexEventPopulater complexEventPopulater) {
+        long currentTime = siddhiAppContext.getTimestampGenerator().currentTime();
         while (streamEventChunk.hasNext()) {
             StreamEvent event = streamEventChunk.next();
             Boolean currentThrottleState = (Boolean) isThrottledExpressionExecutor.execute(event);
             String key = (String) keyExpressionExecutor.execute(event);
-            Boolean lastThrottleState = (Boolean) throttleStateMap.get(key);
-            if (currentThrottleState.equals(lastThrottleState) && !currentThrottleState) {
+            if (key == null) {
+                // the state of a null key cannot be kept, so its decisions are always emitted
+                continue;
+            }
+            if (currentThrottleState) {
+                unthrottledKeys.remove(key);
+                continue;
+            }
+            long expiryTime = getExpiryTime(event, currentTime);
+            KeyState lastState = unthrottledKeys.get(key);
+            if (lastState != null && lastState.expiryTime > currentTime) {
+                lastState.expiryTime = Math.max(lastState.expiryTime, expiryTime);
                 streamEventChunk.remove();
             } else {
-                throttleStateMap.put(key, currentThrottleState);
+                unthrottledKeys.put(key, new KeyState(expiryTime));
             }
         }
+        sweep(currentTime);
         nextProcessor.process(streamEventChunk);
     }
 
+    /**
+     * Get the time until which the state of the key of the event is kept.
+     */
+    private long getExpiryTime(StreamEvent event, long currentTime) {
+        if (expiryTimeExpressionExecutor != null) {
+            Object expiryTime = expiryTimeExpressionExecutor.execute(event);
+            if (expiryTime != null) {
+                return (Long) expiryTime;
+            }
+        }
+        return currentTime + DEFAULT_STATE_TIMEOUT;
+    }
+
+    /**
+     * Remove the keys whose state has expired. The keys are swept at most once every sweep interval, by the thread
+     * that first finds the interval has passed.
+     */
+    private void sweep(long currentTime) {
+        long sweepTime = nextSweepTime.get();
+        if (currentTime < sweepTime || !nextSweepTime.compareAndSet(sweepTime, currentTime + SWEEP_INTERVAL)) {
+            return;
+        }
+        Iterator<KeyState> iterator = unthrottledKeys.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().expiryTime <= currentTime) {
+                iterator.remove();
+                evictedCount.incrementAndGet();
+            }
+        }
+        if (log.isDebugEnabled()) {
+            long evicted = evictedCount.get();
+            if (lastSweepTime > 0 && currentTime > lastSweepTime) {
+                log.debug("Throttle state size : " + unthrottledKeys.size() + ", evictions per second : "
+                        + (evicted - lastEvictedCount) * 1000 / (currentTime - lastSweepTime));
+            }
+            lastSweepTime = currentTime;
+            lastEvictedCount = evicted;
+        }
+    }
+
+    /**
+     * @return number of keys whose state is currently kept
+     */
+    public int getStateSize() {
+        return unthrottledKeys.size();
+    }
+
+    /**
+     * @return number of keys removed since the processor was created, as their state had expired
+     */
+    public long getEvictedCount() {
+        return evictedCount.get();
+    }
+
     @Override
     protected List<Attribute> init(AbstractDefinition abstractDefinition, ExpressionExecutor[] expressionExecutors,
             ConfigReader configReader, SiddhiAppContext siddhiAppContext) {
-        if (attributeExpressionExecutors.length != 2) {
+        this.siddhiAppContext = siddhiAppContext;
+        if (attributeExpressionExecutors.length != 2 && attributeExpressionExecutors.length != 3) {
             throw new SiddhiAppValidationException("Invalid no of arguments passed to throttler:emitOnStateChange"
-                    + "(key,isThrottled), required 2, but found " + attributeExpressionExecutors.length);
+                    + "(key,isThrottled[,expiryTimeStamp]), required 2 or 3, but found "
+                    + attributeExpressionExecutors.length);
         }
         if (attributeExpressionExecutors[0].getReturnType() != Attribute.Type.STRING) {
             throw new SiddhiAppValidationException("Invalid parameter type found for the argument of "
@@ -143,8 +259,28 @@ public class EmitOnStateChange extends StreamProcessor {
                     + "throttler:emitOnStateChange(key,isThrottled), " + "required " + Attribute.Type.BOOL
                     + ", but found " + attributeExpressionExecutors[1].getReturnType());
         }
+        if (attributeExpressionExecutors.length == 3) {
+            if (attributeExpressionExecutors[2].getReturnType() != Attribute.Type.LONG) {
+                throw new SiddhiAppValidationException("Invalid parameter type found for the argument of "
+                        + "throttler:emitOnStateChange(key,isThrottled,expiryTimeStamp), " + "required "
+                        + Attribute.Type.LONG + ", but found " + attributeExpressionExecutors[2].getReturnType());
+            }
+            expiryTimeExpressionExecutor = attributeExpressionExecutors[2];
+        }
         keyExpressionExecutor = (VariableExpressionExecutor) attributeExpressionExecutors[0];
         isThrottledExpressionExecutor = (VariableExpressionExecutor) attributeExpressionExecutors[1];
         return new ArrayList<Attribute>();
     }
+
+    /**
+     * Time until which a key is remembered as not throttled. It is updated in place, so repeated requests of a key
+     * do not allocate.
+     */
+    private static final class KeyState {
+        private volatile long expiryTime;
+
+        private KeyState(long expiryTime) {
+            this.expiryTime = expiryTime;
+        }
+    }
 }
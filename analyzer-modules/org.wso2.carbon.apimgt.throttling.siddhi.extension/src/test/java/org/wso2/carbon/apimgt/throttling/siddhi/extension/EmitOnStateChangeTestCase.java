@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.throttling.siddhi.extension;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.siddhi.core.SiddhiAppRuntime;
+import org.wso2.siddhi.core.SiddhiManager;
+import org.wso2.siddhi.core.event.Event;
+import org.wso2.siddhi.core.query.output.callback.QueryCallback;
+import org.wso2.siddhi.core.stream.input.InputHandler;
+import org.wso2.siddhi.core.util.EventPrinter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class EmitOnStateChangeTestCase {
+    private List<Event> inEvents;
+
+    @Before
+    public void init() {
+        inEvents = new ArrayList<Event>();
+    }
+
+    @Test
+    public void emitOnStateChangeTest() throws InterruptedException {
+        SiddhiAppRuntime executionPlanRuntime = createRuntime("throttler:emitOnStateChange(throttleKey, isThrottled)");
+        InputHandler inputHandler = executionPlanRuntime.getInputHandler("ResultStream");
+        executionPlanRuntime.start();
+        inputHandler.send(new Object[] { "key1", false, 0L });
+        inputHandler.send(new Object[] { "key1", false, 0L });
+        inputHandler.send(new Object[] { "key2", false, 0L });
+        inputHandler.send(new Object[] { "key1", true, 0L });
+        inputHandler.send(new Object[] { "key1", true, 0L });
+        inputHandler.send(new Object[] { "key1", false, 0L });
+        inputHandler.send(new Object[] { "key1", false, 0L });
+        Thread.sleep(500);
+
+        Assert.assertEquals(5, inEvents.size());
+        Assert.assertEquals("key1", inEvents.get(0).getData()[0]);
+        Assert.assertEquals("key2", inEvents.get(1).getData()[0]);
+        // throttled decisions are always emitted
+        Assert.assertEquals(true, inEvents.get(2).getData()[1]);
+        Assert.assertEquals(true, inEvents.get(3).getData()[1]);
+        Assert.assertEquals(false, inEvents.get(4).getData()[1]);
+        executionPlanRuntime.shutdown();
+    }
+
+    @Test
+    public void emitOnStateChangeWithExpiryTest() throws InterruptedException {
+        SiddhiAppRuntime executionPlanRuntime = createRuntime(
+                "throttler:emitOnStateChange(throttleKey, isThrottled, expiryTimeStamp)");
+        InputHandler inputHandler = executionPlanRuntime.getInputHandler("ResultStream");
+        executionPlanRuntime.start();
+        long currentTime = System.currentTimeMillis();
+        inputHandler.send(new Object[] { "key1", false, currentTime + 60000 });
+        inputHandler.send(new Object[] { "key1", false, currentTime + 60000 });
+        // the window of the state of key2 has already expired, so it is emitted as a new key every time
+        inputHandler.send(new Object[] { "key2", false, currentTime - 1 });
+        inputHandler.send(new Object[] { "key2", false, currentTime - 1 });
+        Thread.sleep(500);
+
+        Assert.assertEquals(3, inEvents.size());
+        Assert.assertEquals("key1", inEvents.get(0).getData()[0]);
+        Assert.assertEquals("key2", inEvents.get(1).getData()[0]);
+        Assert.assertEquals("key2", inEvents.get(2).getData()[0]);
+        executionPlanRuntime.shutdown();
+    }
+
+    private SiddhiAppRuntime createRuntime(String processor) {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String resultStream = "define stream ResultStream (throttleKey string, isThrottled bool, "
+                + "expiryTimeStamp long);";
+        String query = "@info(name = 'query1') "
+                + "from ResultStream#" + processor + " "
+                + "select * "
+                + "insert into GlobalThrottleStream ;";
+        SiddhiAppRuntime executionPlanRuntime = siddhiManager.createSiddhiAppRuntime(resultStream + query);
+        executionPlanRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] currentEvents, Event[] expiredEvents) {
+                EventPrinter.print(timeStamp, currentEvents, expiredEvents);
+                if (currentEvents != null) {
+                    inEvents.addAll(Arrays.asList(currentEvents));
+                }
+            }
+        });
+        return executionPlanRuntime;
+    }
+}
@@ -25,6 +25,7 @@ import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.Application;
 import org.wso2.carbon.apimgt.core.models.BlockConditions;
 import org.wso2.carbon.apimgt.core.models.Endpoint;
+import org.wso2.carbon.apimgt.core.models.GatewayChange;
 import org.wso2.carbon.apimgt.core.models.Label;
 import org.wso2.carbon.apimgt.core.models.PolicyValidationData;
 import org.wso2.carbon.apimgt.core.models.RegistrationSummary;
@@ -75,6 +76,18 @@ public interface APIMgtAdminService {
      */
     List<SubscriptionValidationData> getAPISubscriptions(int limit) throws APIManagementException;
 
+    /**
+     * Return a page of API subscriptions, ordered by subscription UUID and key type
+     *
+     * @param subscriptionId UUID of the subscription the page starts after, null to start from the first subscription
+     * @param keyEnvType     Key type of the subscription entry the page starts after
+     * @param limit          Maximum number of subscription entries of the page
+     * @return subscriptions of the page
+     * @throws APIManagementException If failed to get list of subscriptions.
+     */
+    List<SubscriptionValidationData> getAPISubscriptionsAfter(String subscriptionId, String keyEnvType, int limit)
+            throws APIManagementException;
+
     /**
      * Return all API subscriptions of a given API
      *
@@ -388,6 +401,25 @@ public interface APIMgtAdminService {
      */
     Set<PolicyValidationData> getAllPolicies() throws APIManagementException;
 
+    /**
+     * Return the subscription, application, policy and block condition changes published to gateways after a
+     * revision, in revision order
+     *
+     * @param revision revision after which the changes are returned
+     * @param limit    maximum number of changes to return, a negative value to return all
+     * @return changes after the revision
+     * @throws APIManagementException If failed to get the changes
+     */
+    List<GatewayChange> getGatewayChanges(long revision, int limit) throws APIManagementException;
+
+    /**
+     * Return the revision of the latest change published to gateways
+     *
+     * @return revision of the latest change or 0 if there are no changes
+     * @throws APIManagementException If failed to get the revision
+     */
+    long getLatestGatewayChangeRevision() throws APIManagementException;
+
     /**
      * Policy Level enum
      */
@@ -557,6 +557,17 @@ public interface APIStore extends APIManager {
     WSDLArchiveInfo getAPIWSDLArchive(String apiId, String labelName)
             throws APIMgtDAOException, APIMgtWSDLException, APINotFoundException, LabelException;
 
+    /**
+     * Returns the ETag of the WSDL or WSDL archive of a given API UUID and gateway label name, if the processed WSDL
+     * of the current version of the API is cached
+     *
+     * @param apiId API Id
+     * @param labelName gateway label name
+     * @return ETag of the content of the WSDL or WSDL archive, or {@code null} if it has not been processed yet
+     * @throws APIMgtDAOException if error occurs while accessing the last updated time of the WSDL
+     */
+    String getAPIWSDLFingerprint(String apiId, String labelName) throws APIMgtDAOException;
+
     /**
      * Store user self signup
      *
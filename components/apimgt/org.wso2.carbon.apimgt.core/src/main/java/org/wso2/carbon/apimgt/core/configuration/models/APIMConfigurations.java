@@ -61,6 +61,21 @@ public class APIMConfigurations {
     @Element(description = "Broker Configurations")
     private BrokerConfigurations brokerConfigurations = new BrokerConfigurations();
 
+    @Element(description = "API Cache Configurations")
+    private APICacheConfigurations apiCacheConfigurations = new APICacheConfigurations();
+
+    @Element(description = "WSDL Cache Configurations")
+    private WSDLCacheConfigurations wsdlCacheConfigurations = new WSDLCacheConfigurations();
+
+    @Element(description = "REST Client Configurations")
+    private RestClientConfigurations restClientConfigurations = new RestClientConfigurations();
+
+    @Element(description = "Event Dispatch Configurations")
+    private EventDispatchConfigurations eventDispatchConfigurations = new EventDispatchConfigurations();
+
+    @Element(description = "Template Configurations")
+    private TemplateConfigurations templateConfigurations = new TemplateConfigurations();
+
     @Element(description = "Notification Configurations")
     private NotificationConfigurations notificationConfigurations = new NotificationConfigurations();
 
@@ -168,6 +183,46 @@ public class APIMConfigurations {
         this.gatewayPackageNamePath = gatewayPackageNamePath;
     }
 
+    public APICacheConfigurations getApiCacheConfigurations() {
+        return apiCacheConfigurations;
+    }
+
+    public void setApiCacheConfigurations(APICacheConfigurations apiCacheConfigurations) {
+        this.apiCacheConfigurations = apiCacheConfigurations;
+    }
+
+    public WSDLCacheConfigurations getWsdlCacheConfigurations() {
+        return wsdlCacheConfigurations;
+    }
+
+    public void setWsdlCacheConfigurations(WSDLCacheConfigurations wsdlCacheConfigurations) {
+        this.wsdlCacheConfigurations = wsdlCacheConfigurations;
+    }
+
+    public RestClientConfigurations getRestClientConfigurations() {
+        return restClientConfigurations;
+    }
+
+    public void setRestClientConfigurations(RestClientConfigurations restClientConfigurations) {
+        this.restClientConfigurations = restClientConfigurations;
+    }
+
+    public EventDispatchConfigurations getEventDispatchConfigurations() {
+        return eventDispatchConfigurations;
+    }
+
+    public void setEventDispatchConfigurations(EventDispatchConfigurations eventDispatchConfigurations) {
+        this.eventDispatchConfigurations = eventDispatchConfigurations;
+    }
+
+    public TemplateConfigurations getTemplateConfigurations() {
+        return templateConfigurations;
+    }
+
+    public void setTemplateConfigurations(TemplateConfigurations templateConfigurations) {
+        this.templateConfigurations = templateConfigurations;
+    }
+
     public NotificationConfigurations getNotificationConfigurations() {
         return notificationConfigurations;
     }
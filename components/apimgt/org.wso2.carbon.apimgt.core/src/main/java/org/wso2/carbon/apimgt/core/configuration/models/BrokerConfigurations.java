@@ -37,6 +37,18 @@ public class BrokerConfigurations {
     private String throttleTopic = "ThrottleTopic";
     @Element(description = "Threat Protection Topic")
     private String threatProtectionTopic = "ThreatProtectionTopic";
+    @Element(description = "API cache invalidation topic name")
+    private String apiCacheInvalidationTopic = "APICacheInvalidationTopic";
+    @Element(description = "Maximum number of publisher sessions kept open for a single topic")
+    private int maxPublisherSessionsPerTopic = 10;
+    @Element(description = "Maximum time in milliseconds to wait for a free publisher session")
+    private long publisherSessionWaitTime = 5000L;
+    @Element(description = "Publish gateway events to a topic in batches")
+    private boolean eventBatchingEnabled = false;
+    @Element(description = "Maximum number of gateway events published in a single batch")
+    private int eventBatchSize = 100;
+    @Element(description = "Maximum time in milliseconds a gateway event waits for its batch to fill up")
+    private long eventBatchLingerTime = 200L;
 
     public JMSConnectionConfiguration getJmsConnectionConfiguration() {
         return jmsConnectionConfiguration;
@@ -77,4 +89,52 @@ public class BrokerConfigurations {
     public void setThreatProtectionTopic(String threatProtectionTopic) {
         this.threatProtectionTopic = threatProtectionTopic;
     }
+
+    public String getApiCacheInvalidationTopic() {
+        return apiCacheInvalidationTopic;
+    }
+
+    public void setApiCacheInvalidationTopic(String apiCacheInvalidationTopic) {
+        this.apiCacheInvalidationTopic = apiCacheInvalidationTopic;
+    }
+
+    public int getMaxPublisherSessionsPerTopic() {
+        return maxPublisherSessionsPerTopic;
+    }
+
+    public void setMaxPublisherSessionsPerTopic(int maxPublisherSessionsPerTopic) {
+        this.maxPublisherSessionsPerTopic = maxPublisherSessionsPerTopic;
+    }
+
+    public long getPublisherSessionWaitTime() {
+        return publisherSessionWaitTime;
+    }
+
+    public void setPublisherSessionWaitTime(long publisherSessionWaitTime) {
+        this.publisherSessionWaitTime = publisherSessionWaitTime;
+    }
+
+    public boolean isEventBatchingEnabled() {
+        return eventBatchingEnabled;
+    }
+
+    public void setEventBatchingEnabled(boolean eventBatchingEnabled) {
+        this.eventBatchingEnabled = eventBatchingEnabled;
+    }
+
+    public int getEventBatchSize() {
+        return eventBatchSize;
+    }
+
+    public void setEventBatchSize(int eventBatchSize) {
+        this.eventBatchSize = eventBatchSize;
+    }
+
+    public long getEventBatchLingerTime() {
+        return eventBatchLingerTime;
+    }
+
+    public void setEventBatchLingerTime(long eventBatchLingerTime) {
+        this.eventBatchLingerTime = eventBatchLingerTime;
+    }
 }
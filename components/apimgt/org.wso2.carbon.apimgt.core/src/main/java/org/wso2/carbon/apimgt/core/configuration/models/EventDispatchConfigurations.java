@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.core.configuration.models;
+
+import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
+
+/**
+ * Class to hold configurations of the delivery of events to the event observers and functions
+ */
+@Configuration(description = "Event dispatch configurations")
+public class EventDispatchConfigurations {
+
+    @Element(description = "Number of threads kept to notify the event observers")
+    private int notifierCorePoolSize = 5;
+    @Element(description = "Maximum number of threads used to notify the event observers once the queue is full")
+    private int notifierMaxPoolSize = 50;
+    @Element(description = "Maximum number of events waiting to be notified to the event observers")
+    private int notifierQueueCapacity = 1000;
+    @Element(description = "Action taken when all the notifier threads are busy and the queue is full. CALLER_RUNS "
+            + "notifies the observers in the thread that raised the event, DISCARD drops the event")
+    private String notifierRejectionPolicy = "CALLER_RUNS";
+    @Element(description = "Number of threads used to invoke functions")
+    private int functionThreadPoolSize = 20;
+    @Element(description = "Maximum number of function invocations waiting to be delivered, further invocations are "
+            + "recorded as dead letters")
+    private int functionQueueCapacity = 1000;
+    @Element(description = "Maximum number of concurrent invocations of the same function endpoint")
+    private int maxConcurrentInvocationsPerEndpoint = 4;
+    @Element(description = "Time in milliseconds a function invocation may wait to be delivered before it is "
+            + "recorded as a dead letter")
+    private long functionDeliveryTimeout = 60000L;
+    @Element(description = "Maximum number of failed function invocations kept as dead letters")
+    private int deadLetterCapacity = 1000;
+
+    public int getNotifierCorePoolSize() {
+        return notifierCorePoolSize;
+    }
+
+    public void setNotifierCorePoolSize(int notifierCorePoolSize) {
+        this.notifierCorePoolSize = notifierCorePoolSize;
+    }
+
+    public int getNotifierMaxPoolSize() {
+        return notifierMaxPoolSize;
+    }
+
+    public void setNotifierMaxPoolSize(int notifierMaxPoolSize) {
+        this.notifierMaxPoolSize = notifierMaxPoolSize;
+    }
+
+    public int getNotifierQueueCapacity() {
+        return notifierQueueCapacity;
+    }
+
+    public void setNotifierQueueCapacity(int notifierQueueCapacity) {
+        this.notifierQueueCapacity = notifierQueueCapacity;
+    }
+
+    public String getNotifierRejectionPolicy() {
+        return notifierRejectionPolicy;
+    }
+
+    public void setNotifierRejectionPolicy(String notifierRejectionPolicy) {
+        this.notifierRejectionPolicy = notifierRejectionPolicy;
+    }
+
+    public int getFunctionThreadPoolSize() {
+        return functionThreadPoolSize;
+    }
+
+    public void setFunctionThreadPoolSize(int functionThreadPoolSize) {
+        this.functionThreadPoolSize = functionThreadPoolSize;
+    }
+
+    public int getFunctionQueueCapacity() {
+        return functionQueueCapacity;
+    }
+
+    public void setFunctionQueueCapacity(int functionQueueCapacity) {
+        this.functionQueueCapacity = functionQueueCapacity;
+    }
+
+    public int getMaxConcurrentInvocationsPerEndpoint() {
+        return maxConcurrentInvocationsPerEndpoint;
+    }
+
+    public void setMaxConcurrentInvocationsPerEndpoint(int maxConcurrentInvocationsPerEndpoint) {
+        this.maxConcurrentInvocationsPerEndpoint = maxConcurrentInvocationsPerEndpoint;
+    }
+
+    public long getFunctionDeliveryTimeout() {
+        return functionDeliveryTimeout;
+    }
+
+    public void setFunctionDeliveryTimeout(long functionDeliveryTimeout) {
+        this.functionDeliveryTimeout = functionDeliveryTimeout;
+    }
+
+    public int getDeadLetterCapacity() {
+        return deadLetterCapacity;
+    }
+
+    public void setDeadLetterCapacity(int deadLetterCapacity) {
+        this.deadLetterCapacity = deadLetterCapacity;
+    }
+}
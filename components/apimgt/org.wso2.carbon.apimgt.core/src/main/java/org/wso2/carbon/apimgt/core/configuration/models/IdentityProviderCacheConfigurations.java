@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.core.configuration.models;
+
+import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
+
+/**
+ * Class to hold identity provider cache configurations
+ */
+@Configuration(description = "Identity provider cache configurations")
+public class IdentityProviderCacheConfigurations {
+
+    @Element(description = "Enable caching of user Ids, roles of users and role names retrieved from the identity "
+            + "provider")
+    private boolean enabled = true;
+    @Element(description = "Maximum number of users or roles kept in each cache")
+    private int maxSize = 10000;
+    @Element(description = "Time in seconds a user or role is kept in the cache before it is retrieved again")
+    private long expiryTime = 300L;
+    @Element(description = "Retrieve a user or role missing from the cache only once when it is requested by many "
+            + "threads at the same time")
+    private boolean coalesceMisses = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getExpiryTime() {
+        return expiryTime;
+    }
+
+    public void setExpiryTime(long expiryTime) {
+        this.expiryTime = expiryTime;
+    }
+
+    public boolean isCoalesceMisses() {
+        return coalesceMisses;
+    }
+
+    public void setCoalesceMisses(boolean coalesceMisses) {
+        this.coalesceMisses = coalesceMisses;
+    }
+}
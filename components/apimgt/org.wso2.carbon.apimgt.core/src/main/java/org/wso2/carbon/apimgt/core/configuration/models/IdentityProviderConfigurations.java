@@ -35,6 +35,8 @@ public class IdentityProviderConfigurations {
     private CredentialConfigurations identityProviderCredentials = new CredentialConfigurations();
     @Element(description = "Alias of Identity Provider Certificate in Client Trust Store")
     private String idpCertAlias = "wso2carbon";
+    @Element(description = "Identity Provider Cache Configurations")
+    private IdentityProviderCacheConfigurations cacheConfigurations = new IdentityProviderCacheConfigurations();
 
     public String getIdentityProviderImplClass() {
         return identityProviderImplClass;
@@ -67,4 +69,12 @@ public class IdentityProviderConfigurations {
     public void setIdpCertAlias(String idpCertAlias) {
         this.idpCertAlias = idpCertAlias;
     }
+
+    public IdentityProviderCacheConfigurations getCacheConfigurations() {
+        return cacheConfigurations;
+    }
+
+    public void setCacheConfigurations(IdentityProviderCacheConfigurations cacheConfigurations) {
+        this.cacheConfigurations = cacheConfigurations;
+    }
 }
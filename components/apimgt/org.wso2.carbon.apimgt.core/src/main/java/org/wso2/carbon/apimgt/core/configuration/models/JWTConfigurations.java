@@ -33,6 +33,15 @@ public class JWTConfigurations {
     private String jwtHeader = "X-JWT-Assertion";
     @Element(description = "Signature Algorithm")
     private String signatureAlgorithm = "SHA256withRSA";
+    @Element(description = "Validate self contained (JWT) access tokens at the gateway using the JWKS of the key "
+            + "manager instead of introspecting them")
+    private boolean enableSelfContainedTokenValidation = true;
+    @Element(description = "JWKS Endpoint URL of the key manager")
+    private String jwksEndpoint = "https://localhost:9443/oauth2/jwks";
+    @Element(description = "Issuer of self contained access tokens")
+    private String tokenIssuer = "https://localhost:9443/oauth2/token";
+    @Element(description = "Time in seconds the gateway keeps the keys retrieved from the JWKS endpoint")
+    private long jwksCacheExpiryTime = 3600L;
 
     public boolean isEnableJWTGeneration() {
         return enableJWTGeneration;
@@ -57,4 +66,36 @@ public class JWTConfigurations {
     public void setSignatureAlgorithm(String signatureAlgorithm) {
         this.signatureAlgorithm = signatureAlgorithm;
     }
+
+    public boolean isEnableSelfContainedTokenValidation() {
+        return enableSelfContainedTokenValidation;
+    }
+
+    public void setEnableSelfContainedTokenValidation(boolean enableSelfContainedTokenValidation) {
+        this.enableSelfContainedTokenValidation = enableSelfContainedTokenValidation;
+    }
+
+    public String getJwksEndpoint() {
+        return jwksEndpoint;
+    }
+
+    public void setJwksEndpoint(String jwksEndpoint) {
+        this.jwksEndpoint = jwksEndpoint;
+    }
+
+    public String getTokenIssuer() {
+        return tokenIssuer;
+    }
+
+    public void setTokenIssuer(String tokenIssuer) {
+        this.tokenIssuer = tokenIssuer;
+    }
+
+    public long getJwksCacheExpiryTime() {
+        return jwksCacheExpiryTime;
+    }
+
+    public void setJwksCacheExpiryTime(long jwksCacheExpiryTime) {
+        this.jwksCacheExpiryTime = jwksCacheExpiryTime;
+    }
 }
@@ -51,6 +51,12 @@ public class KeyMgtConfigurations {
     private String scopeBindingType = "role";
     @Element(description = "Type of scope binding")
     private String productRestApiScopesKeyWord = "apim:";
+    @Element(description = "Enable caching of validated access token information")
+    private boolean tokenInfoCacheEnabled = true;
+    @Element(description = "Maximum number of validated access tokens kept in the cache")
+    private int tokenInfoCacheMaxSize = 10000;
+    @Element(description = "Upper bound in seconds for keeping a validated access token in the cache")
+    private long tokenInfoCacheExpiryTime = 900L;
 
     public String getKeyManagerImplClass() {
         return keyManagerImplClass;
@@ -143,4 +149,28 @@ public class KeyMgtConfigurations {
     public void setProductRestApiScopesKeyWord(String productRestApiScopesKeyWord) {
         this.productRestApiScopesKeyWord = productRestApiScopesKeyWord;
     }
+
+    public boolean isTokenInfoCacheEnabled() {
+        return tokenInfoCacheEnabled;
+    }
+
+    public void setTokenInfoCacheEnabled(boolean tokenInfoCacheEnabled) {
+        this.tokenInfoCacheEnabled = tokenInfoCacheEnabled;
+    }
+
+    public int getTokenInfoCacheMaxSize() {
+        return tokenInfoCacheMaxSize;
+    }
+
+    public void setTokenInfoCacheMaxSize(int tokenInfoCacheMaxSize) {
+        this.tokenInfoCacheMaxSize = tokenInfoCacheMaxSize;
+    }
+
+    public long getTokenInfoCacheExpiryTime() {
+        return tokenInfoCacheExpiryTime;
+    }
+
+    public void setTokenInfoCacheExpiryTime(long tokenInfoCacheExpiryTime) {
+        this.tokenInfoCacheExpiryTime = tokenInfoCacheExpiryTime;
+    }
 }
@@ -31,6 +31,8 @@ public class PolicyDeployerConfiguration {
     private String serverURL = "http://localhost:9091";
     @Element(description = "Policy deployer credentials")
     private CredentialConfigurations policyDeployerCredentials = new CredentialConfigurations();
+    @Element(description = "Deploy the request count application and subscription policies as a single execution plan")
+    private boolean combinedExecutionPlan = false;
 
     public String getServerURL() {
         return serverURL;
@@ -47,4 +49,12 @@ public class PolicyDeployerConfiguration {
     public void setPolicyDeployerCredentials(CredentialConfigurations policyDeployerCredentials) {
         this.policyDeployerCredentials = policyDeployerCredentials;
     }
+
+    public boolean isCombinedExecutionPlan() {
+        return combinedExecutionPlan;
+    }
+
+    public void setCombinedExecutionPlan(boolean combinedExecutionPlan) {
+        this.combinedExecutionPlan = combinedExecutionPlan;
+    }
 }
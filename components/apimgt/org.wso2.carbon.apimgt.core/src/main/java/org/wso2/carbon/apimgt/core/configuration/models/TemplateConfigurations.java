@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.core.configuration.models;
+
+import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class to hold configurations of the gateway and throttle policy templates
+ */
+@Configuration(description = "Template configurations")
+public class TemplateConfigurations {
+
+    private static final String TEMPLATE_LOCATION = "resources" + File.separator + "template" + File.separator;
+    private static final String POLICY_TEMPLATE_LOCATION = TEMPLATE_LOCATION + "policy_templates" + File.separator;
+
+    @Element(description = "Directory holding templates which override the default templates, under the same "
+            + "relative path. Templates are loaded only from the classpath if not set")
+    private String templateDirectory = "";
+    @Element(description = "Time in seconds between checks of the overriding templates for changes. Changed "
+            + "templates are compiled again without a restart. 0 disables the checks")
+    private long reloadInterval = 30L;
+    @Element(description = "Templates compiled at startup")
+    private List<String> preloadedTemplates = Arrays.asList(
+            TEMPLATE_LOCATION + "template.xml",
+            TEMPLATE_LOCATION + "endpoint.xml",
+            TEMPLATE_LOCATION + "composite_template.xml",
+            POLICY_TEMPLATE_LOCATION + "throttle_policy_template_resource.xml",
+            POLICY_TEMPLATE_LOCATION + "throttle_policy_template_resource_default.xml",
+            POLICY_TEMPLATE_LOCATION + "throttle_policy_template_app.xml",
+            POLICY_TEMPLATE_LOCATION + "throttle_policy_template_sub.xml",
+            POLICY_TEMPLATE_LOCATION + "throttle_policy_template_global.xml",
+            POLICY_TEMPLATE_LOCATION + "throttle_policy_template_combined.xml");
+
+    public String getTemplateDirectory() {
+        return templateDirectory;
+    }
+
+    public void setTemplateDirectory(String templateDirectory) {
+        this.templateDirectory = templateDirectory;
+    }
+
+    public long getReloadInterval() {
+        return reloadInterval;
+    }
+
+    public void setReloadInterval(long reloadInterval) {
+        this.reloadInterval = reloadInterval;
+    }
+
+    public List<String> getPreloadedTemplates() {
+        return preloadedTemplates;
+    }
+
+    public void setPreloadedTemplates(List<String> preloadedTemplates) {
+        this.preloadedTemplates = preloadedTemplates;
+    }
+}
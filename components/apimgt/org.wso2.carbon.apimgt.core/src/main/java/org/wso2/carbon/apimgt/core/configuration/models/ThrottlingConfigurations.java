@@ -36,6 +36,13 @@ public class ThrottlingConfigurations {
     @Element(description = "JMS Connection configurations")
     private JMSConnectionConfiguration jmsConnectionConfiguration = new JMSConnectionConfiguration();
 
+    @Element(description = "Throttle bursts at each gateway node with the node's share of the request count of "
+            + "application and subscription policies, before the traffic manager has throttled them")
+    private boolean localThrottlingEnabled = false;
+
+    @Element(description = "Number of gateway nodes that share the request count of a policy")
+    private int gatewayNodeCount = 1;
+
     public DataPublisherConfigurations getDataPublisherConfigurations() {
         return dataPublisherConfigurations;
     }
@@ -59,4 +66,20 @@ public class ThrottlingConfigurations {
     public void setJmsConnectionConfiguration(JMSConnectionConfiguration jmsConnectionConfiguration) {
         this.jmsConnectionConfiguration = jmsConnectionConfiguration;
     }
+
+    public boolean isLocalThrottlingEnabled() {
+        return localThrottlingEnabled;
+    }
+
+    public void setLocalThrottlingEnabled(boolean localThrottlingEnabled) {
+        this.localThrottlingEnabled = localThrottlingEnabled;
+    }
+
+    public int getGatewayNodeCount() {
+        return gatewayNodeCount;
+    }
+
+    public void setGatewayNodeCount(int gatewayNodeCount) {
+        this.gatewayNodeCount = gatewayNodeCount;
+    }
 }
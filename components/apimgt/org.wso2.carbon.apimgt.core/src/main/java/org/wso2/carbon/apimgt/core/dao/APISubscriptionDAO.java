@@ -121,6 +121,20 @@ public interface APISubscriptionDAO {
     @CheckForNull
     List<SubscriptionValidationData> getAPISubscriptionsOfAPIForValidation(int limit) throws APIMgtDAOException;
 
+    /**
+     * Retrieve a page of API Subscriptions for validation, ordered by subscription UUID and key type. The page starts
+     * after the given subscription and key type, so the next page is retrieved by passing the subscription id and key
+     * type of the last entry of the current page.
+     *
+     * @param subscriptionId UUID of the subscription the page starts after, null to start from the first subscription
+     * @param keyEnvType     Key type of the entry the page starts after
+     * @param limit          Maximum number of entries of the page
+     * @return A list of {@link SubscriptionValidationData} objects with the subscription id set
+     * @throws APIMgtDAOException If failed to get subscriptions.
+     */
+    List<SubscriptionValidationData> getAPISubscriptionsForValidationAfter(String subscriptionId, String keyEnvType,
+                                                                           int limit) throws APIMgtDAOException;
+
     /**
      * Retrieves all available API Subscriptions. This method supports result pagination and ensuring results
      * returned are those that belong to the specified username
@@ -134,6 +134,16 @@ public interface ApiDAO {
      */ 
     String getLastUpdatedTimeOfGatewayConfig(String apiId) throws APIMgtDAOException;
 
+    /**
+     * Retrieves the last updated time of the WSDL or WSDL archive of an API
+     *
+     * @param apiId UUID of API
+     * @return Last updated time of the WSDL given the uuid of API, or {@code null} if the API has no WSDL
+     * @throws APIMgtDAOException if error occurs while accessing data layer
+     */
+    @CheckForNull
+    String getLastUpdatedTimeOfWSDL(String apiId) throws APIMgtDAOException;
+
     /**
      * Retrieves summary data of all available APIs.
      *
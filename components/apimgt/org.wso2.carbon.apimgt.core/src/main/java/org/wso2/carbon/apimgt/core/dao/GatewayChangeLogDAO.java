@@ -0,0 +1,61 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.dao;
+
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.models.GatewayChange;
+
+import java.util.List;
+
+/**
+ * Provides access to the log of changes published to gateways. Every change gets a revision number higher than the
+ * revisions of all the changes logged before it, so that a gateway can catch up by reading the changes after the
+ * last revision it has applied.
+ */
+public interface GatewayChangeLogDAO {
+
+    /**
+     * Add a change to the log
+     *
+     * @param eventType type of the gateway event
+     * @param event     gateway event in json form
+     * @throws APIMgtDAOException if the change cannot be added
+     */
+    void addChange(String eventType, String event) throws APIMgtDAOException;
+
+    /**
+     * Get the changes logged after a revision, in revision order
+     *
+     * @param revision revision after which the changes are returned
+     * @param limit    maximum number of changes to return, a negative value to return all
+     * @return A list of {@link GatewayChange} objects. An empty list will be returned if there are no changes.
+     * @throws APIMgtDAOException if the changes cannot be retrieved
+     */
+    List<GatewayChange> getChangesSince(long revision, int limit) throws APIMgtDAOException;
+
+    /**
+     * Get the revision of the latest change
+     *
+     * @return revision of the latest change or 0 if no changes are logged
+     * @throws APIMgtDAOException if the revision cannot be retrieved
+     */
+    long getLatestRevision() throws APIMgtDAOException;
+}
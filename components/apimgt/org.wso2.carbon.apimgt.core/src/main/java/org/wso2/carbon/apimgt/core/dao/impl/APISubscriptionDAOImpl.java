@@ -222,7 +222,7 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
     /**
      * Retrieve all API Subscriptions for validation
      *
-     * @param limit Subscription Limit
+     * @param limit Subscription Limit, a negative value to retrieve all subscriptions
      * @return A list of {@link SubscriptionValidationData} objects
      * @throws APIMgtDAOException If failed to get subscriptions.
      */
@@ -238,6 +238,9 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
                 "KEY_MAP WHERE SUBS.API_ID = API.UUID AND KEY_MAP.APPLICATION_ID = SUBS.APPLICATION_ID";
         try (Connection conn = DAOUtil.getConnection();
              PreparedStatement ps = conn.prepareStatement(getSubscriptionsSql)) {
+            if (limit > 0) {
+                ps.setMaxRows(limit);
+            }
             try (ResultSet rs = ps.executeQuery()) {
                 return createSubscriptionValidationDataFromResultSet(rs);
             }
@@ -246,6 +249,58 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
         }
     }
 
+    /**
+     * Retrieve a page of API Subscriptions for validation, ordered by subscription UUID and key type
+     *
+     * @param subscriptionId UUID of the subscription the page starts after, null to start from the first subscription
+     * @param keyEnvType     Key type of the entry the page starts after
+     * @param limit          Maximum number of entries of the page
+     * @return A list of {@link SubscriptionValidationData} objects
+     * @throws APIMgtDAOException If failed to get subscriptions.
+     */
+    @Override
+    public List<SubscriptionValidationData> getAPISubscriptionsForValidationAfter(String subscriptionId,
+            String keyEnvType, int limit) throws APIMgtDAOException {
+        List<SubscriptionValidationData> subscriptionList = new ArrayList<>();
+        if (limit <= 0) {
+            return subscriptionList;
+        }
+        // keyset pagination on the (subscription, key type) pair, so that a page does not depend on the rows before
+        // the previous page and the database does not skip over them like it does for an offset
+        String getSubscriptionsSql = "SELECT SUBS.UUID AS SUBS_UUID, SUBS.API_ID AS API_ID,SUBS.APPLICATION_ID AS " +
+                "APP_ID,SUBS.SUB_STATUS AS SUB_STATUS, API.PROVIDER AS API_PROVIDER, API.NAME AS API_NAME,API" +
+                ".CONTEXT AS API_CONTEXT, API.VERSION AS API_VERSION,SUBS.TIER_ID AS SUBS_POLICY , KEY_MAP.CLIENT_ID " +
+                "AS CLIENT_ID,KEY_MAP.KEY_TYPE AS KEY_ENV_TYPE FROM AM_SUBSCRIPTION SUBS, AM_API API," +
+                "AM_APP_KEY_MAPPING KEY_MAP WHERE SUBS.API_ID = API.UUID AND KEY_MAP.APPLICATION_ID = SUBS" +
+                ".APPLICATION_ID";
+        if (subscriptionId != null) {
+            getSubscriptionsSql += " AND (SUBS.UUID > ? OR (SUBS.UUID = ? AND KEY_MAP.KEY_TYPE > ?))";
+        }
+        getSubscriptionsSql += " ORDER BY SUBS.UUID, KEY_MAP.KEY_TYPE";
+        try (Connection conn = DAOUtil.getConnection();
+             PreparedStatement ps = conn.prepareStatement(getSubscriptionsSql)) {
+            if (subscriptionId != null) {
+                ps.setString(1, subscriptionId);
+                ps.setString(2, subscriptionId);
+                ps.setString(3, keyEnvType);
+            }
+            ps.setMaxRows(limit);
+            ps.setFetchSize(limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    SubscriptionValidationData subValidationData = createSubscriptionValidationData(rs);
+                    subValidationData.setSubscriptionId(rs.getString("SUBS_UUID"));
+                    subscriptionList.add(subValidationData);
+                }
+            }
+        } catch (SQLException e) {
+            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX +
+                    "getting api subscriptions for validation(after subscription: " + subscriptionId +
+                    ", keyType: " + keyEnvType + ")", e);
+        }
+        return subscriptionList;
+    }
+
     /**
      * Retrieve the list of subscriptions of an API for validation
      *
@@ -670,15 +725,7 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
         }
         try {
             while (rs.next()) {
-                SubscriptionValidationData subValidationData = new SubscriptionValidationData(
-                        rs.getString("API_CONTEXT"), rs.getString("API_VERSION"), rs.getString("CLIENT_ID"));
-                subValidationData.setSubscriptionPolicy(rs.getString("SUBS_POLICY"));
-                subValidationData.setApiName(rs.getString("API_NAME"));
-                subValidationData.setApiProvider(rs.getString("API_PROVIDER"));
-                subValidationData.setKeyEnvType(rs.getString("KEY_ENV_TYPE"));
-                subValidationData.setApplicationId(rs.getString("APP_ID"));
-                subValidationData.setStatus(rs.getString("SUB_STATUS"));
-                subscriptionList.add(subValidationData);
+                subscriptionList.add(createSubscriptionValidationData(rs));
             }
         } catch (SQLException e) {
             throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "creating subscription validation data", e);
@@ -686,6 +733,18 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
         return subscriptionList;
     }
 
+    private SubscriptionValidationData createSubscriptionValidationData(ResultSet rs) throws SQLException {
+        SubscriptionValidationData subValidationData = new SubscriptionValidationData(
+                rs.getString("API_CONTEXT"), rs.getString("API_VERSION"), rs.getString("CLIENT_ID"));
+        subValidationData.setSubscriptionPolicy(rs.getString("SUBS_POLICY"));
+        subValidationData.setApiName(rs.getString("API_NAME"));
+        subValidationData.setApiProvider(rs.getString("API_PROVIDER"));
+        subValidationData.setKeyEnvType(rs.getString("KEY_ENV_TYPE"));
+        subValidationData.setApplicationId(rs.getString("APP_ID"));
+        subValidationData.setStatus(rs.getString("SUB_STATUS"));
+        return subValidationData;
+    }
+
     private List<Subscription> createSubscriptionsFromResultSet(ResultSet rs) throws APIMgtDAOException {
         List<Subscription> subscriptionList = new ArrayList<>();
         Subscription subscription;
@@ -73,6 +73,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -117,6 +119,8 @@ public class ApiDAOImpl implements ApiDAO {
     private static final String AM_API_OPERATION_MAPPING_TABLE_NAME = "AM_API_OPERATION_MAPPING";
     private static final String AM_API_COMMENTS_TABLE_NAME = "AM_API_COMMENTS";
     private static final String AM_ENDPOINT_TABLE_NAME = "AM_ENDPOINT";
+    // keeps IN clauses within the bind parameter limits of all the supported databases
+    private static final int MAX_API_IDS_PER_QUERY = 500;
     private static final Logger log = LoggerFactory.getLogger(ApiDAOImpl.class);
 
     ApiDAOImpl(ApiDAOVendorSpecificStatements sqlStatements) {
@@ -296,6 +300,26 @@ public class ApiDAOImpl implements ApiDAO {
         }
     }
 
+    /**
+     * @see ApiDAO#getLastUpdatedTimeOfWSDL(String)
+     */
+    @Override
+    @CheckForNull
+    public String getLastUpdatedTimeOfWSDL(String apiId) throws APIMgtDAOException {
+        try (Connection connection = DAOUtil.getConnection()) {
+            String lastUpdatedTime = ApiResourceDAO
+                    .getAPIUniqueResourceLastUpdatedTime(connection, apiId, ResourceCategory.WSDL_TEXT);
+            if (lastUpdatedTime == null) {
+                lastUpdatedTime = ApiResourceDAO
+                        .getAPIUniqueResourceLastUpdatedTime(connection, apiId, ResourceCategory.WSDL_ZIP);
+            }
+            return lastUpdatedTime;
+        } catch (SQLException e) {
+            String errorMessage = "getting last updated time of WSDL for API: " + apiId;
+            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + errorMessage, e);
+        }
+    }
+
     @Override
     @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
     public List<API> getAPIs(Set<String> roles, String user) throws APIMgtDAOException {
@@ -2113,6 +2137,28 @@ public class ApiDAOImpl implements ApiDAO {
 
     private API constructAPIFromResultSet(Connection connection, PreparedStatement statement) throws SQLException,
             IOException, APIMgtDAOException {
+        List<API> apiList = constructAPIListFromResultSet(connection, statement);
+        if (apiList.isEmpty()) {
+            return null;
+        }
+
+        return apiList.get(0);
+    }
+
+    /**
+     * Constructs fully populated APIs for all the rows returned by the given statement. Each child collection of the
+     * APIs is fetched for all the APIs at once, so the number of queries executed does not depend on the number of
+     * APIs or the number of resources of an API.
+     *
+     * @param connection DB connection
+     * @param statement  Statement selecting the {@link #API_SELECT} columns
+     * @return List of APIs in the order returned by the statement
+     * @throws SQLException If failed to retrieve the APIs
+     * @throws IOException  If failed to read endpoint configurations
+     */
+    private List<API> constructAPIListFromResultSet(Connection connection, PreparedStatement statement)
+            throws SQLException, IOException {
+        Map<String, API.APIBuilder> apiBuilders = new LinkedHashMap<>();
         try (ResultSet rs = statement.executeQuery()) {
             while (rs.next()) {
                 BusinessInformation businessInformation = new BusinessInformation();
@@ -2137,25 +2183,16 @@ public class ApiDAOImpl implements ApiDAO {
 
                 String apiPrimaryKey = rs.getString("UUID");
 
-                return new API.APIBuilder(rs.getString("PROVIDER"), rs.getString("NAME"), rs.getString("VERSION")).
+                apiBuilders.put(apiPrimaryKey, new API.APIBuilder(rs.getString("PROVIDER"), rs.getString("NAME"),
+                        rs.getString("VERSION")).
                         id(apiPrimaryKey).
                         context(rs.getString("CONTEXT")).
                         isDefaultVersion(rs.getBoolean("IS_DEFAULT_VERSION")).
                         description(rs.getString("DESCRIPTION")).
                         visibility(API.Visibility.valueOf(rs.getString("VISIBILITY"))).
-                        visibleRoles(getVisibleRoles(connection, apiPrimaryKey)).
                         isResponseCachingEnabled(rs.getBoolean("IS_RESPONSE_CACHED")).
                         cacheTimeout(rs.getInt("CACHE_TIMEOUT")).
                         hasOwnGateway(rs.getBoolean("HAS_OWN_GATEWAY")).
-                        tags(getTags(connection, apiPrimaryKey)).
-                        labels(getLabelIdsForAPI(connection, apiPrimaryKey)).
-                        wsdlUri(ApiResourceDAO.
-                                getTextValueForCategory(connection, apiPrimaryKey,
-                                        ResourceCategory.WSDL_TEXT)).
-                        transport(getTransports(connection, apiPrimaryKey)).
-                        endpoint(getEndPointsForApi(connection, apiPrimaryKey)).
-                        apiPermission(getPermissionsStringForApi(connection, apiPrimaryKey)).
-                        permissionMap(getPermissionMapForApi(connection, apiPrimaryKey)).
                         businessInformation(businessInformation).
                         lifecycleInstanceId(rs.getString("LIFECYCLE_INSTANCE_ID")).
                         lifeCycleStatus(rs.getString("CURRENT_LC_STATUS")).
@@ -2164,39 +2201,93 @@ public class ApiDAOImpl implements ApiDAO {
                         updatedBy(rs.getString("UPDATED_BY")).
                         createdTime(rs.getTimestamp("CREATED_TIME").toInstant()).
                         lastUpdatedTime(rs.getTimestamp("LAST_UPDATED_TIME").toInstant()).
-                        uriTemplates(getUriTemplates(connection, apiPrimaryKey)).
-                        policies(getSubscripitonPolciesByAPIId(connection, apiPrimaryKey)).copiedFromApiId(rs.getString
-                        ("COPIED_FROM_API")).
+                        copiedFromApiId(rs.getString("COPIED_FROM_API")).
                         workflowStatus(rs.getString("LC_WORKFLOW_STATUS")).
-                        securityScheme(rs.getInt("SECURITY_SCHEME")).
-                        apiPolicy(getApiPolicyByAPIId(connection, apiPrimaryKey)).
-                        threatProtectionPolicies(getThreatProtectionPolicies(connection, apiPrimaryKey)).build();
+                        securityScheme(rs.getInt("SECURITY_SCHEME")));
             }
         }
 
-        return null;
+        List<API> apiList = new ArrayList<>();
+        if (apiBuilders.isEmpty()) {
+            return apiList;
+        }
+
+        Set<String> apiIds = apiBuilders.keySet();
+        Map<String, Set<String>> visibleRoles = getVisibleRoles(connection, apiIds);
+        Map<String, Set<String>> tags = getTags(connection, apiIds);
+        Map<String, List<String>> labels = getLabelIdsForAPIs(connection, apiIds);
+        Map<String, Set<String>> transports = getTransports(connection, apiIds);
+        Map<String, Map<String, Endpoint>> endpoints = getEndPointsForApis(connection, apiIds);
+        Map<String, Map<String, Integer>> permissionMaps = getPermissionMapsForApis(connection, apiIds);
+        Map<String, Map<String, UriTemplate>> uriTemplates = getUriTemplates(connection, apiIds);
+        Map<String, Set<Policy>> subscriptionPolicies = getSubscriptionPoliciesByAPIIds(connection, apiIds);
+        Map<String, Policy> apiPolicies = getApiPoliciesByAPIIds(connection, apiIds);
+        Map<String, Set<String>> threatProtectionPolicies = getThreatProtectionPolicies(connection, apiIds);
+        Map<String, String> wsdlUris = getWsdlUris(connection, apiIds);
+
+        for (Map.Entry<String, API.APIBuilder> apiBuilderEntry : apiBuilders.entrySet()) {
+            String apiPrimaryKey = apiBuilderEntry.getKey();
+            Map<String, Integer> permissionMap = permissionMaps.getOrDefault(apiPrimaryKey, new HashMap<>());
+
+            apiList.add(apiBuilderEntry.getValue().
+                    visibleRoles(visibleRoles.getOrDefault(apiPrimaryKey, new HashSet<>())).
+                    tags(tags.getOrDefault(apiPrimaryKey, new HashSet<>())).
+                    labels(labels.getOrDefault(apiPrimaryKey, new ArrayList<>())).
+                    wsdlUri(wsdlUris.get(apiPrimaryKey)).
+                    transport(transports.getOrDefault(apiPrimaryKey, new HashSet<>())).
+                    endpoint(endpoints.getOrDefault(apiPrimaryKey, new HashMap<>())).
+                    apiPermission(getPermissionsString(permissionMap)).
+                    permissionMap(permissionMap).
+                    uriTemplates(uriTemplates.getOrDefault(apiPrimaryKey, new HashMap<>())).
+                    policies(subscriptionPolicies.getOrDefault(apiPrimaryKey, new HashSet<>())).
+                    apiPolicy(apiPolicies.get(apiPrimaryKey)).
+                    threatProtectionPolicies(threatProtectionPolicies.getOrDefault(apiPrimaryKey, new HashSet<>())).
+                    build());
+        }
+
+        return apiList;
     }
 
+    /**
+     * Constructs API summaries for all the rows returned by the given statement. The threat protection policies of
+     * all the APIs are fetched with a single query once the rows have been read, instead of a query per API.
+     *
+     * @param connection DB connection
+     * @param statement  Statement selecting the {@link #API_SUMMARY_SELECT} columns
+     * @return List of API summaries in the order returned by the statement
+     * @throws SQLException If failed to retrieve the API summaries
+     */
     private List<API> constructAPISummaryList(Connection connection, PreparedStatement statement) throws SQLException {
-        List<API> apiList = new ArrayList<>();
+        List<API.APIBuilder> apiBuilders = new ArrayList<>();
         try (ResultSet rs = statement.executeQuery()) {
             while (rs.next()) {
-                String apiPrimaryKey = rs.getString("UUID");
-                API apiSummary = new API.APIBuilder(rs.getString("PROVIDER"), rs.getString("NAME"),
+                apiBuilders.add(new API.APIBuilder(rs.getString("PROVIDER"), rs.getString("NAME"),
                         rs.getString("VERSION")).
-                        id(apiPrimaryKey).
+                        id(rs.getString("UUID")).
                         context(rs.getString("CONTEXT")).
                         description(rs.getString("DESCRIPTION")).
                         lifeCycleStatus(rs.getString("CURRENT_LC_STATUS")).
                         lifecycleInstanceId(rs.getString("LIFECYCLE_INSTANCE_ID")).
                         workflowStatus(rs.getString("LC_WORKFLOW_STATUS")).
-                        securityScheme(rs.getInt("SECURITY_SCHEME")).
-                        threatProtectionPolicies(getThreatProtectionPolicies(connection, apiPrimaryKey)).build();
-
-                apiList.add(apiSummary);
+                        securityScheme(rs.getInt("SECURITY_SCHEME")));
             }
         }
 
+        List<API> apiList = new ArrayList<>(apiBuilders.size());
+        if (apiBuilders.isEmpty()) {
+            return apiList;
+        }
+
+        List<String> apiIds = new ArrayList<>(apiBuilders.size());
+        for (API.APIBuilder apiBuilder : apiBuilders) {
+            apiIds.add(apiBuilder.getId());
+        }
+        Map<String, Set<String>> threatProtectionPolicies = getThreatProtectionPolicies(connection, apiIds);
+        for (API.APIBuilder apiBuilder : apiBuilders) {
+            apiList.add(apiBuilder.threatProtectionPolicies(threatProtectionPolicies.getOrDefault(apiBuilder.getId(),
+                    new HashSet<>())).build());
+        }
+
         return apiList;
     }
 
@@ -2233,25 +2324,38 @@ public class ApiDAOImpl implements ApiDAO {
 
     private List<CompositeAPI> getCompositeAPISummaryList(Connection connection, PreparedStatement statement)
             throws SQLException, APIMgtDAOException {
-        List<CompositeAPI> apiList = new ArrayList<>();
+        List<CompositeAPI.Builder> apiBuilders = new ArrayList<>();
         try (ResultSet rs = statement.executeQuery()) {
             while (rs.next()) {
-                String apiPrimaryKey = rs.getString("UUID");
-                CompositeAPI apiSummary = new CompositeAPI.Builder().
-                        id(apiPrimaryKey).
+                apiBuilders.add(new CompositeAPI.Builder().
+                        id(rs.getString("UUID")).
                         provider(rs.getString("PROVIDER")).
                         name(rs.getString("NAME")).
                         version(rs.getString("VERSION")).
                         context(rs.getString("CONTEXT")).
                         description(rs.getString("DESCRIPTION")).
-                        applicationId(getCompositeAPIApplicationId(connection, apiPrimaryKey)).
-                        workflowStatus(rs.getString("LC_WORKFLOW_STATUS")).
-                        threatProtectionPolicies(getThreatProtectionPolicies(connection, apiPrimaryKey)).build();
-
-                apiList.add(apiSummary);
+                        workflowStatus(rs.getString("LC_WORKFLOW_STATUS")));
             }
         }
 
+        List<CompositeAPI> apiList = new ArrayList<>(apiBuilders.size());
+        if (apiBuilders.isEmpty()) {
+            return apiList;
+        }
+
+        List<String> apiIds = new ArrayList<>(apiBuilders.size());
+        for (CompositeAPI.Builder apiBuilder : apiBuilders) {
+            apiIds.add(apiBuilder.getId());
+        }
+        Map<String, Set<String>> threatProtectionPolicies = getThreatProtectionPolicies(connection, apiIds);
+        for (CompositeAPI.Builder apiBuilder : apiBuilders) {
+            String apiPrimaryKey = apiBuilder.getId();
+            apiList.add(apiBuilder.
+                    applicationId(getCompositeAPIApplicationId(connection, apiPrimaryKey)).
+                    threatProtectionPolicies(threatProtectionPolicies.getOrDefault(apiPrimaryKey, new HashSet<>())).
+                    build());
+        }
+
         return apiList;
     }
 
@@ -2294,28 +2398,10 @@ public class ApiDAOImpl implements ApiDAO {
     }
 
 
-    private Set<String> getTags(Connection connection, String apiID) throws SQLException {
-        Set<String> tags = new HashSet<>();
-
-        final String query = "SELECT TAG_ID FROM AM_API_TAG_MAPPING WHERE API_ID = ?";
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, apiID);
-            statement.execute();
-
-            try (ResultSet rs = statement.getResultSet()) {
-                List<String> tagIDs = new ArrayList<>();
-
-                while (rs.next()) {
-                    tagIDs.add(rs.getString("TAG_ID"));
-                }
-
-                if (!tagIDs.isEmpty()) {
-                    tags = TagDAOImpl.getTagsByIDs(connection, tagIDs);
-                }
-            }
-        }
-
-        return tags;
+    private Map<String, Set<String>> getTags(Connection connection, Collection<String> apiIds) throws SQLException {
+        final String query = "SELECT tagMapping.API_ID AS API_ID, tags.NAME AS NAME FROM AM_API_TAG_MAPPING " +
+                "tagMapping INNER JOIN AM_TAGS tags ON tagMapping.TAG_ID = tags.TAG_ID WHERE tagMapping.API_ID IN (";
+        return getValuesOfApis(connection, query, "NAME", apiIds);
     }
 
     private void addVisibleRole(Connection connection, String apiID, Set<String> roles) throws SQLException {
@@ -2339,22 +2425,10 @@ public class ApiDAOImpl implements ApiDAO {
         }
     }
 
-    private Set<String> getVisibleRoles(Connection connection, String apiID) throws SQLException {
-        Set<String> roles = new HashSet<>();
-
-        final String query = "SELECT ROLE FROM AM_API_VISIBLE_ROLES WHERE API_ID = ?";
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, apiID);
-            statement.execute();
-
-            try (ResultSet rs = statement.getResultSet()) {
-                while (rs.next()) {
-                    roles.add(rs.getString("ROLE"));
-                }
-            }
-        }
-
-        return roles;
+    private Map<String, Set<String>> getVisibleRoles(Connection connection, Collection<String> apiIds)
+            throws SQLException {
+        final String query = "SELECT API_ID, ROLE FROM AM_API_VISIBLE_ROLES WHERE API_ID IN (";
+        return getValuesOfApis(connection, query, "ROLE", apiIds);
     }
 
     private void addAPIDefinition(Connection connection, String apiID, String apiDefinition, String addedBy)
@@ -2577,47 +2651,43 @@ public class ApiDAOImpl implements ApiDAO {
 
     private Map<String, UriTemplate> getUriTemplates(Connection connection, String apiId) throws SQLException,
             IOException {
+        return getUriTemplates(connection, Collections.singletonList(apiId)).getOrDefault(apiId, new HashMap<>());
+    }
+
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    private Map<String, Map<String, UriTemplate>> getUriTemplates(Connection connection, Collection<String> apiIds)
+            throws SQLException, IOException {
         final String query = "SELECT operationMapping.OPERATION_ID AS OPERATION_ID,operationMapping.API_ID AS API_ID," +
                 "operationMapping.HTTP_METHOD AS HTTP_METHOD,operationMapping.URL_PATTERN AS URL_PATTERN," +
-                "operationMapping.AUTH_SCHEME AS AUTH_SCHEME,operationMapping.API_POLICY_ID AS API_POLICY_ID FROM " +
-                "AM_API_OPERATION_MAPPING operationMapping WHERE operationMapping.API_ID = ?";
-        Map<String, UriTemplate> uriTemplateSet = new HashMap();
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, apiId);
-            statement.execute();
-            try (ResultSet rs = statement.getResultSet()) {
-                while (rs.next()) {
-                    UriTemplate.UriTemplateBuilder uriTemplateBuilder = new UriTemplate.UriTemplateBuilder()
-                            .uriTemplate(rs.getString("URL_PATTERN")).authType(rs.getString("AUTH_SCHEME"))
-                            .httpVerb(rs.getString("HTTP_METHOD")).templateId(rs.getString("OPERATION_ID")).
-                                    endpoint(getEndPointsForOperation(connection, apiId, rs.getString("OPERATION_ID")
-                                    ));
-                    String apiPolicyId = rs.getString("API_POLICY_ID");
-                    if (StringUtils.isNotEmpty(apiPolicyId)) {
-                        uriTemplateBuilder.policy(getApiPolicyByUuid(connection, apiPolicyId));
+                "operationMapping.AUTH_SCHEME AS AUTH_SCHEME,apiPolicy.NAME AS API_POLICY_NAME FROM " +
+                "AM_API_OPERATION_MAPPING operationMapping LEFT JOIN AM_API_POLICY apiPolicy ON " +
+                "operationMapping.API_POLICY_ID = apiPolicy.UUID WHERE operationMapping.API_ID IN (";
+        Map<String, Map<String, Map<String, Endpoint>>> operationEndpoints =
+                getEndPointsForOperations(connection, apiIds);
+        Map<String, Map<String, UriTemplate>> uriTemplates = new HashMap<>();
+        for (List<String> apiIdPartition : partitionApiIds(apiIds)) {
+            try (PreparedStatement statement = connection.prepareStatement(getQueryForApis(query, apiIdPartition))) {
+                setApiIds(statement, apiIdPartition);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        String apiId = rs.getString("API_ID");
+                        String operationId = rs.getString("OPERATION_ID");
+                        Map<String, Endpoint> endpoints = operationEndpoints.getOrDefault(apiId,
+                                Collections.emptyMap()).getOrDefault(operationId, new HashMap<>());
+                        UriTemplate.UriTemplateBuilder uriTemplateBuilder = new UriTemplate.UriTemplateBuilder()
+                                .uriTemplate(rs.getString("URL_PATTERN")).authType(rs.getString("AUTH_SCHEME"))
+                                .httpVerb(rs.getString("HTTP_METHOD")).templateId(operationId).endpoint(endpoints);
+                        String apiPolicyName = rs.getString("API_POLICY_NAME");
+                        if (StringUtils.isNotEmpty(apiPolicyName)) {
+                            uriTemplateBuilder.policy(new APIPolicy(apiPolicyName));
+                        }
+                        uriTemplates.computeIfAbsent(apiId, k -> new HashMap<>()).put(operationId,
+                                uriTemplateBuilder.build());
                     }
-                    uriTemplateSet.put(uriTemplateBuilder.build().getTemplateId(), uriTemplateBuilder.build());
-                }
-            }
-        }
-        return uriTemplateSet;
-    }
-
-    private Policy getApiPolicyByUuid(Connection connection, String uuid) throws SQLException {
-
-        String sqlQuery = "SELECT NAME from AM_API_POLICY WHERE UUID = ?";
-
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sqlQuery)) {
-            preparedStatement.setString(1, uuid);
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                if (resultSet.next()) {
-                    APIPolicy apiPolicy = new APIPolicy(resultSet
-                            .getString(APIMgtConstants.ThrottlePolicyConstants.COLUMN_NAME));
-                    return apiPolicy;
                 }
             }
         }
-        return null;
+        return uriTemplates;
     }
 
     private void addSubscriptionPolicies(Connection connection, Set<Policy> policies, String apiID)
@@ -2669,22 +2739,17 @@ public class ApiDAOImpl implements ApiDAO {
         }
     }
 
-    private Policy getApiPolicyByAPIId(Connection connection, String apiId) throws SQLException {
-        final String query = "SELECT amapipolicy.NAME AS POLICY_NAME FROM AM_API_POLICY_MAPPING apimpolicymapping," +
-                "AM_API_POLICY amapipolicy WHERE apimpolicymapping.API_POLICY_ID=amapipolicy.UUID " +
-                "AND apimpolicymapping.API_ID = ?";
-        Policy apiPolicy = null;
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, apiId);
-            statement.execute();
-
-            try (ResultSet rs = statement.getResultSet()) {
-                if (rs.next()) {
-                    apiPolicy = new APIPolicy(rs.getString("POLICY_NAME"));
-                }
-            }
+    private Map<String, Policy> getApiPoliciesByAPIIds(Connection connection, Collection<String> apiIds)
+            throws SQLException {
+        final String query = "SELECT apimpolicymapping.API_ID AS API_ID, amapipolicy.NAME AS POLICY_NAME FROM " +
+                "AM_API_POLICY_MAPPING apimpolicymapping,AM_API_POLICY amapipolicy WHERE " +
+                "apimpolicymapping.API_POLICY_ID=amapipolicy.UUID AND apimpolicymapping.API_ID IN (";
+        Map<String, Policy> apiPolicies = new HashMap<>();
+        for (Map.Entry<String, Set<String>> policyNames :
+                getValuesOfApis(connection, query, "POLICY_NAME", apiIds).entrySet()) {
+            apiPolicies.put(policyNames.getKey(), new APIPolicy(policyNames.getValue().iterator().next()));
         }
-        return apiPolicy;
+        return apiPolicies;
     }
 
     private void deleteSubscriptionPolicies(Connection connection, String apiID) throws SQLException {
@@ -2695,20 +2760,19 @@ public class ApiDAOImpl implements ApiDAO {
         }
     }
 
-    private Set<Policy> getSubscripitonPolciesByAPIId(Connection connection, String apiId) throws SQLException {
-        final String query = "SELECT amPolcySub.NAME FROM AM_API_SUBS_POLICY_MAPPING apimsubmapping," +
-                "AM_SUBSCRIPTION_POLICY amPolcySub where apimsubmapping.SUBSCRIPTION_POLICY_ID=amPolcySub.UUID " +
-                "AND apimsubmapping.API_ID = ?";
-        Set<Policy> policies = new HashSet<>();
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, apiId);
-            statement.execute();
-
-            try (ResultSet rs = statement.getResultSet()) {
-                while (rs.next()) {
-                    policies.add(new SubscriptionPolicy(rs.getString("NAME")));
-                }
+    private Map<String, Set<Policy>> getSubscriptionPoliciesByAPIIds(Connection connection, Collection<String> apiIds)
+            throws SQLException {
+        final String query = "SELECT apimsubmapping.API_ID AS API_ID, amPolcySub.NAME AS NAME FROM " +
+                "AM_API_SUBS_POLICY_MAPPING apimsubmapping,AM_SUBSCRIPTION_POLICY amPolcySub where " +
+                "apimsubmapping.SUBSCRIPTION_POLICY_ID=amPolcySub.UUID AND apimsubmapping.API_ID IN (";
+        Map<String, Set<Policy>> policies = new HashMap<>();
+        for (Map.Entry<String, Set<String>> policyNames :
+                getValuesOfApis(connection, query, "NAME", apiIds).entrySet()) {
+            Set<Policy> apiPolicies = new HashSet<>();
+            for (String policyName : policyNames.getValue()) {
+                apiPolicies.add(new SubscriptionPolicy(policyName));
             }
+            policies.put(policyNames.getKey(), apiPolicies);
         }
 
         return policies;
@@ -3090,16 +3154,13 @@ public class ApiDAOImpl implements ApiDAO {
     }
 
     /**
-     * This returns the json string containing the role permissions for a given API
+     * This constructs the API permissions string from the permissions map of the API
      *
-     * @param connection - DB connection
-     * @param apiId      - apiId of the API
+     * @param permissionMap - permission map of the API
      * @return permission string
-     * @throws SQLException - if error occurred while getting permissionMap of API from DB
      */
-    private String getPermissionsStringForApi(Connection connection, String apiId) throws SQLException {
+    private String getPermissionsString(Map<String, Integer> permissionMap) {
         JSONArray permissionArray = new JSONArray();
-        Map<String, Integer> permissionMap = getPermissionMapForApi(connection, apiId);
         for (Map.Entry<String, Integer> entry : permissionMap.entrySet()) {
             JSONObject jsonObject = new JSONObject();
             jsonObject.put(APIMgtConstants.Permission.GROUP_ID, entry.getKey());
@@ -3115,49 +3176,67 @@ public class ApiDAOImpl implements ApiDAO {
     }
 
     /**
-     * This constructs and returns the API permissions map from the DB
+     * This constructs and returns the permission maps of a set of APIs from the DB
      *
      * @param connection - DB connection
-     * @param apiId      - apiId of the API
-     * @return permission map for the API
+     * @param apiIds     - apiIds of the APIs
+     * @return permission maps of the APIs keyed by apiId. APIs without permissions are not included.
      * @throws SQLException - if error occurred while getting permissionMap of API from DB
      */
-    private Map<String, Integer> getPermissionMapForApi(Connection connection, String apiId) throws SQLException {
-        Map<String, Integer> permissionMap = new HashMap();
-        final String query = "SELECT GROUP_ID,PERMISSION FROM AM_API_GROUP_PERMISSION WHERE API_ID=?";
-        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-            preparedStatement.setString(1, apiId);
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                while (resultSet.next()) {
-                    permissionMap.put(resultSet.getString("GROUP_ID"), resultSet.getInt("PERMISSION"));
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    private Map<String, Map<String, Integer>> getPermissionMapsForApis(Connection connection,
+                                                                      Collection<String> apiIds) throws SQLException {
+        Map<String, Map<String, Integer>> permissionMaps = new HashMap<>();
+        final String query = "SELECT API_ID,GROUP_ID,PERMISSION FROM AM_API_GROUP_PERMISSION WHERE API_ID IN (";
+        for (List<String> apiIdPartition : partitionApiIds(apiIds)) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(getQueryForApis(query,
+                    apiIdPartition))) {
+                setApiIds(preparedStatement, apiIdPartition);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        permissionMaps.computeIfAbsent(resultSet.getString("API_ID"), k -> new HashMap<>())
+                                .put(resultSet.getString("GROUP_ID"), resultSet.getInt("PERMISSION"));
+                    }
                 }
             }
         }
-        return permissionMap;
+        return permissionMaps;
     }
 
     private Map<String, Endpoint> getEndPointsForApi(Connection connection, String apiId) throws SQLException,
             IOException {
-        Map<String, Endpoint> endpointMap = new HashMap();
+        return getEndPointsForApis(connection, Collections.singletonList(apiId)).getOrDefault(apiId, new HashMap<>());
+    }
+
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    private Map<String, Map<String, Endpoint>> getEndPointsForApis(Connection connection, Collection<String> apiIds)
+            throws SQLException, IOException {
+        Map<String, Map<String, Endpoint>> endpointMaps = new HashMap<>();
         final String query = "SELECT AM_ENDPOINT.UUID,AM_ENDPOINT.NAME,AM_ENDPOINT.SECURITY_CONFIGURATION,AM_ENDPOINT" +
                 ".APPLICABLE_LEVEL,AM_ENDPOINT.ENDPOINT_CONFIGURATION,AM_ENDPOINT.TPS,AM_ENDPOINT.TYPE," +
-                "AM_API_ENDPOINT_MAPPING.TYPE AS ENDPOINT_LEVEL FROM AM_API_ENDPOINT_MAPPING INNER JOIN AM_ENDPOINT " +
-                "ON AM_API_ENDPOINT_MAPPING.ENDPOINT_ID=AM_ENDPOINT.UUID WHERE AM_API_ENDPOINT_MAPPING.API_ID = ?";
-        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-            preparedStatement.setString(1, apiId);
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                while (resultSet.next()) {
-                    Endpoint endpoint = constructEndPointDetails(resultSet);
-                    if (APIMgtConstants.GLOBAL_ENDPOINT.equals(endpoint.getApplicableLevel())) {
-                        endpointMap.put(resultSet.getString("ENDPOINT_LEVEL"), new Endpoint.Builder().
-                                id(endpoint.getId()).applicableLevel(APIMgtConstants.GLOBAL_ENDPOINT).build());
-                    } else {
-                        endpointMap.put(resultSet.getString("ENDPOINT_LEVEL"), endpoint);
+                "AM_API_ENDPOINT_MAPPING.TYPE AS ENDPOINT_LEVEL,AM_API_ENDPOINT_MAPPING.API_ID AS API_ID FROM " +
+                "AM_API_ENDPOINT_MAPPING INNER JOIN AM_ENDPOINT ON AM_API_ENDPOINT_MAPPING.ENDPOINT_ID=AM_ENDPOINT" +
+                ".UUID WHERE AM_API_ENDPOINT_MAPPING.API_ID IN (";
+        for (List<String> apiIdPartition : partitionApiIds(apiIds)) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(getQueryForApis(query,
+                    apiIdPartition))) {
+                setApiIds(preparedStatement, apiIdPartition);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        Map<String, Endpoint> endpointMap = endpointMaps.computeIfAbsent(
+                                resultSet.getString("API_ID"), k -> new HashMap<>());
+                        Endpoint endpoint = constructEndPointDetails(resultSet);
+                        if (APIMgtConstants.GLOBAL_ENDPOINT.equals(endpoint.getApplicableLevel())) {
+                            endpointMap.put(resultSet.getString("ENDPOINT_LEVEL"), new Endpoint.Builder().
+                                    id(endpoint.getId()).applicableLevel(APIMgtConstants.GLOBAL_ENDPOINT).build());
+                        } else {
+                            endpointMap.put(resultSet.getString("ENDPOINT_LEVEL"), endpoint);
+                        }
                     }
                 }
             }
         }
-        return endpointMap;
+        return endpointMaps;
     }
 
     private void addEndPointsForApi(Connection connection, String apiId, Map<String, Endpoint> endpointMap) throws
@@ -3208,8 +3287,7 @@ public class ApiDAOImpl implements ApiDAO {
         Map<String, UriTemplate> uriTemplates = getUriTemplates(connection, apiId);
 
         for (Map.Entry<String, UriTemplate> uriTemplate : uriTemplates.entrySet()) {
-            Map<String, Endpoint> apiEndPoints = getEndPointsForOperation(connection, apiId,
-                    uriTemplate.getValue().getTemplateId());
+            Map<String, Endpoint> apiEndPoints = uriTemplate.getValue().getEndpoint();
 
             for (Map.Entry<String, Endpoint> apiEndpoint : apiEndPoints.entrySet()) {
                 Endpoint endpoint = apiEndpoint.getValue();
@@ -3232,30 +3310,47 @@ public class ApiDAOImpl implements ApiDAO {
         }
     }
 
-    private Map<String, Endpoint> getEndPointsForOperation(Connection connection, String apiId, String operationId)
+    /**
+     * Get the endpoints of all the operations of a set of APIs
+     *
+     * @param connection SQL Connection
+     * @param apiIds     ApiIds of the APIs
+     * @return Endpoint maps keyed by apiId and then by operationId
+     * @throws SQLException If failed to retrieve the endpoints
+     * @throws IOException  If failed to read endpoint configurations
+     */
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    private Map<String, Map<String, Map<String, Endpoint>>> getEndPointsForOperations(Connection connection,
+                                                                                       Collection<String> apiIds)
             throws SQLException, IOException {
-        Map<String, Endpoint> endpointMap = new HashMap();
+        Map<String, Map<String, Map<String, Endpoint>>> endpointMaps = new HashMap<>();
         final String query = "SELECT AM_ENDPOINT.UUID,AM_ENDPOINT.NAME,AM_ENDPOINT.SECURITY_CONFIGURATION,AM_ENDPOINT" +
                 ".APPLICABLE_LEVEL,AM_ENDPOINT.ENDPOINT_CONFIGURATION,AM_ENDPOINT.TPS,AM_ENDPOINT.TYPE," +
-                "AM_API_RESOURCE_ENDPOINT.TYPE AS ENDPOINT_LEVEL FROM AM_API_RESOURCE_ENDPOINT INNER JOIN AM_ENDPOINT" +
-                " ON AM_API_RESOURCE_ENDPOINT.ENDPOINT_ID=AM_ENDPOINT.UUID WHERE AM_API_RESOURCE_ENDPOINT.API_ID = ? " +
-                "AND OPERATION_ID = ?";
-        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-            preparedStatement.setString(1, apiId);
-            preparedStatement.setString(2, operationId);
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                while (resultSet.next()) {
-                    Endpoint endpoint = constructEndPointDetails(resultSet);
-                    if (APIMgtConstants.API_SPECIFIC_ENDPOINT.equals(endpoint.getApplicableLevel())) {
-                        endpointMap.put(resultSet.getString("ENDPOINT_LEVEL"), new Endpoint.Builder().
-                                id(endpoint.getId()).applicableLevel(endpoint.getApplicableLevel()).build());
-                    } else {
-                        endpointMap.put(resultSet.getString("ENDPOINT_LEVEL"), endpoint);
+                "AM_API_RESOURCE_ENDPOINT.TYPE AS ENDPOINT_LEVEL,AM_API_RESOURCE_ENDPOINT.API_ID AS API_ID," +
+                "AM_API_RESOURCE_ENDPOINT.OPERATION_ID AS OPERATION_ID FROM AM_API_RESOURCE_ENDPOINT INNER JOIN " +
+                "AM_ENDPOINT ON AM_API_RESOURCE_ENDPOINT.ENDPOINT_ID=AM_ENDPOINT.UUID WHERE " +
+                "AM_API_RESOURCE_ENDPOINT.API_ID IN (";
+        for (List<String> apiIdPartition : partitionApiIds(apiIds)) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(getQueryForApis(query,
+                    apiIdPartition))) {
+                setApiIds(preparedStatement, apiIdPartition);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        Map<String, Endpoint> endpointMap = endpointMaps.computeIfAbsent(
+                                resultSet.getString("API_ID"), k -> new HashMap<>()).computeIfAbsent(
+                                resultSet.getString("OPERATION_ID"), k -> new HashMap<>());
+                        Endpoint endpoint = constructEndPointDetails(resultSet);
+                        if (APIMgtConstants.API_SPECIFIC_ENDPOINT.equals(endpoint.getApplicableLevel())) {
+                            endpointMap.put(resultSet.getString("ENDPOINT_LEVEL"), new Endpoint.Builder().
+                                    id(endpoint.getId()).applicableLevel(endpoint.getApplicableLevel()).build());
+                        } else {
+                            endpointMap.put(resultSet.getString("ENDPOINT_LEVEL"), endpoint);
+                        }
                     }
                 }
             }
         }
-        return endpointMap;
+        return endpointMaps;
     }
 
     private void addEndPointsForOperation(Connection connection, String apiId, String operationId, Map<String,
@@ -3325,40 +3420,31 @@ public class ApiDAOImpl implements ApiDAO {
     }
 
     private List<String> getLabelIdsForAPI(Connection connection, String apiID) throws SQLException {
-        List<String> labelIDs = new ArrayList<>();
-
-        final String query = "SELECT LABEL_ID FROM AM_API_LABEL_MAPPING WHERE API_ID = ?";
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, apiID);
-            statement.execute();
-
-            try (ResultSet rs = statement.getResultSet()) {
+        return getLabelIdsForAPIs(connection, Collections.singletonList(apiID)).getOrDefault(apiID,
+                new ArrayList<>());
+    }
 
-                while (rs.next()) {
-                    labelIDs.add(rs.getString("LABEL_ID"));
-                }
-            }
+    private Map<String, List<String>> getLabelIdsForAPIs(Connection connection, Collection<String> apiIds)
+            throws SQLException {
+        final String query = "SELECT API_ID, LABEL_ID FROM AM_API_LABEL_MAPPING WHERE API_ID IN (";
+        Map<String, List<String>> labelIDs = new HashMap<>();
+        for (Map.Entry<String, Set<String>> apiLabelIDs :
+                getValuesOfApis(connection, query, "LABEL_ID", apiIds).entrySet()) {
+            List<String> sortedLabelIDs = new ArrayList<>(apiLabelIDs.getValue());
+            Collections.sort(sortedLabelIDs);
+            labelIDs.put(apiLabelIDs.getKey(), sortedLabelIDs);
         }
-        Collections.sort(labelIDs);
         return labelIDs;
     }
 
     private Set<String> getTransports(Connection connection, String apiID) throws SQLException {
-        Set<String> transports = new HashSet<>();
-
-        final String query = "SELECT TRANSPORT FROM AM_API_TRANSPORTS WHERE API_ID = ?";
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, apiID);
-            statement.execute();
-
-            try (ResultSet rs = statement.getResultSet()) {
-                while (rs.next()) {
-                    transports.add(rs.getString("TRANSPORT"));
-                }
-            }
-        }
+        return getTransports(connection, Collections.singletonList(apiID)).getOrDefault(apiID, new HashSet<>());
+    }
 
-        return transports;
+    private Map<String, Set<String>> getTransports(Connection connection, Collection<String> apiIds)
+            throws SQLException {
+        final String query = "SELECT API_ID, TRANSPORT FROM AM_API_TRANSPORTS WHERE API_ID IN (";
+        return getValuesOfApis(connection, query, "TRANSPORT", apiIds);
     }
 
     /**
@@ -3370,20 +3456,111 @@ public class ApiDAOImpl implements ApiDAO {
      * @throws SQLException If failed to retrieve the set of ids
      */
     private Set<String> getThreatProtectionPolicies(Connection connection, String apiId) throws SQLException {
-        Set<String> policies = new HashSet<>();
-        final String query = "SELECT POLICY_ID FROM AM_THREAT_PROTECTION_MAPPING WHERE API_ID = ?";
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, apiId);
-            statement.execute();
+        return getThreatProtectionPolicies(connection, Collections.singletonList(apiId)).getOrDefault(apiId,
+                new HashSet<>());
+    }
 
-            try (ResultSet rs = statement.getResultSet()) {
-                while (rs.next()) {
-                    policies.add(rs.getString("POLICY_ID"));
+    /**
+     * Get the threat protection policy ids associated with a set of APIs
+     *
+     * @param connection SQL Connection
+     * @param apiIds     ApiIds of the APIs
+     * @return Sets of threat protection policy ids keyed by apiId
+     * @throws SQLException If failed to retrieve the sets of ids
+     */
+    private Map<String, Set<String>> getThreatProtectionPolicies(Connection connection, Collection<String> apiIds)
+            throws SQLException {
+        final String query = "SELECT API_ID, POLICY_ID FROM AM_THREAT_PROTECTION_MAPPING WHERE API_ID IN (";
+        return getValuesOfApis(connection, query, "POLICY_ID", apiIds);
+    }
+
+    /**
+     * Get the WSDL URIs of a set of APIs
+     *
+     * @param connection SQL Connection
+     * @param apiIds     ApiIds of the APIs
+     * @return WSDL URIs keyed by apiId. APIs without a WSDL URI are not included.
+     * @throws SQLException If failed to retrieve the WSDL URIs
+     */
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    private Map<String, String> getWsdlUris(Connection connection, Collection<String> apiIds) throws SQLException {
+        Map<String, String> wsdlUris = new HashMap<>();
+        final String query = "SELECT resources.API_ID AS API_ID, resources.RESOURCE_TEXT_VALUE AS RESOURCE_TEXT_VALUE "
+                + "FROM AM_API_RESOURCES resources INNER JOIN AM_RESOURCE_CATEGORIES categories ON "
+                + "resources.RESOURCE_CATEGORY_ID = categories.RESOURCE_CATEGORY_ID WHERE "
+                + "categories.RESOURCE_CATEGORY = ? AND resources.API_ID IN (";
+        for (List<String> apiIdPartition : partitionApiIds(apiIds)) {
+            try (PreparedStatement statement = connection.prepareStatement(getQueryForApis(query, apiIdPartition))) {
+                statement.setString(1, ResourceCategory.WSDL_TEXT.toString());
+                for (int i = 0; i < apiIdPartition.size(); ++i) {
+                    statement.setString(i + 2, apiIdPartition.get(i));
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        wsdlUris.putIfAbsent(rs.getString("API_ID"), rs.getString("RESOURCE_TEXT_VALUE"));
+                    }
                 }
             }
         }
+        return wsdlUris;
+    }
 
-        return policies;
+    /**
+     * Get the values of a child table column for a set of APIs. The given query must select an {@code API_ID}
+     * column and end with an open {@code IN (} clause on the API ID, which is completed with a parameter for each
+     * API ID.
+     *
+     * @param connection  SQL Connection
+     * @param query       Query ending with an open {@code IN (} clause on the API ID
+     * @param valueColumn Name of the column holding the values
+     * @param apiIds      ApiIds of the APIs
+     * @return Sets of values keyed by apiId. APIs without any values are not included.
+     * @throws SQLException If failed to retrieve the values
+     */
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    private static Map<String, Set<String>> getValuesOfApis(Connection connection, String query, String valueColumn,
+                                                            Collection<String> apiIds) throws SQLException {
+        Map<String, Set<String>> values = new HashMap<>();
+        for (List<String> apiIdPartition : partitionApiIds(apiIds)) {
+            try (PreparedStatement statement = connection.prepareStatement(getQueryForApis(query, apiIdPartition))) {
+                setApiIds(statement, apiIdPartition);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        values.computeIfAbsent(rs.getString("API_ID"), k -> new HashSet<>())
+                                .add(rs.getString(valueColumn));
+                    }
+                }
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Split API IDs into partitions small enough to be bound to a single {@code IN} clause on all the supported
+     * databases.
+     *
+     * @param apiIds ApiIds of the APIs
+     * @return Partitions of the distinct API IDs
+     */
+    private static List<List<String>> partitionApiIds(Collection<String> apiIds) {
+        List<String> distinctApiIds = new ArrayList<>(new LinkedHashSet<>(apiIds));
+        List<List<String>> partitions = new ArrayList<>();
+        for (int i = 0; i < distinctApiIds.size(); i += MAX_API_IDS_PER_QUERY) {
+            partitions.add(distinctApiIds.subList(i, Math.min(i + MAX_API_IDS_PER_QUERY, distinctApiIds.size())));
+        }
+
+        return partitions;
+    }
+
+    private static String getQueryForApis(String query, List<String> apiIds) {
+        return query + DAOUtil.getParameterString(apiIds.size()) + ")";
+    }
+
+    private static void setApiIds(PreparedStatement statement, List<String> apiIds) throws SQLException {
+        for (int i = 0; i < apiIds.size(); ++i) {
+            statement.setString(i + 1, apiIds.get(i));
+        }
     }
 
     private static boolean isApiTypesExist(Connection connection) throws SQLException {
@@ -791,6 +791,14 @@ public class ApiFileDAOImpl implements ApiDAO {
         return null;
     }
 
+    /**
+     * @see ApiDAO#getLastUpdatedTimeOfWSDL(String apiId)
+     */
+    @Override
+    public String getLastUpdatedTimeOfWSDL(String apiId) throws APIMgtDAOException {
+        return null;
+    }
+
     private Object fetchObject(File file, Class c, FilenameFilter filenameFilter) {
         File[] files = (filenameFilter != null) ? file.listFiles(filenameFilter) : file.listFiles();
         if (files != null && files.length > 0) {
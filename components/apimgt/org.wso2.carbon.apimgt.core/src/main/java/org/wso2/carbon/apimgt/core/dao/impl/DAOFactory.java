@@ -27,6 +27,7 @@ import org.wso2.carbon.apimgt.core.dao.AnalyticsDAO;
 import org.wso2.carbon.apimgt.core.dao.ApiDAO;
 import org.wso2.carbon.apimgt.core.dao.ApplicationDAO;
 import org.wso2.carbon.apimgt.core.dao.FunctionDAO;
+import org.wso2.carbon.apimgt.core.dao.GatewayChangeLogDAO;
 import org.wso2.carbon.apimgt.core.dao.LabelDAO;
 import org.wso2.carbon.apimgt.core.dao.PolicyDAO;
 import org.wso2.carbon.apimgt.core.dao.SystemApplicationDao;
@@ -43,6 +44,10 @@ import java.sql.SQLException;
 
 /**
  * Constructs DB vendor specific DAO implementations in a transparent manner.
+ * <p>
+ * The DAOs are stateless, hence a single instance of each DAO is shared. The database vendor is detected and the
+ * DAOs are created the first time a DAO is requested after the datasource is initialized, so that getting a DAO does
+ * not borrow a connection from the datasource. The DAOs are created again when the datasource is changed.
  */
 public class DAOFactory {
 
@@ -58,228 +63,49 @@ public class DAOFactory {
     private static final String EDITOR_SAVE_PATH = "editorSavePath";
     private static final String EDITOR_MODE = "editorMode";
 
-    public static ApiDAO getApiDAO() throws APIMgtDAOException {
-        ApiDAO apiDAO = null;
+    private static final ThreatProtectionDAO threatProtectionDAO = new ThreatProtectionDAOImpl();
+    private static final GatewayChangeLogDAO gatewayChangeLogDAO = new GatewayChangeLogDAOImpl();
+    private static final SystemApplicationDao systemApplicationDao = new SystemApplicationDaoImpl();
+    private static final UserMappingDAO userMappingDAO = new UserMappingDAOImpl();
+
+    private static volatile DAORegistry registry;
+    private static volatile AnalyticsDAO analyticsDAO;
 
+    public static ApiDAO getApiDAO() throws APIMgtDAOException {
         if (System.getProperty(EDITOR_MODE) != null) {
             String filePath;
             if ((filePath = System.getProperty(EDITOR_SAVE_PATH)) != null) {
-                apiDAO = new ApiFileDAOImpl(filePath);
-                return apiDAO;
-
+                return new ApiFileDAOImpl(filePath);
             } else {
                 throw new APIMgtDAOException("Editor archive storage path not provided",
                         ExceptionCodes.APIM_DAO_EXCEPTION);
             }
         }
-
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
-
-            if (driverName.contains(MYSQL)) {
-                apiDAO = new ApiDAOImpl(new MysqlSQLStatements());
-            } else if (driverName.contains(H2)) {
-                apiDAO = new ApiDAOImpl(new H2SQLStatements());
-
-            } else if (driverName.contains(DB2)) {
-
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                apiDAO = new ApiDAOImpl(new MssqlSQLStatements());
-            } else if (driverName.contains(POSTGRE)) {
-                apiDAO = new ApiDAOImpl(new PostgresSQLStatements());
-
-            } else if (driverName.contains(ORACLE)) {
-                apiDAO = new ApiDAOImpl(new OracleSQLStatements());
-
-            } else {
-                throw new APIMgtDAOException("Unhandled DB driver: " + driverName + " detected",
-                        ExceptionCodes.APIM_DAO_EXCEPTION);
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting ApiDAO", e);
-        }
-
-        setup();
-
-        return apiDAO;
+        return getRegistry("getting ApiDAO").apiDAO;
     }
 
     public static ApplicationDAO getApplicationDAO() throws APIMgtDAOException {
-        ApplicationDAO appDAO = null;
-
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
-
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                appDAO = new ApplicationDAOImpl();
-            } else if (driverName.contains(DB2)) {
-
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                appDAO = new ApplicationDAOImpl();
-            } else if (driverName.contains(POSTGRE)) {
-                appDAO = new ApplicationDAOImpl();
-            } else if (driverName.contains(ORACLE)) {
-                appDAO = new ApplicationDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB driver: " + driverName + " detected",
-                        ExceptionCodes.APIM_DAO_EXCEPTION);
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting ApplicationDAO", e);
-        }
-
-        setup();
-
-        return appDAO;
+        return getRegistry("getting ApplicationDAO").applicationDAO;
     }
 
     public static APISubscriptionDAO getAPISubscriptionDAO() throws APIMgtDAOException {
-        APISubscriptionDAO apiSubscriptionDAO = null;
-
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
-
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                apiSubscriptionDAO = new APISubscriptionDAOImpl();
-            } else if (driverName.contains(DB2)) {
-
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                apiSubscriptionDAO = new APISubscriptionDAOImpl();
-
-            } else if (driverName.contains(POSTGRE)) {
-                apiSubscriptionDAO = new APISubscriptionDAOImpl();
-
-            } else if (driverName.contains(ORACLE)) {
-                apiSubscriptionDAO = new APISubscriptionDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB driver: " + driverName + " detected",
-                        ExceptionCodes.APIM_DAO_EXCEPTION);
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting APISubscriptionDAO", e);
-        }
-
-        setup();
-
-        return apiSubscriptionDAO;
+        return getRegistry("getting APISubscriptionDAO").apiSubscriptionDAO;
     }
 
     public static PolicyDAO getPolicyDAO() throws APIMgtDAOException {
-        PolicyDAO policyDAO = null;
-
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
-
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                policyDAO = new PolicyDAOImpl();
-            } else if (driverName.contains(DB2)) {
-
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                policyDAO = new PolicyDAOImpl();
-
-            } else if (driverName.contains(POSTGRE)) {
-                policyDAO = new PolicyDAOImpl();
-
-            } else if (driverName.contains(ORACLE)) {
-                policyDAO = new PolicyDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB driver: " + driverName + " detected",
-                        ExceptionCodes.APIM_DAO_EXCEPTION);
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting PolicyDAO", e);
-        }
-
-        setup();
-
-        return policyDAO;
+        return getRegistry("getting PolicyDAO").policyDAO;
     }
 
     public static TagDAO getTagDAO() throws APIMgtDAOException {
-        TagDAO tagDAO = null;
-
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
-
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                tagDAO = new TagDAOImpl();
-            } else if (driverName.contains(DB2)) {
-
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                tagDAO = new TagDAOImpl();
-            } else if (driverName.contains(POSTGRE)) {
-                tagDAO = new TagDAOImpl();
-            } else if (driverName.contains(ORACLE)) {
-                tagDAO = new TagDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB driver: " + driverName + " detected",
-                        ExceptionCodes.APIM_DAO_EXCEPTION);
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting TagDAO", e);
-        }
-
-        setup();
-
-        return tagDAO;
+        return getRegistry("getting TagDAO").tagDAO;
     }
 
     public static LabelDAO getLabelDAO() throws APIMgtDAOException {
-        LabelDAO labelDAO = null;
-
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
-
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                labelDAO = new LabelDAOImpl();
-            } else if (driverName.contains(DB2)) {
-
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                labelDAO = new LabelDAOImpl();
-            } else if (driverName.contains(POSTGRE)) {
-                labelDAO = new LabelDAOImpl();
-            } else if (driverName.contains(ORACLE)) {
-                labelDAO = new LabelDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB driver: " + driverName + " detected",
-                        ExceptionCodes.APIM_DAO_EXCEPTION);
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting LabelDAO", e);
-        }
-
-        setup();
-
-        return labelDAO;
+        return getRegistry("getting LabelDAO").labelDAO;
     }
 
     public static WorkflowDAO getWorkflowDAO() throws APIMgtDAOException {
-        WorkflowDAO workflowDAO = null;
-
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
-
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                workflowDAO = new WorkflowDAOImpl();
-            } else if (driverName.contains(DB2)) {
-
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                workflowDAO = new WorkflowDAOImpl();
-            } else if (driverName.contains(POSTGRE)) {
-                workflowDAO = new WorkflowDAOImpl();
-            } else if (driverName.contains(ORACLE)) {
-                workflowDAO = new WorkflowDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB driver: " + driverName + " detected",
-                        ExceptionCodes.APIM_DAO_EXCEPTION);
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting WorkflowDAO", e);
-        }
-
-        setup();
-
-        return workflowDAO;
+        return getRegistry("getting WorkflowDAO").workflowDAO;
     }
 
     /**
@@ -289,34 +115,7 @@ public class DAOFactory {
      * @throws APIMgtDAOException In case of unhandled DB type or SQLException
      */
     public static FunctionDAO getFunctionDAO() throws APIMgtDAOException {
-        FunctionDAO functionDAO = null;
-
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
-
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                functionDAO = new FunctionDAOImpl();
-            } else if (driverName.contains(DB2)) {
-
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                functionDAO = new FunctionDAOImpl();
-
-            } else if (driverName.contains(POSTGRE)) {
-                functionDAO = new FunctionDAOImpl();
-
-            } else if (driverName.contains(ORACLE)) {
-                functionDAO = new FunctionDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB driver: " + driverName + " detected",
-                        ExceptionCodes.APIM_DAO_EXCEPTION);
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting FunctionDAO", e);
-        }
-
-        setup();
-
-        return functionDAO;
+        return getRegistry("getting FunctionDAO").functionDAO;
     }
 
     /**
@@ -326,28 +125,41 @@ public class DAOFactory {
      * @throws APIMgtDAOException if error during getting analytics database connection
      */
     public static AnalyticsDAO getAnalyticsDAO() throws APIMgtDAOException {
-        AnalyticsDAO analyticsDAO;
-        boolean isAnalyticsEnabled = ServiceReferenceHolder.getInstance().getAPIMConfiguration()
-                .getAnalyticsConfigurations().isEnabled();
-        if (isAnalyticsEnabled) {
-            try (Connection connection = DAOUtil.getAnalyticsConnection()) {
-                analyticsDAO = getAnalyticsDaoImplForVendor(connection);
-            } catch (SQLException e) {
-                throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting FunctionDAO", e);
+        AnalyticsDAO dao = analyticsDAO;
+        if (dao != null) {
+            return dao;
+        }
+        synchronized (DAOFactory.class) {
+            if (analyticsDAO != null) {
+                return analyticsDAO;
             }
-        } else {
-            // if analytics is not enabled create a normal AMDB data connection to check db driver
-            try (Connection connection = DAOUtil.getConnection()) {
-                analyticsDAO = getAnalyticsDaoImplForVendor(connection);
-            } catch (SQLException e) {
-                throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting FunctionDAO", e);
+            boolean isAnalyticsEnabled = ServiceReferenceHolder.getInstance().getAPIMConfiguration()
+                    .getAnalyticsConfigurations().isEnabled();
+            if (isAnalyticsEnabled) {
+                try (Connection connection = DAOUtil.getAnalyticsConnection()) {
+                    dao = getAnalyticsDaoImplForVendor(connection);
+                } catch (SQLException e) {
+                    throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting FunctionDAO", e);
+                }
+            } else {
+                // if analytics is not enabled create a normal AMDB data connection to check db driver
+                try (Connection connection = DAOUtil.getConnection()) {
+                    dao = getAnalyticsDaoImplForVendor(connection);
+                } catch (SQLException e) {
+                    throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting FunctionDAO", e);
+                }
             }
+            analyticsDAO = dao;
+            return dao;
         }
-        return analyticsDAO;
     }
 
     public static ThreatProtectionDAO getThreatProtectionDAO() {
-        return new ThreatProtectionDAOImpl();
+        return threatProtectionDAO;
+    }
+
+    public static GatewayChangeLogDAO getGatewayChangeLogDAO() {
+        return gatewayChangeLogDAO;
     }
 
     private static AnalyticsDAO getAnalyticsDaoImplForVendor(Connection connection)
@@ -373,7 +185,7 @@ public class DAOFactory {
     }
 
     public static SystemApplicationDao getSystemApplicationDao() throws APIMgtDAOException {
-        return new SystemApplicationDaoImpl();
+        return systemApplicationDao;
     }
 
     private static void setup() throws APIMgtDAOException {
@@ -383,7 +195,110 @@ public class DAOFactory {
     }
 
     public static UserMappingDAO getUserMappingDAO() {
-        return new UserMappingDAOImpl();
+        return userMappingDAO;
+    }
+
+    /**
+     * Discard the DAOs created for the current datasource. Called by {@link DAOUtil} whenever a datasource is
+     * initialized or cleared.
+     */
+    static synchronized void clearRegistry() {
+        registry = null;
+        analyticsDAO = null;
     }
 
+    /**
+     * Discard the analytics DAO created for the current analytics datasource. Called by {@link DAOUtil} whenever an
+     * analytics datasource is initialized or cleared.
+     */
+    static synchronized void clearAnalyticsDAO() {
+        analyticsDAO = null;
+    }
+
+    /**
+     * Returns the DAOs of the current datasource, detecting the database vendor and creating the DAOs if they have
+     * not been created yet.
+     *
+     * @param operation Operation reported if the DAOs could not be created
+     * @return DAOs of the current datasource
+     * @throws APIMgtDAOException In case of unhandled DB type or SQLException
+     */
+    private static DAORegistry getRegistry(String operation) throws APIMgtDAOException {
+        DAORegistry daoRegistry = registry;
+        if (daoRegistry != null) {
+            return daoRegistry;
+        }
+        synchronized (DAOFactory.class) {
+            if (registry == null) {
+                String driverName;
+                try (Connection connection = DAOUtil.getConnection()) {
+                    driverName = connection.getMetaData().getDriverName();
+                } catch (SQLException e) {
+                    throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + operation, e);
+                }
+                DAORegistry newRegistry = new DAORegistry(driverName);
+                setup();
+                registry = newRegistry;
+                if (log.isDebugEnabled()) {
+                    log.debug("Created DAOs for database driver: " + driverName);
+                }
+            }
+            return registry;
+        }
+    }
+
+    /**
+     * DAOs of the database vendor of a datasource
+     */
+    private static final class DAORegistry {
+        private final ApiDAO apiDAO;
+        private final ApplicationDAO applicationDAO;
+        private final APISubscriptionDAO apiSubscriptionDAO;
+        private final PolicyDAO policyDAO;
+        private final TagDAO tagDAO;
+        private final LabelDAO labelDAO;
+        private final WorkflowDAO workflowDAO;
+        private final FunctionDAO functionDAO;
+
+        private DAORegistry(String driverName) throws APIMgtDAOException {
+            ApiDAOVendorSpecificStatements sqlStatements;
+            if (driverName.contains(MYSQL)) {
+                sqlStatements = new MysqlSQLStatements();
+            } else if (driverName.contains(H2)) {
+                sqlStatements = new H2SQLStatements();
+            } else if (driverName.contains(DB2)) {
+                sqlStatements = null;
+            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
+                sqlStatements = new MssqlSQLStatements();
+            } else if (driverName.contains(POSTGRE)) {
+                sqlStatements = new PostgresSQLStatements();
+            } else if (driverName.contains(ORACLE)) {
+                sqlStatements = new OracleSQLStatements();
+            } else {
+                throw new APIMgtDAOException("Unhandled DB driver: " + driverName + " detected",
+                        ExceptionCodes.APIM_DAO_EXCEPTION);
+            }
+
+            if (sqlStatements == null) {
+                // DB2 is not supported yet
+                apiDAO = null;
+                applicationDAO = null;
+                apiSubscriptionDAO = null;
+                policyDAO = null;
+                tagDAO = null;
+                labelDAO = null;
+                workflowDAO = null;
+                functionDAO = null;
+            } else {
+                apiDAO = new ApiDAOImpl(sqlStatements);
+                applicationDAO = new ApplicationDAOImpl();
+                apiSubscriptionDAO = new APISubscriptionDAOImpl();
+                policyDAO = new PolicyDAOImpl();
+                tagDAO = new TagDAOImpl();
+                labelDAO = new LabelDAOImpl();
+                workflowDAO = new WorkflowDAOImpl();
+                functionDAO = new FunctionDAOImpl();
+            }
+        }
+    }
 }
@@ -49,6 +49,7 @@ public class DAOUtil {
         }
 
         DAOUtil.dataSource = dataSource;
+        DAOFactory.clearRegistry();
     }
 
     public static synchronized void initializeAnalyticsDataSource(DataSource analyticsDataSource) {
@@ -56,6 +57,7 @@ public class DAOUtil {
             return;
         }
         DAOUtil.analyticsDataSource = analyticsDataSource;
+        DAOFactory.clearAnalyticsDAO();
     }
 
     /**
@@ -139,10 +141,12 @@ public class DAOUtil {
 
     public static void clearDataSource() {
         dataSource = null;
+        DAOFactory.clearRegistry();
     }
 
     public static void clearAnalyticsDataSource() {
         analyticsDataSource = null;
+        DAOFactory.clearAnalyticsDAO();
     }
 }
 
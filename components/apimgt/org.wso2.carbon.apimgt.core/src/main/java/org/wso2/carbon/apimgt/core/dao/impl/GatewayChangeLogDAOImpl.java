@@ -0,0 +1,193 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.apache.commons.io.IOUtils;
+import org.wso2.carbon.apimgt.core.dao.GatewayChangeLogDAO;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.models.GatewayChange;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DAO Layer implementation class for the gateway change log. Revisions are taken from the single row of the
+ * AM_GATEWAY_CHANGE_REVISION table, which stays locked until the change is committed. Changes are therefore committed
+ * in revision order, and a gateway reading the changes after a revision never misses a change committed later with a
+ * lower revision.
+ */
+public class GatewayChangeLogDAOImpl implements GatewayChangeLogDAO {
+
+    //DB Column names
+    private static final String F_REVISION = "REVISION";
+    private static final String F_EVENT_TYPE = "EVENT_TYPE";
+    private static final String F_EVENT = "EVENT";
+    private static final String F_CREATED_TIME = "CREATED_TIME";
+
+    private static final int REVISION_ROW_ID = 1;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addChange(String eventType, String event) throws APIMgtDAOException {
+        final String addChangeSql = "INSERT INTO AM_GATEWAY_CHANGE_LOG (REVISION, EVENT_TYPE, EVENT, CREATED_TIME) "
+                + "VALUES (?,?,?,?)";
+        try (Connection connection = DAOUtil.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(addChangeSql)) {
+                long revision = nextRevision(connection);
+                if (revision == 0) {
+                    // the revision row was created by a concurrent first change, hence increment that row instead
+                    connection.rollback();
+                    revision = nextRevision(connection);
+                    if (revision == 0) {
+                        throw new SQLException("Gateway change revision row cannot be created");
+                    }
+                }
+                statement.setLong(1, revision);
+                statement.setString(2, eventType);
+                statement.setBinaryStream(3, IOUtils.toInputStream(event, StandardCharsets.UTF_8));
+                statement.setTimestamp(4, Timestamp.from(Instant.now()));
+                statement.execute();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(DAOUtil.isAutoCommit());
+            }
+        } catch (SQLException e) {
+            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "adding gateway change(eventType: " + eventType
+                    + ")", e);
+        }
+    }
+
+    /**
+     * Increment the revision counter, which locks the counter row until the transaction ends
+     *
+     * @param connection connection of the transaction adding the change
+     * @return the incremented revision, or 0 if the counter row did not exist and could not be created
+     * @throws SQLException if the counter cannot be incremented
+     */
+    private long nextRevision(Connection connection) throws SQLException {
+        final String incrementRevisionSql = "UPDATE AM_GATEWAY_CHANGE_REVISION SET REVISION = REVISION + 1 "
+                + "WHERE ID = ?";
+        final String getRevisionSql = "SELECT REVISION FROM AM_GATEWAY_CHANGE_REVISION WHERE ID = ?";
+        try (PreparedStatement statement = connection.prepareStatement(incrementRevisionSql)) {
+            statement.setInt(1, REVISION_ROW_ID);
+            if (statement.executeUpdate() == 0) {
+                return addRevisionRow(connection);
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement(getRevisionSql)) {
+            statement.setInt(1, REVISION_ROW_ID);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getLong(F_REVISION);
+                }
+                throw new SQLException("Gateway change revision row is missing");
+            }
+        }
+    }
+
+    /**
+     * Create the revision counter with the first revision
+     *
+     * @param connection connection of the transaction adding the first change
+     * @return the first revision, or 0 if the row was created by a concurrent transaction
+     */
+    private long addRevisionRow(Connection connection) {
+        final String addRevisionSql = "INSERT INTO AM_GATEWAY_CHANGE_REVISION (ID, REVISION) VALUES (?,?)";
+        try (PreparedStatement statement = connection.prepareStatement(addRevisionSql)) {
+            statement.setInt(1, REVISION_ROW_ID);
+            statement.setLong(2, 1);
+            statement.execute();
+            return 1;
+        } catch (SQLException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<GatewayChange> getChangesSince(long revision, int limit) throws APIMgtDAOException {
+        List<GatewayChange> changes = new ArrayList<>();
+        if (limit == 0) {
+            return changes;
+        }
+        final String getChangesSql = "SELECT REVISION, EVENT_TYPE, EVENT, CREATED_TIME FROM AM_GATEWAY_CHANGE_LOG "
+                + "WHERE REVISION > ? ORDER BY REVISION";
+        try (Connection connection = DAOUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(getChangesSql)) {
+            statement.setLong(1, revision);
+            if (limit > 0) {
+                statement.setMaxRows(limit);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    String event = null;
+                    try (InputStream inputStream = rs.getBinaryStream(F_EVENT)) {
+                        if (inputStream != null) {
+                            event = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+                        }
+                    }
+                    Timestamp createdTime = rs.getTimestamp(F_CREATED_TIME);
+                    changes.add(new GatewayChange(rs.getLong(F_REVISION), rs.getString(F_EVENT_TYPE), event,
+                            createdTime == null ? null : createdTime.toInstant()));
+                }
+            }
+        } catch (SQLException | IOException e) {
+            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting gateway changes since revision "
+                    + revision, e);
+        }
+        return changes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLatestRevision() throws APIMgtDAOException {
+        final String getLatestRevisionSql = "SELECT MAX(REVISION) FROM AM_GATEWAY_CHANGE_LOG";
+        try (Connection connection = DAOUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(getLatestRevisionSql);
+             ResultSet rs = statement.executeQuery()) {
+            if (rs.next()) {
+                return rs.getLong(1);
+            }
+            return 0;
+        } catch (SQLException e) {
+            throw new APIMgtDAOException(DAOUtil.DAO_ERROR_PREFIX + "getting latest gateway change revision", e);
+        }
+    }
+}
@@ -1137,30 +1137,39 @@ public class PolicyDAOImpl implements PolicyDAO {
     public Set<PolicyValidationData> getAllPolicies() throws APIMgtDAOException {
         Set<PolicyValidationData> policyValidationDataList = new LinkedHashSet();
         final String apiPolicyQuery = "SELECT UUID,NAME FROM AM_API_POLICY";
-        final String applicationPolicyQuery = "SELECT UUID,NAME FROM AM_APPLICATION_POLICY";
-        final String subscriptionPolicyQuery = "SELECT UUID,NAME,STOP_ON_QUOTA_REACH FROM AM_SUBSCRIPTION_POLICY";
+        final String applicationPolicyQuery = "SELECT UUID,NAME,QUOTA_TYPE,QUOTA,UNIT_TIME,TIME_UNIT FROM "
+                + "AM_APPLICATION_POLICY";
+        final String subscriptionPolicyQuery = "SELECT UUID,NAME,STOP_ON_QUOTA_REACH,QUOTA_TYPE,QUOTA,UNIT_TIME,"
+                + "TIME_UNIT FROM AM_SUBSCRIPTION_POLICY";
         try (Connection connection = DAOUtil.getConnection()) {
             try (Statement statement = connection.createStatement()) {
                 try (ResultSet resultSet = statement.executeQuery(apiPolicyQuery)) {
                     while (resultSet.next()) {
                         policyValidationDataList.add(new PolicyValidationData(resultSet.getString(APIMgtConstants
                                 .ThrottlePolicyConstants.COLUMN_UUID), resultSet.getString(APIMgtConstants
-                                .ThrottlePolicyConstants.COLUMN_NAME), false));
+                                .ThrottlePolicyConstants.COLUMN_NAME), false,
+                                APIMgtAdminService.PolicyLevel.api.name()));
                     }
                 }
                 try (ResultSet resultSet = statement.executeQuery(applicationPolicyQuery)) {
                     while (resultSet.next()) {
-                        policyValidationDataList.add(new PolicyValidationData(resultSet.getString(APIMgtConstants
-                                .ThrottlePolicyConstants.COLUMN_UUID), resultSet.getString(APIMgtConstants
-                                .ThrottlePolicyConstants.COLUMN_NAME), false));
+                        PolicyValidationData policyValidationData = new PolicyValidationData(resultSet.getString(
+                                APIMgtConstants.ThrottlePolicyConstants.COLUMN_UUID), resultSet.getString(
+                                APIMgtConstants.ThrottlePolicyConstants.COLUMN_NAME), false,
+                                APIMgtAdminService.PolicyLevel.application.name());
+                        setRequestCountLimit(policyValidationData, resultSet);
+                        policyValidationDataList.add(policyValidationData);
                     }
                 }
                 try (ResultSet resultSet = statement.executeQuery(subscriptionPolicyQuery)) {
                     while (resultSet.next()) {
-                        policyValidationDataList.add(new PolicyValidationData(resultSet.getString(APIMgtConstants
-                                .ThrottlePolicyConstants.COLUMN_UUID), resultSet.getString(APIMgtConstants
-                                .ThrottlePolicyConstants.COLUMN_NAME), resultSet.getBoolean(APIMgtConstants
-                                .ThrottlePolicyConstants.COLUMN_STOP_ON_QUOTA_REACH)));
+                        PolicyValidationData policyValidationData = new PolicyValidationData(resultSet.getString(
+                                APIMgtConstants.ThrottlePolicyConstants.COLUMN_UUID), resultSet.getString(
+                                APIMgtConstants.ThrottlePolicyConstants.COLUMN_NAME), resultSet.getBoolean(
+                                APIMgtConstants.ThrottlePolicyConstants.COLUMN_STOP_ON_QUOTA_REACH),
+                                APIMgtAdminService.PolicyLevel.subscription.name());
+                        setRequestCountLimit(policyValidationData, resultSet);
+                        policyValidationDataList.add(policyValidationData);
                     }
                 }
             }
@@ -1172,6 +1181,23 @@ public class PolicyDAOImpl implements PolicyDAO {
         return policyValidationDataList;
     }
 
+    /**
+     * Set the request count limit of a policy, if its default quota is a request count.
+     *
+     * @param policyValidationData policy data sent to the gateway
+     * @param resultSet            result set positioned at the policy
+     * @throws SQLException if the limit could not be read
+     */
+    private static void setRequestCountLimit(PolicyValidationData policyValidationData, ResultSet resultSet)
+            throws SQLException {
+        if (PolicyConstants.REQUEST_COUNT_TYPE.equals(resultSet.getString(APIMgtConstants.ThrottlePolicyConstants
+                .COLUMN_QUOTA_POLICY_TYPE))) {
+            policyValidationData.setRequestCountLimit(resultSet.getLong(APIMgtConstants.ThrottlePolicyConstants
+                    .COLUMN_QUOTA), resultSet.getInt(APIMgtConstants.ThrottlePolicyConstants.COLUMN_UNIT_TIME),
+                    resultSet.getString(APIMgtConstants.ThrottlePolicyConstants.COLUMN_TIME_UNIT));
+        }
+    }
+
     @Override
     public Policy getPolicyByLevelAndUUID(APIMgtAdminService.PolicyLevel policyLevel, String policyId) throws
             APIMgtDAOException {
@@ -28,6 +28,7 @@ import org.wso2.carbon.apimgt.core.dao.impl.DAOFactory;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.APIStatus;
+import org.wso2.carbon.apimgt.core.util.APICache;
 import org.wso2.carbon.lcm.core.Executor;
 import org.wso2.carbon.lcm.core.exception.LifecycleException;
 
@@ -84,6 +85,7 @@ public class APIExecutor implements Executor {
                     apiSubscriptionDAO.deleteSubscriptionsByAPIId(api.getId());
                 }
                 apiDAO.changeLifeCycleStatus(api.getId(), targetState);
+                APICache.getInstance().invalidate(api.getId());
             } catch (APIMgtDAOException e) {
                 throw new LifecycleException("Couldn't create APIPublisher from user", e);
             }
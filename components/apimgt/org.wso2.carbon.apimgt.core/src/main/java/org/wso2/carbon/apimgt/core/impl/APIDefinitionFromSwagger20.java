@@ -90,13 +90,12 @@ public class APIDefinitionFromSwagger20 implements APIDefinition {
 
     private static final Logger log = LoggerFactory.getLogger(APIDefinitionFromSwagger20.class);
     private static Map<String, Map<String, Object>> localConfigMap = new ConcurrentHashMap<>();
+    private static final int MAX_SCOPE_INDEX_COUNT = 16;
+    private static Map<String, RestAPIScopeIndex> scopeIndexMap = new ConcurrentHashMap<>();
 
     @Override
     public String getScopeOfResourcePath(String resourceConfigsJSON, Request request,
                                          ServiceMethodInfo serviceMethodInfo) throws APIManagementException {
-        SwaggerParser swaggerParser = new SwaggerParser();
-        Swagger swagger = swaggerParser.parse(resourceConfigsJSON);
-        String basepath = swagger.getBasePath();
         String verb = (String) request.getProperty(APIMgtConstants.HTTP_METHOD);
         //TODO change to this if msf4j2.3.0-m2 or higher
 //        Method resourceMethod = (Method) request.getProperty("method");
@@ -108,34 +107,48 @@ public class APIDefinitionFromSwagger20 implements APIDefinition {
             log.error(message);
             throw new APIManagementException(message, ExceptionCodes.SWAGGER_URL_MALFORMED);
         }
-        String apiPrefix = resourceMethod.getDeclaringClass().getAnnotation(javax.ws.rs.ApplicationPath.class).value();
-        String pathTemplate = "";
-        if (resourceMethod.getAnnotation(javax.ws.rs.Path.class) != null) {
-            pathTemplate = resourceMethod.getAnnotation(javax.ws.rs.Path.class).value();
+        return getScopeIndex(resourceConfigsJSON).getScope(resourceMethod, verb);
+    }
+
+    /**
+     * Get the resource to scope index of a rest API definition, building it the first time the definition is seen.
+     *
+     * @param resourceConfigsJSON rest API definition
+     * @return resource to scope index
+     * @throws APIManagementException if the namespace of the definition cannot be identified
+     */
+    private RestAPIScopeIndex getScopeIndex(String resourceConfigsJSON) throws APIManagementException {
+        RestAPIScopeIndex scopeIndex = scopeIndexMap.get(resourceConfigsJSON);
+        if (scopeIndex != null) {
+            return scopeIndex;
+        }
+        Swagger swagger = new SwaggerParser().parse(resourceConfigsJSON);
+        String nameSpace = swagger != null && swagger.getBasePath() != null ?
+                getRestAPINamespace(swagger.getBasePath()) : null;
+        if (nameSpace == null) {
+            String message = "Could not identify the rest API of the definition to read resource scopes";
+            log.error(message);
+            throw new APIManagementException(message, ExceptionCodes.SWAGGER_PARSE_EXCEPTION);
+        }
+        scopeIndex = RestAPIScopeIndex.build(nameSpace, swagger,
+                ServiceReferenceHolder.getInstance().getRestAPIConfigurationMap(nameSpace));
+        if (scopeIndexMap.size() >= MAX_SCOPE_INDEX_COUNT) {
+            // definitions have been replaced, drop the indexes of the old ones
+            scopeIndexMap.clear();
         }
-        String nameSpace = getNamespaceFromBasePath(basepath);
+        scopeIndexMap.put(resourceConfigsJSON, scopeIndex);
+        return scopeIndex;
+    }
+
+    private String getRestAPINamespace(String basepath) {
         if (basepath.contains(APIMgtConstants.APPType.PUBLISHER)) {
-            nameSpace = APIMgtConstants.NAMESPACE_PUBLISHER_API;
+            return APIMgtConstants.NAMESPACE_PUBLISHER_API;
         } else if (basepath.contains(APIMgtConstants.APPType.STORE)) {
-            nameSpace = APIMgtConstants.NAMESPACE_STORE_API;
+            return APIMgtConstants.NAMESPACE_STORE_API;
         } else if (basepath.contains(APIMgtConstants.APPType.ADMIN)) {
-            nameSpace = APIMgtConstants.NAMESPACE_ADMIN_API;
+            return APIMgtConstants.NAMESPACE_ADMIN_API;
         } else if (basepath.contains(APIMgtConstants.APPType.ANALYTICS)) {
-            nameSpace = APIMgtConstants.NAMESPACE_ANALYTICS_API;
-        }
-
-        //if namespace is not available in local cache add it.
-        if (nameSpace != null && !localConfigMap.containsKey(nameSpace)) {
-            localConfigMap.put(nameSpace, new ConcurrentHashMap<>());
-        }
-
-        if (nameSpace != null && localConfigMap.containsKey(nameSpace) && localConfigMap.get(nameSpace).isEmpty()) {
-            populateConfigMapForScopes(swagger, nameSpace);
-        }
-
-        String resourceConfig = verb + "_" + apiPrefix + pathTemplate;
-        if (localConfigMap.get(nameSpace).containsKey(resourceConfig)) {
-            return localConfigMap.get(nameSpace).get(resourceConfig).toString();
+            return APIMgtConstants.NAMESPACE_ANALYTICS_API;
         }
         return null;
     }
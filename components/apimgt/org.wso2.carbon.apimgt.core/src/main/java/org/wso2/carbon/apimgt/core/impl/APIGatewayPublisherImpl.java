@@ -18,11 +18,14 @@
 */
 package org.wso2.carbon.apimgt.core.impl;
 
+import com.google.gson.Gson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.api.APIGateway;
 import org.wso2.carbon.apimgt.core.configuration.models.APIMConfigurations;
 import org.wso2.carbon.apimgt.core.configuration.models.ContainerBasedGatewayConfiguration;
+import org.wso2.carbon.apimgt.core.dao.GatewayChangeLogDAO;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.exception.ContainerBasedGatewayException;
 import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
 import org.wso2.carbon.apimgt.core.exception.GatewayException;
@@ -47,6 +50,7 @@ import org.wso2.carbon.apimgt.core.models.policy.ThreatProtectionPolicy;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 import org.wso2.carbon.apimgt.core.util.APIUtils;
 import org.wso2.carbon.apimgt.core.util.BrokerUtil;
+import org.wso2.carbon.apimgt.core.util.GatewayEventBatcher;
 
 import java.util.List;
 import java.util.Map;
@@ -56,14 +60,25 @@ import java.util.Map;
  */
 public class APIGatewayPublisherImpl implements APIGateway {
     private static final Logger log = LoggerFactory.getLogger(APIGatewayPublisherImpl.class);
+    private static final Gson gson = new Gson();
     private APIMConfigurations config;
     private String publisherTopic;
     private String storeTopic;
     private String throttleTopic;
     private String threatProtectionTopic;
     private ContainerBasedGatewayGenerator containerBasedGatewayGenerator;
+    private GatewayChangeLogDAO gatewayChangeLogDAO;
 
     public APIGatewayPublisherImpl() {
+        this(null);
+    }
+
+    /**
+     * @param gatewayChangeLogDAO DAO to log the subscription, application, policy and block condition changes
+     *                            gateways catch up with, or {@code null} if the changes are not logged
+     */
+    public APIGatewayPublisherImpl(GatewayChangeLogDAO gatewayChangeLogDAO) {
+        this.gatewayChangeLogDAO = gatewayChangeLogDAO;
         config = ServiceReferenceHolder.getInstance().getAPIMConfiguration();
         publisherTopic = config.getBrokerConfigurations().getPublisherTopic();
         storeTopic = config.getBrokerConfigurations().getStoreTopic();
@@ -109,7 +124,7 @@ public class APIGatewayPublisherImpl implements APIGateway {
         APIEvent apiUpdateEvent = new APIEvent(APIMgtConstants.GatewayEventTypes.API_UPDATE);
         apiUpdateEvent.setLabels(api.getLabels());
         apiUpdateEvent.setApiSummary(toAPISummary(api));
-        publishToPublisherTopic(apiUpdateEvent);
+        publishToPublisherTopic(apiUpdateEvent, api.getId());
         if (log.isDebugEnabled()) {
             log.debug("API : " + api.getName() + " updated event has been successfully published to broker");
         }
@@ -208,7 +223,7 @@ public class APIGatewayPublisherImpl implements APIGateway {
     public void updateEndpoint(Endpoint endpoint) throws GatewayException {
         EndpointEvent dto = new EndpointEvent(APIMgtConstants.GatewayEventTypes.ENDPOINT_UPDATE);
         dto.setEndpoint(endpoint);
-        publishToPublisherTopic(dto);
+        publishToPublisherTopic(dto, endpoint.getId());
 
     }
 
@@ -227,8 +242,19 @@ public class APIGatewayPublisherImpl implements APIGateway {
      * @throws GatewayException If there is a failure to publish to gateway
      */
     private void publishToPublisherTopic(GatewayEvent gatewayDTO) throws GatewayException {
+        publishToPublisherTopic(gatewayDTO, null);
+    }
 
-        BrokerUtil.publishToTopic(publisherTopic, gatewayDTO);
+    /**
+     * Publish event to publisher topic
+     *
+     * @param gatewayDTO  gateway data transfer object
+     * @param coalesceKey id of the entity if a pending event of the same type for the entity can be replaced by
+     *                    this event when events are batched
+     * @throws GatewayException If there is a failure to publish to gateway
+     */
+    private void publishToPublisherTopic(GatewayEvent gatewayDTO, String coalesceKey) throws GatewayException {
+        publishToTopic(publisherTopic, gatewayDTO, coalesceKey);
         if (log.isDebugEnabled()) {
             log.debug("Gateway event : " + gatewayDTO.getEventType() + " has been published to publisher topic : " +
                     publisherTopic);
@@ -242,7 +268,20 @@ public class APIGatewayPublisherImpl implements APIGateway {
      * @throws GatewayException If there is a failure to publish to gateway
      */
     private void publishToStoreTopic(GatewayEvent gatewayDTO) throws GatewayException {
-        BrokerUtil.publishToTopic(storeTopic, gatewayDTO);
+        publishToStoreTopic(gatewayDTO, null);
+    }
+
+    /**
+     * Publish event to store topic
+     *
+     * @param gatewayDTO  gateway data transfer object
+     * @param coalesceKey id of the entity if a pending event of the same type for the entity can be replaced by
+     *                    this event when events are batched
+     * @throws GatewayException If there is a failure to publish to gateway
+     */
+    private void publishToStoreTopic(GatewayEvent gatewayDTO, String coalesceKey) throws GatewayException {
+        addToChangeLog(gatewayDTO);
+        publishToTopic(storeTopic, gatewayDTO, coalesceKey);
         if (log.isDebugEnabled()) {
             log.debug("Gateway event : " + gatewayDTO.getEventType() + " has been published to store topic : " +
                     storeTopic);
@@ -256,13 +295,64 @@ public class APIGatewayPublisherImpl implements APIGateway {
      * @throws GatewayException If there is a failure to publish to gateway
      */
     private void publishToThrottleTopic(GatewayEvent gatewayDTO) throws GatewayException {
-        BrokerUtil.publishToTopic(throttleTopic, gatewayDTO);
+        publishToThrottleTopic(gatewayDTO, null);
+    }
+
+    /**
+     * Publish event to throttle topic
+     *
+     * @param gatewayDTO  gateway data transfer object
+     * @param coalesceKey id of the entity if a pending event of the same type for the entity can be replaced by
+     *                    this event when events are batched
+     * @throws GatewayException If there is a failure to publish to gateway
+     */
+    private void publishToThrottleTopic(GatewayEvent gatewayDTO, String coalesceKey) throws GatewayException {
+        addToChangeLog(gatewayDTO);
+        publishToTopic(throttleTopic, gatewayDTO, coalesceKey);
         if (log.isDebugEnabled()) {
             log.debug("Gateway event : " + gatewayDTO.getEventType() + " has been published to store topic : " +
                     storeTopic);
         }
     }
 
+    /**
+     * Add event to the gateway change log, so that gateways which missed the event on the broker can catch up.
+     * <p>
+     * The change of the entity has already been committed when its event is published, hence a failure to add the
+     * event to the change log is only logged, and the event is still published to the gateways.
+     *
+     * @param gatewayDTO gateway data transfer object
+     */
+    private void addToChangeLog(GatewayEvent gatewayDTO) {
+        if (gatewayChangeLogDAO == null) {
+            return;
+        }
+        try {
+            gatewayChangeLogDAO.addChange(gatewayDTO.getEventType(), gson.toJson(gatewayDTO));
+        } catch (APIMgtDAOException e) {
+            log.error("Error occurred while adding " + gatewayDTO.getEventType() + " event to gateway change log. "
+                    + "Gateways which miss the event on the broker will not receive it through the change log", e);
+        }
+    }
+
+    /**
+     * Publish event to a topic, through the event batcher if gateway events are batched
+     *
+     * @param topicName   topic name
+     * @param gatewayDTO  gateway data transfer object
+     * @param coalesceKey id of the entity the event is about, if the event supersedes earlier events of its type
+     * @throws GatewayException If there is a failure to publish to gateway
+     */
+    private void publishToTopic(String topicName, GatewayEvent gatewayDTO, String coalesceKey)
+            throws GatewayException {
+        GatewayEventBatcher gatewayEventBatcher = BrokerUtil.getGatewayEventBatcher();
+        if (gatewayEventBatcher != null) {
+            gatewayEventBatcher.add(topicName, gatewayDTO, coalesceKey);
+        } else {
+            BrokerUtil.publishToTopic(topicName, gatewayDTO);
+        }
+    }
+
     @Override
     public void changeAPIState(API api, String status) throws GatewayException {
         //create the message to be sent to the gateway. This contains the basic details of the API and target
@@ -270,7 +360,7 @@ public class APIGatewayPublisherImpl implements APIGateway {
         APIEvent gatewayDTO = new APIEvent(APIMgtConstants.GatewayEventTypes.API_STATE_CHANGE);
         gatewayDTO.setLabels(api.getLabels());
         gatewayDTO.setApiSummary(toAPISummary(api));
-        publishToPublisherTopic(gatewayDTO);
+        publishToPublisherTopic(gatewayDTO, api.getId());
 
     }
 
@@ -301,7 +391,7 @@ public class APIGatewayPublisherImpl implements APIGateway {
             applicationEvent.setName(application.getName());
             applicationEvent.setThrottlingTier(application.getPolicy().getUuid());
             applicationEvent.setSubscriber(application.getCreatedUser());
-            publishToStoreTopic(applicationEvent);
+            publishToStoreTopic(applicationEvent, application.getId());
             if (log.isDebugEnabled()) {
                 log.debug("Application : " + application.getName() + " updated event has been successfully published " +
                         "to broker");
@@ -330,6 +420,10 @@ public class APIGatewayPublisherImpl implements APIGateway {
             policyEvent.setId(policyValidationData.getId());
             policyEvent.setName(policyValidationData.getName());
             policyEvent.setStopOnQuotaReach(policyValidationData.isStopOnQuotaReach());
+            policyEvent.setRequestCount(policyValidationData.getRequestCount());
+            policyEvent.setUnitTime(policyValidationData.getUnitTime());
+            policyEvent.setTimeUnit(policyValidationData.getTimeUnit());
+            policyEvent.setPolicyLevel(policyValidationData.getPolicyLevel());
             publishToThrottleTopic(policyEvent);
             if (log.isDebugEnabled()) {
                 log.debug("Policy : " + policyValidationData.getName() + " add event has been successfully published " +
@@ -345,7 +439,11 @@ public class APIGatewayPublisherImpl implements APIGateway {
             policyEvent.setId(policyValidationData.getId());
             policyEvent.setName(policyValidationData.getName());
             policyEvent.setStopOnQuotaReach(policyValidationData.isStopOnQuotaReach());
-            publishToThrottleTopic(policyEvent);
+            policyEvent.setRequestCount(policyValidationData.getRequestCount());
+            policyEvent.setUnitTime(policyValidationData.getUnitTime());
+            policyEvent.setTimeUnit(policyValidationData.getTimeUnit());
+            policyEvent.setPolicyLevel(policyValidationData.getPolicyLevel());
+            publishToThrottleTopic(policyEvent, policyValidationData.getId());
             if (log.isDebugEnabled()) {
                 log.debug("Policy : " + policyValidationData.getName() + " update event has been successfully " +
                         "published " +
@@ -361,6 +459,7 @@ public class APIGatewayPublisherImpl implements APIGateway {
             policyEvent.setId(policyValidationData.getId());
             policyEvent.setName(policyValidationData.getName());
             policyEvent.setStopOnQuotaReach(policyValidationData.isStopOnQuotaReach());
+            policyEvent.setPolicyLevel(policyValidationData.getPolicyLevel());
             publishToThrottleTopic(policyEvent);
             if (log.isDebugEnabled()) {
                 log.debug("Policy : " + policyValidationData.getName() + " delete event has been successfully " +
@@ -123,7 +123,8 @@ public class APIManagerFactory {
                     DAOFactory.getApiDAO(), DAOFactory.getApplicationDAO(), DAOFactory.getAPISubscriptionDAO(),
                     DAOFactory.getPolicyDAO(), geApiLifecycleManager(), DAOFactory.getLabelDAO(),
                     DAOFactory.getWorkflowDAO(), DAOFactory.getTagDAO(), DAOFactory.getThreatProtectionDAO(),
-                    new GatewaySourceGeneratorImpl(), new APIGatewayPublisherImpl());
+                    new GatewaySourceGeneratorImpl(),
+                    new APIGatewayPublisherImpl(DAOFactory.getGatewayChangeLogDAO()));
 
             // Register all the observers which need to observe 'Publisher' component
             apiPublisher.registerObserver(new EventLogger());
@@ -141,8 +142,9 @@ public class APIManagerFactory {
     private APIMgtAdminServiceImpl newAPIMgtAdminService() throws APIManagementException {
         try {
             return new APIMgtAdminServiceImpl(DAOFactory.getAPISubscriptionDAO(), DAOFactory.getPolicyDAO(),
-                    DAOFactory.getApiDAO(), DAOFactory.getLabelDAO(), DAOFactory.getApplicationDAO(), new
-                    APIGatewayPublisherImpl(), DAOFactory.getWorkflowDAO(), DAOFactory.getThreatProtectionDAO());
+                    DAOFactory.getApiDAO(), DAOFactory.getLabelDAO(), DAOFactory.getApplicationDAO(),
+                    new APIGatewayPublisherImpl(DAOFactory.getGatewayChangeLogDAO()), DAOFactory.getWorkflowDAO(),
+                    DAOFactory.getThreatProtectionDAO(), DAOFactory.getGatewayChangeLogDAO());
         } catch (APIMgtDAOException e) {
             log.error("Couldn't create API Management Admin Service", e);
             throw new APIMgtDAOException("Couldn't create API Management Admin Service",
@@ -159,7 +161,8 @@ public class APIManagerFactory {
             APIStoreImpl userAwareAPIStore = new APIStoreImpl(username, getIdentityProvider(), getKeyManager(),
                     DAOFactory.getApiDAO(), DAOFactory.getApplicationDAO(), DAOFactory.getAPISubscriptionDAO(),
                     DAOFactory.getPolicyDAO(), DAOFactory.getTagDAO(), DAOFactory.getLabelDAO(),
-                    DAOFactory.getWorkflowDAO(), new GatewaySourceGeneratorImpl(), new APIGatewayPublisherImpl());
+                    DAOFactory.getWorkflowDAO(), new GatewaySourceGeneratorImpl(),
+                    new APIGatewayPublisherImpl(DAOFactory.getGatewayChangeLogDAO()));
 
             // Register all the observers which need to observe 'Store' component
             userAwareAPIStore.registerObserver(new EventLogger());
@@ -323,7 +326,7 @@ public class APIManagerFactory {
     public APIGateway getApiGateway() {
 
         if (apiGateway == null) {
-            apiGateway = new APIGatewayPublisherImpl();
+            apiGateway = new APIGatewayPublisherImpl(DAOFactory.getGatewayChangeLogDAO());
         }
         return apiGateway;
     }
@@ -11,6 +11,7 @@ import org.wso2.carbon.apimgt.core.configuration.models.APIMConfigurations;
 import org.wso2.carbon.apimgt.core.dao.APISubscriptionDAO;
 import org.wso2.carbon.apimgt.core.dao.ApiDAO;
 import org.wso2.carbon.apimgt.core.dao.ApplicationDAO;
+import org.wso2.carbon.apimgt.core.dao.GatewayChangeLogDAO;
 import org.wso2.carbon.apimgt.core.dao.LabelDAO;
 import org.wso2.carbon.apimgt.core.dao.PolicyDAO;
 import org.wso2.carbon.apimgt.core.dao.ThreatProtectionDAO;
@@ -25,6 +26,7 @@ import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.Application;
 import org.wso2.carbon.apimgt.core.models.BlockConditions;
 import org.wso2.carbon.apimgt.core.models.Endpoint;
+import org.wso2.carbon.apimgt.core.models.GatewayChange;
 import org.wso2.carbon.apimgt.core.models.Label;
 import org.wso2.carbon.apimgt.core.models.PolicyValidationData;
 import org.wso2.carbon.apimgt.core.models.RegistrationSummary;
@@ -34,8 +36,13 @@ import org.wso2.carbon.apimgt.core.models.policy.APIPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.ApplicationPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.CustomPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.Policy;
+import org.wso2.carbon.apimgt.core.models.policy.PolicyConstants;
+import org.wso2.carbon.apimgt.core.models.policy.QuotaPolicy;
+import org.wso2.carbon.apimgt.core.models.policy.RequestCountLimit;
 import org.wso2.carbon.apimgt.core.models.policy.SubscriptionPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.ThreatProtectionPolicy;
+import org.wso2.carbon.apimgt.core.util.APICache;
+import org.wso2.carbon.apimgt.core.util.WSDLCache;
 import org.wso2.carbon.apimgt.core.workflow.Workflow;
 
 import java.util.ArrayList;
@@ -59,10 +66,12 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
     private APIGateway apiGateway;
     private WorkflowDAO workflowDAO;
     private ThreatProtectionDAO threatProtectionDAO;
+    private GatewayChangeLogDAO gatewayChangeLogDAO;
 
     public APIMgtAdminServiceImpl(APISubscriptionDAO apiSubscriptionDAO, PolicyDAO policyDAO, ApiDAO apiDAO,
                                   LabelDAO labelDAO, ApplicationDAO applicationDAO, APIGateway apiGateway,
-                                  WorkflowDAO workflowDAO, ThreatProtectionDAO threatProtectionDAO) {
+                                  WorkflowDAO workflowDAO, ThreatProtectionDAO threatProtectionDAO,
+                                  GatewayChangeLogDAO gatewayChangeLogDAO) {
         this.apiSubscriptionDAO = apiSubscriptionDAO;
         this.policyDAO = policyDAO;
         this.apiDAO = apiDAO;
@@ -72,6 +81,7 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
         this.apiGateway = apiGateway;
         this.workflowDAO = workflowDAO;
         this.threatProtectionDAO = threatProtectionDAO;
+        this.gatewayChangeLogDAO = gatewayChangeLogDAO;
     }
 
     @Override
@@ -104,6 +114,12 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
         return apiSubscriptionDAO.getAPISubscriptionsOfAPIForValidation(limit);
     }
 
+    @Override
+    public List<SubscriptionValidationData> getAPISubscriptionsAfter(String subscriptionId, String keyEnvType,
+                                                                     int limit) throws APIManagementException {
+        return apiSubscriptionDAO.getAPISubscriptionsForValidationAfter(subscriptionId, keyEnvType, limit);
+    }
+
     @Override
     public List<SubscriptionValidationData> getAPISubscriptionsOfApi(String apiContext, String apiVersion)
             throws APIManagementException {
@@ -124,7 +140,7 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
             }
             policyDAO.addApiPolicy(policy);
             PolicyValidationData policyValidationData = new PolicyValidationData(policyUuid, policy.getPolicyName(),
-                    false);
+                    false, PolicyLevel.api.name());
             apiGateway.addPolicy(policyValidationData);
             return policyUuid;
 
@@ -149,7 +165,8 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
             }
             policyDAO.addApplicationPolicy(policy);
             PolicyValidationData policyValidationData = new PolicyValidationData(policyUuid, policy.getPolicyName(),
-                    false);
+                    false, PolicyLevel.application.name());
+            setRequestCountLimit(policyValidationData, policy);
             apiGateway.addPolicy(policyValidationData);
             return policyUuid;
 
@@ -174,7 +191,8 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
             }
             policyDAO.addSubscriptionPolicy(policy);
             PolicyValidationData policyValidationData = new PolicyValidationData(policyUuid, policy.getPolicyName(),
-                    policy.isStopOnQuotaReach());
+                    policy.isStopOnQuotaReach(), PolicyLevel.subscription.name());
+            setRequestCountLimit(policyValidationData, policy);
             apiGateway.addPolicy(policyValidationData);
             return policyUuid;
 
@@ -190,7 +208,7 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
         try {
             policyDAO.updateApiPolicy(policy);
             PolicyValidationData policyValidationData = new PolicyValidationData(policy.getUuid(), policy
-                    .getPolicyName(), false);
+                    .getPolicyName(), false, PolicyLevel.api.name());
             apiGateway.updatePolicy(policyValidationData);
         } catch (APIMgtDAOException e) {
             String errorMessage = "Couldn't update API policy for uuid: " + policy.getUuid();
@@ -204,7 +222,8 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
         try {
             policyDAO.updateSubscriptionPolicy(policy);
             PolicyValidationData policyValidationData = new PolicyValidationData(policy.getUuid(), policy
-                    .getPolicyName(), policy.isStopOnQuotaReach());
+                    .getPolicyName(), policy.isStopOnQuotaReach(), PolicyLevel.subscription.name());
+            setRequestCountLimit(policyValidationData, policy);
             apiGateway.updatePolicy(policyValidationData);
         } catch (APIMgtDAOException e) {
             String errorMessage = "Couldn't update Subscription policy for uuid: " + policy.getUuid();
@@ -218,7 +237,8 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
         try {
             policyDAO.updateApplicationPolicy(policy);
             PolicyValidationData policyValidationData = new PolicyValidationData(policy.getUuid(), policy
-                    .getPolicyName(), false);
+                    .getPolicyName(), false, PolicyLevel.application.name());
+            setRequestCountLimit(policyValidationData, policy);
             apiGateway.updatePolicy(policyValidationData);
         } catch (APIMgtDAOException e) {
             String errorMessage = "Couldn't update Application policy for uuid: " + policy.getUuid();
@@ -232,8 +252,9 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
         try {
             Policy policy = policyDAO.getPolicyByLevelAndName(policyLevel, policyName);
             policyDAO.deletePolicy(policyLevel, policyName);
+            APICache.getInstance().invalidateAll();
             PolicyValidationData policyValidationData = new PolicyValidationData(policy.getUuid(), policy
-                    .getPolicyName(), false);
+                    .getPolicyName(), false, policyLevel.name());
             apiGateway.deletePolicy(policyValidationData);
         } catch (APIMgtDAOException e) {
             String errorMessage = "Couldn't delete policy with name: " + policyName + ", level: " +
@@ -246,8 +267,11 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
     @Override
     public void deletePolicyByUuid(String uuid, PolicyLevel policyLevel) throws APIManagementException {
         try {
+            Policy policy = policyDAO.getPolicyByLevelAndUUID(policyLevel, uuid);
             policyDAO.deletePolicyByUuid(policyLevel, uuid);
-            PolicyValidationData policyValidationData = new PolicyValidationData(uuid, "", false);
+            APICache.getInstance().invalidateAll();
+            PolicyValidationData policyValidationData = new PolicyValidationData(uuid, policy.getPolicyName(), false,
+                    policyLevel.name());
             apiGateway.deletePolicy(policyValidationData);
         } catch (APIMgtDAOException e) {
             String errorMessage = "Couldn't delete policy with id: " + uuid + ", level: " + policyLevel;
@@ -391,6 +415,8 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
 
         try {
             labelDAO.deleteLabel(labelId);
+            APICache.getInstance().invalidateAll();
+            WSDLCache.getInstance().invalidateAll();
         } catch (APIMgtDAOException e) {
             String msg = "Error occurred while deleting label [labelId] " + labelId;
             log.error(msg, e);
@@ -409,7 +435,9 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
 
     public Label updateLabel(Label updatedLabel) throws APIManagementException {
         try {
-            return labelDAO.updateLabel(updatedLabel);
+            Label label = labelDAO.updateLabel(updatedLabel);
+            WSDLCache.getInstance().invalidateAll();
+            return label;
         } catch (APIMgtDAOException e) {
             String msg = "Error occurred while updating the label -" + updatedLabel.getId();
             throw new APIManagementException(msg, ExceptionCodes.APIMGT_DAO_EXCEPTION);
@@ -438,6 +466,7 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
                             if (existingLabel.getName().equals(label.getName())) {
                                 if (overwriteValues) {
                                     labelDAO.updateLabel(label);
+                                    WSDLCache.getInstance().invalidateAll();
                                 }
                                 labelsToRemove.add(label);
                             }
@@ -572,6 +601,28 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
         }
     }
 
+    @Override
+    public List<GatewayChange> getGatewayChanges(long revision, int limit) throws APIManagementException {
+        try {
+            return gatewayChangeLogDAO.getChangesSince(revision, limit);
+        } catch (APIMgtDAOException ex) {
+            String msg = "Error occurred while retrieving gateway changes since revision " + revision;
+            log.error(msg, ex);
+            throw new APIManagementException(msg, ExceptionCodes.APIMGT_DAO_EXCEPTION);
+        }
+    }
+
+    @Override
+    public long getLatestGatewayChangeRevision() throws APIManagementException {
+        try {
+            return gatewayChangeLogDAO.getLatestRevision();
+        } catch (APIMgtDAOException ex) {
+            String msg = "Error occurred while retrieving latest gateway change revision";
+            log.error(msg, ex);
+            throw new APIManagementException(msg, ExceptionCodes.APIMGT_DAO_EXCEPTION);
+        }
+    }
+
     @Override
     public String addBlockCondition(BlockConditions blockConditions) throws APIManagementException {
         try {
@@ -804,6 +855,7 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
     public void deleteThreatProtectionPolicy(String policyId) throws APIManagementException {
         try {
             threatProtectionDAO.deletePolicy(policyId);
+            APICache.getInstance().invalidateAll();
 
             ThreatProtectionPolicy policy = new ThreatProtectionPolicy();
             policy.setUuid(policyId);
@@ -814,4 +866,21 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
             throw new APIManagementException(message, e);
         }
     }
+
+    /**
+     * Add the request count limit of an application or subscription policy to the policy data sent to the gateway,
+     * so that the gateway can throttle bursts locally.
+     *
+     * @param policyValidationData policy data sent to the gateway
+     * @param policy               application or subscription policy
+     */
+    private static void setRequestCountLimit(PolicyValidationData policyValidationData, Policy policy) {
+        QuotaPolicy quotaPolicy = policy.getDefaultQuotaPolicy();
+        if (quotaPolicy != null && PolicyConstants.REQUEST_COUNT_TYPE.equals(quotaPolicy.getType())
+                && quotaPolicy.getLimit() instanceof RequestCountLimit) {
+            RequestCountLimit limit = (RequestCountLimit) quotaPolicy.getLimit();
+            policyValidationData.setRequestCountLimit(limit.getRequestCount(), limit.getUnitTime(),
+                    limit.getTimeUnit());
+        }
+    }
 }
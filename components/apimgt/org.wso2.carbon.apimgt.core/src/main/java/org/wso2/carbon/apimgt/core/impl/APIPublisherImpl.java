@@ -90,6 +90,7 @@ import org.wso2.carbon.apimgt.core.template.APIConfigContext;
 import org.wso2.carbon.apimgt.core.template.APITemplateException;
 import org.wso2.carbon.apimgt.core.template.dto.NotificationDTO;
 import org.wso2.carbon.apimgt.core.template.dto.TemplateBuilderDTO;
+import org.wso2.carbon.apimgt.core.util.APICache;
 import org.wso2.carbon.apimgt.core.util.APIFileUtils;
 import org.wso2.carbon.apimgt.core.util.APIMWSDLUtils;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
@@ -309,7 +310,7 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
                     getApiDAO().updateDedicatedGateway(dedicatedGateway, labelSet);
                 }
             }
-
+            APICache.getInstance().invalidate(apiId);
         } catch (APIMgtDAOException e) {
             throw new APIManagementException("Error occurred while updating dedicatedGateway details of API with id "
                     + apiId, e, ExceptionCodes.ERROR_WHILE_UPDATING_DEDICATED_CONTAINER_BASED_GATEWAY);
@@ -680,6 +681,7 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
                         getApiDAO().updateApiDefinition(api.getId(), updatedSwagger, api.getUpdatedBy());
                         getApiDAO().updateGatewayConfig(api.getId(), updatedGatewayConfig, api.getUpdatedBy());
                     }
+                    APICache.getInstance().invalidate(api.getId());
                     if (log.isDebugEnabled()) {
                         log.debug("API " + api.getName() + "-" + api.getVersion() + " was updated successfully.");
                         // 'API_M Functions' related code
@@ -1027,6 +1029,7 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
                     //add entry to workflow table if it is only in pending state
                     addWorkflowEntries(workflow);
                     getApiDAO().updateAPIWorkflowStatus(api.getId(), APILCWorkflowStatus.PENDING);
+                    APICache.getInstance().invalidate(api.getId());
                 }
             } else if (api != null && APILCWorkflowStatus.PENDING.toString().equals(api.getWorkflowStatus())) {
                 String message = "Pending state transition for api :" + api.getName();
@@ -1409,6 +1412,7 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
                     }
                 }
                 getApiDAO().deleteAPI(identifier);
+                APICache.getInstance().invalidate(identifier);
 
                 //Deleting API specific endpoints
                 if (api.getEndpoint() != null) {
@@ -1711,6 +1715,8 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
         Endpoint updatedEndpoint = new Endpoint.Builder(endpoint).config(config).build();
         try {
             getApiDAO().updateEndpoint(updatedEndpoint);
+            // global endpoints are embedded in the cached APIs which use them
+            APICache.getInstance().invalidateAll();
         } catch (APIMgtDAOException e) {
             String msg = "Failed to update Endpoint : " + endpoint.getName();
             log.error(msg, e);
@@ -1854,6 +1860,7 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
             getApiDAO().updateAPI(apiId, api);
             getApiDAO().updateApiDefinition(apiId, jsonText, getUsername());
             getApiDAO().updateGatewayConfig(apiId, updatedGatewayConfig, getUsername());
+            APICache.getInstance().invalidate(apiId);
         } catch (APIMgtDAOException e) {
             String errorMsg = "Couldn't update the Swagger Definition";
             log.error(errorMsg, e);
@@ -1888,6 +1895,7 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
 
         try (InputStream fileInputStream = new FileInputStream(archiveInfo.getAbsoluteFilePath())) {
             getApiDAO().addOrUpdateWSDLArchive(uuid, fileInputStream, getUsername());
+            APICache.getInstance().invalidate(uuid);
             if (log.isDebugEnabled()) {
                 log.debug("Successfully added/updated the WSDL archive. uuid: " + uuid);
             }
@@ -1932,6 +1940,7 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
             log.debug("Successfully added the API. uuid: " + uuid);
         }
         getApiDAO().addOrUpdateWSDL(uuid, wsdlContent, getUsername());
+        APICache.getInstance().invalidate(uuid);
         if (log.isDebugEnabled()) {
             log.debug("Successfully added the WSDL file to database. API uuid: " + uuid);
         }
@@ -1957,6 +1966,7 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
         }
         byte[] wsdlContentBytes = processor.getWSDL();
         getApiDAO().addOrUpdateWSDL(uuid, wsdlContentBytes, getUsername());
+        APICache.getInstance().invalidate(uuid);
         if (log.isDebugEnabled()) {
             log.debug("Successfully added the content of WSDL URL to database. WSDL URL: " + wsdlUrl);
         }
@@ -1982,6 +1992,7 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
                 log.debug("Successfully validated the content of WSDL. API uuid: " + apiId);
             }
             getApiDAO().addOrUpdateWSDL(apiId, wsdlContent, getUsername());
+            APICache.getInstance().invalidate(apiId);
             if (log.isDebugEnabled()) {
                 log.debug("Successfully added WSDL to the DB. API uuid: " + apiId);
             }
@@ -2005,6 +2016,7 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
             }
             fileInputStream = new FileInputStream(archiveInfo.getAbsoluteFilePath());
             getApiDAO().addOrUpdateWSDLArchive(apiId, fileInputStream, getUsername());
+            APICache.getInstance().invalidate(apiId);
             if (log.isDebugEnabled()) {
                 log.debug("Successfully updated the WSDL archive in DB. API uuid: " + apiId);
             }
@@ -2039,6 +2051,7 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
             String swagger = gatewaySourceGenerator.getSwaggerFromGatewayConfig(configString);
             getApiDAO().updateApiDefinition(apiId, swagger, getUsername());
             getApiDAO().updateGatewayConfig(apiId, configString, getUsername());
+            APICache.getInstance().invalidate(apiId);
         } catch (APIMgtDAOException e) {
             log.error("Couldn't update configuration for apiId " + apiId, e);
             throw new APIManagementException("Couldn't update configuration for apiId " + apiId,
@@ -2226,6 +2239,7 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
 
                 //change the state back
                 getApiDAO().updateAPIWorkflowStatus(apiId, APILCWorkflowStatus.APPROVED);
+                APICache.getInstance().invalidate(apiId);
 
                 // call executor's cleanup task
                 cleanupPendingTaskForAPIStateChange(apiId);
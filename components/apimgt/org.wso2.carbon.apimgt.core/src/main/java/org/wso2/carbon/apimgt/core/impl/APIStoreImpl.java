@@ -57,6 +57,7 @@ import org.wso2.carbon.apimgt.core.exception.APIMgtResourceNotFoundException;
 import org.wso2.carbon.apimgt.core.exception.APIMgtWSDLException;
 import org.wso2.carbon.apimgt.core.exception.APINotFoundException;
 import org.wso2.carbon.apimgt.core.exception.APIRatingException;
+import org.wso2.carbon.apimgt.core.exception.ETagGenerationException;
 import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
 import org.wso2.carbon.apimgt.core.exception.GatewayException;
 import org.wso2.carbon.apimgt.core.exception.LabelException;
@@ -87,13 +88,16 @@ import org.wso2.carbon.apimgt.core.models.policy.Policy;
 import org.wso2.carbon.apimgt.core.template.APIConfigContext;
 import org.wso2.carbon.apimgt.core.template.dto.CompositeAPIEndpointDTO;
 import org.wso2.carbon.apimgt.core.template.dto.TemplateBuilderDTO;
+import org.wso2.carbon.apimgt.core.util.APICache;
 import org.wso2.carbon.apimgt.core.util.APIFileUtils;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants.ApplicationStatus;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants.WorkflowConstants;
 import org.wso2.carbon.apimgt.core.util.APIUtils;
 import org.wso2.carbon.apimgt.core.util.ContainerBasedGatewayConstants;
+import org.wso2.carbon.apimgt.core.util.ETagUtils;
 import org.wso2.carbon.apimgt.core.util.KeyManagerConstants;
+import org.wso2.carbon.apimgt.core.util.WSDLCache;
 import org.wso2.carbon.apimgt.core.workflow.ApplicationCreationResponse;
 import org.wso2.carbon.apimgt.core.workflow.ApplicationCreationWorkflow;
 import org.wso2.carbon.apimgt.core.workflow.ApplicationDeletionWorkflow;
@@ -112,6 +116,8 @@ import java.net.MalformedURLException;
 import java.net.ProtocolException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -166,7 +172,7 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
     @Override
     public CompositeAPI getCompositeAPIbyId(String id) throws APIManagementException {
         try {
-            return getApiDAO().getCompositeAPI(id);
+            return APICache.getInstance().getCompositeAPI(id, () -> getApiDAO().getCompositeAPI(id));
         } catch (APIMgtDAOException e) {
             String errorMsg = "Error occurred while retrieving API with id " + id;
             log.error(errorMsg, e);
@@ -1198,6 +1204,7 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
             getApiDAO().updateCompositeAPIGatewayConfig(api.getId(),
                     new ByteArrayInputStream(updatedGatewayConfig.getBytes(StandardCharsets.UTF_8)),
                     api.getUpdatedBy());
+            APICache.getInstance().invalidate(api.getId());
 
             if (log.isDebugEnabled()) {
                 log.debug("API " + api.getName() + "-" + api.getVersion() + " was updated successfully.");
@@ -1226,6 +1233,7 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
             //Delete API in gateway
             gateway.deleteCompositeAPI(api);
             getApiDAO().deleteCompositeApi(apiId);
+            APICache.getInstance().invalidate(apiId);
         } catch (GatewayException e) {
             String message = "Error occurred while deleting Composite API with id - " + apiId + " from gateway";
             throw new APIManagementException(message, e, ExceptionCodes.GATEWAY_EXCEPTION);
@@ -1344,52 +1352,93 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
     @Override
     public String getAPIWSDL(String apiId, String labelName)
             throws APIMgtDAOException, APIMgtWSDLException, APINotFoundException, LabelException {
-        API api = getApiDAO().getAPI(apiId);
-        if (api == null) {
-            throw new APINotFoundException("API with id " + apiId + " not found.", ExceptionCodes.API_NOT_FOUND);
+        String version = getWSDLVersion(apiId);
+        WSDLCache wsdlCache = WSDLCache.getInstance();
+        WSDLCache.ProcessedWSDL processedWSDL = wsdlCache.get(apiId, labelName, version);
+        if (processedWSDL == null) {
+            long invalidationStamp = wsdlCache.getInvalidationStamp();
+            processedWSDL = processWSDL(apiId, labelName);
+            if (processedWSDL == null) {
+                return null;
+            }
+            wsdlCache.put(apiId, labelName, version, processedWSDL, invalidationStamp);
         }
+        return new String(processedWSDL.getContent(), StandardCharsets.UTF_8);
+    }
 
-        //api.getLabels() should not be null and the labels should contain labelName
-        if ((api.getLabels() == null || !api.getLabels().contains(labelName))) {
-            throw new LabelException("API with id " + apiId + " does not contain label " + labelName,
-                    ExceptionCodes.LABEL_NOT_FOUND_IN_API);
+    @Override
+    public WSDLArchiveInfo getAPIWSDLArchive(String apiId, String labelName)
+            throws APIMgtDAOException, APIMgtWSDLException, APINotFoundException, LabelException {
+        String version = getWSDLVersion(apiId);
+        WSDLCache wsdlCache = WSDLCache.getInstance();
+        WSDLCache.ProcessedWSDL processedWSDL = wsdlCache.get(apiId, labelName, version);
+        if (processedWSDL == null) {
+            long invalidationStamp = wsdlCache.getInvalidationStamp();
+            processedWSDL = processWSDLArchive(apiId, labelName);
+            wsdlCache.put(apiId, labelName, version, processedWSDL, invalidationStamp);
         }
+        WSDLArchiveInfo archiveInfo = new WSDLArchiveInfo(processedWSDL.getFileName(), processedWSDL.getContent());
+        archiveInfo.setWsdlInfo(processedWSDL.getWsdlInfo());
+        return archiveInfo;
+    }
+
+    @Override
+    public String getAPIWSDLFingerprint(String apiId, String labelName) throws APIMgtDAOException {
+        WSDLCache.ProcessedWSDL processedWSDL = WSDLCache.getInstance()
+                .get(apiId, labelName, getWSDLVersion(apiId));
+        return processedWSDL == null ? null : processedWSDL.getETag();
+    }
 
+    /**
+     * Returns the version of the WSDL of an API the processed WSDLs are cached with. The endpoints of a processed
+     * WSDL depend on the API as well, hence the version is made of the last updated times of both the API and its
+     * WSDL.
+     *
+     * @param apiId UUID of the API
+     * @return version of the WSDL, or {@code null} if the API or its WSDL does not exist
+     * @throws APIMgtDAOException if error occurs while accessing the last updated times
+     */
+    private String getWSDLVersion(String apiId) throws APIMgtDAOException {
+        String wsdlLastUpdatedTime = getApiDAO().getLastUpdatedTimeOfWSDL(apiId);
+        if (wsdlLastUpdatedTime == null) {
+            return null;
+        }
+        String apiLastUpdatedTime;
+        try {
+            apiLastUpdatedTime = getApiDAO().getLastUpdatedTimeOfAPI(apiId);
+        } catch (APIMgtDAOException e) {
+            if (e.getErrorHandler() == ExceptionCodes.API_NOT_FOUND) {
+                // not cached, the missing API is reported when the WSDL is processed
+                return null;
+            }
+            throw e;
+        }
+        return apiLastUpdatedTime == null ? null : apiLastUpdatedTime + "/" + wsdlLastUpdatedTime;
+    }
+
+    private WSDLCache.ProcessedWSDL processWSDL(String apiId, String labelName)
+            throws APIMgtDAOException, APIMgtWSDLException, APINotFoundException, LabelException {
+        API api = getAPIWithLabel(apiId, labelName);
         String wsdl = getApiDAO().getWSDL(apiId);
         Label label = getLabelDAO().getLabelByName(labelName);
 
         if (!StringUtils.isEmpty(wsdl)) {
-            WSDLProcessor processor;
-            try {
-                processor = WSDLProcessFactory.getInstance()
-                        .getWSDLProcessor(wsdl.getBytes(APIMgtConstants.ENCODING_UTF_8));
-                return new String(processor.getUpdatedWSDL(api, label), APIMgtConstants.ENCODING_UTF_8);
-            } catch (UnsupportedEncodingException e) {
-                throw new APIMgtWSDLException("WSDL content is not in utf-8 encoding", e,
-                        ExceptionCodes.CANNOT_PROCESS_WSDL_CONTENT);
-            }
+            WSDLProcessor processor = WSDLProcessFactory.getInstance()
+                    .getWSDLProcessor(wsdl.getBytes(StandardCharsets.UTF_8));
+            byte[] updatedWSDL = processor.getUpdatedWSDL(api, label);
+            return new WSDLCache.ProcessedWSDL(updatedWSDL, generateETag(updatedWSDL), null, null);
         }
         return null;
     }
 
-    @Override
-    public WSDLArchiveInfo getAPIWSDLArchive(String apiId, String labelName)
+    private WSDLCache.ProcessedWSDL processWSDLArchive(String apiId, String labelName)
             throws APIMgtDAOException, APIMgtWSDLException, APINotFoundException, LabelException {
-        API api = getApiDAO().getAPI(apiId);
-        if (api == null) {
-            throw new APINotFoundException("API with id " + apiId + " not found.", ExceptionCodes.API_NOT_FOUND);
-        }
-
-        //api.getLabels() should not be null and the labels should contain labelName
-        if ((api.getLabels() == null || !api.getLabels().contains(labelName))) {
-            throw new LabelException("API with id " + apiId + " does not contain label " + labelName,
-                    ExceptionCodes.LABEL_NOT_FOUND_IN_API);
-        }
+        API api = getAPIWithLabel(apiId, labelName);
 
+        String rootPath = System.getProperty(APIMgtConstants.JAVA_IO_TMPDIR)
+                + File.separator + APIMgtConstants.WSDLConstants.WSDL_ARCHIVES_FOLDERNAME
+                + File.separator + UUID.randomUUID().toString();
         try (InputStream wsdlZipInputStream = getApiDAO().getWSDLArchive(apiId)) {
-            String rootPath = System.getProperty(APIMgtConstants.JAVA_IO_TMPDIR)
-                    + File.separator + APIMgtConstants.WSDLConstants.WSDL_ARCHIVES_FOLDERNAME
-                    + File.separator + UUID.randomUUID().toString();
             String archivePath = rootPath + File.separator + APIMgtConstants.WSDLConstants.WSDL_ARCHIVE_FILENAME;
             String extractedLocation = APIFileUtils.extractUploadedArchive(wsdlZipInputStream,
                     APIMgtConstants.WSDLConstants.EXTRACTED_WSDL_ARCHIVE_FOLDERNAME, archivePath, rootPath);
@@ -1409,11 +1458,42 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
             if (log.isDebugEnabled()) {
                 log.debug("Successfully archived WSDL files: " + wsdlPath);
             }
-            WSDLArchiveInfo archiveInfo = new WSDLArchiveInfo(rootPath, wsdlArchiveProcessedFileName + ".zip");
-            archiveInfo.setWsdlInfo(processor.getWsdlInfo());
-            return archiveInfo;
+            String fileName = wsdlArchiveProcessedFileName + ".zip";
+            byte[] archive = Files.readAllBytes(Paths.get(rootPath, fileName));
+            return new WSDLCache.ProcessedWSDL(archive, generateETag(archive), fileName, processor.getWsdlInfo());
         } catch (IOException e) {
             throw new APIMgtWSDLException(e);
+        } finally {
+            try {
+                APIFileUtils.deleteDirectory(rootPath);
+            } catch (APIMgtDAOException e) {
+                //This is not a blocker. Give a warning and continue
+                log.warn("Error occurred while deleting processed WSDL artifacts folder : " + rootPath, e);
+            }
+        }
+    }
+
+    private API getAPIWithLabel(String apiId, String labelName)
+            throws APIMgtDAOException, APINotFoundException, LabelException {
+        API api = getApiDAO().getAPI(apiId);
+        if (api == null) {
+            throw new APINotFoundException("API with id " + apiId + " not found.", ExceptionCodes.API_NOT_FOUND);
+        }
+
+        //api.getLabels() should not be null and the labels should contain labelName
+        if ((api.getLabels() == null || !api.getLabels().contains(labelName))) {
+            throw new LabelException("API with id " + apiId + " does not contain label " + labelName,
+                    ExceptionCodes.LABEL_NOT_FOUND_IN_API);
+        }
+        return api;
+    }
+
+    private static String generateETag(byte[] content) throws APIMgtWSDLException {
+        try {
+            return ETagUtils.generateETag(content);
+        } catch (ETagGenerationException e) {
+            throw new APIMgtWSDLException("Error while generating ETag of WSDL", e,
+                    ExceptionCodes.INTERNAL_WSDL_EXCEPTION);
         }
     }
 
@@ -1520,6 +1600,7 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
     @Override
     public void updateCompositeApiDefinition(String id, String apiDefinition) throws APIManagementException {
         getApiDAO().updateApiDefinition(id, apiDefinition, getUsername());
+        APICache.getInstance().invalidate(id);
     }
 
     /**
@@ -1868,7 +1949,7 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
                     getApiDAO().updateDedicatedGateway(dedicatedGateway, labelSet);
                 }
             }
-
+            APICache.getInstance().invalidate(apiId);
         } catch (APIMgtDAOException e) {
             throw new APIManagementException("Error occurred while updating dedicatedGateway details of API with id "
                     + apiId, e, ExceptionCodes.ERROR_WHILE_UPDATING_DEDICATED_CONTAINER_BASED_GATEWAY);
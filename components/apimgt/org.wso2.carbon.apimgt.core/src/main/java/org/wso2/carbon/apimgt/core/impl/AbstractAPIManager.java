@@ -53,6 +53,7 @@ import org.wso2.carbon.apimgt.core.models.DocumentContent;
 import org.wso2.carbon.apimgt.core.models.DocumentInfo;
 import org.wso2.carbon.apimgt.core.models.Label;
 import org.wso2.carbon.apimgt.core.models.Subscription;
+import org.wso2.carbon.apimgt.core.util.APICache;
 import org.wso2.carbon.apimgt.core.util.APIUtils;
 import org.wso2.carbon.apimgt.core.workflow.Workflow;
 
@@ -128,7 +129,7 @@ public abstract class AbstractAPIManager implements APIManager {
     @Override
     public API getAPIbyUUID(String uuid) throws APIManagementException {
         try {
-            return apiDAO.getAPI(uuid);
+            return APICache.getInstance().getAPI(uuid, () -> apiDAO.getAPI(uuid));
         } catch (APIMgtDAOException e) {
             String errorMsg = "Error occurred while retrieving API with id " + uuid;
             log.error(errorMsg, e);
@@ -38,6 +38,7 @@ import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
 import org.wso2.carbon.apimgt.core.exception.IdentityProviderException;
 import org.wso2.carbon.apimgt.core.exception.KeyManagementException;
+import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.AccessTokenInfo;
 import org.wso2.carbon.apimgt.core.models.AccessTokenRequest;
@@ -47,6 +48,7 @@ import org.wso2.carbon.apimgt.core.models.OAuthApplicationInfo;
 import org.wso2.carbon.apimgt.core.models.Scope;
 import org.wso2.carbon.apimgt.core.models.User;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+import org.wso2.carbon.apimgt.core.util.IdentityProviderCache;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -62,6 +64,7 @@ public class DefaultIdentityProviderImpl implements IdentityProvider {
 
     private SCIMServiceStub scimServiceStub;
     private UserNameMapper userNameMapper;
+    private IdentityProviderCache cache;
     private static final String FILTER_PREFIX_USER = "userName Eq ";
     private static final String FILTER_PREFIX_ROLE = "displayName Eq ";
     private static final String HOME_EMAIL = "home";
@@ -77,8 +80,25 @@ public class DefaultIdentityProviderImpl implements IdentityProvider {
 
     DefaultIdentityProviderImpl(SCIMServiceStub scimServiceStub, UserNameMapper userNameMapper) throws
             APIManagementException {
+        this(scimServiceStub, userNameMapper, new IdentityProviderCache(ServiceReferenceHolder.getInstance()
+                .getAPIMConfiguration().getIdentityProviderConfigs().getCacheConfigurations()));
+    }
+
+    DefaultIdentityProviderImpl(SCIMServiceStub scimServiceStub, UserNameMapper userNameMapper,
+                                IdentityProviderCache cache) throws APIManagementException {
         this.scimServiceStub = scimServiceStub;
         this.userNameMapper = userNameMapper;
+        this.cache = cache;
+    }
+
+    /**
+     * Get the cache of users and roles retrieved from the SCIM endpoint. The cache has to be invalidated when users
+     * or roles are changed outside of API Manager, unless waiting for the entries to expire is acceptable.
+     *
+     * @return Identity provider cache
+     */
+    public IdentityProviderCache getCache() {
+        return cache;
     }
 
     @Override
@@ -90,6 +110,11 @@ public class DefaultIdentityProviderImpl implements IdentityProvider {
         } catch (APIManagementException e) {
             throw new IdentityProviderException(e.getMessage(), ExceptionCodes.USER_MAPPING_RETRIEVAL_FAILED);
         }
+        String mappedUserName = userName;
+        return cache.getUserId(mappedUserName, () -> retrieveIdOfUser(mappedUserName));
+    }
+
+    private String retrieveIdOfUser(String userName) throws IdentityProviderException {
         Response userResponse = scimServiceStub.searchUsers(FILTER_PREFIX_USER + userName);
         String userId;
         if (userResponse == null) {
@@ -151,51 +176,8 @@ public class DefaultIdentityProviderImpl implements IdentityProvider {
 
     @Override
     public List<String> getRoleNamesOfUser(String userId) throws IdentityProviderException {
-        List<String> roleNames = new ArrayList<>();
-        Response response = scimServiceStub.getUser(userId);
-        if (response == null) {
-            String errorMessage =
-                    "Error occurred while retrieving user with Id " + userId + ". Error : Response is null.";
-            log.error(errorMessage);
-            throw new IdentityProviderException(errorMessage, ExceptionCodes.RESOURCE_RETRIEVAL_FAILED);
-        }
-        try {
-            if (response.status() == APIMgtConstants.HTTPStatusCodes.SC_200_OK) {
-                SCIMUser scimUser = (SCIMUser) new GsonDecoder().decode(response, SCIMUser.class);
-                if (scimUser != null) {
-                    List<SCIMUser.SCIMUserGroups> roles = scimUser.getGroups();
-                    if (roles != null) {
-                        roles.forEach(role -> roleNames.add(role.getDisplay()));
-                        String message =
-                                "Role names of user " + scimUser.getName() + " are successfully retrieved as " +
-                                        StringUtils.join(roleNames, ", ") + ".";
-                        if (log.isDebugEnabled()) {
-                            log.debug(message);
-                        }
-                    }
-                } else {
-                    String errorMessage =
-                            "Error occurred while retrieving user with user Id " + userId + " from SCIM endpoint. "
-                                    + "Response body is null or empty.";
-                    log.error(errorMessage);
-                    throw new IdentityProviderException(
-                            "Error occurred while retrieving user with user Id " + userId + " from SCIM endpoint. "
-                                    + "Response body is null or empty.", ExceptionCodes.RESOURCE_RETRIEVAL_FAILED);
-                }
-            } else {
-                String errorMessage =
-                        "Error occurred while retrieving role names of user with Id " + userId + ". Error : " +
-                                getErrorMessage(response);
-                log.error(errorMessage);
-                throw new IdentityProviderException(errorMessage, ExceptionCodes.RESOURCE_RETRIEVAL_FAILED);
-            }
-        } catch (IOException e) {
-            String errorMessage = "Error occurred while parsing response from SCIM endpoint.";
-            log.error(errorMessage);
-            throw new IdentityProviderException("Error occurred while parsing response from SCIM endpoint for ", e,
-                    ExceptionCodes.RESOURCE_RETRIEVAL_FAILED);
-        }
-        return roleNames;
+        return new ArrayList<>(cache.getUserRoles(userId, () -> retrieveRolesOfUser(userId, "role names"))
+                .getRoleNames());
     }
 
     @Override
@@ -206,6 +188,21 @@ public class DefaultIdentityProviderImpl implements IdentityProvider {
 
     @Override
     public List<String> getRoleIdsOfUser(String userId) throws IdentityProviderException {
+        return new ArrayList<>(cache.getUserRoles(userId, () -> retrieveRolesOfUser(userId, "role Ids"))
+                .getRoleIds());
+    }
+
+    /**
+     * Retrieve the role names and role Ids of a user from the SCIM endpoint, with a single request.
+     *
+     * @param userId      Id of the user
+     * @param description Description of the requested roles used in error messages
+     * @return Roles of the user
+     * @throws IdentityProviderException If the roles could not be retrieved
+     */
+    private IdentityProviderCache.UserRoles retrieveRolesOfUser(String userId, String description)
+            throws IdentityProviderException {
+        List<String> roleNames = new ArrayList<>();
         List<String> roleIds = new ArrayList<>();
         Response response = scimServiceStub.getUser(userId);
         if (response == null) {
@@ -220,9 +217,13 @@ public class DefaultIdentityProviderImpl implements IdentityProvider {
                 if (scimUser != null) {
                     List<SCIMUser.SCIMUserGroups> roles = scimUser.getGroups();
                     if (roles != null) {
-                        roles.forEach(role -> roleIds.add(role.getValue()));
-                        String message = "Role Ids of user " + scimUser.getName() + " are successfully retrieved as " +
-                                StringUtils.join(roleIds, ", ") + ".";
+                        roles.forEach(role -> {
+                            roleNames.add(role.getDisplay());
+                            roleIds.add(role.getValue());
+                        });
+                        String message =
+                                "Roles of user " + scimUser.getName() + " are successfully retrieved as " +
+                                        StringUtils.join(roleNames, ", ") + ".";
                         if (log.isDebugEnabled()) {
                             log.debug(message);
                         }
@@ -238,8 +239,8 @@ public class DefaultIdentityProviderImpl implements IdentityProvider {
                 }
             } else {
                 String errorMessage =
-                        "Error occurred while retrieving role Ids of user with Id " + userId + ". Error : " +
-                                getErrorMessage(response);
+                        "Error occurred while retrieving " + description + " of user with Id " + userId
+                                + ". Error : " + getErrorMessage(response);
                 log.error(errorMessage);
                 throw new IdentityProviderException(errorMessage, ExceptionCodes.RESOURCE_RETRIEVAL_FAILED);
             }
@@ -249,7 +250,7 @@ public class DefaultIdentityProviderImpl implements IdentityProvider {
             throw new IdentityProviderException("Error occurred while parsing response from SCIM endpoint for ", e,
                     ExceptionCodes.RESOURCE_RETRIEVAL_FAILED);
         }
-        return roleIds;
+        return new IdentityProviderCache.UserRoles(roleNames, roleIds);
     }
 
     @Override
@@ -286,6 +287,10 @@ public class DefaultIdentityProviderImpl implements IdentityProvider {
 
     @Override
     public String getRoleName(String roleId) throws IdentityProviderException {
+        return cache.getRoleName(roleId, () -> retrieveRoleName(roleId));
+    }
+
+    private String retrieveRoleName(String roleId) throws IdentityProviderException {
         Response response = scimServiceStub.getGroup(roleId);
         if (response == null) {
             String errorMessage =
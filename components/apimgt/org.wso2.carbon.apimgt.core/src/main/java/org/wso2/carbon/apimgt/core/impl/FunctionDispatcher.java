@@ -0,0 +1,401 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.configuration.models.EventDispatchConfigurations;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.core.models.Event;
+import org.wso2.carbon.apimgt.core.models.Function;
+import org.wso2.carbon.apimgt.core.models.HttpResponse;
+
+import java.net.URI;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers events to the functions mapped to them, in parallel and independently of the event observers.
+ * <p>
+ * Each function endpoint has its own queue, from which at most the configured number of invocations are delivered at
+ * the same time, so that a slow endpoint delays only its own invocations and cannot take up the threads of the other
+ * endpoints. The queue of an endpoint is removed once it has no queued or running invocations, so that endpoints of
+ * deleted functions are not kept. The number of queued invocations of all the endpoints is bounded. An invocation that does not fit in the
+ * queue, waits longer than the delivery timeout, or fails is not retried but recorded as a dead letter, which keeps
+ * the most recent failed invocations.
+ */
+public class FunctionDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(FunctionDispatcher.class);
+
+    private static volatile FunctionDispatcher instance;
+
+    private final int queueCapacity;
+    private final int maxConcurrentInvocationsPerEndpoint;
+    private final long deliveryTimeoutInMillis;
+    private final int deadLetterCapacity;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentMap<URI, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final Deque<DeadLetter> deadLetters = new ArrayDeque<>();
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    /**
+     * Creates a function dispatcher. Use {@link #getInstance()} to get the dispatcher configured for the server.
+     *
+     * @param eventDispatchConfigurations Event dispatch configurations
+     */
+    public FunctionDispatcher(EventDispatchConfigurations eventDispatchConfigurations) {
+        int threadPoolSize = Math.max(eventDispatchConfigurations.getFunctionThreadPoolSize(), 1);
+        this.queueCapacity = Math.max(eventDispatchConfigurations.getFunctionQueueCapacity(), 1);
+        this.maxConcurrentInvocationsPerEndpoint =
+                Math.max(eventDispatchConfigurations.getMaxConcurrentInvocationsPerEndpoint(), 1);
+        this.deliveryTimeoutInMillis = eventDispatchConfigurations.getFunctionDeliveryTimeout();
+        this.deadLetterCapacity = eventDispatchConfigurations.getDeadLetterCapacity();
+        // an invocation is handed to the executor only when its endpoint has a free slot, hence the executor never
+        // holds more tasks than there are queued invocations
+        this.executor = new ThreadPoolExecutor(threadPoolSize, threadPoolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Get FunctionDispatcher instance
+     *
+     * @return FunctionDispatcher object
+     */
+    public static FunctionDispatcher getInstance() {
+        if (instance == null) {
+            synchronized (FunctionDispatcher.class) {
+                if (instance == null) {
+                    instance = new FunctionDispatcher(ServiceReferenceHolder.getInstance().getAPIMConfiguration()
+                            .getEventDispatchConfigurations());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Queue an invocation of a function. The invocation is delivered asynchronously.
+     *
+     * @param function   Function to invoke
+     * @param event      Event which occurred
+     * @param username   Logged in user's username
+     * @param invocation Invocation of the function endpoint
+     * @return {@code false} if the queue is full, in which case the invocation is recorded as a dead letter
+     */
+    public boolean dispatch(Function function, Event event, String username, Invocation invocation) {
+        PendingInvocation pendingInvocation = new PendingInvocation(function, event, username, invocation);
+        if (queueDepth.incrementAndGet() > queueCapacity) {
+            queueDepth.decrementAndGet();
+            rejectedCount.incrementAndGet();
+            recordDeadLetter(pendingInvocation, "Rejected as " + queueCapacity + " invocations are already queued",
+                    0);
+            return false;
+        }
+        // the invocation is queued while the endpoint is locked in the map, so that an idle endpoint being removed
+        // does not receive it
+        Endpoint endpoint = endpoints.compute(function.getEndpointURI(), (uri, existingEndpoint) -> {
+            Endpoint queuingEndpoint = existingEndpoint == null ? new Endpoint(uri) : existingEndpoint;
+            queuingEndpoint.queue.add(pendingInvocation);
+            return queuingEndpoint;
+        });
+        schedule(endpoint);
+        return true;
+    }
+
+    /**
+     * Hand the queued invocations of an endpoint to the executor while the endpoint has free slots. This is called
+     * whenever an invocation is queued or completed, so that no invocation is left in the queue of an endpoint with
+     * free slots. An endpoint left without queued or running invocations is removed.
+     */
+    private void schedule(Endpoint endpoint) {
+        while (!endpoint.queue.isEmpty() && endpoint.slots.tryAcquire()) {
+            PendingInvocation pendingInvocation = endpoint.queue.poll();
+            if (pendingInvocation == null) {
+                endpoint.slots.release();
+                continue;
+            }
+            try {
+                executor.execute(() -> deliver(endpoint, pendingInvocation));
+            } catch (RejectedExecutionException e) {
+                complete(endpoint, pendingInvocation, false);
+                recordDeadLetter(pendingInvocation, "Rejected by the executor", 0);
+            }
+        }
+        if (endpoint.isIdle()) {
+            endpoints.computeIfPresent(endpoint.uri,
+                    (uri, existingEndpoint) -> existingEndpoint == endpoint && endpoint.isIdle() ? null
+                            : existingEndpoint);
+        }
+    }
+
+    private void deliver(Endpoint endpoint, PendingInvocation pendingInvocation) {
+        boolean delivered = false;
+        try {
+            long waitingTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pendingInvocation.queuedTime);
+            if (waitingTime > deliveryTimeoutInMillis) {
+                recordDeadLetter(pendingInvocation, "Not delivered within " + deliveryTimeoutInMillis + " ms", 0);
+                return;
+            }
+            HttpResponse response;
+            try {
+                response = pendingInvocation.invocation.invoke();
+            } catch (APIManagementException | RuntimeException e) {
+                log.error("Failed to make http request: -function: " + pendingInvocation.function.getName()
+                        + " -endpoint URI: " + pendingInvocation.function.getEndpointURI() + " -event: "
+                        + pendingInvocation.event + " -Username: " + pendingInvocation.username, e);
+                recordDeadLetter(pendingInvocation, "Failed to make http request: " + e.getMessage(), 0);
+                return;
+            }
+            if (response == null) {
+                recordDeadLetter(pendingInvocation, "No response", 0);
+                return;
+            }
+            int responseStatusCode = response.getResponseCode();
+            // Successful function invocation. Possible response codes: 200-299
+            // Benefit of integer division used to ensure all possible success response codes covered
+            if (responseStatusCode / 100 == 2) {
+                delivered = true;
+                log.info("Function successfully invoked: " + pendingInvocation.function.getName() + " -event: "
+                        + pendingInvocation.event + " -Username: " + pendingInvocation.username
+                        + " -Response code: " + responseStatusCode);
+            } else {
+                log.error("Problem invoking function: " + pendingInvocation.function.getName() + " -event: "
+                        + pendingInvocation.event + " -Username: " + pendingInvocation.username
+                        + " -Response code: " + responseStatusCode);
+                recordDeadLetter(pendingInvocation, "Response code: " + responseStatusCode, responseStatusCode);
+            }
+        } finally {
+            complete(endpoint, pendingInvocation, delivered);
+            schedule(endpoint);
+        }
+    }
+
+    private void complete(Endpoint endpoint, PendingInvocation pendingInvocation, boolean delivered) {
+        long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pendingInvocation.queuedTime);
+        totalLatency.addAndGet(latency);
+        maxLatency.accumulateAndGet(latency, Math::max);
+        if (delivered) {
+            deliveredCount.incrementAndGet();
+        } else {
+            failedCount.incrementAndGet();
+        }
+        queueDepth.decrementAndGet();
+        endpoint.slots.release();
+    }
+
+    private void recordDeadLetter(PendingInvocation pendingInvocation, String reason, int responseCode) {
+        log.error("Invocation of function " + pendingInvocation.function.getName() + " for event "
+                + pendingInvocation.event + " of user " + pendingInvocation.username + " is recorded as a dead "
+                + "letter. Reason : " + reason);
+        if (deadLetterCapacity <= 0) {
+            return;
+        }
+        DeadLetter deadLetter = new DeadLetter(pendingInvocation, reason, responseCode);
+        synchronized (deadLetters) {
+            if (deadLetters.size() >= deadLetterCapacity) {
+                deadLetters.removeFirst();
+            }
+            deadLetters.addLast(deadLetter);
+        }
+    }
+
+    /**
+     * Get the most recent invocations that could not be delivered, oldest first
+     *
+     * @return List of dead letters
+     */
+    public List<DeadLetter> getDeadLetters() {
+        synchronized (deadLetters) {
+            return new ArrayList<>(deadLetters);
+        }
+    }
+
+    /**
+     * @return number of invocations queued or in progress
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * @return number of endpoints with queued or running invocations
+     */
+    public int getEndpointCount() {
+        return endpoints.size();
+    }
+
+    /**
+     * @return number of invocations in progress
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount.get();
+    }
+
+    /**
+     * @return number of queued invocations that were not delivered, including the ones that timed out
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * @return number of invocations rejected as the queue was full
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * @return average time in milliseconds from queueing an invocation until it is completed
+     */
+    public long getAverageLatency() {
+        long completedCount = deliveredCount.get() + failedCount.get();
+        return completedCount == 0 ? 0 : totalLatency.get() / completedCount;
+    }
+
+    /**
+     * @return maximum time in milliseconds from queueing an invocation until it is completed
+     */
+    public long getMaxLatency() {
+        return maxLatency.get();
+    }
+
+    /**
+     * Invocation of a function endpoint
+     */
+    public interface Invocation {
+        HttpResponse invoke() throws APIManagementException;
+    }
+
+    /**
+     * Invocation of a function which could not be delivered
+     */
+    public static final class DeadLetter {
+        private final String functionName;
+        private final URI endpointURI;
+        private final Event event;
+        private final String username;
+        private final String reason;
+        private final int responseCode;
+        private final ZonedDateTime failedTime;
+
+        private DeadLetter(PendingInvocation pendingInvocation, String reason, int responseCode) {
+            this.functionName = pendingInvocation.function.getName();
+            this.endpointURI = pendingInvocation.function.getEndpointURI();
+            this.event = pendingInvocation.event;
+            this.username = pendingInvocation.username;
+            this.reason = reason;
+            this.responseCode = responseCode;
+            this.failedTime = ZonedDateTime.now(ZoneOffset.UTC);
+        }
+
+        public String getFunctionName() {
+            return functionName;
+        }
+
+        public URI getEndpointURI() {
+            return endpointURI;
+        }
+
+        public Event getEvent() {
+            return event;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        /**
+         * @return response code of the function endpoint, or 0 if the endpoint did not respond
+         */
+        public int getResponseCode() {
+            return responseCode;
+        }
+
+        public ZonedDateTime getFailedTime() {
+            return failedTime;
+        }
+    }
+
+    /**
+     * Queue of a function endpoint along with its free slots for concurrent invocations
+     */
+    private final class Endpoint {
+        private final URI uri;
+        private final Queue<PendingInvocation> queue = new ConcurrentLinkedQueue<>();
+        private final Semaphore slots = new Semaphore(maxConcurrentInvocationsPerEndpoint);
+
+        private Endpoint(URI uri) {
+            this.uri = uri;
+        }
+
+        private boolean isIdle() {
+            return queue.isEmpty() && slots.availablePermits() == maxConcurrentInvocationsPerEndpoint;
+        }
+    }
+
+    /**
+     * Invocation waiting to be delivered
+     */
+    private static final class PendingInvocation {
+        private final Function function;
+        private final Event event;
+        private final String username;
+        private final Invocation invocation;
+        private final long queuedTime = System.nanoTime();
+
+        private PendingInvocation(Function function, Event event, String username, Invocation invocation) {
+            this.function = function;
+            this.event = event;
+            this.username = username;
+            this.invocation = invocation;
+        }
+    }
+}
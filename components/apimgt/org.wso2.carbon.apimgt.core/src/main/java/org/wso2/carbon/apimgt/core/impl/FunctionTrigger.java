@@ -31,7 +31,6 @@ import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
 import org.wso2.carbon.apimgt.core.models.Event;
 import org.wso2.carbon.apimgt.core.models.Function;
-import org.wso2.carbon.apimgt.core.models.HttpResponse;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 
 import java.time.ZonedDateTime;
@@ -45,11 +44,15 @@ import javax.ws.rs.core.MediaType;
  * Implementation which observes any {@link org.wso2.carbon.apimgt.core.models.Event} in
  * {@link org.wso2.carbon.apimgt.core.api.APIMObservable} and trigger corresponding function that is mapped
  * to the particular {@link org.wso2.carbon.apimgt.core.models.Event} occurred.
+ * <p>
+ * The functions are invoked asynchronously through a {@link FunctionDispatcher}, so that a slow function endpoint
+ * does not delay the other observers of the event.
  */
 public class FunctionTrigger implements EventObserver {
 
     private FunctionDAO functionDAO;
     private RestCallUtil restCallUtil;
+    private FunctionDispatcher functionDispatcher;
 
     private static final Logger log = LoggerFactory.getLogger(FunctionTrigger.class);
 
@@ -60,14 +63,29 @@ public class FunctionTrigger implements EventObserver {
      * @param restCallUtil To call {@link org.wso2.carbon.apimgt.core.api.RestCallUtil} methods
      */
     public FunctionTrigger(FunctionDAO functionDAO, RestCallUtil restCallUtil) {
+        this(functionDAO, restCallUtil, FunctionDispatcher.getInstance());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param functionDAO        To call {@link org.wso2.carbon.apimgt.core.dao.FunctionDAO} methods
+     * @param restCallUtil       To call {@link org.wso2.carbon.apimgt.core.api.RestCallUtil} methods
+     * @param functionDispatcher To deliver the function invocations
+     */
+    public FunctionTrigger(FunctionDAO functionDAO, RestCallUtil restCallUtil, FunctionDispatcher functionDispatcher) {
         if (functionDAO == null) {
             throw new IllegalArgumentException("FunctionDAO param must not be null");
         }
         if (restCallUtil == null) {
             throw new IllegalArgumentException("RestCallUtil param must not be null");
         }
+        if (functionDispatcher == null) {
+            throw new IllegalArgumentException("FunctionDispatcher param must not be null");
+        }
         this.functionDAO = functionDAO;
         this.restCallUtil = restCallUtil;
+        this.functionDispatcher = functionDispatcher;
     }
 
     /**
@@ -118,29 +136,11 @@ public class FunctionTrigger implements EventObserver {
         }
 
         if (functions != null && !functions.isEmpty()) {
+            String payload = jsonPayload;
             for (Function function : functions) {
-                HttpResponse response = null;
-                try {
-                    response = restCallUtil.postRequest(function.getEndpointURI(), null, null, Entity.json(jsonPayload),
-                            MediaType.APPLICATION_JSON_TYPE, Collections.EMPTY_MAP);
-                } catch (APIManagementException e) {
-                    log.error("Failed to make http request: -function: " + function.getName() + " -endpoint URI: "
-                            + function.getEndpointURI() + " -event: " + event + " -Username: " + username, e);
-                }
-
-                if (response != null) {
-                    int responseStatusCode = response.getResponseCode();
-
-                    // Successful function invocation. Possible response codes: 200-299
-                    // Benefit of integer division used to ensure all possible success response codes covered
-                    if (responseStatusCode / 100 == 2) {
-                        log.info("Function successfully invoked: " + function.getName() + " -event: " + event +
-                                " -Username: " + username + " -Response code: " + responseStatusCode);
-                    } else {
-                        log.error("Problem invoking function: " + function.getName() + " -event: " + event +
-                                " -Username: " + username + " -Response code: " + responseStatusCode);
-                    }
-                }
+                functionDispatcher.dispatch(function, event, username, () -> restCallUtil.postRequest(
+                        function.getEndpointURI(), null, null, Entity.json(payload), MediaType.APPLICATION_JSON_TYPE,
+                        Collections.EMPTY_MAP));
             }
         }
     }
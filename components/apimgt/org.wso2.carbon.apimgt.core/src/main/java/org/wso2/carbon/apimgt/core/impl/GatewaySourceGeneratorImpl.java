@@ -20,12 +20,8 @@ package org.wso2.carbon.apimgt.core.impl;
 
 import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.app.VelocityEngine;
 import org.apache.velocity.exception.ParseErrorException;
 import org.apache.velocity.exception.ResourceNotFoundException;
-import org.apache.velocity.runtime.RuntimeConstants;
-import org.apache.velocity.runtime.log.CommonsLogLogChute;
-import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.api.GatewaySourceGenerator;
@@ -39,6 +35,7 @@ import org.wso2.carbon.apimgt.core.template.CompositeAPIConfigContext;
 import org.wso2.carbon.apimgt.core.template.ConfigContext;
 import org.wso2.carbon.apimgt.core.template.EndpointContext;
 import org.wso2.carbon.apimgt.core.template.ResourceConfigContext;
+import org.wso2.carbon.apimgt.core.template.TemplateService;
 import org.wso2.carbon.apimgt.core.template.dto.CompositeAPIEndpointDTO;
 import org.wso2.carbon.apimgt.core.template.dto.TemplateBuilderDTO;
 
@@ -68,12 +65,7 @@ public class GatewaySourceGeneratorImpl implements GatewaySourceGenerator {
             apiConfigContext.validate();
             ConfigContext configContext = new ResourceConfigContext(apiConfigContext, apiResources);
             VelocityContext context = configContext.getContext();
-            VelocityEngine velocityengine = new VelocityEngine();
-            velocityengine.setProperty(RuntimeConstants.RESOURCE_LOADER, "classpath");
-            velocityengine.setProperty("classpath.resource.loader.class", ClasspathResourceLoader.class.getName());
-            velocityengine.setProperty(VelocityEngine.RUNTIME_LOG_LOGSYSTEM, new CommonsLogLogChute());
-            velocityengine.init();
-            Template template = velocityengine.getTemplate(templatePath);
+            Template template = TemplateService.getInstance().getTemplate(templatePath);
             template.merge(context, writer);
         } catch (ResourceNotFoundException e) {
             log.error("Template " + templatePath + " not Found", e);
@@ -126,11 +118,7 @@ public class GatewaySourceGeneratorImpl implements GatewaySourceGenerator {
             // build the context for template and apply the necessary decorators
             ConfigContext configcontext = new EndpointContext(endpoint, packageName);
             VelocityContext context = configcontext.getContext();
-            VelocityEngine velocityengine = new VelocityEngine();
-            velocityengine.setProperty(RuntimeConstants.RESOURCE_LOADER, "classpath");
-            velocityengine.setProperty("classpath.resource.loader.class", ClasspathResourceLoader.class.getName());
-            velocityengine.init();
-            Template template = velocityengine.getTemplate(templatePath);
+            Template template = TemplateService.getInstance().getTemplate(templatePath);
             template.merge(context, writer);
         } catch (ResourceNotFoundException e) {
             log.error("Template " + templatePath + " not Found", e);
@@ -155,12 +143,7 @@ public class GatewaySourceGeneratorImpl implements GatewaySourceGenerator {
             CompositeAPIConfigContext configContext = new CompositeAPIConfigContext(apiConfigContext, apiResources,
                                                                                     compositeApiEndpoints);
             VelocityContext context = configContext.getContext();
-            VelocityEngine velocityengine = new VelocityEngine();
-            velocityengine.setProperty(RuntimeConstants.RESOURCE_LOADER, "classpath");
-            velocityengine.setProperty("classpath.resource.loader.class", ClasspathResourceLoader.class.getName());
-            velocityengine.setProperty(VelocityEngine.RUNTIME_LOG_LOGSYSTEM, new CommonsLogLogChute());
-            velocityengine.init();
-            Template template = velocityengine.getTemplate(templatePath);
+            Template template = TemplateService.getInstance().getTemplate(templatePath);
             template.merge(context, writer);
         } catch (ResourceNotFoundException e) {
             log.error("Template " + templatePath + " not Found", e);
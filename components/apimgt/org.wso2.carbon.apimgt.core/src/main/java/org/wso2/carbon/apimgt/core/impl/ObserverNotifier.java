@@ -56,6 +56,14 @@ public class ObserverNotifier implements Runnable {
         this.metadata = metadata;
     }
 
+    public Event getEvent() {
+        return event;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
     /**
      * Run method which calls the
      * {@link org.wso2.carbon.apimgt.core.api.APIMObservable#notifyObservers(Event, String, ZonedDateTime, Map)} method
@@ -19,31 +19,63 @@
  */
 package org.wso2.carbon.apimgt.core.impl;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.configuration.models.EventDispatchConfigurations;
+import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Thread pool implementation which accepts ObserverNotifier(Runnable) objects and execute them using separate threads
  * available in a pool of threads.
+ * <p>
+ * The queue of the pool is bounded, so the pool grows up to its maximum size once the queue is full. When all the
+ * threads are busy and the queue is full, the observers are either notified in the thread that raised the event,
+ * which slows down the producers of events, or the event is dropped, depending on the configured rejection policy.
+ * <p>
+ * All the observers of an event are notified one after the other by the same task, hence an observer must not block.
+ * {@link FunctionTrigger} only queues the invocations of functions to the {@link FunctionDispatcher}.
  * Singleton: Bill Pugh implementation has been used.
  */
 public class ObserverNotifierThreadPool {
+    private static final Logger log = LoggerFactory.getLogger(ObserverNotifierThreadPool.class);
+
+    static final String CALLER_RUNS_POLICY = "CALLER_RUNS";
+    static final String DISCARD_POLICY = "DISCARD";
 
-    private static final int CORE_POOL_SIZE = 5;
-    private static final int MAX_POOL_SIZE = 50;
     private static final long THREAD_ALIVE_TIME = 300L;
     private static final TimeUnit TIME_UNIT = TimeUnit.SECONDS;
     private ThreadPoolExecutor executor;
 
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong totalQueueLatency = new AtomicLong();
+    private final AtomicLong maxQueueLatency = new AtomicLong();
+
     /**
      * Private constructor to make the class singleton.
      */
     private ObserverNotifierThreadPool() {
-        BlockingQueue<Runnable> threadPool = new LinkedBlockingQueue<>();
-        executor = new ThreadPoolExecutor(CORE_POOL_SIZE, MAX_POOL_SIZE, THREAD_ALIVE_TIME, TIME_UNIT,
-                threadPool);
+        this(ServiceReferenceHolder.getInstance().getAPIMConfiguration().getEventDispatchConfigurations());
+    }
+
+    /**
+     * Creates a thread pool with the given configuration
+     *
+     * @param eventDispatchConfigurations Event dispatch configurations
+     */
+    ObserverNotifierThreadPool(EventDispatchConfigurations eventDispatchConfigurations) {
+        int corePoolSize = Math.max(eventDispatchConfigurations.getNotifierCorePoolSize(), 1);
+        int maxPoolSize = Math.max(eventDispatchConfigurations.getNotifierMaxPoolSize(), corePoolSize);
+        executor = new ThreadPoolExecutor(corePoolSize, maxPoolSize, THREAD_ALIVE_TIME, TIME_UNIT,
+                new ArrayBlockingQueue<>(Math.max(eventDispatchConfigurations.getNotifierQueueCapacity(), 1)),
+                getRejectionHandler(eventDispatchConfigurations.getNotifierRejectionPolicy()));
         executor.prestartAllCoreThreads();
     }
 
@@ -70,6 +102,102 @@ public class ObserverNotifierThreadPool {
      * @param observerNotifier ObserverNotifier(Runnable) object
      */
     public void executeTask(ObserverNotifier observerNotifier) {
-        executor.execute(observerNotifier);
+        submittedCount.incrementAndGet();
+        executor.execute(new TimedTask(observerNotifier));
+    }
+
+    /**
+     * @return number of events waiting for a thread
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return number of threads notifying observers
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getPoolSize() {
+        return executor.getPoolSize();
+    }
+
+    public long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    /**
+     * @return number of events that did not fit in the queue, including the ones notified by the caller
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * @return average time in milliseconds an event waited before its observers were notified
+     */
+    public long getAverageQueueLatency() {
+        long count = completedCount.get();
+        return count == 0 ? 0 : totalQueueLatency.get() / count;
+    }
+
+    /**
+     * @return maximum time in milliseconds an event waited before its observers were notified
+     */
+    public long getMaxQueueLatency() {
+        return maxQueueLatency.get();
+    }
+
+    private RejectedExecutionHandler getRejectionHandler(String rejectionPolicy) {
+        if (DISCARD_POLICY.equalsIgnoreCase(rejectionPolicy)) {
+            return (task, pool) -> {
+                rejectedCount.incrementAndGet();
+                ObserverNotifier observerNotifier = ((TimedTask) task).observerNotifier;
+                log.error("Observer notifier queue is full, dropped event " + observerNotifier.getEvent()
+                        + " of user " + observerNotifier.getUsername());
+            };
+        }
+        if (!CALLER_RUNS_POLICY.equalsIgnoreCase(rejectionPolicy)) {
+            log.warn("Unknown observer notifier rejection policy " + rejectionPolicy + ", using "
+                    + CALLER_RUNS_POLICY);
+        }
+        ThreadPoolExecutor.CallerRunsPolicy callerRunsPolicy = new ThreadPoolExecutor.CallerRunsPolicy();
+        return (task, pool) -> {
+            rejectedCount.incrementAndGet();
+            if (log.isDebugEnabled()) {
+                log.debug("Observer notifier queue is full, notifying observers in the calling thread");
+            }
+            callerRunsPolicy.rejectedExecution(task, pool);
+        };
+    }
+
+    /**
+     * Notifier which records the time it waited in the queue
+     */
+    private final class TimedTask implements Runnable {
+        private final ObserverNotifier observerNotifier;
+        private final long submittedTime = System.nanoTime();
+
+        private TimedTask(ObserverNotifier observerNotifier) {
+            this.observerNotifier = observerNotifier;
+        }
+
+        @Override
+        public void run() {
+            long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submittedTime);
+            totalQueueLatency.addAndGet(latency);
+            maxQueueLatency.accumulateAndGet(latency, Math::max);
+            try {
+                observerNotifier.run();
+            } finally {
+                completedCount.incrementAndGet();
+            }
+        }
     }
 }
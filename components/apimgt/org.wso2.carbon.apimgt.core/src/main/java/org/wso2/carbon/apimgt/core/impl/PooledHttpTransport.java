@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.configuration.models.RestClientConfigurations;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.core.models.HttpResponse;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HTTP transport of {@link RestCallUtilImpl} which reuses connections to the services it calls.
+ * <p>
+ * Connections are kept alive and reused through the keep-alive cache of {@link HttpURLConnection}, which requires the
+ * response of every request to be read completely and the connection not to be disconnected after a successful
+ * request. The number of concurrent requests to a route, the scheme, host and port of a service, is limited so that a
+ * slow service cannot take up all the connections, and a request waits up to the configured time for its route.
+ * <p>
+ * Requests with an idempotent method are retried with an exponential backoff when the connection fails. Other
+ * requests are never retried as the service may have processed them already.
+ */
+public class PooledHttpTransport {
+    private static final Logger log = LoggerFactory.getLogger(PooledHttpTransport.class);
+
+    private static final Set<String> IDEMPOTENT_METHODS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("GET", "HEAD", "PUT", "DELETE", "OPTIONS")));
+    private static final int BUFFER_SIZE = 4096;
+
+    private static volatile PooledHttpTransport instance;
+
+    private final int maxConnectionsPerRoute;
+    private final int connectTimeout;
+    private final int readTimeout;
+    private final long connectionRequestTimeout;
+    private final int maxRetries;
+    private final long retryBackoff;
+    private final ConcurrentMap<String, Route> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a transport. Use {@link #getInstance()} to get the transport configured for the server.
+     *
+     * @param restClientConfigurations REST client configurations
+     */
+    public PooledHttpTransport(RestClientConfigurations restClientConfigurations) {
+        this.maxConnectionsPerRoute = Math.max(restClientConfigurations.getMaxConnectionsPerRoute(), 1);
+        this.connectTimeout = restClientConfigurations.getConnectTimeout();
+        this.readTimeout = restClientConfigurations.getReadTimeout();
+        this.connectionRequestTimeout = restClientConfigurations.getConnectionRequestTimeout();
+        this.maxRetries = Math.max(restClientConfigurations.getMaxRetries(), 0);
+        this.retryBackoff = restClientConfigurations.getRetryBackoff();
+    }
+
+    /**
+     * Get PooledHttpTransport instance
+     *
+     * @return PooledHttpTransport object
+     */
+    public static PooledHttpTransport getInstance() {
+        if (instance == null) {
+            synchronized (PooledHttpTransport.class) {
+                if (instance == null) {
+                    instance = new PooledHttpTransport(ServiceReferenceHolder.getInstance().getAPIMConfiguration()
+                            .getRestClientConfigurations());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Send a request and read its response
+     *
+     * @param request Request to send
+     * @return HttpResponse from service
+     * @throws APIManagementException If the request could not be sent or the response could not be read, after
+     *                                retrying idempotent requests
+     */
+    public HttpResponse execute(Request request) throws APIManagementException {
+        Route route = getRoute(request.uri);
+        int maxAttempts = IDEMPOTENT_METHODS.contains(request.method) ? maxRetries + 1 : 1;
+        for (int attempt = 1; ; attempt++) {
+            acquire(route);
+            try {
+                route.requestCount.incrementAndGet();
+                return send(request);
+            } catch (IOException e) {
+                if (attempt >= maxAttempts) {
+                    route.failureCount.incrementAndGet();
+                    throw new APIManagementException("Connection not established properly ", e);
+                }
+                route.retryCount.incrementAndGet();
+                log.warn(request.method + " request to " + route.name + " failed, retrying. Error : "
+                        + e.getMessage());
+            } finally {
+                route.permits.release();
+            }
+            backoff(attempt);
+        }
+    }
+
+    /**
+     * Get the usage of the connections to each route called so far
+     *
+     * @return Statistics of each route, by scheme, host and port
+     */
+    public Map<String, RouteStatistics> getStatistics() {
+        Map<String, RouteStatistics> statistics = new HashMap<>();
+        routes.forEach((name, route) -> statistics.put(name, new RouteStatistics(route)));
+        return statistics;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    private Route getRoute(URI uri) {
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        String name = uri.getScheme() + "://" + uri.getHost() + ":" + port;
+        Route route = routes.get(name);
+        if (route == null) {
+            route = routes.computeIfAbsent(name, Route::new);
+        }
+        return route;
+    }
+
+    private void acquire(Route route) throws APIManagementException {
+        try {
+            if (!route.permits.tryAcquire(connectionRequestTimeout, TimeUnit.MILLISECONDS)) {
+                route.timeoutCount.incrementAndGet();
+                throw new APIManagementException("Timed out waiting for a connection to " + route.name + ", "
+                        + maxConnectionsPerRoute + " requests are in progress");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new APIManagementException("Interrupted while waiting for a connection to " + route.name, e);
+        }
+    }
+
+    private void backoff(int attempt) throws APIManagementException {
+        try {
+            Thread.sleep(retryBackoff << Math.min(attempt - 1, 16));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new APIManagementException("Interrupted while waiting to retry a request", e);
+        }
+    }
+
+    private HttpResponse send(Request request) throws IOException {
+        HttpURLConnection httpConnection = (HttpURLConnection) request.uri.toURL().openConnection();
+        boolean completed = false;
+        try {
+            httpConnection.setConnectTimeout(connectTimeout);
+            httpConnection.setReadTimeout(readTimeout);
+            httpConnection.setRequestMethod(request.method);
+            for (Map.Entry<String, String> header : request.headers) {
+                httpConnection.addRequestProperty(header.getKey(), header.getValue());
+            }
+            if (request.body != null) {
+                httpConnection.setDoOutput(true);
+                try (OutputStream outputStream = httpConnection.getOutputStream()) {
+                    outputStream.write(request.body);
+                }
+            }
+            HttpResponse response = getResponse(httpConnection);
+            completed = true;
+            return response;
+        } finally {
+            // a connection is returned to the keep-alive cache once its response is read, hence it is disconnected
+            // only if the request failed midway
+            if (!completed) {
+                httpConnection.disconnect();
+            }
+        }
+    }
+
+    /**
+     * To get a response from service.
+     *
+     * @param httpConnection Connection used to make the request
+     * @return HttpResponse from service
+     * @throws IOException In case of any failures, when trying to get the response from service
+     */
+    private HttpResponse getResponse(HttpURLConnection httpConnection) throws IOException {
+        HttpResponse response = new HttpResponse();
+        response.setResponseCode(httpConnection.getResponseCode());
+        response.setResponseMessage(httpConnection.getResponseMessage());
+        if (response.getResponseCode() / 100 == 2) {
+            try (BufferedReader responseBuffer =
+                         new BufferedReader(new InputStreamReader(httpConnection.getInputStream(),
+                                 StandardCharsets.UTF_8))) {
+                StringBuilder results = new StringBuilder();
+                String line;
+                while ((line = responseBuffer.readLine()) != null) {
+                    results.append(line).append("\n");
+                }
+                response.setHeaderFields(httpConnection.getHeaderFields());
+                response.setResults(results.toString());
+            }
+        } else {
+            // the error body has to be read for the connection to be reused
+            InputStream errorStream = httpConnection.getErrorStream();
+            if (errorStream != null) {
+                try (InputStream inputStream = errorStream) {
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    int read;
+                    do {
+                        read = inputStream.read(buffer);
+                    } while (read != -1);
+                }
+            }
+        }
+        return response;
+    }
+
+    /**
+     * HTTP request sent through the transport
+     */
+    public static final class Request {
+        private final String method;
+        private final URI uri;
+        private final List<Map.Entry<String, String>> headers = new ArrayList<>();
+        private byte[] body;
+
+        /**
+         * @param method HTTP method of the request
+         * @param uri    URI of the service
+         */
+        public Request(String method, URI uri) {
+            this.method = method.toUpperCase(Locale.ENGLISH);
+            this.uri = uri;
+        }
+
+        /**
+         * Add a header to the request. A header added more than once is sent with each of its values.
+         *
+         * @param name  Name of the header
+         * @param value Value of the header
+         * @return this request
+         */
+        public Request header(String name, String value) {
+            headers.add(new AbstractMap.SimpleImmutableEntry<>(name, value));
+            return this;
+        }
+
+        /**
+         * Set the payload of the request
+         *
+         * @param body Payload of the request
+         * @return this request
+         */
+        public Request body(byte[] body) {
+            this.body = body;
+            return this;
+        }
+    }
+
+    /**
+     * Statistics of the connections to a route
+     */
+    public static final class RouteStatistics {
+        private final int leasedConnections;
+        private final int pendingRequests;
+        private final long requestCount;
+        private final long retryCount;
+        private final long failureCount;
+        private final long timeoutCount;
+
+        private RouteStatistics(Route route) {
+            this.leasedConnections = route.maxConnections - route.permits.availablePermits();
+            this.pendingRequests = route.permits.getQueueLength();
+            this.requestCount = route.requestCount.get();
+            this.retryCount = route.retryCount.get();
+            this.failureCount = route.failureCount.get();
+            this.timeoutCount = route.timeoutCount.get();
+        }
+
+        /**
+         * @return number of requests in progress
+         */
+        public int getLeasedConnections() {
+            return leasedConnections;
+        }
+
+        /**
+         * @return number of requests waiting for a connection
+         */
+        public int getPendingRequests() {
+            return pendingRequests;
+        }
+
+        /**
+         * @return number of requests sent, including retries
+         */
+        public long getRequestCount() {
+            return requestCount;
+        }
+
+        public long getRetryCount() {
+            return retryCount;
+        }
+
+        /**
+         * @return number of requests that failed after all their attempts
+         */
+        public long getFailureCount() {
+            return failureCount;
+        }
+
+        /**
+         * @return number of requests that timed out waiting for a connection
+         */
+        public long getTimeoutCount() {
+            return timeoutCount;
+        }
+    }
+
+    /**
+     * Scheme, host and port of a service along with the limit of concurrent requests to it
+     */
+    private final class Route {
+        private final String name;
+        private final int maxConnections = maxConnectionsPerRoute;
+        private final Semaphore permits = new Semaphore(maxConnectionsPerRoute, true);
+        private final AtomicLong requestCount = new AtomicLong();
+        private final AtomicLong retryCount = new AtomicLong();
+        private final AtomicLong failureCount = new AtomicLong();
+        private final AtomicLong timeoutCount = new AtomicLong();
+
+        Route(String name) {
+            this.name = name;
+        }
+    }
+}
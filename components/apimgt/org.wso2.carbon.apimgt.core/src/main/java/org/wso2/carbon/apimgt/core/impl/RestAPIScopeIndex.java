@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.ws.rs.ApplicationPath;
+
+/**
+ * Resource to scope mapping of a REST API definition, built once per definition so that scope checks of incoming
+ * requests do not parse the swagger again.
+ * <p>
+ * Resources are indexed by path and then by HTTP verb. The path of a resource method is derived from its
+ * {@link ApplicationPath} and {@link javax.ws.rs.Path} annotations the first time the method is seen, after which
+ * the scopes of the method are looked up by method identity.
+ */
+final class RestAPIScopeIndex {
+
+    private static final String KEY_SEPARATOR = "_";
+
+    private final String namespace;
+    private final Map<String, Map<String, String>> scopesByPath;
+    private final ConcurrentMap<Method, Map<String, String>> scopesByMethod = new ConcurrentHashMap<>();
+
+    private RestAPIScopeIndex(String namespace, Map<String, Map<String, String>> scopesByPath) {
+        this.namespace = namespace;
+        this.scopesByPath = scopesByPath;
+    }
+
+    /**
+     * Build the index from the rest API configuration and the x-scope extensions of the swagger. Entries of the
+     * configuration take precedence over the swagger.
+     *
+     * @param namespace namespace of the rest API
+     * @param swagger   parsed rest API definition
+     * @param configMap resource to scope mapping from the configuration, keyed as VERB_path
+     * @return resource to scope index
+     */
+    static RestAPIScopeIndex build(String namespace, Swagger swagger, Map<String, String> configMap) {
+        Map<String, Map<String, String>> scopesByPath = new HashMap<>();
+        if (configMap != null) {
+            for (Map.Entry<String, String> entry : configMap.entrySet()) {
+                Object scope = entry.getValue();
+                int separator = entry.getKey().indexOf(KEY_SEPARATOR);
+                if (separator > 0 && scope != null) {
+                    scopesByPath.computeIfAbsent(entry.getKey().substring(separator + 1), k -> new HashMap<>())
+                            .put(entry.getKey().substring(0, separator), scope.toString());
+                }
+            }
+        }
+        if (swagger != null && swagger.getPaths() != null) {
+            for (Map.Entry<String, Path> entry : swagger.getPaths().entrySet()) {
+                for (Map.Entry<HttpMethod, Operation> operation : entry.getValue().getOperationMap().entrySet()) {
+                    Object scope = operation.getValue().getVendorExtensions().get(APIMgtConstants.SWAGGER_X_SCOPE);
+                    if (scope != null) {
+                        scopesByPath.computeIfAbsent(entry.getKey(), k -> new HashMap<>())
+                                .putIfAbsent(operation.getKey().toString(), scope.toString());
+                    }
+                }
+            }
+        }
+        for (Map.Entry<String, Map<String, String>> entry : scopesByPath.entrySet()) {
+            entry.setValue(Collections.unmodifiableMap(entry.getValue()));
+        }
+        return new RestAPIScopeIndex(namespace, Collections.unmodifiableMap(scopesByPath));
+    }
+
+    /**
+     * Get the scopes of a resource method
+     *
+     * @param resourceMethod resource method serving the request
+     * @param verb           HTTP verb of the request
+     * @return scopes of the resource or null if the resource does not define any
+     */
+    String getScope(Method resourceMethod, String verb) {
+        Map<String, String> scopes = scopesByMethod.get(resourceMethod);
+        if (scopes == null) {
+            scopes = scopesByMethod.computeIfAbsent(resourceMethod,
+                    method -> scopesByPath.getOrDefault(getResourcePath(method), Collections.emptyMap()));
+        }
+        return scopes.get(verb);
+    }
+
+    String getNamespace() {
+        return namespace;
+    }
+
+    private static String getResourcePath(Method resourceMethod) {
+        ApplicationPath applicationPath = resourceMethod.getDeclaringClass().getAnnotation(ApplicationPath.class);
+        javax.ws.rs.Path path = resourceMethod.getAnnotation(javax.ws.rs.Path.class);
+        String apiPrefix = applicationPath != null ? applicationPath.value() : "";
+        return path != null ? apiPrefix + path.value() : apiPrefix;
+    }
+}
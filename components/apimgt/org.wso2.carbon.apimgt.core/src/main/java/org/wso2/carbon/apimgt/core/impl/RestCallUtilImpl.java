@@ -26,11 +26,6 @@ import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.models.HttpResponse;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -43,9 +38,21 @@ import javax.ws.rs.core.MediaType;
  * Utility class which provides basic methods needed to make a RESTful call to a service.
  * Acts as a REST client.
  * Specifically used in this project to enable inter-cloud REST communication.
+ * <p>
+ * Requests are sent through a {@link PooledHttpTransport}, which reuses the connections to the services.
  */
 public class RestCallUtilImpl implements RestCallUtil {
 
+    private final PooledHttpTransport transport;
+
+    public RestCallUtilImpl() {
+        this(PooledHttpTransport.getInstance());
+    }
+
+    public RestCallUtilImpl(PooledHttpTransport transport) {
+        this.transport = transport;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -62,35 +69,15 @@ public class RestCallUtilImpl implements RestCallUtil {
             throw new IllegalArgumentException("Password must not be null");
         }
 
-        HttpURLConnection httpConnection = null;
-        try {
-            httpConnection = (HttpURLConnection) uri.toURL().openConnection();
-            httpConnection.setRequestMethod(APIMgtConstants.FunctionsConstants.POST);
-            httpConnection.setRequestProperty(APIMgtConstants.FunctionsConstants.CONTENT_TYPE,
-                    MediaType.APPLICATION_JSON);
-            httpConnection.setDoOutput(true);
-            if (acceptContentType != null) {
-                httpConnection.setRequestProperty(APIMgtConstants.FunctionsConstants.ACCEPT,
-                        acceptContentType.toString());
-            }
+        JSONObject loginInfoJsonObj = new JSONObject();
+        loginInfoJsonObj.put(APIMgtConstants.FunctionsConstants.USERNAME, username);
+        loginInfoJsonObj.put(APIMgtConstants.FunctionsConstants.PASSWORD, password);
 
-            JSONObject loginInfoJsonObj = new JSONObject();
-            loginInfoJsonObj.put(APIMgtConstants.FunctionsConstants.USERNAME, username);
-            loginInfoJsonObj.put(APIMgtConstants.FunctionsConstants.PASSWORD, password);
-
-            OutputStream outputStream = httpConnection.getOutputStream();
-            outputStream.write(loginInfoJsonObj.toString().getBytes(StandardCharsets.UTF_8));
-            outputStream.flush();
-            outputStream.close();
-
-            return getResponse(httpConnection);
-        } catch (IOException e) {
-            throw new APIManagementException("Connection not established properly ", e);
-        } finally {
-            if (httpConnection != null) {
-                httpConnection.disconnect();
-            }
-        }
+        PooledHttpTransport.Request request = new PooledHttpTransport.Request(APIMgtConstants.FunctionsConstants.POST,
+                uri).header(APIMgtConstants.FunctionsConstants.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .body(loginInfoJsonObj.toString().getBytes(StandardCharsets.UTF_8));
+        addAcceptHeader(request, acceptContentType);
+        return transport.execute(request);
     }
 
     /**
@@ -113,36 +100,16 @@ public class RestCallUtilImpl implements RestCallUtil {
             throw new IllegalArgumentException("RSA signed token must not be null");
         }
 
-        HttpURLConnection httpConnection = null;
-        try {
-            JSONObject loginInfoJsonObj = new JSONObject();
-            loginInfoJsonObj.put(APIMgtConstants.FunctionsConstants.USERNAME, username);
-            loginInfoJsonObj.put(APIMgtConstants.FunctionsConstants.USER_TENANT_DOMAIN, userTenantDomain);
+        JSONObject loginInfoJsonObj = new JSONObject();
+        loginInfoJsonObj.put(APIMgtConstants.FunctionsConstants.USERNAME, username);
+        loginInfoJsonObj.put(APIMgtConstants.FunctionsConstants.USER_TENANT_DOMAIN, userTenantDomain);
 
-            httpConnection = (HttpURLConnection) uri.toURL().openConnection();
-            httpConnection.setRequestMethod(APIMgtConstants.FunctionsConstants.POST);
-            httpConnection.setRequestProperty(APIMgtConstants.FunctionsConstants.CONTENT_TYPE,
-                    MediaType.APPLICATION_JSON);
-            httpConnection.setDoOutput(true);
-            httpConnection.setRequestProperty(APIMgtConstants.FunctionsConstants.RSA_SIGNED_TOKEN, rsaSignedToken);
-            if (acceptContentType != null) {
-                httpConnection.setRequestProperty(APIMgtConstants.FunctionsConstants.ACCEPT,
-                        acceptContentType.toString());
-            }
-
-            OutputStream outputStream = httpConnection.getOutputStream();
-            outputStream.write(loginInfoJsonObj.toString().getBytes(StandardCharsets.UTF_8));
-            outputStream.flush();
-            outputStream.close();
-
-            return getResponse(httpConnection);
-        } catch (IOException e) {
-            throw new APIManagementException("Connection not established properly ", e);
-        } finally {
-            if (httpConnection != null) {
-                httpConnection.disconnect();
-            }
-        }
+        PooledHttpTransport.Request request = new PooledHttpTransport.Request(APIMgtConstants.FunctionsConstants.POST,
+                uri).header(APIMgtConstants.FunctionsConstants.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .header(APIMgtConstants.FunctionsConstants.RSA_SIGNED_TOKEN, rsaSignedToken)
+                .body(loginInfoJsonObj.toString().getBytes(StandardCharsets.UTF_8));
+        addAcceptHeader(request, acceptContentType);
+        return transport.execute(request);
     }
 
     /**
@@ -173,30 +140,11 @@ public class RestCallUtilImpl implements RestCallUtil {
         if (uri == null) {
             throw new IllegalArgumentException("The URI must not be null");
         }
-        HttpURLConnection httpConnection = null;
-        try {
-            httpConnection = (HttpURLConnection) uri.toURL().openConnection();
-            httpConnection.setRequestMethod(APIMgtConstants.FunctionsConstants.GET);
-            httpConnection.setDoOutput(true);
-            if (acceptContentType != null) {
-                httpConnection.setRequestProperty(APIMgtConstants.FunctionsConstants.ACCEPT,
-                        acceptContentType.toString());
-            }
-
-            if (cookies != null && !cookies.isEmpty()) {
-                for (String cookie : cookies) {
-                    httpConnection.addRequestProperty(APIMgtConstants.FunctionsConstants.COOKIE,
-                            cookie.split(";", 2)[0]);
-                }
-            }
-            return getResponse(httpConnection);
-        } catch (IOException e) {
-            throw new APIManagementException("Connection not established properly ", e);
-        } finally {
-            if (httpConnection != null) {
-                httpConnection.disconnect();
-            }
-        }
+        PooledHttpTransport.Request request = new PooledHttpTransport.Request(APIMgtConstants.FunctionsConstants.GET,
+                uri);
+        addAcceptHeader(request, acceptContentType);
+        addCookies(request, cookies);
+        return transport.execute(request);
     }
 
     /**
@@ -214,43 +162,17 @@ public class RestCallUtilImpl implements RestCallUtil {
         if (payloadContentType == null) {
             throw new IllegalArgumentException("Payload content type must not be null");
         }
-        HttpURLConnection httpConnection = null;
-        try {
-            httpConnection = (HttpURLConnection) uri.toURL().openConnection();
-            httpConnection.setRequestMethod(APIMgtConstants.FunctionsConstants.POST);
-            httpConnection.setRequestProperty(APIMgtConstants.FunctionsConstants.CONTENT_TYPE,
-                    payloadContentType.toString());
-            httpConnection.setDoOutput(true);
-            if (acceptContentType != null) {
-                httpConnection.setRequestProperty(APIMgtConstants.FunctionsConstants.ACCEPT,
-                        acceptContentType.toString());
-            }
-
-            if (cookies != null && !cookies.isEmpty()) {
-                for (String cookie : cookies) {
-                    httpConnection.addRequestProperty(APIMgtConstants.FunctionsConstants.COOKIE,
-                            cookie.split(";", 2)[0]);
-                }
-            }
-
-            if (headers != null) {
-                for (Map.Entry<String, String> header : headers.entrySet()) {
-                    httpConnection.addRequestProperty(header.getKey(), header.getValue());
-                }
-            }
-            OutputStream outputStream = httpConnection.getOutputStream();
-            outputStream.write(entity.getEntity().toString().getBytes(StandardCharsets.UTF_8));
-            outputStream.flush();
-            outputStream.close();
-
-            return getResponse(httpConnection);
-        } catch (IOException e) {
-            throw new APIManagementException("Connection not established properly ", e);
-        } finally {
-            if (httpConnection != null) {
-                httpConnection.disconnect();
+        PooledHttpTransport.Request request = new PooledHttpTransport.Request(APIMgtConstants.FunctionsConstants.POST,
+                uri).header(APIMgtConstants.FunctionsConstants.CONTENT_TYPE, payloadContentType.toString());
+        addAcceptHeader(request, acceptContentType);
+        addCookies(request, cookies);
+        if (headers != null) {
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                request.header(header.getKey(), header.getValue());
             }
         }
+        request.body(entity.getEntity().toString().getBytes(StandardCharsets.UTF_8));
+        return transport.execute(request);
     }
 
     /**
@@ -268,38 +190,12 @@ public class RestCallUtilImpl implements RestCallUtil {
         if (payloadContentType == null) {
             throw new IllegalArgumentException("Payload content type must not be null");
         }
-        HttpURLConnection httpConnection = null;
-        try {
-            httpConnection = (HttpURLConnection) uri.toURL().openConnection();
-            httpConnection.setRequestMethod(APIMgtConstants.FunctionsConstants.PUT);
-            httpConnection.setRequestProperty(APIMgtConstants.FunctionsConstants.CONTENT_TYPE,
-                    payloadContentType.toString());
-            httpConnection.setDoOutput(true);
-            if (acceptContentType != null) {
-                httpConnection.setRequestProperty(APIMgtConstants.FunctionsConstants.ACCEPT,
-                        acceptContentType.toString());
-            }
-
-            if (cookies != null && !cookies.isEmpty()) {
-                for (String cookie : cookies) {
-                    httpConnection.addRequestProperty(APIMgtConstants.FunctionsConstants.COOKIE,
-                            cookie.split(";", 2)[0]);
-                }
-            }
-
-            OutputStream outputStream = httpConnection.getOutputStream();
-            outputStream.write(entity.toString().getBytes(StandardCharsets.UTF_8));
-            outputStream.flush();
-            outputStream.close();
-
-            return getResponse(httpConnection);
-        } catch (IOException e) {
-            throw new APIManagementException("Connection not established properly ", e);
-        } finally {
-            if (httpConnection != null) {
-                httpConnection.disconnect();
-            }
-        }
+        PooledHttpTransport.Request request = new PooledHttpTransport.Request(APIMgtConstants.FunctionsConstants.PUT,
+                uri).header(APIMgtConstants.FunctionsConstants.CONTENT_TYPE, payloadContentType.toString());
+        addAcceptHeader(request, acceptContentType);
+        addCookies(request, cookies);
+        request.body(entity.toString().getBytes(StandardCharsets.UTF_8));
+        return transport.execute(request);
     }
 
     /**
@@ -311,58 +207,24 @@ public class RestCallUtilImpl implements RestCallUtil {
         if (uri == null) {
             throw new IllegalArgumentException("The URI must not be null");
         }
+        PooledHttpTransport.Request request = new PooledHttpTransport.Request(
+                APIMgtConstants.FunctionsConstants.DELETE, uri);
+        addAcceptHeader(request, acceptContentType);
+        addCookies(request, cookies);
+        return transport.execute(request);
+    }
 
-        HttpURLConnection httpConnection = null;
-        try {
-            httpConnection = (HttpURLConnection) uri.toURL().openConnection();
-            httpConnection.setRequestMethod(APIMgtConstants.FunctionsConstants.DELETE);
-            httpConnection.setDoOutput(true);
-            if (acceptContentType != null) {
-                httpConnection.setRequestProperty(APIMgtConstants.FunctionsConstants.ACCEPT,
-                        acceptContentType.toString());
-            }
-
-            if (cookies != null && !cookies.isEmpty()) {
-                for (String cookie : cookies) {
-                    httpConnection.addRequestProperty(APIMgtConstants.FunctionsConstants.COOKIE,
-                            cookie.split(";", 2)[0]);
-                }
-            }
-
-            return getResponse(httpConnection);
-        } catch (IOException e) {
-            throw new APIManagementException("Connection not established properly ", e);
-        } finally {
-            if (httpConnection != null) {
-                httpConnection.disconnect();
-            }
+    private void addAcceptHeader(PooledHttpTransport.Request request, MediaType acceptContentType) {
+        if (acceptContentType != null) {
+            request.header(APIMgtConstants.FunctionsConstants.ACCEPT, acceptContentType.toString());
         }
     }
 
-    /**
-     * To get a response from service.
-     *
-     * @param httpConnection Connection used to make the request
-     * @return HttpResponse from service
-     * @throws IOException In case of any failures, when trying to get the response from service
-     */
-    private HttpResponse getResponse(HttpURLConnection httpConnection) throws IOException {
-        HttpResponse response = new HttpResponse();
-        response.setResponseCode(httpConnection.getResponseCode());
-        response.setResponseMessage(httpConnection.getResponseMessage());
-        if (response.getResponseCode() / 100 == 2) {
-            try (BufferedReader responseBuffer =
-                         new BufferedReader(new InputStreamReader(httpConnection.getInputStream(),
-                                 StandardCharsets.UTF_8))) {
-                StringBuilder results = new StringBuilder();
-                String line;
-                while ((line = responseBuffer.readLine()) != null) {
-                    results.append(line).append("\n");
-                }
-                response.setHeaderFields(httpConnection.getHeaderFields());
-                response.setResults(results.toString());
+    private void addCookies(PooledHttpTransport.Request request, List<String> cookies) {
+        if (cookies != null && !cookies.isEmpty()) {
+            for (String cookie : cookies) {
+                request.header(APIMgtConstants.FunctionsConstants.COOKIE, cookie.split(";", 2)[0]);
             }
         }
-        return response;
     }
 }
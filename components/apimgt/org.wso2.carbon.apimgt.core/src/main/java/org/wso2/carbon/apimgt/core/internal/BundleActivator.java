@@ -120,6 +120,7 @@ public class BundleActivator {
     @Deactivate
     protected void stop(BundleContext bundleContext) {
         try {
+            BrokerUtil.shutdown();
             BrokerManager.stop();
         } catch (Exception e) {
             log.error("Error while deactivating the component", e);
@@ -0,0 +1,59 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package org.wso2.carbon.apimgt.core.models;
+
+import java.time.Instant;
+
+/**
+ * An entry of the gateway change log. Holds the gateway event published for a change of a subscription,
+ * application, policy or block condition, along with the revision assigned to the change.
+ */
+public class GatewayChange {
+    private long revision;
+    private String eventType;
+    private String event;
+    private Instant createdTime;
+
+    public GatewayChange(long revision, String eventType, String event, Instant createdTime) {
+        this.revision = revision;
+        this.eventType = eventType;
+        this.event = event;
+        this.createdTime = createdTime;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    /**
+     * @return the gateway event in the json form it was published to the broker
+     */
+    public String getEvent() {
+        return event;
+    }
+
+    public Instant getCreatedTime() {
+        return createdTime;
+    }
+}
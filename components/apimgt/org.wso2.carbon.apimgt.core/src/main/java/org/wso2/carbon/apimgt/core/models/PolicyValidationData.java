@@ -26,6 +26,10 @@ public class PolicyValidationData {
     private String id;
     private String name;
     private boolean stopOnQuotaReach;
+    private long requestCount;
+    private int unitTime;
+    private String timeUnit;
+    private String policyLevel;
 
     public PolicyValidationData(String id, String name, boolean stopOnQuotaReach) {
         this.id = id;
@@ -33,6 +37,18 @@ public class PolicyValidationData {
         this.stopOnQuotaReach = stopOnQuotaReach;
     }
 
+    /**
+     * @param id               UUID of the policy
+     * @param name             name of the policy
+     * @param stopOnQuotaReach whether requests are rejected once the quota is reached
+     * @param policyLevel      level of the policy, api, application or subscription. Policies of different levels
+     *                         may have the same name
+     */
+    public PolicyValidationData(String id, String name, boolean stopOnQuotaReach, String policyLevel) {
+        this(id, name, stopOnQuotaReach);
+        this.policyLevel = policyLevel;
+    }
+
     public String getId() {
         return id;
     }
@@ -45,6 +61,38 @@ public class PolicyValidationData {
         return stopOnQuotaReach;
     }
 
+    /**
+     * @return number of requests allowed in the unit time, or 0 if the policy does not limit the request count
+     */
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    public int getUnitTime() {
+        return unitTime;
+    }
+
+    public String getTimeUnit() {
+        return timeUnit;
+    }
+
+    public String getPolicyLevel() {
+        return policyLevel;
+    }
+
+    /**
+     * Set the request count limit of the policy, which the gateway enforces locally.
+     *
+     * @param requestCount number of requests allowed in the unit time
+     * @param unitTime     unit time
+     * @param timeUnit     time unit
+     */
+    public void setRequestCountLimit(long requestCount, int unitTime, String timeUnit) {
+        this.requestCount = requestCount;
+        this.unitTime = unitTime;
+        this.timeUnit = timeUnit;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -59,6 +107,15 @@ public class PolicyValidationData {
         if (stopOnQuotaReach != that.stopOnQuotaReach) {
             return false;
         }
+        if (requestCount != that.requestCount || unitTime != that.unitTime) {
+            return false;
+        }
+        if (timeUnit != null ? !timeUnit.equals(that.timeUnit) : that.timeUnit != null) {
+            return false;
+        }
+        if (policyLevel != null ? !policyLevel.equals(that.policyLevel) : that.policyLevel != null) {
+            return false;
+        }
         if (id != null ? !id.equals(that.id) : that.id != null) {
             return false;
         }
@@ -70,6 +127,10 @@ public class PolicyValidationData {
         int result = id != null ? id.hashCode() : 0;
         result = 31 * result + (name != null ? name.hashCode() : 0);
         result = 31 * result + (stopOnQuotaReach ? 1 : 0);
+        result = 31 * result + (int) (requestCount ^ (requestCount >>> 32));
+        result = 31 * result + unitTime;
+        result = 31 * result + (timeUnit != null ? timeUnit.hashCode() : 0);
+        result = 31 * result + (policyLevel != null ? policyLevel.hashCode() : 0);
         return result;
     }
 }
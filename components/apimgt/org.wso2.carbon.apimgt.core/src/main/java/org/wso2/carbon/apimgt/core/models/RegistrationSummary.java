@@ -158,10 +158,20 @@ public class RegistrationSummary {
     public static class JWTInfo {
         private boolean isEnableJWTGeneration;
         private String jwtHeader;
+        private boolean isEnableSelfContainedTokenValidation;
+        private String jwksEndpoint;
+        private String tokenIssuer;
+        private String signatureAlgorithm;
+        private long jwksCacheExpiryTime;
 
         JWTInfo(JWTConfigurations jwtConfigurations) {
             this.isEnableJWTGeneration = jwtConfigurations.isEnableJWTGeneration();
             this.jwtHeader = jwtConfigurations.getJwtHeader();
+            this.isEnableSelfContainedTokenValidation = jwtConfigurations.isEnableSelfContainedTokenValidation();
+            this.jwksEndpoint = jwtConfigurations.getJwksEndpoint();
+            this.tokenIssuer = jwtConfigurations.getTokenIssuer();
+            this.signatureAlgorithm = jwtConfigurations.getSignatureAlgorithm();
+            this.jwksCacheExpiryTime = jwtConfigurations.getJwksCacheExpiryTime();
         }
 
         public boolean isEnableJWTGeneration() {
@@ -171,6 +181,26 @@ public class RegistrationSummary {
         public String getJwtHeader() {
             return jwtHeader;
         }
+
+        public boolean isEnableSelfContainedTokenValidation() {
+            return isEnableSelfContainedTokenValidation;
+        }
+
+        public String getJwksEndpoint() {
+            return jwksEndpoint;
+        }
+
+        public String getTokenIssuer() {
+            return tokenIssuer;
+        }
+
+        public String getSignatureAlgorithm() {
+            return signatureAlgorithm;
+        }
+
+        public long getJwksCacheExpiryTime() {
+            return jwksCacheExpiryTime;
+        }
     }
 
     /**
@@ -178,15 +208,27 @@ public class RegistrationSummary {
      */
     public static class ThrottlingInfo {
         private DataPublisher dataPublisher;
+        private boolean isLocalThrottlingEnabled;
+        private int gatewayNodeCount;
 
         public ThrottlingInfo(ThrottlingConfigurations throttlingConfigurations) {
             this.dataPublisher = new DataPublisher(throttlingConfigurations.getDataPublisherConfigurations());
+            this.isLocalThrottlingEnabled = throttlingConfigurations.isLocalThrottlingEnabled();
+            this.gatewayNodeCount = throttlingConfigurations.getGatewayNodeCount();
         }
 
         public DataPublisher getDataPublisher() {
             return dataPublisher;
         }
 
+        public boolean isLocalThrottlingEnabled() {
+            return isLocalThrottlingEnabled;
+        }
+
+        public int getGatewayNodeCount() {
+            return gatewayNodeCount;
+        }
+
         /**
          * This class holds DataPulisher information required by gateway
          */
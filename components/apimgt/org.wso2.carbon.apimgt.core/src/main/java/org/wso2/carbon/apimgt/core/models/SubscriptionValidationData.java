@@ -34,6 +34,7 @@ public final class SubscriptionValidationData {
     private String keyEnvType;
     private String applicationId;
     private String status;
+    private String subscriptionId;
 
     public SubscriptionValidationData(String apiContext, String apiVersion, String consumerKey) {
         this.apiContext = apiContext;
@@ -100,4 +101,12 @@ public final class SubscriptionValidationData {
     public void setStatus(String status) {
         this.status = status;
     }
+
+    public String getSubscriptionId() {
+        return subscriptionId;
+    }
+
+    public void setSubscriptionId(String subscriptionId) {
+        this.subscriptionId = subscriptionId;
+    }
 }
@@ -29,6 +29,7 @@ public class WSDLArchiveInfo {
     private String location;
     private String fullAbsoluteFilePath;
     private WSDLInfo wsdlInfo;
+    private byte[] content;
     
     public WSDLArchiveInfo(String location, String fileName) {
         this.location = location;
@@ -36,6 +37,17 @@ public class WSDLArchiveInfo {
         fullAbsoluteFilePath = location + File.separator + fileName;
     }
 
+    /**
+     * Creates the information of an archive that is held in memory rather than in a file
+     *
+     * @param fileName file name of the archive
+     * @param content  content of the archive
+     */
+    public WSDLArchiveInfo(String fileName, byte[] content) {
+        this.fileName = fileName;
+        this.content = content;
+    }
+
     public String getFileName() {
         return fileName;
     }
@@ -55,4 +67,11 @@ public class WSDLArchiveInfo {
     public WSDLInfo getWsdlInfo() {
         return wsdlInfo;
     }
+
+    /**
+     * @return content of the archive, or {@code null} if the archive is in the file at {@link #getAbsoluteFilePath()}
+     */
+    public byte[] getContent() {
+        return content;
+    }
 }
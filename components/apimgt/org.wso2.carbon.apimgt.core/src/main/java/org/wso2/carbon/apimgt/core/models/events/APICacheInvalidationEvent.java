@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.models.events;
+
+/**
+ * Holds the id of an API which has to be removed from the API caches of the other nodes
+ */
+public class APICacheInvalidationEvent extends GatewayEvent {
+    private String apiId;
+    private String originNodeId;
+
+    public APICacheInvalidationEvent(String eventType) {
+        super(eventType);
+    }
+
+    public String getApiId() {
+        return apiId;
+    }
+
+    public void setApiId(String apiId) {
+        this.apiId = apiId;
+    }
+
+    public String getOriginNodeId() {
+        return originNodeId;
+    }
+
+    public void setOriginNodeId(String originNodeId) {
+        this.originNodeId = originNodeId;
+    }
+}
@@ -25,6 +25,10 @@ public class PolicyEvent extends GatewayEvent {
     private String id;
     private String name;
     private boolean stopOnQuotaReach;
+    private long requestCount;
+    private int unitTime;
+    private String timeUnit;
+    private String policyLevel;
 
     public PolicyEvent(String eventType) {
         super(eventType);
@@ -53,4 +57,36 @@ public class PolicyEvent extends GatewayEvent {
     public void setStopOnQuotaReach(boolean stopOnQuotaReach) {
         this.stopOnQuotaReach = stopOnQuotaReach;
     }
+
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    public void setRequestCount(long requestCount) {
+        this.requestCount = requestCount;
+    }
+
+    public int getUnitTime() {
+        return unitTime;
+    }
+
+    public void setUnitTime(int unitTime) {
+        this.unitTime = unitTime;
+    }
+
+    public String getTimeUnit() {
+        return timeUnit;
+    }
+
+    public void setTimeUnit(String timeUnit) {
+        this.timeUnit = timeUnit;
+    }
+
+    public String getPolicyLevel() {
+        return policyLevel;
+    }
+
+    public void setPolicyLevel(String policyLevel) {
+        this.policyLevel = policyLevel;
+    }
 }
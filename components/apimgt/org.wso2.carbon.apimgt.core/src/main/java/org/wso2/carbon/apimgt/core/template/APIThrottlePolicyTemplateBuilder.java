@@ -24,7 +24,6 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.app.VelocityEngine;
 import org.wso2.carbon.apimgt.core.models.policy.APIPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.Condition;
 import org.wso2.carbon.apimgt.core.models.policy.Pipeline;
@@ -68,8 +67,7 @@ public class APIThrottlePolicyTemplateBuilder extends ThrottlePolicyTemplateBuil
         Map<String, String> policyArray = new HashMap<String, String>();
         StringWriter writer;
         VelocityContext context;
-        VelocityEngine velocityengine = initVelocityEngine();
-        Template template = velocityengine.getTemplate(getTemplatePathForAPI());
+        Template template = getTemplate(getTemplatePathForAPI());
         //Generate template for pipeline conditions if pipelines not null
         if (apiPolicy.getPipelines() != null) {
             for (Pipeline pipeline : apiPolicy.getPipelines()) {
@@ -112,8 +110,7 @@ public class APIThrottlePolicyTemplateBuilder extends ThrottlePolicyTemplateBuil
         //get velocity template for API policy and generate the template
         Set<String> conditionsSet = new HashSet<String>();
         List<Pipeline> pipelines = apiPolicy.getPipelines();
-        VelocityEngine velocityengine = initVelocityEngine();
-        Template template = velocityengine.getTemplate(getTemplatePathForAPIDefaultPolicy());
+        Template template = getTemplate(getTemplatePathForAPIDefaultPolicy());
         StringWriter writer;
         VelocityContext context;
         //when APIPolicy contains pipelines, get template as a string
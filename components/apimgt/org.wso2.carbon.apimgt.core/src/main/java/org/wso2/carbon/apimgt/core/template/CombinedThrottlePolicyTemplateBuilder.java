@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.template;
+
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.velocity.Template;
+import org.apache.velocity.VelocityContext;
+import org.wso2.carbon.apimgt.core.models.policy.ApplicationPolicy;
+import org.wso2.carbon.apimgt.core.models.policy.Limit;
+import org.wso2.carbon.apimgt.core.models.policy.Policy;
+import org.wso2.carbon.apimgt.core.models.policy.PolicyConstants;
+import org.wso2.carbon.apimgt.core.models.policy.RequestCountLimit;
+import org.wso2.carbon.apimgt.core.models.policy.SubscriptionPolicy;
+
+import java.io.StringWriter;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Siddhi query builder for a single Siddhi app that throttles the application and subscription levels.
+ * <p>
+ * Instead of one Siddhi app per policy, each of which checks every request against its own tier, the limits of the
+ * policies are loaded into a table per level once the app starts. A request looks up the policy of its tier from the
+ * table and is counted in the window of the policy's unit time, so the work per request depends on the number of
+ * levels and not on the number of policies. Only request count policies can be combined, see
+ * {@link #isCombinable(Policy)}.
+ */
+
+public class CombinedThrottlePolicyTemplateBuilder extends ThrottlePolicyTemplateBuilder {
+
+    public static final String COMBINED_POLICY_NAME = "throttle_policies";
+    private static final Log log = LogFactory.getLog(CombinedThrottlePolicyTemplateBuilder.class);
+    private static final String POLICY_VELOCITY_COMBINED = "throttle_policy_template_combined";
+    private static final String APPLICATION_POLICIES = "applicationPolicies";
+    private static final String SUBSCRIPTION_POLICIES = "subscriptionPolicies";
+    private static final String APPLICATION_WINDOWS = "applicationWindows";
+    private static final String SUBSCRIPTION_WINDOWS = "subscriptionWindows";
+    private List<ApplicationPolicy> applicationPolicies;
+    private List<SubscriptionPolicy> subscriptionPolicies;
+
+    /**
+     * @param applicationPolicies application policies to be throttled, all of which should be combinable
+     * @param subscriptionPolicies subscription policies to be throttled, all of which should be combinable
+     */
+    public CombinedThrottlePolicyTemplateBuilder(List<ApplicationPolicy> applicationPolicies,
+                                                 List<SubscriptionPolicy> subscriptionPolicies) {
+        this.applicationPolicies = applicationPolicies;
+        this.subscriptionPolicies = subscriptionPolicies;
+    }
+
+    /**
+     * Check whether a policy can be throttled by the combined Siddhi app. Policies that limit the bandwidth still need
+     * a Siddhi app of their own.
+     *
+     * @param policy policy to be checked
+     * @return true if the default quota of the policy is a request count
+     */
+    public static boolean isCombinable(Policy policy) {
+        return policy.getDefaultQuotaPolicy() != null
+                && PolicyConstants.REQUEST_COUNT_TYPE.equals(policy.getDefaultQuotaPolicy().getType())
+                && policy.getDefaultQuotaPolicy().getLimit() instanceof RequestCountLimit;
+    }
+
+    /**
+     * Generate the Siddhi app for the application and subscription levels.
+     *
+     * @return throttle policies for application and subscription levels
+     * @throws APITemplateException throws if generation failure occur
+     */
+    public String getThrottlePolicyForAllLevels() throws APITemplateException {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Generating Siddhi app for " + applicationPolicies.size() + " application policies and "
+                    + subscriptionPolicies.size() + " subscription policies");
+        }
+        StringWriter writer = new StringWriter();
+        Template template = getTemplate(getTemplatePathForCombinedPolicies());
+        VelocityContext context = new VelocityContext();
+        setConstantContext(context);
+        //set values for velocity context
+        context.put(APPLICATION_POLICIES, applicationPolicies);
+        context.put(SUBSCRIPTION_POLICIES, subscriptionPolicies);
+        context.put(APPLICATION_WINDOWS, getWindows(applicationPolicies));
+        context.put(SUBSCRIPTION_WINDOWS, getWindows(subscriptionPolicies));
+        template.merge(context, writer);
+        if (log.isDebugEnabled()) {
+            log.debug("Generated Siddhi app for policies : " + writer.toString());
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Get the distinct windows of the policies, each of which is counted by a window of its own.
+     *
+     * @param policies policies of a level
+     * @return window times in the form used by Siddhi, such as 1 min
+     */
+    private static Set<String> getWindows(List<? extends Policy> policies) {
+        Set<String> windows = new LinkedHashSet<>();
+        for (Policy policy : policies) {
+            Limit limit = policy.getDefaultQuotaPolicy().getLimit();
+            windows.add(limit.getUnitTime() + " " + limit.getTimeUnit());
+        }
+        return windows;
+    }
+
+    /**
+     * Get the template path for the combined policies.
+     *
+     * @return Path as a string
+     */
+    private String getTemplatePathForCombinedPolicies() {
+        return policyTemplateLocation + POLICY_VELOCITY_COMBINED + XML_EXTENSION;
+    }
+
+}
@@ -23,7 +23,6 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.app.VelocityEngine;
 import org.wso2.carbon.apimgt.core.models.policy.SubscriptionPolicy;
 
 import java.io.StringWriter;
@@ -56,8 +55,7 @@ public class SubscriptionThrottlePolicyTemplateBuilder extends ThrottlePolicyTem
         }
         //get velocity template for Subscription policy and generate the template
         StringWriter writer = new StringWriter();
-        VelocityEngine velocityengine = initVelocityEngine();
-        Template template = velocityengine.getTemplate(getTemplatePathForSubscription());
+        Template template = getTemplate(getTemplatePathForSubscription());
         VelocityContext context = new VelocityContext();
         setConstantContext(context);
         //set values for velocity context
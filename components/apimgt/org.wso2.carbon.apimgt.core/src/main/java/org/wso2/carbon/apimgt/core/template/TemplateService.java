@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.template;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.velocity.Template;
+import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.exception.ParseErrorException;
+import org.apache.velocity.exception.ResourceNotFoundException;
+import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.log.CommonsLogLogChute;
+import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
+import org.apache.velocity.runtime.resource.loader.FileResourceLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.configuration.models.TemplateConfigurations;
+import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiles the velocity templates of the gateway configurations and throttle policies once and shares them.
+ * <p>
+ * A single velocity engine loads the templates from the template directory, if one is configured, and from the
+ * classpath otherwise, so that an operator can override a template by placing it in the template directory under
+ * the same relative path. A compiled template is kept until its overriding file is created, changed or removed,
+ * which is checked at most once per reload interval, and is then compiled again. A template that fails to compile
+ * on reload is reported and the previously compiled template is used until the file is changed again.
+ * <p>
+ * Compiled templates are thread safe, so a template may be merged with different contexts concurrently.
+ */
+public class TemplateService {
+    private static final Logger log = LoggerFactory.getLogger(TemplateService.class);
+
+    private static final String FILE = "file";
+    private static final String CLASS_PATH = "classpath";
+
+    private static volatile TemplateService instance;
+
+    private final File templateDirectory;
+    private final long reloadIntervalInMillis;
+    private final VelocityEngine velocityEngine;
+    private final ConcurrentMap<String, CompiledTemplate> templates = new ConcurrentHashMap<>();
+
+    private final AtomicLong compileCount = new AtomicLong();
+    private final AtomicLong reloadCount = new AtomicLong();
+
+    /**
+     * Creates a template service. Use {@link #getInstance()} to get the template service configured for the server.
+     *
+     * @param templateDirectory      Directory of the templates overriding the ones in the classpath, or {@code null}
+     *                               to load templates only from the classpath
+     * @param reloadIntervalInMillis Minimum time between checks of an overriding template for changes, 0 to never
+     *                               check
+     */
+    public TemplateService(String templateDirectory, long reloadIntervalInMillis) {
+        this.templateDirectory = StringUtils.isEmpty(templateDirectory) ? null : new File(templateDirectory);
+        this.reloadIntervalInMillis = reloadIntervalInMillis;
+        this.velocityEngine = new VelocityEngine();
+        if (this.templateDirectory != null) {
+            velocityEngine.setProperty(RuntimeConstants.RESOURCE_LOADER, FILE + "," + CLASS_PATH);
+            velocityEngine.setProperty(FILE + ".resource.loader.class", FileResourceLoader.class.getName());
+            velocityEngine.setProperty(RuntimeConstants.FILE_RESOURCE_LOADER_PATH,
+                    this.templateDirectory.getAbsolutePath());
+            // compiled templates are cached and reloaded by this service
+            velocityEngine.setProperty(RuntimeConstants.FILE_RESOURCE_LOADER_CACHE, "false");
+        } else {
+            velocityEngine.setProperty(RuntimeConstants.RESOURCE_LOADER, CLASS_PATH);
+        }
+        velocityEngine.setProperty(CLASS_PATH + ".resource.loader.class", ClasspathResourceLoader.class.getName());
+        velocityEngine.setProperty(VelocityEngine.RUNTIME_LOG_LOGSYSTEM, new CommonsLogLogChute());
+        velocityEngine.init();
+    }
+
+    /**
+     * Get TemplateService instance. The configured templates are compiled when the instance is created.
+     *
+     * @return TemplateService object
+     */
+    public static TemplateService getInstance() {
+        if (instance == null) {
+            synchronized (TemplateService.class) {
+                if (instance == null) {
+                    TemplateConfigurations templateConfigurations = ServiceReferenceHolder.getInstance()
+                            .getAPIMConfiguration().getTemplateConfigurations();
+                    TemplateService templateService = new TemplateService(
+                            templateConfigurations.getTemplateDirectory(),
+                            TimeUnit.SECONDS.toMillis(templateConfigurations.getReloadInterval()));
+                    templateService.preload(templateConfigurations.getPreloadedTemplates());
+                    instance = templateService;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get a compiled template, compiling it if it has not been compiled yet or its overriding file has changed.
+     *
+     * @param templatePath Path of the template relative to the template directory or the classpath
+     * @return Compiled template
+     * @throws ResourceNotFoundException If the template is not found
+     * @throws ParseErrorException       If the template could not be compiled
+     */
+    public Template getTemplate(String templatePath) {
+        CompiledTemplate compiledTemplate = templates.get(templatePath);
+        if (compiledTemplate == null) {
+            // a template requested by many threads at once is compiled only once
+            compiledTemplate = templates.computeIfAbsent(templatePath, this::compile);
+        } else if (templateDirectory != null && reloadIntervalInMillis > 0
+                && System.currentTimeMillis() >= compiledTemplate.nextCheckTime) {
+            compiledTemplate = checkForChanges(templatePath, compiledTemplate);
+        }
+        return compiledTemplate.template;
+    }
+
+    /**
+     * Compile the given templates, so that they are not compiled while rendering. Templates that are not found or
+     * could not be compiled are reported and skipped.
+     *
+     * @param templatePaths Paths of the templates relative to the template directory or the classpath
+     */
+    public void preload(List<String> templatePaths) {
+        if (templatePaths == null) {
+            return;
+        }
+        for (String templatePath : templatePaths) {
+            try {
+                getTemplate(templatePath);
+            } catch (ResourceNotFoundException e) {
+                log.warn("Template " + templatePath + " not found, it will not be precompiled");
+            } catch (ParseErrorException e) {
+                log.error("Syntax error in " + templatePath, e);
+            }
+        }
+    }
+
+    /**
+     * @return number of templates compiled, including the ones compiled again on reload
+     */
+    public long getCompileCount() {
+        return compileCount.get();
+    }
+
+    /**
+     * @return number of templates compiled again as their overriding files changed
+     */
+    public long getReloadCount() {
+        return reloadCount.get();
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    private CompiledTemplate compile(String templatePath) {
+        // the file is checked before it is read, hence a change made while compiling is picked up on the next check
+        long lastModified = getLastModified(templatePath);
+        Template template = velocityEngine.getTemplate(templatePath);
+        compileCount.incrementAndGet();
+        if (log.isDebugEnabled()) {
+            log.debug("Compiled template " + templatePath);
+        }
+        return new CompiledTemplate(template, lastModified, System.currentTimeMillis() + reloadIntervalInMillis);
+    }
+
+    private CompiledTemplate checkForChanges(String templatePath, CompiledTemplate compiledTemplate) {
+        synchronized (compiledTemplate) {
+            long now = System.currentTimeMillis();
+            if (now < compiledTemplate.nextCheckTime) {
+                // checked by another thread meanwhile, which may have compiled the template again
+                CompiledTemplate currentTemplate = templates.get(templatePath);
+                return currentTemplate != null ? currentTemplate : compiledTemplate;
+            }
+            compiledTemplate.nextCheckTime = now + reloadIntervalInMillis;
+            long lastModified = getLastModified(templatePath);
+            if (lastModified == compiledTemplate.lastModified) {
+                return compiledTemplate;
+            }
+            CompiledTemplate reloadedTemplate;
+            try {
+                reloadedTemplate = compile(templatePath);
+            } catch (ResourceNotFoundException | ParseErrorException e) {
+                log.error("Error while reloading template " + templatePath + ", the previously compiled template "
+                        + "will be used", e);
+                // not compiled again until the file changes again
+                compiledTemplate.lastModified = lastModified;
+                return compiledTemplate;
+            }
+            templates.put(templatePath, reloadedTemplate);
+            reloadCount.incrementAndGet();
+            log.info("Reloaded template " + templatePath);
+            return reloadedTemplate;
+        }
+    }
+
+    /**
+     * Get the last modified time of the file overriding a template
+     *
+     * @return last modified time, or 0 if the template is not overridden
+     */
+    private long getLastModified(String templatePath) {
+        if (templateDirectory == null) {
+            return 0;
+        }
+        return new File(templateDirectory, templatePath).lastModified();
+    }
+
+    /**
+     * Compiled template along with the last modified time of its overriding file
+     */
+    private static final class CompiledTemplate {
+        private final Template template;
+        private volatile long lastModified;
+        private volatile long nextCheckTime;
+
+        private CompiledTemplate(Template template, long lastModified, long nextCheckTime) {
+            this.template = template;
+            this.lastModified = lastModified;
+            this.nextCheckTime = nextCheckTime;
+        }
+    }
+}
@@ -18,11 +18,8 @@
 */
 package org.wso2.carbon.apimgt.core.template;
 
+import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.app.VelocityEngine;
-import org.apache.velocity.runtime.RuntimeConstants;
-import org.apache.velocity.runtime.log.CommonsLogLogChute;
-import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
 import org.wso2.carbon.apimgt.core.models.policy.PolicyConstants;
 
 import java.io.File;
@@ -82,17 +79,13 @@ abstract class ThrottlePolicyTemplateBuilder {
     }
 
     /**
-     * Init velocity engine.
+     * Get the compiled template from the shared {@link TemplateService}.
      *
-     * @return Velocity engine for each throttle template
+     * @param templatePath path of the template
+     * @return compiled template
      */
-    public VelocityEngine initVelocityEngine() {
-        VelocityEngine velocityengine = new VelocityEngine();
-        velocityengine.setProperty(RuntimeConstants.RESOURCE_LOADER, CLASS_PATH);
-        velocityengine.setProperty(CLASS_PATH_RESOURCE_LOADER, ClasspathResourceLoader.class.getName());
-        velocityengine.setProperty(VelocityEngine.RUNTIME_LOG_LOGSYSTEM, new CommonsLogLogChute());
-        velocityengine.init();
-        return velocityengine;
+    protected Template getTemplate(String templatePath) {
+        return TemplateService.getInstance().getTemplate(templatePath);
     }
-    
+
 }
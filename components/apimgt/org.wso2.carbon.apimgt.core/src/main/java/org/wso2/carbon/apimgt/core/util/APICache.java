@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.configuration.models.APICacheConfigurations;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.BusinessInformation;
+import org.wso2.carbon.apimgt.core.models.CompositeAPI;
+import org.wso2.carbon.apimgt.core.models.CorsConfiguration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded read-through cache of APIs and composite APIs retrieved by id.
+ * <p>
+ * Entries are removed when an API is changed on this node, and when an invalidation event for the API is received
+ * from another node through the broker. Entries also expire after the configured expiry time so that a missed
+ * invalidation does not leave a stale API in the cache indefinitely. Least recently used entries are evicted once
+ * the configured maximum size is reached.
+ * <p>
+ * {@link API} and {@link CompositeAPI} instances are partially mutable, hence each caller receives its own copy of a
+ * cached API.
+ */
+public class APICache {
+    private static final Logger log = LoggerFactory.getLogger(APICache.class);
+
+    private static volatile APICache instance;
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final ExpiringCache<String, Object> apiCache;
+    private volatile InvalidationPublisher invalidationPublisher;
+
+    /**
+     * Creates an API cache. Use {@link #getInstance()} to get the cache configured for the server.
+     *
+     * @param enabled            Whether caching is enabled
+     * @param maxSize            Maximum number of APIs kept in the cache
+     * @param expiryTimeInMillis Maximum time an API is kept in the cache
+     */
+    public APICache(boolean enabled, int maxSize, long expiryTimeInMillis) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.apiCache = new ExpiringCache<>(maxSize, expiryTimeInMillis);
+    }
+
+    /**
+     * Get APICache instance
+     *
+     * @return APICache object
+     */
+    public static APICache getInstance() {
+        if (instance == null) {
+            synchronized (APICache.class) {
+                if (instance == null) {
+                    APICacheConfigurations apiCacheConfigurations = ServiceReferenceHolder.getInstance()
+                            .getAPIMConfiguration().getApiCacheConfigurations();
+                    instance = new APICache(apiCacheConfigurations.isEnabled(), apiCacheConfigurations.getMaxSize(),
+                            TimeUnit.SECONDS.toMillis(apiCacheConfigurations.getExpiryTime()));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the API with the given id from the cache, loading it with the given loader if it is not cached.
+     *
+     * @param apiId  UUID of the API
+     * @param loader Loader used to retrieve the API from the database
+     * @return a copy of the cached {@link API}, or {@code null} if the API does not exist
+     * @throws APIMgtDAOException If the API could not be loaded
+     */
+    public API getAPI(String apiId, Loader<API> loader) throws APIMgtDAOException {
+        API api = get(apiId, API.class, loader);
+        return api == null ? null : copyOf(api);
+    }
+
+    /**
+     * Returns the composite API with the given id from the cache, loading it with the given loader if it is not
+     * cached.
+     *
+     * @param apiId  UUID of the composite API
+     * @param loader Loader used to retrieve the composite API from the database
+     * @return a copy of the cached {@link CompositeAPI}, or {@code null} if the composite API does not exist
+     * @throws APIMgtDAOException If the composite API could not be loaded
+     */
+    public CompositeAPI getCompositeAPI(String apiId, Loader<CompositeAPI> loader) throws APIMgtDAOException {
+        CompositeAPI compositeAPI = get(apiId, CompositeAPI.class, loader);
+        return compositeAPI == null ? null : copyOf(compositeAPI);
+    }
+
+    private <T> T get(String apiId, Class<T> type, Loader<T> loader) throws APIMgtDAOException {
+        if (!enabled || apiId == null) {
+            return loader.load();
+        }
+        Object cachedAPI = apiCache.get(apiId, type::isInstance);
+        if (cachedAPI != null) {
+            return type.cast(cachedAPI);
+        }
+        long invalidationStamp = apiCache.getInvalidationStamp();
+        T value = loader.load();
+        if (value != null) {
+            apiCache.put(apiId, value, invalidationStamp);
+        }
+        return value;
+    }
+
+    /**
+     * Removes an API from the cache of this node and notifies the other nodes to remove it from their caches. This
+     * must be called whenever an API is changed or deleted.
+     *
+     * @param apiId UUID of the changed API
+     */
+    public void invalidate(String apiId) {
+        if (!enabled || apiId == null) {
+            return;
+        }
+        invalidateLocally(apiId);
+        InvalidationPublisher publisher = invalidationPublisher;
+        if (publisher != null) {
+            publisher.publish(apiId);
+        }
+    }
+
+    /**
+     * Removes an API from the cache of this node only.
+     *
+     * @param apiId UUID of the changed API
+     */
+    public void invalidateLocally(String apiId) {
+        if (!enabled || apiId == null) {
+            return;
+        }
+        apiCache.invalidate(apiId);
+        if (log.isDebugEnabled()) {
+            log.debug("Removed API " + apiId + " from API cache");
+        }
+    }
+
+    /**
+     * Removes all the APIs from the cache of this node and notifies the other nodes to clear their caches. This must
+     * be called when an entity shared by many APIs, such as a label or a policy, is removed.
+     */
+    public void invalidateAll() {
+        if (!enabled) {
+            return;
+        }
+        invalidateAllLocally();
+        InvalidationPublisher publisher = invalidationPublisher;
+        if (publisher != null) {
+            publisher.publish(null);
+        }
+    }
+
+    /**
+     * Removes all the APIs from the cache of this node only.
+     */
+    public void invalidateAllLocally() {
+        apiCache.invalidateAll();
+    }
+
+    /**
+     * Set the publisher used to notify the other nodes of invalidated APIs
+     *
+     * @param invalidationPublisher Publisher of invalidated API ids, or {@code null} to stop notifying other nodes
+     */
+    public void setInvalidationPublisher(InvalidationPublisher invalidationPublisher) {
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int size() {
+        return apiCache.size();
+    }
+
+    public long getHitCount() {
+        return apiCache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return apiCache.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return apiCache.getEvictionCount();
+    }
+
+    public long getInvalidationCount() {
+        return apiCache.getInvalidationCount();
+    }
+
+    /**
+     * The builder copy of an API shares its collections and its mutable members, hence those are copied as well so
+     * that changes made by a caller are not seen by the other callers of the cache.
+     */
+    private static API copyOf(API api) {
+        API.APIBuilder apiBuilder = new API.APIBuilder(api);
+        if (api.getEndpoint() != null) {
+            apiBuilder.endpoint(new HashMap<>(api.getEndpoint()));
+        }
+        if (api.getTransport() != null) {
+            apiBuilder.transport(new HashSet<>(api.getTransport()));
+        }
+        if (api.getTags() != null) {
+            apiBuilder.tags(new HashSet<>(api.getTags()));
+        }
+        if (api.getLabels() != null) {
+            apiBuilder.labels(new ArrayList<>(api.getLabels()));
+        }
+        if (api.getPolicies() != null) {
+            apiBuilder.policies(new HashSet<>(api.getPolicies()));
+        }
+        if (api.getVisibleRoles() != null) {
+            apiBuilder.visibleRoles(new HashSet<>(api.getVisibleRoles()));
+        }
+        if (api.getBusinessInformation() != null) {
+            apiBuilder.businessInformation(copyOf(api.getBusinessInformation()));
+        }
+        if (api.getCorsConfiguration() != null) {
+            apiBuilder.corsConfiguration(copyOf(api.getCorsConfiguration()));
+        }
+        if (api.getUriTemplates() != null) {
+            apiBuilder.uriTemplates(new HashMap<>(api.getUriTemplates()));
+        }
+        if (api.getPermissionMap() != null) {
+            apiBuilder.permissionMap(new HashMap<>(api.getPermissionMap()));
+        }
+        if (api.getScopes() != null) {
+            apiBuilder.scopes(new ArrayList<>(api.getScopes()));
+        }
+        if (api.getThreatProtectionPolicies() != null) {
+            apiBuilder.threatProtectionPolicies(new HashSet<>(api.getThreatProtectionPolicies()));
+        }
+        return apiBuilder.build();
+    }
+
+    private static CompositeAPI copyOf(CompositeAPI compositeAPI) {
+        CompositeAPI.Builder builder = new CompositeAPI.Builder(compositeAPI);
+        if (compositeAPI.getTransport() != null) {
+            builder.transport(new HashSet<>(compositeAPI.getTransport()));
+        }
+        if (compositeAPI.getLabels() != null) {
+            builder.labels(new ArrayList<>(compositeAPI.getLabels()));
+        }
+        if (compositeAPI.getUriTemplates() != null) {
+            builder.uriTemplates(new HashMap<>(compositeAPI.getUriTemplates()));
+        }
+        if (compositeAPI.getPermissionMap() != null) {
+            builder.permissionMap(new HashMap<>(compositeAPI.getPermissionMap()));
+        }
+        if (compositeAPI.getThreatProtectionPolicies() != null) {
+            builder.threatProtectionPolicies(new HashSet<>(compositeAPI.getThreatProtectionPolicies()));
+        }
+        return builder.build();
+    }
+
+    private static BusinessInformation copyOf(BusinessInformation businessInformation) {
+        BusinessInformation copy = new BusinessInformation();
+        copy.setBusinessOwner(businessInformation.getBusinessOwner());
+        copy.setBusinessOwnerEmail(businessInformation.getBusinessOwnerEmail());
+        copy.setTechnicalOwner(businessInformation.getTechnicalOwner());
+        copy.setTechnicalOwnerEmail(businessInformation.getTechnicalOwnerEmail());
+        return copy;
+    }
+
+    private static CorsConfiguration copyOf(CorsConfiguration corsConfiguration) {
+        CorsConfiguration copy = new CorsConfiguration();
+        copy.setEnabled(corsConfiguration.isEnabled());
+        copy.setAllowCredentials(corsConfiguration.isAllowCredentials());
+        if (corsConfiguration.getAllowOrigins() != null) {
+            copy.setAllowOrigins(new ArrayList<>(corsConfiguration.getAllowOrigins()));
+        }
+        if (corsConfiguration.getAllowHeaders() != null) {
+            copy.setAllowHeaders(new ArrayList<>(corsConfiguration.getAllowHeaders()));
+        }
+        if (corsConfiguration.getAllowMethods() != null) {
+            copy.setAllowMethods(new ArrayList<>(corsConfiguration.getAllowMethods()));
+        }
+        return copy;
+    }
+
+    /**
+     * Loads a value from the database on a cache miss
+     *
+     * @param <T> Type of the loaded value
+     */
+    public interface Loader<T> {
+        T load() throws APIMgtDAOException;
+    }
+
+    /**
+     * Notifies the other nodes that an API has to be removed from their caches
+     */
+    public interface InvalidationPublisher {
+        /**
+         * @param apiId UUID of the invalidated API, or {@code null} if all the APIs are invalidated
+         */
+        void publish(String apiId);
+    }
+}
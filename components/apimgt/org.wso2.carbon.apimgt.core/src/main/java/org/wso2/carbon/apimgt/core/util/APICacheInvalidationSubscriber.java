@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.util;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.api.Broker;
+import org.wso2.carbon.apimgt.core.exception.BrokerException;
+import org.wso2.carbon.apimgt.core.models.events.APICacheInvalidationEvent;
+
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+import javax.jms.TopicConnection;
+import javax.jms.TopicSession;
+import javax.jms.TopicSubscriber;
+
+/**
+ * Listens to the API cache invalidation topic and removes the APIs changed on the other nodes from the cache of
+ * this node.
+ */
+public class APICacheInvalidationSubscriber {
+    private static final Logger log = LoggerFactory.getLogger(APICacheInvalidationSubscriber.class);
+    private static final Gson gson = new Gson();
+
+    private final Broker broker;
+    private final String topicName;
+    private final APICache apiCache;
+    private final String nodeId;
+    private TopicConnection topicConnection;
+
+    /**
+     * @param broker    Broker used to create the topic connection
+     * @param topicName API cache invalidation topic
+     * @param apiCache  Cache to remove the invalidated APIs from
+     * @param nodeId    Id of this node, used to ignore the events published by this node
+     */
+    public APICacheInvalidationSubscriber(Broker broker, String topicName, APICache apiCache, String nodeId) {
+        this.broker = broker;
+        this.topicName = topicName;
+        this.apiCache = apiCache;
+        this.nodeId = nodeId;
+    }
+
+    /**
+     * Subscribe to the API cache invalidation topic
+     *
+     * @throws JMSException    If the subscription could not be created
+     * @throws BrokerException If a broker connection could not be obtained
+     */
+    public synchronized void start() throws JMSException, BrokerException {
+        TopicConnection connection = broker.getTopicConnection();
+        try {
+            TopicSession topicSession = connection.createTopicSession(false, Session.AUTO_ACKNOWLEDGE);
+            TopicSubscriber topicSubscriber = topicSession.createSubscriber(topicSession.createTopic(topicName));
+            topicSubscriber.setMessageListener(this::onMessage);
+            connection.setExceptionListener(e -> {
+                // invalidations published while disconnected are lost, hence the whole cache is discarded
+                log.error("Broker connection of API cache invalidation subscriber failed. Clearing API cache.", e);
+                apiCache.invalidateAllLocally();
+            });
+            connection.start();
+        } catch (JMSException e) {
+            connection.close();
+            throw e;
+        }
+        topicConnection = connection;
+    }
+
+    void onMessage(Message message) {
+        if (!(message instanceof TextMessage)) {
+            return;
+        }
+        try {
+            APICacheInvalidationEvent event = gson.fromJson(((TextMessage) message).getText(),
+                    APICacheInvalidationEvent.class);
+            if (event == null || nodeId.equals(event.getOriginNodeId())) {
+                return;
+            }
+            if (event.getApiId() == null) {
+                apiCache.invalidateAllLocally();
+            } else {
+                apiCache.invalidateLocally(event.getApiId());
+            }
+        } catch (JMSException | JsonSyntaxException e) {
+            log.error("Error occurred while reading API cache invalidation event", e);
+        }
+    }
+
+    /**
+     * Close the subscription and its broker connection
+     */
+    public synchronized void close() {
+        if (topicConnection != null) {
+            try {
+                topicConnection.close();
+            } catch (JMSException e) {
+                log.error("Error occurred while closing topic connection", e);
+            }
+            topicConnection = null;
+        }
+    }
+}
@@ -463,6 +463,9 @@ public class APIMgtConstants {
         public static final String THREAT_PROTECTION_POLICY_DELETE = "THREAT_PROTECTION_POLICY_DELETE";
         public static final String THREAT_PROTECTION_POLICY_UPDATE = "THREAT_PROTECTION_POLICY_UPDATE";
 
+        public static final String BATCH = "BATCH";
+        public static final String API_CACHE_INVALIDATE = "API_CACHE_INVALIDATE";
+
     }
 
     /**
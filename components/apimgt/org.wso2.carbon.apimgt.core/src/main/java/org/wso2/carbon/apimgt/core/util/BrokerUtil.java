@@ -22,25 +22,28 @@ import com.google.gson.Gson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.api.Broker;
+import org.wso2.carbon.apimgt.core.configuration.models.BrokerConfigurations;
 import org.wso2.carbon.apimgt.core.exception.BrokerException;
 import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
 import org.wso2.carbon.apimgt.core.exception.GatewayException;
+import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.core.models.events.APICacheInvalidationEvent;
 import org.wso2.carbon.apimgt.core.models.events.GatewayEvent;
 
+import java.util.UUID;
 import javax.jms.JMSException;
-import javax.jms.Session;
-import javax.jms.TextMessage;
-import javax.jms.Topic;
-import javax.jms.TopicConnection;
-import javax.jms.TopicPublisher;
-import javax.jms.TopicSession;
 
 /**
  * The util class to handle broker related operations
  */
 public class BrokerUtil {
     private static final Logger log = LoggerFactory.getLogger(BrokerUtil.class);
+    // Gson instances are thread safe, hence a single instance is shared for serializing all events
+    private static final Gson gson = new Gson();
     private static Broker broker;
+    private static TopicPublisherPool topicPublisherPool;
+    private static GatewayEventBatcher gatewayEventBatcher;
+    private static APICacheInvalidationSubscriber apiCacheInvalidationSubscriber;
 
     /**
      * Initialize Broker Utils
@@ -52,6 +55,61 @@ public class BrokerUtil {
             return;
         }
         BrokerUtil.broker = broker;
+        BrokerConfigurations brokerConfigurations = ServiceReferenceHolder.getInstance().getAPIMConfiguration()
+                .getBrokerConfigurations();
+        topicPublisherPool = new TopicPublisherPool(broker, brokerConfigurations.getMaxPublisherSessionsPerTopic(),
+                brokerConfigurations.getPublisherSessionWaitTime());
+        if (brokerConfigurations.isEventBatchingEnabled()) {
+            gatewayEventBatcher = new GatewayEventBatcher(BrokerUtil::publishToTopic,
+                    brokerConfigurations.getEventBatchSize(), brokerConfigurations.getEventBatchLingerTime());
+        }
+        APICache apiCache = APICache.getInstance();
+        if (apiCache.isEnabled()) {
+            initializeAPICacheInvalidation(apiCache, brokerConfigurations.getApiCacheInvalidationTopic());
+        }
+    }
+
+    /**
+     * Publish the APIs invalidated in the API cache of this node to the other nodes and listen to the APIs
+     * invalidated by the other nodes
+     */
+    private static void initializeAPICacheInvalidation(APICache apiCache, String topicName) {
+        String nodeId = UUID.randomUUID().toString();
+        apiCacheInvalidationSubscriber = new APICacheInvalidationSubscriber(broker, topicName, apiCache, nodeId);
+        try {
+            apiCacheInvalidationSubscriber.start();
+        } catch (JMSException | BrokerException e) {
+            log.error("Error occurred while subscribing to topic : " + topicName + ". APIs changed on other nodes "
+                    + "are reflected in the API cache only after the cache expiry time.", e);
+        }
+        apiCache.setInvalidationPublisher(apiId -> {
+            APICacheInvalidationEvent event = new APICacheInvalidationEvent(
+                    APIMgtConstants.GatewayEventTypes.API_CACHE_INVALIDATE);
+            event.setApiId(apiId);
+            event.setOriginNodeId(nodeId);
+            try {
+                publishToTopic(topicName, event);
+            } catch (GatewayException e) {
+                log.error("Error occurred while publishing API cache invalidation of API : "
+                        + (apiId == null ? "all" : apiId), e);
+            }
+        });
+    }
+
+    /**
+     * Publish the pending batched events and close the pooled topic publishers and the broker connection
+     */
+    public static synchronized void shutdown() {
+        if (apiCacheInvalidationSubscriber != null) {
+            APICache.getInstance().setInvalidationPublisher(null);
+            apiCacheInvalidationSubscriber.close();
+        }
+        if (gatewayEventBatcher != null) {
+            gatewayEventBatcher.shutdown();
+        }
+        if (topicPublisherPool != null) {
+            topicPublisherPool.close();
+        }
     }
 
     /**
@@ -61,19 +119,8 @@ public class BrokerUtil {
      * @param gatewayEvent    topic message data object
      */
     public static void publishToTopic(String topicName, GatewayEvent gatewayEvent) throws GatewayException {
-        TopicSession topicSession = null;
-        Topic topic = null;
-        TopicPublisher topicPublisher = null;
-        TopicConnection topicConnection = null;
         try {
-            topicConnection = getTopicConnection();
-            topicConnection.start();
-            topicSession = topicConnection.createTopicSession(false, Session.AUTO_ACKNOWLEDGE);
-
-            topic = topicSession.createTopic(topicName);
-            topicPublisher = topicSession.createPublisher(topic);
-            TextMessage textMessage = topicSession.createTextMessage(new Gson().toJson(gatewayEvent));
-            topicPublisher.publish(textMessage);
+            getTopicPublisherPool().publish(topicName, gson.toJson(gatewayEvent));
         } catch (JMSException e) {
             String errorMessage = "Error occurred while publishing " + gatewayEvent.getEventType() + " event to JMS " +
                     "topic :" + topicName;
@@ -83,47 +130,31 @@ public class BrokerUtil {
             String errorMessage = "Error occurred while obtaining broker topic connection for topic : " + topicName;
             log.error(errorMessage, e);
             throw new GatewayException(errorMessage, ExceptionCodes.GATEWAY_EXCEPTION);
-        } finally {
-            if (topicPublisher != null) {
-
-                try {
-                    topicPublisher.close();
-                } catch (JMSException e) {
-                    log.error("Error occurred while closing topic publisher for topic : " + topicName);
-                }
-            }
-            if (topicSession != null) {
-                try {
-                    topicSession.close();
-                } catch (JMSException e) {
-                    log.error("Error occurred while closing topic session for topic : " + topicName);
-                }
-            }
-            if (topicConnection != null) {
-                try {
-                    topicConnection.close();
-                } catch (JMSException e) {
-                    log.error("Error occurred while closing topic connection for topic : " + topicName);
-                }
-            }
         }
     }
 
     /**
-     * Retrieve a new TopicConnection from broker connection pool
+     * Retrieve the batcher which groups gateway events published to a topic
      *
-     * @return  topicConnection  new topic connection to broker
-     * @throws BrokerException  If there is a failure to init broker connection factory
-     * @throws JMSException     If there is a failure to obtain topic connection
+     * @return  gatewayEventBatcher  event batcher or {@code null} if event batching is disabled
      */
-    private static TopicConnection getTopicConnection() throws BrokerException, JMSException {
-        if (broker == null) {
+    public static GatewayEventBatcher getGatewayEventBatcher() {
+        return gatewayEventBatcher;
+    }
+
+    /**
+     * Retrieve the pool of topic publishers, which exposes the publish latency and pool saturation statistics
+     *
+     * @return  topicPublisherPool  pool of publishers to broker topics
+     * @throws BrokerException  If the broker has not been initialized
+     */
+    public static TopicPublisherPool getTopicPublisherPool() throws BrokerException {
+        if (topicPublisherPool == null) {
             String message = "Error while initializing broker connection factory";
             log.error(message);
             throw new BrokerException(message, ExceptionCodes.BROKER_EXCEPTION);
         }
-        return broker.getTopicConnection();
+        return topicPublisherPool;
     }
 
 }
-
@@ -47,22 +47,12 @@ public class ETagUtils {
      */
     private static String getHash(String updatedTime, String algorithm)
             throws ETagGenerationException, NoSuchAlgorithmException {
-        MessageDigest messageDigest = MessageDigest.getInstance(algorithm);
         try {
-            messageDigest.update(updatedTime.getBytes("UTF-8"));
-            byte[] digest = messageDigest.digest();
-
-            //conversion to hexadecimal
-            StringBuilder sb = new StringBuilder();
-            for (byte b : digest) {
-                sb.append(String.format("%02x", b & 0xff));
-            }
-
-            String generatedHash = sb.toString();
+            String generatedHash = getHash(updatedTime.getBytes("UTF-8"), algorithm);
             if (log.isDebugEnabled()) {
                 log.debug("ETag generated in HEX '" + generatedHash + "' for '" + updatedTime + "'");
             }
-            return sb.toString();
+            return generatedHash;
         } catch (UnsupportedEncodingException e) {
             String errorMessage = "Error while converting timestamp to String :" + updatedTime;
             log.error(errorMessage, e);
@@ -70,6 +60,18 @@ public class ETagUtils {
         }
     }
 
+    private static String getHash(byte[] content, String algorithm) throws NoSuchAlgorithmException {
+        MessageDigest messageDigest = MessageDigest.getInstance(algorithm);
+        byte[] digest = messageDigest.digest(content);
+
+        //conversion to hexadecimal
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest) {
+            sb.append(String.format("%02x", b & 0xff));
+        }
+        return sb.toString();
+    }
+
     /**
      * Method returns the hashed value for the updatedTimeInMillis using MD5 hashing as default
      *
@@ -89,4 +91,23 @@ public class ETagUtils {
         }
     }
 
+    /**
+     * Method returns the hashed value of the content of a resource using MD5 hashing as default, so that the same
+     * content always gets the same ETag
+     *
+     * @param content the content of the resource
+     * @return generated ETag, or {@code null} if there is no content
+     * @throws ETagGenerationException if hash generation failed.
+     */
+    public static String generateETag(byte[] content) throws ETagGenerationException {
+        try {
+            return content == null ?
+                    null :
+                    getHash(content, APIMgtConstants.ETagConstants.MESSAGE_DIGEST_ALGORITHM_MD5);
+        } catch (NoSuchAlgorithmException e) {
+            String errorMessage = "Error while generating md5 hash for the content";
+            log.error(errorMessage, e);
+            throw new ETagGenerationException(errorMessage, e);
+        }
+    }
 }
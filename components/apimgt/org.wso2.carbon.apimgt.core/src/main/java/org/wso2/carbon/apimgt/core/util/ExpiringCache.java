@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded in-memory cache whose entries expire after a fixed time.
+ * <p>
+ * Least recently used entries are evicted once the total weight of the entries exceeds the maximum weight. Each entry
+ * weighs one unless a weigher is given, so by default the maximum weight is the maximum number of entries.
+ * <p>
+ * A value loaded while its key is being invalidated may already be stale, hence values are added along with the
+ * invalidation stamp taken before they were loaded, and are dropped if their key, or the whole cache, has been
+ * invalidated since. The cache remembers the stamps of the most recently invalidated keys only; a value loaded before
+ * a key that is no longer remembered was invalidated is dropped as well.
+ *
+ * @param <K> Type of the keys
+ * @param <V> Type of the cached values
+ */
+public class ExpiringCache<K, V> {
+    private static final int MAX_INVALIDATED_KEYS = 1024;
+
+    private final long maxWeight;
+    private final long expiryTimeInMillis;
+    private final ToLongFunction<? super V> weigher;
+    private final Map<K, CachedValue<V>> valueMap = new LinkedHashMap<>(16, 0.75F, true);
+    private final Map<K, Long> invalidatedKeys = new LinkedHashMap<>();
+    private long weight;
+    // values loaded before this stamp are not cached for any key
+    private long allInvalidatedStamp;
+
+    private final AtomicLong invalidationCount = new AtomicLong();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Creates a cache holding at most the given number of entries
+     *
+     * @param maxSize            Maximum number of entries kept in the cache
+     * @param expiryTimeInMillis Maximum time an entry is kept in the cache
+     */
+    public ExpiringCache(long maxSize, long expiryTimeInMillis) {
+        this(maxSize, expiryTimeInMillis, value -> 1);
+    }
+
+    /**
+     * Creates a cache holding entries up to the given total weight
+     *
+     * @param maxWeight          Maximum total weight of the entries kept in the cache
+     * @param expiryTimeInMillis Maximum time an entry is kept in the cache
+     * @param weigher            Weight of a value
+     */
+    public ExpiringCache(long maxWeight, long expiryTimeInMillis, ToLongFunction<? super V> weigher) {
+        this.maxWeight = maxWeight;
+        this.expiryTimeInMillis = expiryTimeInMillis;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Returns a cached value
+     *
+     * @param key Key of the value
+     * @return cached value, or {@code null} if the key is not cached or has expired
+     */
+    public V get(K key) {
+        return get(key, value -> true);
+    }
+
+    /**
+     * Returns a cached value if it is still current. A value that is no longer current is removed from the cache.
+     *
+     * @param key       Key of the value
+     * @param isCurrent Tells whether a cached value is still current
+     * @return cached value, or {@code null} if the key is not cached, has expired or is no longer current
+     */
+    public V get(K key, Predicate<? super V> isCurrent) {
+        CachedValue<V> cachedValue;
+        synchronized (valueMap) {
+            cachedValue = valueMap.get(key);
+            if (cachedValue != null && (cachedValue.isExpired(System.currentTimeMillis())
+                    || !isCurrent.test(cachedValue.value))) {
+                remove(key);
+                evictionCount.incrementAndGet();
+                cachedValue = null;
+            }
+        }
+        if (cachedValue == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return cachedValue.value;
+    }
+
+    /**
+     * Returns the stamp to be given to {@link #put(Object, Object, long)} for a value that is about to be loaded.
+     *
+     * @return current invalidation stamp
+     */
+    public long getInvalidationStamp() {
+        return invalidationCount.get();
+    }
+
+    /**
+     * Adds a value which expires after the expiry time of the cache.
+     *
+     * @param key               Key of the value
+     * @param value             Value to be cached
+     * @param invalidationStamp Stamp taken with {@link #getInvalidationStamp()} before the value was loaded
+     */
+    public void put(K key, V value, long invalidationStamp) {
+        put(key, value, invalidationStamp, System.currentTimeMillis() + expiryTimeInMillis);
+    }
+
+    /**
+     * Adds a value which expires at the given time. The value is not cached if its key or the whole cache has been
+     * invalidated since the given stamp was taken, or if it weighs more than the maximum weight of the cache.
+     *
+     * @param key               Key of the value
+     * @param value             Value to be cached
+     * @param invalidationStamp Stamp taken with {@link #getInvalidationStamp()} before the value was loaded
+     * @param expiresAt         Time in milliseconds at which the value expires
+     */
+    public void put(K key, V value, long invalidationStamp, long expiresAt) {
+        long valueWeight = weigher.applyAsLong(value);
+        if (valueWeight > maxWeight) {
+            return;
+        }
+        synchronized (valueMap) {
+            Long keyInvalidationStamp = invalidatedKeys.get(key);
+            if (invalidationStamp < allInvalidatedStamp
+                    || (keyInvalidationStamp != null && invalidationStamp < keyInvalidationStamp)) {
+                return;
+            }
+            remove(key);
+            valueMap.put(key, new CachedValue<>(value, valueWeight, expiresAt));
+            weight += valueWeight;
+            Iterator<CachedValue<V>> iterator = valueMap.values().iterator();
+            while (weight > maxWeight && iterator.hasNext()) {
+                weight -= iterator.next().weight;
+                iterator.remove();
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Removes a value from the cache
+     *
+     * @param key Key of the value
+     */
+    public void invalidate(K key) {
+        synchronized (valueMap) {
+            long stamp = invalidationCount.incrementAndGet();
+            remove(key);
+            invalidatedKeys.remove(key);
+            invalidatedKeys.put(key, stamp);
+            if (invalidatedKeys.size() > MAX_INVALIDATED_KEYS) {
+                Iterator<Long> iterator = invalidatedKeys.values().iterator();
+                allInvalidatedStamp = iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all the values from the cache
+     */
+    public void invalidateAll() {
+        synchronized (valueMap) {
+            allInvalidatedStamp = invalidationCount.incrementAndGet();
+            invalidatedKeys.clear();
+            valueMap.clear();
+            weight = 0;
+        }
+    }
+
+    public int size() {
+        synchronized (valueMap) {
+            return valueMap.size();
+        }
+    }
+
+    public long getWeight() {
+        synchronized (valueMap) {
+            return weight;
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    public long getInvalidationCount() {
+        return invalidationCount.get();
+    }
+
+    private void remove(K key) {
+        CachedValue<V> removed = valueMap.remove(key);
+        if (removed != null) {
+            weight -= removed.weight;
+        }
+    }
+
+    /**
+     * Cache entry holding a value along with its weight and the time it should be discarded.
+     */
+    private static class CachedValue<V> {
+        private final V value;
+        private final long weight;
+        private final long expiresAt;
+
+        CachedValue(V value, long weight, long expiresAt) {
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
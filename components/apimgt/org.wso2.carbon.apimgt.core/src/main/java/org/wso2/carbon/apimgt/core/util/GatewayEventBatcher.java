@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.exception.GatewayException;
+import org.wso2.carbon.apimgt.core.models.events.GatewayEvent;
+import org.wso2.carbon.apimgt.core.models.events.GatewayEventBatch;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects gateway events per topic and publishes them as a single {@link GatewayEventBatch} once the batch is full
+ * or the linger time has elapsed since the first event of the batch was added.
+ * <p>
+ * Events added with a coalesce key supersede any pending event of the same type with the same key, so that only the
+ * latest state of an entity (e.g. repeated updates of one API) is sent to the gateways.
+ * <p>
+ * Events of a batch which could not be published are put back in front of the pending events of the topic, unless a
+ * later event of the same entity superseded them meanwhile, and are published again after the linger time.
+ */
+public class GatewayEventBatcher {
+    private static final Logger log = LoggerFactory.getLogger(GatewayEventBatcher.class);
+
+    private final TopicEventPublisher eventPublisher;
+    private final int maxBatchSize;
+    private final long lingerTime;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, PendingEvents> pendingEventsOfTopics = new ConcurrentHashMap<>();
+
+    private final AtomicLong publishedBatchCount = new AtomicLong();
+    private final AtomicLong publishedEventCount = new AtomicLong();
+    private final AtomicLong coalescedEventCount = new AtomicLong();
+    private final AtomicLong failedBatchCount = new AtomicLong();
+
+    /**
+     * @param eventPublisher Publisher used to send events to a topic
+     * @param maxBatchSize   Maximum number of events sent in a single batch
+     * @param lingerTime     Maximum time in milliseconds an event waits for a batch to fill up
+     */
+    public GatewayEventBatcher(TopicEventPublisher eventPublisher, int maxBatchSize, long lingerTime) {
+        this.eventPublisher = eventPublisher;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerTime = lingerTime;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "GatewayEventBatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Add an event to the pending batch of a topic. If the batch becomes full it is published in the calling
+     * thread, hence a failure to publish is reported to the caller. The events of the failed batch are kept and
+     * published again after the linger time.
+     *
+     * @param topicName   Topic to publish the event
+     * @param event       Gateway event
+     * @param coalesceKey Identifier of the entity the event is about, or {@code null} if the event must never be
+     *                    replaced by a later event
+     * @throws GatewayException If the batch became full and could not be published
+     */
+    public void add(String topicName, GatewayEvent event, String coalesceKey) throws GatewayException {
+        PendingEvents pendingEvents = pendingEventsOfTopics.computeIfAbsent(topicName, name -> new PendingEvents());
+        boolean flushNow = false;
+        boolean scheduleFlush = false;
+        synchronized (pendingEvents) {
+            String key;
+            if (coalesceKey != null) {
+                key = event.getEventType() + ":" + coalesceKey;
+                // remove the superseded event so that the latest event takes the position of the latest change
+                if (pendingEvents.events.remove(key) != null) {
+                    coalescedEventCount.incrementAndGet();
+                }
+            } else {
+                key = "#" + pendingEvents.sequence++;
+            }
+            pendingEvents.events.put(key, event);
+            if (pendingEvents.events.size() >= maxBatchSize) {
+                flushNow = true;
+            } else if (!pendingEvents.flushScheduled) {
+                pendingEvents.flushScheduled = true;
+                scheduleFlush = true;
+            }
+        }
+        if (flushNow) {
+            flush(topicName, pendingEvents);
+        } else if (scheduleFlush) {
+            scheduleFlush(topicName);
+        }
+    }
+
+    /**
+     * Publish the pending events of all the topics
+     */
+    public void flushAll() {
+        for (String topicName : pendingEventsOfTopics.keySet()) {
+            flushQuietly(topicName);
+        }
+    }
+
+    /**
+     * Stop the linger timer and publish the pending events of all the topics
+     */
+    public void shutdown() {
+        scheduler.shutdown();
+        flushAll();
+    }
+
+    private void flushQuietly(String topicName) {
+        PendingEvents pendingEvents = pendingEventsOfTopics.get(topicName);
+        if (pendingEvents == null) {
+            return;
+        }
+        try {
+            flush(topicName, pendingEvents);
+        } catch (GatewayException e) {
+            log.error("Error occurred while publishing batched gateway events to topic : " + topicName, e);
+        }
+    }
+
+    private void scheduleFlush(String topicName) {
+        try {
+            scheduler.schedule(() -> flushQuietly(topicName), lingerTime, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.error("Pending gateway events of topic : " + topicName + " cannot be published as the gateway "
+                    + "event batcher has been shut down", e);
+        }
+    }
+
+    private void flush(String topicName, PendingEvents pendingEvents) throws GatewayException {
+        // batches of a topic are published one at a time so that gateways receive them in the order of the events
+        synchronized (pendingEvents.publishLock) {
+            Map<String, GatewayEvent> drainedEvents;
+            synchronized (pendingEvents) {
+                drainedEvents = new LinkedHashMap<>(pendingEvents.events);
+                pendingEvents.events.clear();
+                pendingEvents.flushScheduled = false;
+            }
+            if (drainedEvents.isEmpty()) {
+                return;
+            }
+            List<GatewayEvent> events = new ArrayList<>(drainedEvents.values());
+            try {
+                if (events.size() == 1) {
+                    eventPublisher.publish(topicName, events.get(0));
+                } else {
+                    eventPublisher.publish(topicName, new GatewayEventBatch(events));
+                }
+            } catch (GatewayException | RuntimeException e) {
+                requeue(topicName, pendingEvents, drainedEvents);
+                throw e;
+            }
+            publishedBatchCount.incrementAndGet();
+            publishedEventCount.addAndGet(events.size());
+            if (log.isDebugEnabled()) {
+                log.debug("Published a batch of " + events.size() + " gateway events to topic : " + topicName);
+            }
+        }
+    }
+
+    /**
+     * Put the events of a failed batch back in front of the pending events of the topic and schedule them to be
+     * published again. Events added while the batch was being published came after the failed events, hence a failed
+     * event is dropped if such an event superseded it.
+     */
+    private void requeue(String topicName, PendingEvents pendingEvents, Map<String, GatewayEvent> failedEvents) {
+        failedBatchCount.incrementAndGet();
+        boolean scheduleFlush = false;
+        synchronized (pendingEvents) {
+            Map<String, GatewayEvent> laterEvents = new LinkedHashMap<>(pendingEvents.events);
+            pendingEvents.events.clear();
+            for (Map.Entry<String, GatewayEvent> failedEvent : failedEvents.entrySet()) {
+                if (laterEvents.containsKey(failedEvent.getKey())) {
+                    coalescedEventCount.incrementAndGet();
+                } else {
+                    pendingEvents.events.put(failedEvent.getKey(), failedEvent.getValue());
+                }
+            }
+            pendingEvents.events.putAll(laterEvents);
+            if (!pendingEvents.flushScheduled) {
+                pendingEvents.flushScheduled = true;
+                scheduleFlush = true;
+            }
+        }
+        log.warn(failedEvents.size() + " gateway events of topic : " + topicName + " could not be published and "
+                + "will be published again in " + lingerTime + " ms");
+        if (scheduleFlush) {
+            scheduleFlush(topicName);
+        }
+    }
+
+    public long getPublishedBatchCount() {
+        return publishedBatchCount.get();
+    }
+
+    public long getPublishedEventCount() {
+        return publishedEventCount.get();
+    }
+
+    public long getCoalescedEventCount() {
+        return coalescedEventCount.get();
+    }
+
+    /**
+     * @return number of batches which could not be published, including the failed attempts to publish them again
+     */
+    public long getFailedBatchCount() {
+        return failedBatchCount.get();
+    }
+
+    /**
+     * @return number of events of all the topics waiting to be published
+     */
+    public int getPendingEventCount() {
+        int pendingEventCount = 0;
+        for (PendingEvents pendingEvents : pendingEventsOfTopics.values()) {
+            synchronized (pendingEvents) {
+                pendingEventCount += pendingEvents.events.size();
+            }
+        }
+        return pendingEventCount;
+    }
+
+    /**
+     * Publishes a gateway event to a broker topic
+     */
+    public interface TopicEventPublisher {
+        void publish(String topicName, GatewayEvent event) throws GatewayException;
+    }
+
+    /**
+     * Events of a topic waiting to be published, in the order they should be delivered
+     */
+    private static class PendingEvents {
+        private final Map<String, GatewayEvent> events = new LinkedHashMap<>();
+        private final Object publishLock = new Object();
+        private long sequence;
+        private boolean flushScheduled;
+    }
+}
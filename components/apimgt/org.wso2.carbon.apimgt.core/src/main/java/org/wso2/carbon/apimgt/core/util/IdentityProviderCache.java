@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.configuration.models.IdentityProviderCacheConfigurations;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+import org.wso2.carbon.apimgt.core.exception.IdentityProviderException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded read-through cache of the users and roles retrieved from the identity provider.
+ * <p>
+ * Holds the Ids of users by user name, the roles of users by user Id and the names of roles by role Id. Each of them
+ * keeps at most the configured maximum number of entries, evicting the least recently used ones, and entries expire
+ * after the configured expiry time, so that a change made directly in the identity provider is seen after the expiry
+ * time at the latest. Failed lookups are not cached.
+ * <p>
+ * When coalescing of misses is enabled, a user or role that is requested by many threads while it is missing from the
+ * cache is retrieved from the identity provider only once, and the other threads wait for that result.
+ */
+public class IdentityProviderCache {
+    private static final Logger log = LoggerFactory.getLogger(IdentityProviderCache.class);
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long expiryTimeInMillis;
+    private final boolean coalesceMisses;
+    private final Region<String> userIds;
+    private final Region<UserRoles> userRoles;
+    private final Region<String> roleNames;
+    private final AtomicLong coalescedMissCount = new AtomicLong();
+
+    /**
+     * Creates an identity provider cache
+     *
+     * @param enabled            Whether caching is enabled
+     * @param maxSize            Maximum number of users or roles kept in each part of the cache
+     * @param expiryTimeInMillis Maximum time a user or role is kept in the cache
+     * @param coalesceMisses     Whether concurrent misses of the same user or role are retrieved only once
+     */
+    public IdentityProviderCache(boolean enabled, int maxSize, long expiryTimeInMillis, boolean coalesceMisses) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.expiryTimeInMillis = expiryTimeInMillis;
+        this.coalesceMisses = coalesceMisses;
+        this.userIds = new Region<>("Id of user");
+        this.userRoles = new Region<>("roles of user");
+        this.roleNames = new Region<>("name of role");
+    }
+
+    /**
+     * Creates an identity provider cache from the given configuration
+     *
+     * @param cacheConfigurations Identity provider cache configurations
+     */
+    public IdentityProviderCache(IdentityProviderCacheConfigurations cacheConfigurations) {
+        this(cacheConfigurations.isEnabled(), cacheConfigurations.getMaxSize(),
+                TimeUnit.SECONDS.toMillis(cacheConfigurations.getExpiryTime()),
+                cacheConfigurations.isCoalesceMisses());
+    }
+
+    /**
+     * Returns the Id of a user from the cache, loading it with the given loader if it is not cached.
+     *
+     * @param userName Name of the user
+     * @param loader   Loader used to retrieve the Id from the identity provider
+     * @return Id of the user
+     * @throws IdentityProviderException If the Id could not be loaded
+     */
+    public String getUserId(String userName, Loader<String> loader) throws IdentityProviderException {
+        return userIds.get(userName, loader);
+    }
+
+    /**
+     * Returns the roles of a user from the cache, loading them with the given loader if they are not cached.
+     *
+     * @param userId Id of the user
+     * @param loader Loader used to retrieve the roles from the identity provider
+     * @return Roles of the user
+     * @throws IdentityProviderException If the roles could not be loaded
+     */
+    public UserRoles getUserRoles(String userId, Loader<UserRoles> loader) throws IdentityProviderException {
+        return userRoles.get(userId, loader);
+    }
+
+    /**
+     * Returns the name of a role from the cache, loading it with the given loader if it is not cached.
+     *
+     * @param roleId Id of the role
+     * @param loader Loader used to retrieve the name from the identity provider
+     * @return Name of the role
+     * @throws IdentityProviderException If the name could not be loaded
+     */
+    public String getRoleName(String roleId, Loader<String> loader) throws IdentityProviderException {
+        return roleNames.get(roleId, loader);
+    }
+
+    /**
+     * Removes the Id of a user from the cache. This must be called when a user is removed or renamed.
+     *
+     * @param userName Name of the user
+     */
+    public void invalidateUserName(String userName) {
+        userIds.invalidate(userName);
+    }
+
+    /**
+     * Removes the roles of a user from the cache. This must be called when the roles of a user are changed.
+     *
+     * @param userId Id of the user
+     */
+    public void invalidateUser(String userId) {
+        userRoles.invalidate(userId);
+    }
+
+    /**
+     * Removes a role from the cache along with the roles of all the users, as the cached roles of users contain the
+     * names of the roles. This must be called when a role is renamed or removed.
+     *
+     * @param roleId Id of the role
+     */
+    public void invalidateRole(String roleId) {
+        roleNames.invalidate(roleId);
+        userRoles.invalidateAll();
+    }
+
+    /**
+     * Removes all the users and roles from the cache
+     */
+    public void invalidateAll() {
+        userIds.invalidateAll();
+        userRoles.invalidateAll();
+        roleNames.invalidateAll();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public boolean isCoalesceMisses() {
+        return coalesceMisses;
+    }
+
+    public int size() {
+        return userIds.size() + userRoles.size() + roleNames.size();
+    }
+
+    public long getHitCount() {
+        return userIds.cache.getHitCount() + userRoles.cache.getHitCount() + roleNames.cache.getHitCount();
+    }
+
+    /**
+     * @return number of lookups that were not found in the cache, including the coalesced ones
+     */
+    public long getMissCount() {
+        return userIds.cache.getMissCount() + userRoles.cache.getMissCount() + roleNames.cache.getMissCount();
+    }
+
+    /**
+     * @return number of lookups that were not found in the cache and waited for another thread retrieving the same
+     * user or role
+     */
+    public long getCoalescedMissCount() {
+        return coalescedMissCount.get();
+    }
+
+    public long getEvictionCount() {
+        return userIds.cache.getEvictionCount() + userRoles.cache.getEvictionCount()
+                + roleNames.cache.getEvictionCount();
+    }
+
+    public long getInvalidationCount() {
+        return userIds.cache.getInvalidationCount() + userRoles.cache.getInvalidationCount()
+                + roleNames.cache.getInvalidationCount();
+    }
+
+    /**
+     * Loads a value from the identity provider on a cache miss
+     *
+     * @param <T> Type of the loaded value
+     */
+    public interface Loader<T> {
+        T load() throws IdentityProviderException;
+    }
+
+    /**
+     * Role names and role Ids of a user, both in the order the identity provider returned the roles
+     */
+    public static final class UserRoles {
+        private final List<String> roleNames;
+        private final List<String> roleIds;
+
+        public UserRoles(List<String> roleNames, List<String> roleIds) {
+            this.roleNames = Collections.unmodifiableList(roleNames);
+            this.roleIds = Collections.unmodifiableList(roleIds);
+        }
+
+        public List<String> getRoleNames() {
+            return roleNames;
+        }
+
+        public List<String> getRoleIds() {
+            return roleIds;
+        }
+    }
+
+    /**
+     * Part of the cache holding one kind of value
+     *
+     * @param <T> Type of the cached values
+     */
+    private final class Region<T> {
+        private final String name;
+        private final ExpiringCache<String, T> cache;
+        private final ConcurrentMap<String, CompletableFuture<T>> pendingLoads = new ConcurrentHashMap<>();
+
+        Region(String name) {
+            this.name = name;
+            this.cache = new ExpiringCache<>(maxSize, expiryTimeInMillis);
+        }
+
+        T get(String key, Loader<T> loader) throws IdentityProviderException {
+            if (!enabled || key == null) {
+                return loader.load();
+            }
+            T cachedValue = cache.get(key);
+            if (cachedValue != null) {
+                return cachedValue;
+            }
+            if (!coalesceMisses) {
+                return load(key, loader);
+            }
+            CompletableFuture<T> pendingLoad = new CompletableFuture<>();
+            CompletableFuture<T> existingLoad = pendingLoads.putIfAbsent(key, pendingLoad);
+            if (existingLoad != null) {
+                coalescedMissCount.incrementAndGet();
+                return await(key, existingLoad);
+            }
+            try {
+                T value = load(key, loader);
+                pendingLoad.complete(value);
+                return value;
+            } catch (Throwable e) {
+                pendingLoad.completeExceptionally(e);
+                throw e;
+            } finally {
+                pendingLoads.remove(key, pendingLoad);
+            }
+        }
+
+        private T load(String key, Loader<T> loader) throws IdentityProviderException {
+            long invalidationStamp = cache.getInvalidationStamp();
+            T value = loader.load();
+            if (value != null) {
+                cache.put(key, value, invalidationStamp);
+            }
+            return value;
+        }
+
+        private T await(String key, CompletableFuture<T> pendingLoad) throws IdentityProviderException {
+            try {
+                return pendingLoad.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IdentityProviderException("Interrupted while waiting for the " + name + " " + key
+                        + " to be retrieved", e, ExceptionCodes.RESOURCE_RETRIEVAL_FAILED);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IdentityProviderException) {
+                    throw (IdentityProviderException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IdentityProviderException("Error occurred while retrieving the " + name + " " + key,
+                        cause, ExceptionCodes.RESOURCE_RETRIEVAL_FAILED);
+            }
+        }
+
+        void invalidate(String key) {
+            if (!enabled || key == null) {
+                return;
+            }
+            cache.invalidate(key);
+            if (log.isDebugEnabled()) {
+                log.debug("Removed " + name + " " + key + " from identity provider cache");
+            }
+        }
+
+        void invalidateAll() {
+            cache.invalidateAll();
+        }
+
+        int size() {
+            return cache.size();
+        }
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.api.Broker;
+import org.wso2.carbon.apimgt.core.exception.BrokerException;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.jms.JMSException;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+import javax.jms.Topic;
+import javax.jms.TopicConnection;
+import javax.jms.TopicPublisher;
+import javax.jms.TopicSession;
+
+/**
+ * Pool of long lived JMS topic publishers.
+ * <p>
+ * A single topic connection is shared by all the publishers and a bounded number of sessions are kept per topic,
+ * since JMS sessions must not be used by more than one thread at a time. If the broker connection fails, the
+ * connection is re-created on the next publish and the sessions created on the failed connection are discarded.
+ */
+public class TopicPublisherPool {
+    private static final Logger log = LoggerFactory.getLogger(TopicPublisherPool.class);
+
+    private final Broker broker;
+    private final int maxSessionsPerTopic;
+    private final long maxWaitTime;
+
+    private final Object connectionLock = new Object();
+    private TopicConnection topicConnection;
+    private volatile long connectionGeneration;
+
+    private final Map<String, TopicPublishers> topicPublishers = new ConcurrentHashMap<>();
+
+    private final AtomicLong publishCount = new AtomicLong();
+    private final AtomicLong publishFailureCount = new AtomicLong();
+    private final AtomicLong totalPublishTime = new AtomicLong();
+    private final AtomicLong poolExhaustedCount = new AtomicLong();
+    private final AtomicLong reconnectCount = new AtomicLong();
+    private final AtomicInteger activeSessionCount = new AtomicInteger();
+
+    /**
+     * @param broker              Broker used to create topic connections
+     * @param maxSessionsPerTopic Maximum number of sessions opened for a single topic
+     * @param maxWaitTime         Maximum time in milliseconds to wait for a free session of a topic
+     */
+    public TopicPublisherPool(Broker broker, int maxSessionsPerTopic, long maxWaitTime) {
+        this.broker = broker;
+        this.maxSessionsPerTopic = maxSessionsPerTopic;
+        this.maxWaitTime = maxWaitTime;
+    }
+
+    /**
+     * Publish a text message to the given topic using a pooled publisher. The publish is retried once on a new
+     * connection if the pooled connection turns out to be broken.
+     *
+     * @param topicName Topic name
+     * @param message   Text message to publish
+     * @throws JMSException    If the message could not be published
+     * @throws BrokerException If a broker connection could not be obtained or no publisher became free in time
+     */
+    public void publish(String topicName, String message) throws JMSException, BrokerException {
+        long startTime = System.nanoTime();
+        try {
+            try {
+                publishWithPooledSession(topicName, message);
+            } catch (JMSException e) {
+                log.warn("Error while publishing to topic : " + topicName + ". Retrying with a new connection.", e);
+                publishWithPooledSession(topicName, message);
+            }
+            publishCount.incrementAndGet();
+        } catch (JMSException | BrokerException e) {
+            publishFailureCount.incrementAndGet();
+            throw e;
+        } finally {
+            totalPublishTime.addAndGet(System.nanoTime() - startTime);
+        }
+    }
+
+    private void publishWithPooledSession(String topicName, String message) throws JMSException, BrokerException {
+        TopicPublishers publishers = topicPublishers.computeIfAbsent(topicName,
+                name -> new TopicPublishers(maxSessionsPerTopic));
+        try {
+            if (!publishers.permits.tryAcquire(maxWaitTime, TimeUnit.MILLISECONDS)) {
+                poolExhaustedCount.incrementAndGet();
+                throw new BrokerException("Timed out while waiting for a free publisher for topic : " + topicName,
+                        ExceptionCodes.BROKER_EXCEPTION);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BrokerException("Interrupted while waiting for a free publisher for topic : " + topicName,
+                    ExceptionCodes.BROKER_EXCEPTION);
+        }
+        activeSessionCount.incrementAndGet();
+        PooledPublisher pooledPublisher = null;
+        try {
+            pooledPublisher = publishers.idlePublishers.poll();
+            if (pooledPublisher != null && pooledPublisher.generation != connectionGeneration) {
+                // created on a connection which has since failed
+                pooledPublisher.close();
+                pooledPublisher = null;
+            }
+            if (pooledPublisher == null) {
+                pooledPublisher = createPublisher(topicName);
+            }
+            TextMessage textMessage = pooledPublisher.session.createTextMessage(message);
+            pooledPublisher.publisher.publish(textMessage);
+            publishers.idlePublishers.offer(pooledPublisher);
+        } catch (JMSException e) {
+            if (pooledPublisher != null) {
+                pooledPublisher.close();
+                invalidateConnection(pooledPublisher.generation);
+            }
+            throw e;
+        } finally {
+            activeSessionCount.decrementAndGet();
+            publishers.permits.release();
+        }
+    }
+
+    private PooledPublisher createPublisher(String topicName) throws JMSException, BrokerException {
+        long generation;
+        TopicConnection connection;
+        synchronized (connectionLock) {
+            connection = getConnection();
+            generation = connectionGeneration;
+        }
+        TopicSession topicSession = null;
+        try {
+            topicSession = connection.createTopicSession(false, Session.AUTO_ACKNOWLEDGE);
+            Topic topic = topicSession.createTopic(topicName);
+            TopicPublisher topicPublisher = topicSession.createPublisher(topic);
+            return new PooledPublisher(topicSession, topicPublisher, generation);
+        } catch (JMSException e) {
+            if (topicSession != null) {
+                closeQuietly(topicSession);
+            }
+            invalidateConnection(generation);
+            throw e;
+        }
+    }
+
+    private TopicConnection getConnection() throws JMSException, BrokerException {
+        if (topicConnection == null) {
+            TopicConnection connection = broker.getTopicConnection();
+            final long generation = connectionGeneration + 1;
+            connection.setExceptionListener(e -> {
+                log.error("Broker connection failure detected. Connection will be re-created on next publish.", e);
+                invalidateConnection(generation);
+            });
+            connection.start();
+            topicConnection = connection;
+            connectionGeneration = generation;
+            if (generation > 1) {
+                reconnectCount.incrementAndGet();
+            }
+        }
+        return topicConnection;
+    }
+
+    private void invalidateConnection(long generation) {
+        synchronized (connectionLock) {
+            if (topicConnection != null && generation == connectionGeneration) {
+                closeQuietly(topicConnection);
+                topicConnection = null;
+            }
+        }
+    }
+
+    /**
+     * Close all the pooled publishers and the shared broker connection.
+     */
+    public void close() {
+        for (TopicPublishers publishers : topicPublishers.values()) {
+            PooledPublisher pooledPublisher;
+            while ((pooledPublisher = publishers.idlePublishers.poll()) != null) {
+                pooledPublisher.close();
+            }
+        }
+        topicPublishers.clear();
+        synchronized (connectionLock) {
+            if (topicConnection != null) {
+                closeQuietly(topicConnection);
+                topicConnection = null;
+            }
+        }
+    }
+
+    public long getPublishCount() {
+        return publishCount.get();
+    }
+
+    public long getPublishFailureCount() {
+        return publishFailureCount.get();
+    }
+
+    /**
+     * @return average time taken for a publish in milliseconds, including the time spent waiting for a publisher
+     */
+    public double getAveragePublishLatency() {
+        long count = publishCount.get() + publishFailureCount.get();
+        return count == 0 ? 0 : (double) TimeUnit.NANOSECONDS.toMicros(totalPublishTime.get()) / count / 1000;
+    }
+
+    public long getPoolExhaustedCount() {
+        return poolExhaustedCount.get();
+    }
+
+    public long getReconnectCount() {
+        return reconnectCount.get();
+    }
+
+    public int getActiveSessionCount() {
+        return activeSessionCount.get();
+    }
+
+    private static void closeQuietly(TopicConnection connection) {
+        try {
+            connection.close();
+        } catch (JMSException e) {
+            log.error("Error occurred while closing topic connection", e);
+        }
+    }
+
+    private static void closeQuietly(TopicSession session) {
+        try {
+            session.close();
+        } catch (JMSException e) {
+            log.error("Error occurred while closing topic session", e);
+        }
+    }
+
+    /**
+     * Idle publishers and the permits bounding the number of sessions of a single topic.
+     */
+    private static class TopicPublishers {
+        private final BlockingQueue<PooledPublisher> idlePublishers = new LinkedBlockingQueue<>();
+        private final Semaphore permits;
+
+        TopicPublishers(int maxSessions) {
+            this.permits = new Semaphore(maxSessions, true);
+        }
+    }
+
+    /**
+     * Session and publisher pair created on a particular broker connection.
+     */
+    private static class PooledPublisher {
+        private final TopicSession session;
+        private final TopicPublisher publisher;
+        private final long generation;
+
+        PooledPublisher(TopicSession session, TopicPublisher publisher, long generation) {
+            this.session = session;
+            this.publisher = publisher;
+            this.generation = generation;
+        }
+
+        void close() {
+            try {
+                publisher.close();
+            } catch (JMSException e) {
+                log.error("Error occurred while closing topic publisher", e);
+            }
+            closeQuietly(session);
+        }
+    }
+}
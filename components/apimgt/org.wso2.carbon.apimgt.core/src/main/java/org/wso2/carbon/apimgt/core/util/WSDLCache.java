@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.carbon.apimgt.core.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.configuration.models.WSDLCacheConfigurations;
+import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.core.models.WSDLInfo;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of the WSDLs and WSDL archives of APIs, with the endpoints already rewritten for a gateway label, as they are
+ * downloaded from the store.
+ * <p>
+ * A WSDL is cached for an API and a label along with the version it was processed from, which is made of the last
+ * updated times of the API and of its WSDL. A cached WSDL is only returned for the same version, hence a changed API
+ * or WSDL is processed again without the need to invalidate it. Labels do not have a last updated time, so the cache
+ * is cleared when a label is changed, and entries also expire after the configured expiry time. Least recently used
+ * WSDLs are evicted once the total size of the cached WSDLs exceeds the configured maximum size.
+ */
+public class WSDLCache {
+    private static final Logger log = LoggerFactory.getLogger(WSDLCache.class);
+
+    private static volatile WSDLCache instance;
+
+    private final boolean enabled;
+    private final ExpiringCache<String, ProcessedWSDL> wsdlCache;
+
+    /**
+     * Creates a WSDL cache. Use {@link #getInstance()} to get the cache configured for the server.
+     *
+     * @param enabled            Whether caching is enabled
+     * @param maxSizeInBytes     Maximum total size of the WSDLs kept in the cache
+     * @param expiryTimeInMillis Maximum time a WSDL is kept in the cache
+     */
+    public WSDLCache(boolean enabled, long maxSizeInBytes, long expiryTimeInMillis) {
+        this.enabled = enabled;
+        this.wsdlCache = new ExpiringCache<>(maxSizeInBytes, expiryTimeInMillis,
+                processedWSDL -> processedWSDL.getContent().length);
+    }
+
+    /**
+     * Get WSDLCache instance
+     *
+     * @return WSDLCache object
+     */
+    public static WSDLCache getInstance() {
+        if (instance == null) {
+            synchronized (WSDLCache.class) {
+                if (instance == null) {
+                    WSDLCacheConfigurations wsdlCacheConfigurations = ServiceReferenceHolder.getInstance()
+                            .getAPIMConfiguration().getWsdlCacheConfigurations();
+                    instance = new WSDLCache(wsdlCacheConfigurations.isEnabled(),
+                            wsdlCacheConfigurations.getMaxSize() * 1024L,
+                            TimeUnit.SECONDS.toMillis(wsdlCacheConfigurations.getExpiryTime()));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the processed WSDL of an API for a label, if it is cached for the given version.
+     *
+     * @param apiId     UUID of the API
+     * @param labelName Name of the label the WSDL was processed for
+     * @param version   Version of the API and its WSDL
+     * @return cached {@link ProcessedWSDL}, or {@code null} if the WSDL is not cached for the version
+     */
+    public ProcessedWSDL get(String apiId, String labelName, String version) {
+        if (!enabled || version == null) {
+            return null;
+        }
+        return wsdlCache.get(getKey(apiId, labelName), processedWSDL -> version.equals(processedWSDL.version));
+    }
+
+    /**
+     * Returns the stamp to be given to {@link #put(String, String, String, ProcessedWSDL, long)} for a WSDL that is
+     * about to be processed.
+     *
+     * @return current invalidation stamp
+     */
+    public long getInvalidationStamp() {
+        return wsdlCache.getInvalidationStamp();
+    }
+
+    /**
+     * Adds a processed WSDL of an API for a label to the cache. The WSDL is not cached if the cache has been
+     * invalidated since the given stamp was taken, or if it is larger than the maximum size of the cache.
+     *
+     * @param apiId              UUID of the API
+     * @param labelName          Name of the label the WSDL was processed for
+     * @param version            Version of the API and its WSDL the WSDL was processed from
+     * @param processedWSDL      Processed WSDL
+     * @param invalidationStamp  Stamp taken with {@link #getInvalidationStamp()} before the WSDL was processed
+     */
+    public void put(String apiId, String labelName, String version, ProcessedWSDL processedWSDL,
+                    long invalidationStamp) {
+        if (!enabled || version == null) {
+            return;
+        }
+        processedWSDL.version = version;
+        wsdlCache.put(getKey(apiId, labelName), processedWSDL, invalidationStamp);
+        if (log.isDebugEnabled()) {
+            log.debug("Cached WSDL of API " + apiId + " for label " + labelName + ". Size of WSDL cache: "
+                    + wsdlCache.getWeight() + " bytes");
+        }
+    }
+
+    /**
+     * Removes the WSDLs of all the APIs from the cache. This must be called when a label is changed or removed.
+     */
+    public void invalidateAll() {
+        if (!enabled) {
+            return;
+        }
+        wsdlCache.invalidateAll();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int size() {
+        return wsdlCache.size();
+    }
+
+    public long getSizeInBytes() {
+        return wsdlCache.getWeight();
+    }
+
+    public long getHitCount() {
+        return wsdlCache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return wsdlCache.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return wsdlCache.getEvictionCount();
+    }
+
+    private static String getKey(String apiId, String labelName) {
+        return apiId + ":" + labelName;
+    }
+
+    /**
+     * WSDL or WSDL archive of an API, with the endpoints rewritten for a label
+     */
+    public static class ProcessedWSDL {
+        private final byte[] content;
+        private final String eTag;
+        private final String fileName;
+        private final WSDLInfo wsdlInfo;
+        private String version;
+
+        /**
+         * @param content  Content of the WSDL or WSDL archive
+         * @param eTag     ETag of the content
+         * @param fileName File name of the WSDL archive, or {@code null} for a single WSDL
+         * @param wsdlInfo Information of the WSDL archive, or {@code null} for a single WSDL
+         */
+        public ProcessedWSDL(byte[] content, String eTag, String fileName, WSDLInfo wsdlInfo) {
+            this.content = content;
+            this.eTag = eTag;
+            this.fileName = fileName;
+            this.wsdlInfo = wsdlInfo;
+        }
+
+        public byte[] getContent() {
+            return content;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public WSDLInfo getWsdlInfo() {
+            return wsdlInfo;
+        }
+    }
+}
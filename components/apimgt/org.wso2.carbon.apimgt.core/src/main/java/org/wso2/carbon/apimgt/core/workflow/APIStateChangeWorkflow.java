@@ -40,6 +40,7 @@ import org.wso2.carbon.apimgt.core.models.APIStatus;
 import org.wso2.carbon.apimgt.core.models.DedicatedGateway;
 import org.wso2.carbon.apimgt.core.models.Subscription;
 import org.wso2.carbon.apimgt.core.models.WorkflowStatus;
+import org.wso2.carbon.apimgt.core.util.APICache;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 import org.wso2.carbon.apimgt.core.util.APIUtils;
 import org.wso2.carbon.lcm.core.beans.CheckItemBean;
@@ -183,6 +184,7 @@ public class APIStateChangeWorkflow extends Workflow {
                         labels.add(labelDAO.getLabelIdByNameAndType(APIMgtConstants.DEFAULT_LABEL_NAME, APIMgtConstants
                                 .LABEL_TYPE_STORE));
                         apiDAO.updateDedicatedGateway(dedicatedGateway, labels);
+                        APICache.getInstance().invalidate(getWorkflowReference());
                         throw new APIManagementException("Error while updating lifecycle state in Private Jet Mode", e,
                                 ExceptionCodes.DEDICATED_CONTAINER_GATEWAY_CREATION_FAILED);
                     }
@@ -217,6 +219,7 @@ public class APIStateChangeWorkflow extends Workflow {
             }
             apiDAO.updateAPIWorkflowStatus(getWorkflowReference(), APIMgtConstants.APILCWorkflowStatus.REJECTED);
         }
+        APICache.getInstance().invalidate(getWorkflowReference());
         updateWorkflowEntries(this);
         return response;
     }
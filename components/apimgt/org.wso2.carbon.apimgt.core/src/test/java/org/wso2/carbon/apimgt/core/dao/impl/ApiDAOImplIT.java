@@ -411,6 +411,110 @@ public class ApiDAOImplIT extends DAOIntegrationTestBase {
         Assert.assertTrue(api.equals(apiFromDB), TestUtil.printDiff(api, apiFromDB));
     }
 
+    @Test
+    public void testGetAPIRoundTripsIndependentOfResourceCount() throws Exception {
+        ApiDAO apiDAO = DAOFactory.getApiDAO();
+        testAddGetEndpoint();
+        API apiWithOneResource = createAPIWithResources(1);
+        API apiWithManyResources = createAPIWithResources(80);
+        apiDAO.addAPI(apiWithOneResource);
+        apiDAO.addAPI(apiWithManyResources);
+
+        StatementCountingDataSource countingDataSource = new StatementCountingDataSource(dataSource);
+        DAOUtil.clearDataSource();
+        DAOUtil.initialize(countingDataSource);
+        API apiFromDB;
+        int roundTripsForOneResource;
+        int roundTripsForManyResources;
+        try {
+            apiDAO.getAPI(apiWithOneResource.getId());
+            roundTripsForOneResource = countingDataSource.getStatementCount();
+            countingDataSource.resetStatementCount();
+
+            apiFromDB = apiDAO.getAPI(apiWithManyResources.getId());
+            roundTripsForManyResources = countingDataSource.getStatementCount();
+        } finally {
+            DAOUtil.clearDataSource();
+            DAOUtil.initialize(dataSource);
+        }
+
+        Assert.assertEquals(apiFromDB.getUriTemplates().size(), 80);
+        for (UriTemplate uriTemplate : apiFromDB.getUriTemplates().values()) {
+            Assert.assertEquals(uriTemplate.getEndpoint().get(APIMgtConstants.PRODUCTION_ENDPOINT).getId(),
+                    SampleTestObjectCreator.endpointId);
+            Assert.assertEquals(uriTemplate.getPolicy().getPolicyName(),
+                    SampleTestObjectCreator.unlimitedApiPolicy.getPolicyName());
+        }
+        Assert.assertEquals(roundTripsForManyResources, roundTripsForOneResource);
+    }
+
+    @Test
+    public void testGetDAOsBorrowNoConnectionsAfterWarmUp() throws Exception {
+        StatementCountingDataSource countingDataSource = new StatementCountingDataSource(dataSource);
+        DAOUtil.clearDataSource();
+        DAOUtil.initialize(countingDataSource);
+        ApiDAO apiDAO;
+        try {
+            apiDAO = DAOFactory.getApiDAO();
+            Assert.assertTrue(countingDataSource.getConnectionCount() > 0);
+            countingDataSource.resetConnectionCount();
+
+            for (int i = 0; i < 10; i++) {
+                Assert.assertSame(DAOFactory.getApiDAO(), apiDAO);
+                DAOFactory.getApplicationDAO();
+                DAOFactory.getAPISubscriptionDAO();
+                DAOFactory.getPolicyDAO();
+                DAOFactory.getLabelDAO();
+            }
+            Assert.assertEquals(countingDataSource.getConnectionCount(), 0);
+        } finally {
+            DAOUtil.clearDataSource();
+            DAOUtil.initialize(dataSource);
+        }
+
+        // the DAOs are created again for a new datasource
+        Assert.assertNotSame(DAOFactory.getApiDAO(), apiDAO);
+    }
+
+    @Test
+    public void testGetAPISummariesRoundTripsIndependentOfAPICount() throws Exception {
+        ApiDAO apiDAO = DAOFactory.getApiDAO();
+        Set<APIStatus> statuses = EnumSet.of(APIStatus.CREATED);
+        apiDAO.addAPI(SampleTestObjectCreator.createUniqueAPI().build());
+
+        StatementCountingDataSource countingDataSource = new StatementCountingDataSource(dataSource);
+        DAOUtil.clearDataSource();
+        DAOUtil.initialize(countingDataSource);
+        int roundTripsForOneAPI;
+        try {
+            Assert.assertEquals(apiDAO.getAPIsByStatus(statuses).size(), 1);
+            roundTripsForOneAPI = countingDataSource.getStatementCount();
+        } finally {
+            DAOUtil.clearDataSource();
+            DAOUtil.initialize(dataSource);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            apiDAO.addAPI(SampleTestObjectCreator.createUniqueAPI().build());
+        }
+
+        countingDataSource.resetStatementCount();
+        DAOUtil.clearDataSource();
+        DAOUtil.initialize(countingDataSource);
+        List<API> apiSummaries;
+        int roundTripsForManyAPIs;
+        try {
+            apiSummaries = apiDAO.getAPIsByStatus(statuses);
+            roundTripsForManyAPIs = countingDataSource.getStatementCount();
+        } finally {
+            DAOUtil.clearDataSource();
+            DAOUtil.initialize(dataSource);
+        }
+
+        Assert.assertEquals(apiSummaries.size(), 51);
+        Assert.assertEquals(roundTripsForManyAPIs, roundTripsForOneAPI);
+    }
+
     @Test
     public void testAddDuplicateProviderNameVersionAPI() throws Exception {
         ApiDAO apiDAO = DAOFactory.getApiDAO();
@@ -2155,4 +2259,19 @@ public class ApiDAOImplIT extends DAOIntegrationTestBase {
         }
     }
 
+    private API createAPIWithResources(int resourceCount) {
+        Map<String, UriTemplate> uriTemplates = new HashMap<>();
+        for (int i = 0; i < resourceCount; i++) {
+            Map<String, Endpoint> endpoints = new HashMap<>();
+            endpoints.put(APIMgtConstants.PRODUCTION_ENDPOINT, new Endpoint.Builder().id(SampleTestObjectCreator
+                    .endpointId).applicableLevel(APIMgtConstants.GLOBAL_ENDPOINT).build());
+            UriTemplate uriTemplate = new UriTemplate.UriTemplateBuilder().templateId("resource" + i)
+                    .uriTemplate("/resource" + i).httpVerb(APIMgtConstants.FunctionsConstants.GET)
+                    .authType(APIMgtConstants.AUTH_APPLICATION_LEVEL_TOKEN)
+                    .policy(SampleTestObjectCreator.unlimitedApiPolicy).endpoint(endpoints).build();
+            uriTemplates.put(uriTemplate.getTemplateId(), uriTemplate);
+        }
+        return SampleTestObjectCreator.createUniqueAPI().uriTemplates(uriTemplates).build();
+    }
+
 }
@@ -0,0 +1,95 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.dao.GatewayChangeLogDAO;
+import org.wso2.carbon.apimgt.core.models.GatewayChange;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class GatewayChangeLogDAOImplIT extends DAOIntegrationTestBase {
+
+    @Test
+    public void testGetChangesSince() throws Exception {
+        GatewayChangeLogDAO dao = DAOFactory.getGatewayChangeLogDAO();
+        long initialRevision = dao.getLatestRevision();
+        dao.addChange(APIMgtConstants.GatewayEventTypes.APPLICATION_CREATE, "{\"applicationId\":\"app1\"}");
+        dao.addChange(APIMgtConstants.GatewayEventTypes.POLICY_UPDATE, "{\"id\":\"policy1\"}");
+        dao.addChange(APIMgtConstants.GatewayEventTypes.APPLICATION_DELETE, "{\"applicationId\":\"app1\"}");
+
+        List<GatewayChange> changes = dao.getChangesSince(initialRevision, -1);
+        Assert.assertEquals(changes.size(), 3);
+        Assert.assertEquals(changes.get(0).getEventType(), APIMgtConstants.GatewayEventTypes.APPLICATION_CREATE);
+        Assert.assertEquals(changes.get(0).getEvent(), "{\"applicationId\":\"app1\"}");
+        Assert.assertNotNull(changes.get(0).getCreatedTime());
+        Assert.assertEquals(changes.get(2).getEventType(), APIMgtConstants.GatewayEventTypes.APPLICATION_DELETE);
+        Assert.assertTrue(changes.get(0).getRevision() < changes.get(1).getRevision());
+        Assert.assertTrue(changes.get(1).getRevision() < changes.get(2).getRevision());
+        Assert.assertEquals(dao.getLatestRevision(), changes.get(2).getRevision());
+
+        // only the changes after the given revision are returned, up to the limit
+        List<GatewayChange> delta = dao.getChangesSince(changes.get(0).getRevision(), 1);
+        Assert.assertEquals(delta.size(), 1);
+        Assert.assertEquals(delta.get(0).getRevision(), changes.get(1).getRevision());
+        Assert.assertTrue(dao.getChangesSince(dao.getLatestRevision(), -1).isEmpty());
+        Assert.assertTrue(dao.getChangesSince(initialRevision, 0).isEmpty());
+    }
+
+    @Test
+    public void testConcurrentChangesGetConsecutiveRevisions() throws Exception {
+        GatewayChangeLogDAO dao = DAOFactory.getGatewayChangeLogDAO();
+        long initialRevision = dao.getLatestRevision();
+        int threadCount = 4;
+        int changesPerThread = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            tasks.add(() -> {
+                for (int j = 0; j < changesPerThread; j++) {
+                    dao.addChange(APIMgtConstants.GatewayEventTypes.POLICY_UPDATE, "{\"id\":\"policy1\"}");
+                }
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // revisions are handed out in commit order, hence no revision is skipped
+        List<GatewayChange> changes = dao.getChangesSince(initialRevision, -1);
+        Assert.assertEquals(changes.size(), threadCount * changesPerThread);
+        for (int i = 0; i < changes.size(); i++) {
+            Assert.assertEquals(changes.get(i).getRevision(), initialRevision + i + 1);
+        }
+    }
+}
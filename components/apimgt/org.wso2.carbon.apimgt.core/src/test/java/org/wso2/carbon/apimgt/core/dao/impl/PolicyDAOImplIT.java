@@ -526,6 +526,24 @@ public class PolicyDAOImplIT extends DAOIntegrationTestBase {
         Assert.assertTrue(policyValidationData.size() == size + 3);
     }
 
+    @Test
+    public void testGetAllPoliciesWithRequestCountLimit() throws Exception {
+        PolicyDAO policyDAO = DAOFactory.getPolicyDAO();
+        SubscriptionPolicy subscriptionPolicy = SampleTestObjectCreator.createDefaultSubscriptionPolicy();
+        policyDAO.addSubscriptionPolicy(subscriptionPolicy);
+        RequestCountLimit limit = (RequestCountLimit) subscriptionPolicy.getDefaultQuotaPolicy().getLimit();
+        PolicyValidationData added = null;
+        for (PolicyValidationData policyValidationData : policyDAO.getAllPolicies()) {
+            if (subscriptionPolicy.getUuid().equals(policyValidationData.getId())) {
+                added = policyValidationData;
+            }
+        }
+        Assert.assertNotNull(added);
+        Assert.assertEquals(added.getRequestCount(), limit.getRequestCount());
+        Assert.assertEquals(added.getUnitTime(), limit.getUnitTime());
+        Assert.assertEquals(added.getTimeUnit(), limit.getTimeUnit());
+    }
+
     @Test
     public void testGetCustomPolicies() throws Exception {
         PolicyDAO policyDAO = DAOFactory.getPolicyDAO();
@@ -34,7 +34,9 @@ import org.wso2.carbon.apimgt.core.util.ETagUtils;
 import org.wso2.carbon.apimgt.core.util.KeyManagerConstants;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.wso2.carbon.apimgt.core.SampleTestObjectCreator.goldSubscriptionPolicy;
@@ -225,6 +227,29 @@ public class SubscriptionDAOImplIT extends DAOIntegrationTestBase {
                         + " Application: " + subscription.getApplicationId());
             }
         }
+
+        //get limited number of subscriptions
+        Assert.assertEquals(subscriptionDAO.getAPISubscriptionsOfAPIForValidation(4).size(), 4);
+        Assert.assertTrue(subscriptionDAO.getAPISubscriptionsOfAPIForValidation(0).isEmpty());
+
+        //page through all subscriptions
+        List<SubscriptionValidationData> pagedSubscriptions = new ArrayList<>();
+        List<SubscriptionValidationData> page = subscriptionDAO.getAPISubscriptionsForValidationAfter(null, null, 4);
+        while (!page.isEmpty()) {
+            Assert.assertTrue(page.size() <= 4);
+            pagedSubscriptions.addAll(page);
+            SubscriptionValidationData last = page.get(page.size() - 1);
+            page = subscriptionDAO.getAPISubscriptionsForValidationAfter(last.getSubscriptionId(),
+                    last.getKeyEnvType(), 4);
+        }
+        Assert.assertEquals(pagedSubscriptions.size(), 9);
+        Set<String> pagedEntries = new HashSet<>();
+        for (SubscriptionValidationData subscription : pagedSubscriptions) {
+            Assert.assertNotNull(subscription.getSubscriptionId());
+            pagedEntries.add(subscription.getSubscriptionId() + ":" + subscription.getKeyEnvType());
+        }
+        Assert.assertEquals(pagedEntries.size(), 9, "A subscription entry is returned in more than one page");
+        Assert.assertTrue(subscriptionDAO.getAPISubscriptionsForValidationAfter(null, null, 0).isEmpty());
     }
 
     private void registerOAuthAppForApplication(ApplicationDAO applicationDAO, String clientKey, String appId)
@@ -19,6 +19,7 @@
 package org.wso2.carbon.apimgt.core.impl;
 
 import org.apache.commons.io.IOUtils;
+import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import org.wso2.carbon.apimgt.core.SampleTestObjectCreator;
@@ -26,7 +27,10 @@ import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.Scope;
 import org.wso2.carbon.apimgt.core.models.UriTemplate;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 import org.wso2.carbon.apimgt.core.util.APIUtils;
+import org.wso2.msf4j.Request;
+import org.wso2.msf4j.ServiceMethodInfo;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -37,9 +41,70 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import javax.ws.rs.ApplicationPath;
+import javax.ws.rs.Path;
 
 public class APIDefinitionFromSwagger20TestCase {
 
+    private static final String REST_API_DEFINITION = "{\"swagger\":\"2.0\",\"basePath\":\"/api/am/publisher/v1.0\","
+            + "\"paths\":{\"/apis\":{\"get\":{\"x-scope\":\"apim:api_view\",\"responses\":{}}},"
+            + "\"/apis/{apiId}\":{\"get\":{\"x-scope\":\"apim:api_view\",\"responses\":{}},"
+            + "\"delete\":{\"x-scope\":\"apim:api_delete\",\"responses\":{}}},"
+            + "\"/apis/{apiId}/swagger\":{\"get\":{\"responses\":{}}}}}";
+
+    @Test
+    public void testGetScopeOfResourcePath() throws Exception {
+        APIDefinitionFromSwagger20 apiDefinitionFromSwagger20 = new APIDefinitionFromSwagger20();
+        Assert.assertEquals(apiDefinitionFromSwagger20.getScopeOfResourcePath(REST_API_DEFINITION,
+                getRequest("GET"), getServiceMethodInfo("apisGet")), "apim:api_view");
+        Assert.assertEquals(apiDefinitionFromSwagger20.getScopeOfResourcePath(REST_API_DEFINITION,
+                getRequest("DELETE"), getServiceMethodInfo("apisApiIdDelete")), "apim:api_delete");
+        Assert.assertEquals(apiDefinitionFromSwagger20.getScopeOfResourcePath(REST_API_DEFINITION,
+                getRequest("GET"), getServiceMethodInfo("apisApiIdDelete")), "apim:api_view");
+        Assert.assertNull(apiDefinitionFromSwagger20.getScopeOfResourcePath(REST_API_DEFINITION,
+                getRequest("POST"), getServiceMethodInfo("apisGet")));
+        Assert.assertNull(apiDefinitionFromSwagger20.getScopeOfResourcePath(REST_API_DEFINITION,
+                getRequest("GET"), getServiceMethodInfo("apisApiIdSwaggerGet")));
+        // a new instance serves scopes from the index built for the same definition
+        Assert.assertEquals(new APIDefinitionFromSwagger20().getScopeOfResourcePath(REST_API_DEFINITION,
+                getRequest("DELETE"), getServiceMethodInfo("apisApiIdDelete")), "apim:api_delete");
+    }
+
+    @Test(expectedExceptions = APIManagementException.class)
+    public void testGetScopeOfResourcePathWithoutVerb() throws Exception {
+        new APIDefinitionFromSwagger20().getScopeOfResourcePath(REST_API_DEFINITION, getRequest(null),
+                getServiceMethodInfo("apisGet"));
+    }
+
+    private Request getRequest(String verb) {
+        Request request = Mockito.mock(Request.class);
+        Mockito.when(request.getProperty(APIMgtConstants.HTTP_METHOD)).thenReturn(verb);
+        return request;
+    }
+
+    private ServiceMethodInfo getServiceMethodInfo(String methodName) throws NoSuchMethodException {
+        ServiceMethodInfo serviceMethodInfo = Mockito.mock(ServiceMethodInfo.class);
+        Mockito.when(serviceMethodInfo.getMethod()).thenReturn(SampleRestAPI.class.getMethod(methodName));
+        return serviceMethodInfo;
+    }
+
+    /**
+     * Resource class resembling the generated rest API services
+     */
+    @ApplicationPath("/apis")
+    public static class SampleRestAPI {
+        public void apisGet() {
+        }
+
+        @Path("/{apiId}")
+        public void apisApiIdDelete() {
+        }
+
+        @Path("/{apiId}/swagger")
+        public void apisApiIdSwaggerGet() {
+        }
+    }
+
     @Test()
     public void testApiResourceParseFromSwagger() throws IOException, APIManagementException {
         APIDefinitionFromSwagger20 apiDefinitionFromSwagger20 = new APIDefinitionFromSwagger20();
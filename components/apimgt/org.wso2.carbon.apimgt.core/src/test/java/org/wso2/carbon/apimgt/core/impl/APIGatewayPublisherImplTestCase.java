@@ -19,15 +19,20 @@
 package org.wso2.carbon.apimgt.core.impl;
 
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.testng.Assert;
 import org.wso2.carbon.apimgt.core.SampleTestObjectCreator;
 import org.wso2.carbon.apimgt.core.api.Broker;
 import org.wso2.carbon.apimgt.core.configuration.models.ContainerBasedGatewayConfiguration;
+import org.wso2.carbon.apimgt.core.dao.GatewayChangeLogDAO;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.exception.ContainerBasedGatewayException;
 import org.wso2.carbon.apimgt.core.exception.GatewayException;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.APIStatus;
+import org.wso2.carbon.apimgt.core.models.PolicyValidationData;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 import org.wso2.carbon.apimgt.core.util.BrokerUtil;
 import org.wso2.carbon.config.ConfigurationException;
 import org.wso2.carbon.config.provider.ConfigProvider;
@@ -172,6 +177,33 @@ public class APIGatewayPublisherImplTestCase {
         apiGatewayPublisher.deleteAPI(api);
     }
 
-}
+    @Test
+    public void testPolicyChangeIsAddedToChangeLog() throws Exception {
+        GatewayChangeLogDAO gatewayChangeLogDAO = Mockito.mock(GatewayChangeLogDAO.class);
+        APIGatewayPublisherImpl apiGatewayPublisher = new APIGatewayPublisherImpl(gatewayChangeLogDAO);
+        Broker broker = Mockito.mock(BrokerImpl.class, Mockito.RETURNS_DEEP_STUBS);
+        BrokerUtil.initialize(broker);
+
+        apiGatewayPublisher.addPolicy(new PolicyValidationData("policyId", "Gold", true));
+        ArgumentCaptor<String> event = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(gatewayChangeLogDAO, Mockito.times(1))
+                .addChange(Mockito.eq(APIMgtConstants.GatewayEventTypes.POLICY_CREATE), event.capture());
+        Assert.assertTrue(event.getValue().contains("\"id\":\"policyId\""));
+    }
 
+    @Test
+    public void testChangeLogFailureDoesNotAbortPublish() throws Exception {
+        GatewayChangeLogDAO gatewayChangeLogDAO = Mockito.mock(GatewayChangeLogDAO.class);
+        APIGatewayPublisherImpl apiGatewayPublisher = new APIGatewayPublisherImpl(gatewayChangeLogDAO);
+        Broker broker = Mockito.mock(BrokerImpl.class, Mockito.RETURNS_DEEP_STUBS);
+        BrokerUtil.initialize(broker);
+        Mockito.doThrow(APIMgtDAOException.class).when(gatewayChangeLogDAO)
+                .addChange(Mockito.anyString(), Mockito.anyString());
 
+        // the application has already been deleted, hence the event is still published to the gateways
+        apiGatewayPublisher.deleteApplication("applicationId");
+        Mockito.verify(gatewayChangeLogDAO, Mockito.times(1))
+                .addChange(Mockito.eq(APIMgtConstants.GatewayEventTypes.APPLICATION_DELETE), Mockito.anyString());
+    }
+
+}
@@ -20,6 +20,7 @@
 
 package org.wso2.carbon.apimgt.core.impl;
 
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -29,6 +30,7 @@ import org.wso2.carbon.apimgt.core.api.APIMgtAdminService;
 import org.wso2.carbon.apimgt.core.dao.APISubscriptionDAO;
 import org.wso2.carbon.apimgt.core.dao.ApiDAO;
 import org.wso2.carbon.apimgt.core.dao.ApplicationDAO;
+import org.wso2.carbon.apimgt.core.dao.GatewayChangeLogDAO;
 import org.wso2.carbon.apimgt.core.dao.LabelDAO;
 import org.wso2.carbon.apimgt.core.dao.PolicyDAO;
 import org.wso2.carbon.apimgt.core.dao.ThreatProtectionDAO;
@@ -39,6 +41,7 @@ import org.wso2.carbon.apimgt.core.models.APIStatus;
 import org.wso2.carbon.apimgt.core.models.Application;
 import org.wso2.carbon.apimgt.core.models.BlockConditions;
 import org.wso2.carbon.apimgt.core.models.Endpoint;
+import org.wso2.carbon.apimgt.core.models.GatewayChange;
 import org.wso2.carbon.apimgt.core.models.Label;
 import org.wso2.carbon.apimgt.core.models.PolicyValidationData;
 import org.wso2.carbon.apimgt.core.models.SubscriptionValidationData;
@@ -48,7 +51,9 @@ import org.wso2.carbon.apimgt.core.models.policy.CustomPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.Policy;
 import org.wso2.carbon.apimgt.core.models.policy.SubscriptionPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.ThreatProtectionPolicy;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -391,7 +396,15 @@ public class APIMgtAdminServiceImplTestCase {
         APIGateway apiGateway = Mockito.mock(APIGateway.class);
         APIMgtAdminServiceImpl adminService = getAPIMgtAdminServiceImpl(policyDAO, apiGateway);
         APIPolicy apiPolicy = SampleTestObjectCreator.createDefaultAPIPolicy();
+        Mockito.when(policyDAO.getPolicyByLevelAndUUID(APIMgtAdminService.PolicyLevel.api, apiPolicy.getUuid()))
+                .thenReturn(apiPolicy);
         adminService.deletePolicyByUuid(apiPolicy.getUuid(), APIMgtAdminService.PolicyLevel.api);
+        // the gateway removes the local limit of the policy by its level and name
+        ArgumentCaptor<PolicyValidationData> deletedPolicy = ArgumentCaptor.forClass(PolicyValidationData.class);
+        Mockito.verify(apiGateway, Mockito.times(1)).deletePolicy(deletedPolicy.capture());
+        Assert.assertEquals(deletedPolicy.getValue().getId(), apiPolicy.getUuid());
+        Assert.assertEquals(deletedPolicy.getValue().getName(), apiPolicy.getPolicyName());
+        Assert.assertEquals(deletedPolicy.getValue().getPolicyLevel(), APIMgtAdminService.PolicyLevel.api.name());
 
         //Error path
         Mockito.doThrow(APIMgtDAOException.class).when(policyDAO)
@@ -745,6 +758,28 @@ public class APIMgtAdminServiceImplTestCase {
         }
     }
 
+    @Test(description = "Test getting gateway changes since a revision")
+    public void testGetGatewayChanges() throws APIManagementException {
+        GatewayChangeLogDAO gatewayChangeLogDAO = Mockito.mock(GatewayChangeLogDAO.class);
+        APIMgtAdminServiceImpl adminService = getAPIMgtAdminServiceImpl(gatewayChangeLogDAO);
+        List<GatewayChange> changesExpected = new ArrayList<>();
+        changesExpected.add(new GatewayChange(6, APIMgtConstants.GatewayEventTypes.POLICY_CREATE, "{}",
+                Instant.now()));
+        Mockito.when(gatewayChangeLogDAO.getChangesSince(5, 100)).thenReturn(changesExpected);
+        Mockito.when(gatewayChangeLogDAO.getLatestRevision()).thenReturn(6L);
+        Assert.assertEquals(adminService.getGatewayChanges(5, 100), changesExpected);
+        Assert.assertEquals(adminService.getLatestGatewayChangeRevision(), 6L);
+
+        //Error path
+        Mockito.when(gatewayChangeLogDAO.getChangesSince(5, 100)).thenThrow(APIMgtDAOException.class);
+        try {
+            adminService.getGatewayChanges(5, 100);
+            Assert.fail("Exception was expected");
+        } catch (APIManagementException e) {
+            Assert.assertEquals(e.getMessage(), "Error occurred while retrieving gateway changes since revision 5");
+        }
+    }
+
     @Test(description = "Test adding block condition")
     public void testAddBlockCondition() throws APIManagementException {
         PolicyDAO policyDAO = Mockito.mock(PolicyDAO.class);
@@ -1027,31 +1062,35 @@ public class APIMgtAdminServiceImplTestCase {
     }
 
     private APIMgtAdminServiceImpl getAPIMgtAdminServiceImpl(ApiDAO apiDAO) {
-        return new APIMgtAdminServiceImpl(null, null, apiDAO, null, null, null, null, null);
+        return new APIMgtAdminServiceImpl(null, null, apiDAO, null, null, null, null, null, null);
     }
 
     private APIMgtAdminServiceImpl getAPIMgtAdminServiceImpl(ApplicationDAO applicationDAO) {
-        return new APIMgtAdminServiceImpl(null, null, null, null, applicationDAO, null, null, null);
+        return new APIMgtAdminServiceImpl(null, null, null, null, applicationDAO, null, null, null, null);
     }
 
     private APIMgtAdminServiceImpl getAPIMgtAdminServiceImpl(PolicyDAO policyDAO) {
-        return new APIMgtAdminServiceImpl(null, policyDAO, null, null, null, null, null, null);
+        return new APIMgtAdminServiceImpl(null, policyDAO, null, null, null, null, null, null, null);
     }
 
     private APIMgtAdminServiceImpl getAPIMgtAdminServiceImpl(APISubscriptionDAO apiSubscriptionDAO) {
-        return new APIMgtAdminServiceImpl(apiSubscriptionDAO, null, null, null, null, null, null, null);
+        return new APIMgtAdminServiceImpl(apiSubscriptionDAO, null, null, null, null, null, null, null, null);
     }
 
     private APIMgtAdminServiceImpl getAPIMgtAdminServiceImpl(LabelDAO labelDAO) {
-        return new APIMgtAdminServiceImpl(null, null, null, labelDAO, null, null, null, null);
+        return new APIMgtAdminServiceImpl(null, null, null, labelDAO, null, null, null, null, null);
     }
 
     private APIMgtAdminServiceImpl getAPIMgtAdminServiceImpl(PolicyDAO policyDAO, APIGateway apiGateway) {
-        return new APIMgtAdminServiceImpl(null, policyDAO, null, null, null, apiGateway, null, null);
+        return new APIMgtAdminServiceImpl(null, policyDAO, null, null, null, apiGateway, null, null, null);
+    }
+
+    private APIMgtAdminServiceImpl getAPIMgtAdminServiceImpl(GatewayChangeLogDAO gatewayChangeLogDAO) {
+        return new APIMgtAdminServiceImpl(null, null, null, null, null, null, null, null, gatewayChangeLogDAO);
     }
 
     private APIMgtAdminServiceImpl getAPIMgtAdminServiceImpl(ThreatProtectionDAO threatProtectionDAO) {
         return new APIMgtAdminServiceImpl(null, null, null, null,
-                null, null, null, threatProtectionDAO);
+                null, null, null, threatProtectionDAO, null);
     }
 }
@@ -342,6 +342,40 @@ public class APIStoreImplTestCase {
         Assert.assertFalse(endpoints.containsValue(SampleTestObjectCreator.ORIGINAL_ENDPOINT_WEATHER));
     }
 
+    @Test(description = "Retrieve a WSDL of an API from the WSDL cache")
+    public void testGetAPIWSDLFromCache() throws APIManagementException, IOException {
+        final String labelName = "SampleLabel";
+
+        Label label = SampleTestObjectCreator.createLabel(labelName, SampleTestObjectCreator.LABEL_TYPE_STORE).build();
+        List<String> labels = new ArrayList<>();
+        labels.add(label.getName());
+        API api = SampleTestObjectCreator.createDefaultAPI().labels(labels).build();
+        ApiDAO apiDAO = Mockito.mock(ApiDAO.class);
+        LabelDAO labelDAO = Mockito.mock(LabelDAO.class);
+        APIStore apiStore = getApiStoreImpl(apiDAO, labelDAO);
+        Mockito.when(apiDAO.getAPI(api.getId())).thenReturn(api);
+        Mockito.when(labelDAO.getLabelByName(labelName)).thenReturn(label);
+        Mockito.when(apiDAO.getWSDL(api.getId()))
+                .thenReturn(new String(SampleTestObjectCreator.createDefaultWSDL11Content()));
+        Mockito.when(apiDAO.getLastUpdatedTimeOfAPI(api.getId())).thenReturn("1500000000000");
+        Mockito.when(apiDAO.getLastUpdatedTimeOfWSDL(api.getId())).thenReturn("1500000000001");
+
+        Assert.assertNull(apiStore.getAPIWSDLFingerprint(api.getId(), labelName));
+        String updatedWSDL = apiStore.getAPIWSDL(api.getId(), labelName);
+        String fingerprint = apiStore.getAPIWSDLFingerprint(api.getId(), labelName);
+        Assert.assertNotNull(fingerprint);
+        Assert.assertEquals(apiStore.getAPIWSDL(api.getId(), labelName), updatedWSDL);
+        Mockito.verify(apiDAO, Mockito.times(1)).getWSDL(api.getId());
+        Mockito.verify(apiDAO, Mockito.times(1)).getAPI(api.getId());
+
+        // the WSDL is processed again once it is updated
+        Mockito.when(apiDAO.getLastUpdatedTimeOfWSDL(api.getId())).thenReturn("1500000000002");
+        Assert.assertNull(apiStore.getAPIWSDLFingerprint(api.getId(), labelName));
+        Assert.assertEquals(apiStore.getAPIWSDL(api.getId(), labelName), updatedWSDL);
+        Assert.assertEquals(apiStore.getAPIWSDLFingerprint(api.getId(), labelName), fingerprint);
+        Mockito.verify(apiDAO, Mockito.times(2)).getWSDL(api.getId());
+    }
+
     @Test(description = "Add Composite API")
     public void testAddCompositeApi() throws APIManagementException {
         CompositeAPI.Builder apiBuilder = SampleTestObjectCreator.createUniqueCompositeAPI();
@@ -29,6 +29,7 @@ import org.wso2.carbon.apimgt.core.auth.dto.SCIMUser;
 import org.wso2.carbon.apimgt.core.exception.IdentityProviderException;
 import org.wso2.carbon.apimgt.core.models.User;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+import org.wso2.carbon.apimgt.core.util.IdentityProviderCache;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -466,4 +467,52 @@ public class DefaultIdentityProviderImplTestCase {
         }
     }
 
+    @Test
+    public void testUsersAndRolesRetrievedOnce() throws Exception {
+        SCIMServiceStub scimServiceStub = Mockito.mock(SCIMServiceStub.class);
+        UserNameMapper userNameMapper = Mockito.mock(UserNameMapperImpl.class);
+        Mockito.when(userNameMapper.getLoggedInUserIDFromPseudoName("John")).thenReturn("John");
+        IdentityProviderCache cache = new IdentityProviderCache(true, 100, 60000, true);
+        DefaultIdentityProviderImpl idpImpl = new DefaultIdentityProviderImpl(scimServiceStub, userNameMapper, cache);
+
+        String userId = "cfbde56e-8422-498e-b6dc-85a6f1f8b058";
+        String roleId = "fb5aaf9c-1fdf-4b2d-86bc-6e3203b99618";
+        String searchResponseBody = "{\"totalResults\":1,\"schemas\":[\"urn:scim:schemas:core:1.0\"],\"Resources\":"
+                + "[{\"id\":\"" + userId + "\",\"userName\":\"John\"}]}";
+        String userResponseBody = "{\"schemas\":[\"urn:scim:schemas:core:1.0\"],\"groups\":[{\"display\":"
+                + "\"subscriber\",\"value\":\"" + roleId + "\"}],\"id\":\"" + userId + "\",\"userName\":\"John\"}";
+        String groupResponseBody = "{\"displayName\":\"subscriber\",\"schemas\":[\"urn:scim:schemas:core:1.0\"],"
+                + "\"id\":\"" + roleId + "\"}";
+        // feign responses can be read only once, hence a new response is returned for every request
+        Mockito.when(scimServiceStub.searchUsers("userName Eq John")).thenAnswer(invocation -> Response.builder()
+                .status(APIMgtConstants.HTTPStatusCodes.SC_200_OK).headers(new HashMap<>())
+                .body(searchResponseBody.getBytes()).build());
+        Mockito.when(scimServiceStub.getUser(userId)).thenAnswer(invocation -> Response.builder()
+                .status(APIMgtConstants.HTTPStatusCodes.SC_200_OK).headers(new HashMap<>())
+                .body(userResponseBody.getBytes()).build());
+        Mockito.when(scimServiceStub.getGroup(roleId)).thenAnswer(invocation -> Response.builder()
+                .status(APIMgtConstants.HTTPStatusCodes.SC_200_OK).headers(new HashMap<>())
+                .body(groupResponseBody.getBytes()).build());
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(idpImpl.getIdOfUser("John"), userId);
+            Assert.assertEquals(idpImpl.getRoleNamesOfUser(userId).get(0), "subscriber");
+            Assert.assertEquals(idpImpl.getRoleIdsOfUser(userId).get(0), roleId);
+            Assert.assertEquals(idpImpl.getRoleName(roleId), "subscriber");
+        }
+        // role names and role ids of a user are retrieved with the same request
+        Mockito.verify(scimServiceStub, Mockito.times(1)).searchUsers("userName Eq John");
+        Mockito.verify(scimServiceStub, Mockito.times(1)).getUser(userId);
+        Mockito.verify(scimServiceStub, Mockito.times(1)).getGroup(roleId);
+        Assert.assertEquals(cache.getMissCount(), 3);
+        Assert.assertEquals(cache.getHitCount(), 9);
+
+        // returned lists are copies of the cached roles
+        idpImpl.getRoleNamesOfUser(userId).clear();
+        Assert.assertEquals(idpImpl.getRoleNamesOfUser(userId).size(), 1);
+
+        idpImpl.getCache().invalidateUser(userId);
+        idpImpl.getRoleIdsOfUser(userId);
+        Mockito.verify(scimServiceStub, Mockito.times(2)).getUser(userId);
+    }
 }
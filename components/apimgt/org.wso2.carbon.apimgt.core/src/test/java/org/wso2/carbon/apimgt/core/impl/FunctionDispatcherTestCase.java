@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.configuration.models.EventDispatchConfigurations;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.models.Event;
+import org.wso2.carbon.apimgt.core.models.Function;
+import org.wso2.carbon.apimgt.core.models.HttpResponse;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test cases for the function dispatcher
+ */
+public class FunctionDispatcherTestCase {
+
+    private static final String USER_NAME = "userName";
+
+    @Test(description = "Test that a slow function endpoint does not delay the other endpoints")
+    public void testSlowEndpointDoesNotDelayOthers() throws Exception {
+        FunctionDispatcher dispatcher = new FunctionDispatcher(createConfigurations(4, 10, 1, 10000));
+        CountDownLatch slowInvocationReleased = new CountDownLatch(1);
+        CountDownLatch fastInvocationsDone = new CountDownLatch(2);
+
+        dispatcher.dispatch(createFunction("slow"), Event.API_CREATION, USER_NAME, () -> {
+            await(slowInvocationReleased);
+            return createResponse(200);
+        });
+        dispatcher.dispatch(createFunction("fast1"), Event.API_CREATION, USER_NAME, () -> {
+            fastInvocationsDone.countDown();
+            return createResponse(200);
+        });
+        dispatcher.dispatch(createFunction("fast2"), Event.API_CREATION, USER_NAME, () -> {
+            fastInvocationsDone.countDown();
+            return createResponse(201);
+        });
+
+        Assert.assertTrue(fastInvocationsDone.await(10, TimeUnit.SECONDS));
+        slowInvocationReleased.countDown();
+        waitUntilCompleted(dispatcher);
+        Assert.assertEquals(dispatcher.getDeliveredCount(), 3);
+        Assert.assertEquals(dispatcher.getFailedCount(), 0);
+        Assert.assertTrue(dispatcher.getDeadLetters().isEmpty());
+    }
+
+    @Test(description = "Test that concurrent invocations of an endpoint are limited")
+    public void testConcurrentInvocationsPerEndpointLimited() throws Exception {
+        FunctionDispatcher dispatcher = new FunctionDispatcher(createConfigurations(8, 100, 2, 10000));
+        Function function = createFunction("limited");
+        AtomicInteger concurrentInvocations = new AtomicInteger();
+        AtomicInteger maxConcurrentInvocations = new AtomicInteger();
+
+        for (int i = 0; i < 20; i++) {
+            dispatcher.dispatch(function, Event.API_CREATION, USER_NAME, () -> {
+                int current = concurrentInvocations.incrementAndGet();
+                maxConcurrentInvocations.accumulateAndGet(current, Math::max);
+                pause(5);
+                concurrentInvocations.decrementAndGet();
+                return createResponse(200);
+            });
+        }
+        waitUntilCompleted(dispatcher);
+        Assert.assertEquals(dispatcher.getDeliveredCount(), 20);
+        Assert.assertTrue(maxConcurrentInvocations.get() <= 2);
+    }
+
+    @Test(description = "Test that invocations beyond the queue capacity are rejected as dead letters")
+    public void testInvocationRejectedWhenQueueFull() throws Exception {
+        FunctionDispatcher dispatcher = new FunctionDispatcher(createConfigurations(1, 1, 1, 10000));
+        CountDownLatch invocationReleased = new CountDownLatch(1);
+
+        Assert.assertTrue(dispatcher.dispatch(createFunction("first"), Event.API_CREATION, USER_NAME, () -> {
+            await(invocationReleased);
+            return createResponse(200);
+        }));
+        Assert.assertFalse(dispatcher.dispatch(createFunction("second"), Event.API_UPDATE, USER_NAME,
+                () -> createResponse(200)));
+        Assert.assertEquals(dispatcher.getQueueDepth(), 1);
+        Assert.assertEquals(dispatcher.getRejectedCount(), 1);
+
+        List<FunctionDispatcher.DeadLetter> deadLetters = dispatcher.getDeadLetters();
+        Assert.assertEquals(deadLetters.size(), 1);
+        Assert.assertEquals(deadLetters.get(0).getFunctionName(), "second");
+        Assert.assertEquals(deadLetters.get(0).getEvent(), Event.API_UPDATE);
+        Assert.assertTrue(deadLetters.get(0).getReason().startsWith("Rejected"));
+
+        invocationReleased.countDown();
+        waitUntilCompleted(dispatcher);
+        Assert.assertEquals(dispatcher.getDeliveredCount(), 1);
+    }
+
+    @Test(description = "Test that failed and timed out invocations are recorded as dead letters")
+    public void testFailedInvocationsRecorded() throws Exception {
+        FunctionDispatcher dispatcher = new FunctionDispatcher(createConfigurations(1, 10, 1, 50));
+        Function function = createFunction("failing");
+
+        dispatcher.dispatch(function, Event.API_CREATION, USER_NAME, () -> {
+            // delays the next invocation of the endpoint beyond the delivery timeout
+            pause(100);
+            return createResponse(500);
+        });
+        dispatcher.dispatch(function, Event.API_CREATION, USER_NAME, () -> createResponse(200));
+        waitUntilCompleted(dispatcher);
+        dispatcher.dispatch(function, Event.API_CREATION, USER_NAME, () -> {
+            throw new APIManagementException("Connection refused");
+        });
+        waitUntilCompleted(dispatcher);
+
+        List<FunctionDispatcher.DeadLetter> deadLetters = dispatcher.getDeadLetters();
+        Assert.assertEquals(deadLetters.size(), 3);
+        Assert.assertEquals(deadLetters.get(0).getResponseCode(), 500);
+        Assert.assertEquals(deadLetters.get(1).getReason(), "Not delivered within 50 ms");
+        Assert.assertEquals(deadLetters.get(2).getReason(), "Failed to make http request: Connection refused");
+        Assert.assertEquals(dispatcher.getFailedCount(), 3);
+        Assert.assertEquals(dispatcher.getDeliveredCount(), 0);
+        Assert.assertTrue(dispatcher.getMaxLatency() >= 100);
+    }
+
+    @Test(description = "Test that endpoints without queued or running invocations are removed")
+    public void testIdleEndpointsRemoved() throws Exception {
+        FunctionDispatcher dispatcher = new FunctionDispatcher(createConfigurations(4, 100, 2, 10000));
+        CountDownLatch invocationReleased = new CountDownLatch(1);
+
+        dispatcher.dispatch(createFunction("busy"), Event.API_CREATION, USER_NAME, () -> {
+            await(invocationReleased);
+            return createResponse(200);
+        });
+        for (int i = 0; i < 10; i++) {
+            dispatcher.dispatch(createFunction("deleted" + i), Event.API_CREATION, USER_NAME,
+                    () -> createResponse(200));
+        }
+        waitUntilEndpointCount(dispatcher, 1);
+
+        invocationReleased.countDown();
+        waitUntilCompleted(dispatcher);
+        waitUntilEndpointCount(dispatcher, 0);
+        Assert.assertEquals(dispatcher.getDeliveredCount(), 11);
+
+        // a removed endpoint is created again for a later invocation
+        dispatcher.dispatch(createFunction("busy"), Event.API_UPDATE, USER_NAME, () -> createResponse(200));
+        waitUntilCompleted(dispatcher);
+        waitUntilEndpointCount(dispatcher, 0);
+        Assert.assertEquals(dispatcher.getDeliveredCount(), 12);
+    }
+
+    private static EventDispatchConfigurations createConfigurations(int threadPoolSize, int queueCapacity,
+                                                                    int maxConcurrentInvocationsPerEndpoint,
+                                                                    long deliveryTimeout) {
+        EventDispatchConfigurations eventDispatchConfigurations = new EventDispatchConfigurations();
+        eventDispatchConfigurations.setFunctionThreadPoolSize(threadPoolSize);
+        eventDispatchConfigurations.setFunctionQueueCapacity(queueCapacity);
+        eventDispatchConfigurations.setMaxConcurrentInvocationsPerEndpoint(maxConcurrentInvocationsPerEndpoint);
+        eventDispatchConfigurations.setFunctionDeliveryTimeout(deliveryTimeout);
+        return eventDispatchConfigurations;
+    }
+
+    private static Function createFunction(String name) {
+        return new Function(name, URI.create("http://localhost/functions/" + name));
+    }
+
+    private static HttpResponse createResponse(int responseCode) {
+        HttpResponse response = new HttpResponse();
+        response.setResponseCode(responseCode);
+        return response;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntilCompleted(FunctionDispatcher dispatcher) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (dispatcher.getQueueDepth() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(dispatcher.getQueueDepth(), 0);
+    }
+
+    private static void waitUntilEndpointCount(FunctionDispatcher dispatcher, int endpointCount)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (dispatcher.getEndpointCount() != endpointCount && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(dispatcher.getEndpointCount(), endpointCount);
+    }
+}
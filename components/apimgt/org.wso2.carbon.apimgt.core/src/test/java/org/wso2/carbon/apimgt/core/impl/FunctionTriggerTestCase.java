@@ -24,6 +24,7 @@ import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import org.wso2.carbon.apimgt.core.api.RestCallUtil;
+import org.wso2.carbon.apimgt.core.configuration.models.EventDispatchConfigurations;
 import org.wso2.carbon.apimgt.core.dao.FunctionDAO;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.models.Event;
@@ -34,6 +35,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -100,6 +102,50 @@ public class FunctionTriggerTestCase {
         }
     }
 
+    @Test(description = "Test that functions are invoked asynchronously through the dispatcher")
+    public void testCaptureEventDispatched() throws APIManagementException, URISyntaxException {
+        FunctionDAO functionDAO = Mockito.mock(FunctionDAO.class);
+        RestCallUtil restCallUtil = Mockito.mock(RestCallUtil.class);
+        FunctionDispatcher functionDispatcher = new FunctionDispatcher(new EventDispatchConfigurations());
+        FunctionTrigger functionTrigger = new FunctionTrigger(functionDAO, restCallUtil, functionDispatcher);
+
+        Function function = new Function(FUNCTION_NAME, new URI("http://testEndpointUri"));
+        Function failingFunction = new Function("failingFunction", new URI("http://failingEndpointUri"));
+        HttpResponse response = new HttpResponse();
+        response.setResponseCode(200);
+        HttpResponse errorResponse = new HttpResponse();
+        errorResponse.setResponseCode(500);
+
+        Mockito.when(functionDAO.getUserFunctionsForEvent(USER_NAME, Event.API_CREATION))
+                .thenReturn(new ArrayList<>(Arrays.asList(function, failingFunction)));
+        Mockito.when(restCallUtil
+                .postRequest(Mockito.eq(function.getEndpointURI()), Mockito.eq(null), Mockito.eq(null), Mockito.any(),
+                        Mockito.eq(MediaType.APPLICATION_JSON_TYPE), Mockito.eq(Collections.emptyMap())))
+                .thenReturn(response);
+        Mockito.when(restCallUtil
+                .postRequest(Mockito.eq(failingFunction.getEndpointURI()), Mockito.eq(null), Mockito.eq(null),
+                        Mockito.any(), Mockito.eq(MediaType.APPLICATION_JSON_TYPE),
+                        Mockito.eq(Collections.emptyMap())))
+                .thenReturn(errorResponse);
+        functionTrigger.captureEvent(Event.API_CREATION, USER_NAME, ZonedDateTime.now(), new HashMap<>());
+
+        Mockito.verify(restCallUtil, Mockito.timeout(5000))
+                .postRequest(Mockito.eq(function.getEndpointURI()), Mockito.eq(null), Mockito.eq(null), Mockito.any(),
+                        Mockito.eq(MediaType.APPLICATION_JSON_TYPE), Mockito.eq(Collections.emptyMap()));
+        Mockito.verify(restCallUtil, Mockito.timeout(5000))
+                .postRequest(Mockito.eq(failingFunction.getEndpointURI()), Mockito.eq(null), Mockito.eq(null),
+                        Mockito.any(), Mockito.eq(MediaType.APPLICATION_JSON_TYPE),
+                        Mockito.eq(Collections.emptyMap()));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (functionDispatcher.getQueueDepth() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        Assert.assertEquals(functionDispatcher.getDeliveredCount(), 1);
+        Assert.assertEquals(functionDispatcher.getDeadLetters().size(), 1);
+        Assert.assertEquals(functionDispatcher.getDeadLetters().get(0).getFunctionName(), "failingFunction");
+        Assert.assertEquals(functionDispatcher.getDeadLetters().get(0).getResponseCode(), 500);
+    }
+
     @Test(description = "Exception thrown from the FunctionTrigger constructor")
     public void testConstructorException() {
         FunctionDAO functionDAO = Mockito.mock(FunctionDAO.class);
@@ -118,5 +164,12 @@ public class FunctionTriggerTestCase {
         } catch (IllegalArgumentException e) {
             Assert.assertEquals(e.getMessage(), "RestCallUtil param must not be null");
         }
+
+        //When functionDispatcher is null
+        try {
+            FunctionTrigger functionTrigger = new FunctionTrigger(functionDAO, restCallUtil, null);
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals(e.getMessage(), "FunctionDispatcher param must not be null");
+        }
     }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.api.APIMObservable;
+import org.wso2.carbon.apimgt.core.configuration.models.EventDispatchConfigurations;
+import org.wso2.carbon.apimgt.core.models.Event;
+
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test cases for the observer notifier thread pool
+ */
+public class ObserverNotifierThreadPoolTestCase {
+
+    private static final String USER_NAME = "userName";
+
+    @Test(description = "Test that events are dropped when the queue is full with the discard policy")
+    public void testEventsDiscardedWhenQueueFull() throws Exception {
+        ObserverNotifierThreadPool threadPool = new ObserverNotifierThreadPool(
+                createConfigurations(ObserverNotifierThreadPool.DISCARD_POLICY));
+        CountDownLatch notificationStarted = new CountDownLatch(1);
+        CountDownLatch notificationReleased = new CountDownLatch(1);
+        APIMObservable observable = Mockito.mock(APIMObservable.class);
+        Mockito.doAnswer(invocation -> {
+            notificationStarted.countDown();
+            notificationReleased.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(observable).notifyObservers(Mockito.eq(Event.API_CREATION), Mockito.anyString(), Mockito.any(),
+                Mockito.any());
+
+        // the first event occupies the only thread, the second one the queue and the third one is dropped
+        threadPool.executeTask(createNotifier(Event.API_CREATION, observable));
+        Assert.assertTrue(notificationStarted.await(10, TimeUnit.SECONDS));
+        threadPool.executeTask(createNotifier(Event.API_UPDATE, observable));
+        threadPool.executeTask(createNotifier(Event.API_DELETION, observable));
+        Assert.assertEquals(threadPool.getSubmittedCount(), 3);
+        Assert.assertEquals(threadPool.getRejectedCount(), 1);
+        Assert.assertEquals(threadPool.getQueueSize(), 1);
+
+        notificationReleased.countDown();
+        waitUntilCompleted(threadPool, 2);
+        Mockito.verify(observable, Mockito.never()).notifyObservers(Mockito.eq(Event.API_DELETION),
+                Mockito.anyString(), Mockito.any(), Mockito.any());
+    }
+
+    @Test(description = "Test that observers are notified in the calling thread when the queue is full")
+    public void testCallerNotifiesWhenQueueFull() throws Exception {
+        ObserverNotifierThreadPool threadPool = new ObserverNotifierThreadPool(
+                createConfigurations(ObserverNotifierThreadPool.CALLER_RUNS_POLICY));
+        CountDownLatch notificationStarted = new CountDownLatch(1);
+        CountDownLatch notificationReleased = new CountDownLatch(1);
+        AtomicReference<Thread> notifyingThread = new AtomicReference<>();
+        APIMObservable observable = Mockito.mock(APIMObservable.class);
+        Mockito.doAnswer(invocation -> {
+            notificationStarted.countDown();
+            notificationReleased.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(observable).notifyObservers(Mockito.eq(Event.API_CREATION), Mockito.anyString(), Mockito.any(),
+                Mockito.any());
+        Mockito.doAnswer(invocation -> {
+            notifyingThread.set(Thread.currentThread());
+            return null;
+        }).when(observable).notifyObservers(Mockito.eq(Event.API_DELETION), Mockito.anyString(), Mockito.any(),
+                Mockito.any());
+
+        threadPool.executeTask(createNotifier(Event.API_CREATION, observable));
+        Assert.assertTrue(notificationStarted.await(10, TimeUnit.SECONDS));
+        threadPool.executeTask(createNotifier(Event.API_UPDATE, observable));
+        threadPool.executeTask(createNotifier(Event.API_DELETION, observable));
+        Assert.assertEquals(notifyingThread.get(), Thread.currentThread());
+        Assert.assertEquals(threadPool.getRejectedCount(), 1);
+
+        notificationReleased.countDown();
+        waitUntilCompleted(threadPool, 3);
+        Assert.assertTrue(threadPool.getMaxQueueLatency() >= threadPool.getAverageQueueLatency());
+    }
+
+    private static EventDispatchConfigurations createConfigurations(String rejectionPolicy) {
+        EventDispatchConfigurations eventDispatchConfigurations = new EventDispatchConfigurations();
+        eventDispatchConfigurations.setNotifierCorePoolSize(1);
+        eventDispatchConfigurations.setNotifierMaxPoolSize(1);
+        eventDispatchConfigurations.setNotifierQueueCapacity(1);
+        eventDispatchConfigurations.setNotifierRejectionPolicy(rejectionPolicy);
+        return eventDispatchConfigurations;
+    }
+
+    private static ObserverNotifier createNotifier(Event event, APIMObservable observable) {
+        Map<String, String> metadata = new HashMap<>();
+        return new ObserverNotifier(event, USER_NAME, ZonedDateTime.now(), metadata, observable);
+    }
+
+    private static void waitUntilCompleted(ObserverNotifierThreadPool threadPool, long completedCount)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (threadPool.getCompletedCount() < completedCount && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(threadPool.getCompletedCount(), completedCount);
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.configuration.models.RestClientConfigurations;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.models.HttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * Test cases for {@link RestCallUtilImpl} and its {@link PooledHttpTransport}, against a local HTTP server
+ */
+public class RestCallUtilImplTestCase {
+
+    private static final String RESPONSE_BODY = "{\"status\":\"ok\"}";
+
+    private HttpServer server;
+    private URI baseUri;
+    private final Set<InetSocketAddress> clientAddresses = ConcurrentHashMap.newKeySet();
+    private volatile CountDownLatch slowRequestStarted;
+    private volatile CountDownLatch slowRequestReleased;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/ok", exchange -> {
+            clientAddresses.add(exchange.getRemoteAddress());
+            readRequestBody(exchange);
+            writeResponse(exchange, 200, RESPONSE_BODY);
+        });
+        server.createContext("/missing", exchange -> {
+            clientAddresses.add(exchange.getRemoteAddress());
+            writeResponse(exchange, 404, "{\"error\":\"not found\"}");
+        });
+        server.createContext("/slow", exchange -> {
+            slowRequestStarted.countDown();
+            try {
+                slowRequestReleased.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writeResponse(exchange, 200, RESPONSE_BODY);
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        baseUri = URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort());
+    }
+
+    @AfterClass
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test(description = "Test that connections are kept alive and reused across requests")
+    public void testConnectionsReused() throws Exception {
+        PooledHttpTransport transport = new PooledHttpTransport(new RestClientConfigurations());
+        RestCallUtilImpl restCallUtil = new RestCallUtilImpl(transport);
+        clientAddresses.clear();
+
+        for (int i = 0; i < 10; i++) {
+            HttpResponse response = restCallUtil.getRequest(baseUri.resolve("/ok"), MediaType.APPLICATION_JSON_TYPE,
+                    Collections.singletonList("JSESSIONID=1234; Path=/"));
+            Assert.assertEquals(response.getResponseCode(), 200);
+            Assert.assertEquals(response.getResults(), RESPONSE_BODY + "\n");
+
+            response = restCallUtil.postRequest(baseUri.resolve("/ok"), MediaType.APPLICATION_JSON_TYPE, null,
+                    Entity.json("{\"event\":\"API_CREATION\"}"), MediaType.APPLICATION_JSON_TYPE,
+                    Collections.emptyMap());
+            Assert.assertEquals(response.getResponseCode(), 200);
+
+            // the error body is read as well so that the connection can be reused
+            response = restCallUtil.deleteRequest(baseUri.resolve("/missing"), null, null);
+            Assert.assertEquals(response.getResponseCode(), 404);
+            Assert.assertNull(response.getResults());
+        }
+        Assert.assertEquals(clientAddresses.size(), 1);
+
+        PooledHttpTransport.RouteStatistics statistics = transport.getStatistics()
+                .get("http://" + baseUri.getHost() + ":" + baseUri.getPort());
+        Assert.assertEquals(statistics.getRequestCount(), 30);
+        Assert.assertEquals(statistics.getLeasedConnections(), 0);
+        Assert.assertEquals(statistics.getRetryCount(), 0);
+    }
+
+    @Test(description = "Test that the concurrent requests to a route are limited")
+    public void testRequestsPerRouteLimited() throws Exception {
+        RestClientConfigurations restClientConfigurations = new RestClientConfigurations();
+        restClientConfigurations.setMaxConnectionsPerRoute(1);
+        restClientConfigurations.setConnectionRequestTimeout(100);
+        PooledHttpTransport transport = new PooledHttpTransport(restClientConfigurations);
+        RestCallUtilImpl restCallUtil = new RestCallUtilImpl(transport);
+        slowRequestStarted = new CountDownLatch(1);
+        slowRequestReleased = new CountDownLatch(1);
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<HttpResponse> slowResponse = executorService.submit(() ->
+                    restCallUtil.getRequest(baseUri.resolve("/slow"), null, null));
+            Assert.assertTrue(slowRequestStarted.await(10, TimeUnit.SECONDS));
+            try {
+                restCallUtil.getRequest(baseUri.resolve("/ok"), null, null);
+                Assert.fail("Request should time out waiting for a connection");
+            } catch (APIManagementException e) {
+                Assert.assertTrue(e.getMessage().startsWith("Timed out waiting for a connection"));
+            }
+            PooledHttpTransport.RouteStatistics statistics = transport.getStatistics()
+                    .get("http://" + baseUri.getHost() + ":" + baseUri.getPort());
+            Assert.assertEquals(statistics.getLeasedConnections(), 1);
+            Assert.assertEquals(statistics.getTimeoutCount(), 1);
+
+            slowRequestReleased.countDown();
+            Assert.assertEquals(slowResponse.get(10, TimeUnit.SECONDS).getResponseCode(), 200);
+            Assert.assertEquals(restCallUtil.getRequest(baseUri.resolve("/ok"), null, null).getResponseCode(), 200);
+        } finally {
+            slowRequestReleased.countDown();
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test(description = "Test that only idempotent requests are retried when the connection fails")
+    public void testIdempotentRequestsRetried() throws Exception {
+        RestClientConfigurations restClientConfigurations = new RestClientConfigurations();
+        restClientConfigurations.setMaxRetries(2);
+        restClientConfigurations.setRetryBackoff(1);
+        PooledHttpTransport transport = new PooledHttpTransport(restClientConfigurations);
+        RestCallUtilImpl restCallUtil = new RestCallUtilImpl(transport);
+
+        // a service that closes every connection without responding
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            Thread acceptor = new Thread(() -> {
+                while (!serverSocket.isClosed()) {
+                    try (Socket socket = serverSocket.accept()) {
+                        socket.setSoLinger(true, 0);
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+            URI uri = URI.create("http://" + serverSocket.getInetAddress().getHostAddress() + ":"
+                    + serverSocket.getLocalPort() + "/closed");
+            String route = "http://" + uri.getHost() + ":" + uri.getPort();
+
+            try {
+                restCallUtil.getRequest(uri, null, null);
+                Assert.fail("Request to a failing service should fail");
+            } catch (APIManagementException e) {
+                Assert.assertEquals(e.getMessage(), "Connection not established properly ");
+            }
+            PooledHttpTransport.RouteStatistics statistics = transport.getStatistics().get(route);
+            Assert.assertEquals(statistics.getRequestCount(), 3);
+            Assert.assertEquals(statistics.getRetryCount(), 2);
+            Assert.assertEquals(statistics.getFailureCount(), 1);
+
+            try {
+                restCallUtil.postRequest(uri, null, null, Entity.json("{}"), MediaType.APPLICATION_JSON_TYPE, null);
+                Assert.fail("Request to a failing service should fail");
+            } catch (APIManagementException e) {
+                Assert.assertEquals(e.getMessage(), "Connection not established properly ");
+            }
+            statistics = transport.getStatistics().get(route);
+            Assert.assertEquals(statistics.getRequestCount(), 4);
+            Assert.assertEquals(statistics.getRetryCount(), 2);
+            Assert.assertEquals(statistics.getFailureCount(), 2);
+        }
+    }
+
+    private static void readRequestBody(HttpExchange exchange) throws IOException {
+        try (InputStream inputStream = exchange.getRequestBody()) {
+            byte[] buffer = new byte[1024];
+            int read;
+            do {
+                read = inputStream.read(buffer);
+            } while (read != -1);
+        }
+    }
+
+    private static void writeResponse(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] content = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", MediaType.APPLICATION_JSON);
+        exchange.sendResponseHeaders(status, content.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(content);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.template;
+
+import org.apache.velocity.Template;
+import org.apache.velocity.VelocityContext;
+import org.apache.velocity.exception.ResourceNotFoundException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Test cases for the template service.
+ */
+public class TemplateServiceTestCase {
+
+    private static final String APP_POLICY_TEMPLATE = "resources" + File.separator + "template" + File.separator
+            + "policy_templates" + File.separator + "throttle_policy_template_app.xml";
+    private static final String GREETING_TEMPLATE = "greeting.vm";
+
+    @Test(description = "Test that a template is compiled only once")
+    public void testTemplateCompiledOnce() {
+        TemplateService templateService = new TemplateService(null, 0);
+        templateService.preload(Arrays.asList(APP_POLICY_TEMPLATE, "missing.vm"));
+        Assert.assertEquals(templateService.getCompileCount(), 1);
+
+        Template template = templateService.getTemplate(APP_POLICY_TEMPLATE);
+        Assert.assertSame(templateService.getTemplate(APP_POLICY_TEMPLATE), template);
+        Assert.assertEquals(templateService.getCompileCount(), 1);
+        Assert.assertEquals(templateService.size(), 1);
+        try {
+            templateService.getTemplate("missing.vm");
+            Assert.fail("Missing template should not be found");
+        } catch (ResourceNotFoundException e) {
+            Assert.assertEquals(templateService.size(), 1);
+        }
+    }
+
+    @Test(description = "Test that an overridden template is compiled again when it changes")
+    public void testOverriddenTemplateReloaded() throws Exception {
+        File templateDirectory = Files.createTempDirectory("templates").toFile();
+        File greetingTemplate = new File(templateDirectory, GREETING_TEMPLATE);
+        try {
+            TemplateService templateService = new TemplateService(templateDirectory.getAbsolutePath(), 1);
+            writeTemplate(greetingTemplate, "Hello $name", 1000000000000L);
+            Assert.assertEquals(render(templateService, GREETING_TEMPLATE), "Hello world");
+            // templates that are not overridden are loaded from the classpath
+            Assert.assertNotNull(templateService.getTemplate(APP_POLICY_TEMPLATE));
+
+            writeTemplate(greetingTemplate, "Hi $name", 1000000002000L);
+            Thread.sleep(10);
+            Assert.assertEquals(render(templateService, GREETING_TEMPLATE), "Hi world");
+            Assert.assertEquals(templateService.getReloadCount(), 1);
+
+            // the previously compiled template is used while the changed template has errors
+            writeTemplate(greetingTemplate, "#if($name", 1000000004000L);
+            Thread.sleep(10);
+            Assert.assertEquals(render(templateService, GREETING_TEMPLATE), "Hi world");
+            Thread.sleep(10);
+            Assert.assertEquals(render(templateService, GREETING_TEMPLATE), "Hi world");
+            Assert.assertEquals(templateService.getReloadCount(), 1);
+            Assert.assertEquals(templateService.getCompileCount(), 3);
+        } finally {
+            Files.deleteIfExists(greetingTemplate.toPath());
+            Files.deleteIfExists(templateDirectory.toPath());
+        }
+    }
+
+    @Test(description = "Test that a template is rendered concurrently")
+    public void testConcurrentRendering() throws Exception {
+        File templateDirectory = Files.createTempDirectory("templates").toFile();
+        File greetingTemplate = new File(templateDirectory, GREETING_TEMPLATE);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            writeTemplate(greetingTemplate, "#foreach($i in [1..3])$name$i #end", 1000000000000L);
+            TemplateService templateService = new TemplateService(templateDirectory.getAbsolutePath(), 0);
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                String name = "api" + i + "_";
+                results.add(executorService.submit(() -> render(templateService, GREETING_TEMPLATE, name)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                Assert.assertEquals(results.get(i).get(), "api" + i + "_1 api" + i + "_2 api" + i + "_3 ");
+            }
+            Assert.assertEquals(templateService.getCompileCount(), 1);
+        } finally {
+            executorService.shutdownNow();
+            Files.deleteIfExists(greetingTemplate.toPath());
+            Files.deleteIfExists(templateDirectory.toPath());
+        }
+    }
+
+    private static void writeTemplate(File file, String content, long lastModified) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        // set explicitly as the file system may not record changes within the same second
+        Assert.assertTrue(file.setLastModified(lastModified));
+    }
+
+    private static String render(TemplateService templateService, String templatePath) {
+        return render(templateService, templatePath, "world");
+    }
+
+    private static String render(TemplateService templateService, String templatePath, String name) {
+        VelocityContext context = new VelocityContext();
+        context.put("name", name);
+        StringWriter writer = new StringWriter();
+        templateService.getTemplate(templatePath).merge(context, writer);
+        return writer.toString();
+    }
+}
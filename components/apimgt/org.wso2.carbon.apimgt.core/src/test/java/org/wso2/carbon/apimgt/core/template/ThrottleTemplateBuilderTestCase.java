@@ -20,6 +20,7 @@ package org.wso2.carbon.apimgt.core.template;
 
 
 import com.google.common.io.Files;
+import org.apache.commons.lang3.StringUtils;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
@@ -27,9 +28,12 @@ import org.wso2.carbon.apimgt.core.SampleTestObjectCreator;
 import org.wso2.carbon.apimgt.core.models.policy.APIPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.ApplicationPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.CustomPolicy;
+import org.wso2.carbon.apimgt.core.models.policy.RequestCountLimit;
 import org.wso2.carbon.apimgt.core.models.policy.SubscriptionPolicy;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -94,4 +98,41 @@ public class ThrottleTemplateBuilderTestCase {
         String expectedQuery = SampleTestObjectCreator.createDefaultSiddhiAppForAPILevelDefaultThrottlePolicy();
         Assert.assertEquals(actualQuery, expectedQuery);
     }
+
+    @Test
+    public void testSiddhiQueryForCombinedPolicies() throws APITemplateException {
+        ApplicationPolicy appPolicy = SampleTestObjectCreator.createDefaultApplicationPolicy();
+        ApplicationPolicy otherAppPolicy = SampleTestObjectCreator.createDefaultApplicationPolicy();
+        otherAppPolicy.setPolicyName("OtherAppPolicy");
+        SubscriptionPolicy subscriptionPolicy = SampleTestObjectCreator.createDefaultSubscriptionPolicy();
+        subscriptionPolicy.getDefaultQuotaPolicy().setLimit(new RequestCountLimit("min", 1, 100));
+        Assert.assertTrue(CombinedThrottlePolicyTemplateBuilder.isCombinable(appPolicy));
+
+        CombinedThrottlePolicyTemplateBuilder templateBuilder = new CombinedThrottlePolicyTemplateBuilder(
+                Arrays.asList(appPolicy, otherAppPolicy), Collections.singletonList(subscriptionPolicy));
+        String siddhiQuery = templateBuilder.getThrottlePolicyForAllLevels();
+        Assert.assertTrue(siddhiQuery.contains("@App:name('throttle_policies')"));
+        // a row per policy, and a window per distinct unit time of a level
+        Assert.assertEquals(StringUtils.countMatches(siddhiQuery, "INSERT INTO ApplicationPolicyTable;"), 2);
+        Assert.assertEquals(StringUtils.countMatches(siddhiQuery, "INSERT INTO SubscriptionPolicyTable;"), 1);
+        Assert.assertTrue(siddhiQuery.contains("'OtherAppPolicy' AS policyName"));
+        Assert.assertEquals(StringUtils.countMatches(siddhiQuery, "FROM ApplicationEligibilityStream["), 1);
+        Assert.assertEquals(StringUtils.countMatches(siddhiQuery, "FROM SubscriptionEligibilityStream["), 1);
+        Assert.assertTrue(siddhiQuery.contains("SubscriptionEligibilityStream[windowTime == '1 min']"
+                + "#throttler:countingTimeBatch(1 min, throttleKey, 0)"));
+        Assert.assertTrue(siddhiQuery.contains("RequestStream.appTier == ApplicationPolicyTable.policyName"));
+        Assert.assertTrue(siddhiQuery.contains(
+                "RequestStream.subscriptionTier == SubscriptionPolicyTable.policyName"));
+    }
+
+    @Test
+    public void testSiddhiQueryForCombinedPoliciesOfOneLevel() throws APITemplateException {
+        ApplicationPolicy appPolicy = SampleTestObjectCreator.createDefaultApplicationPolicy();
+        CombinedThrottlePolicyTemplateBuilder templateBuilder = new CombinedThrottlePolicyTemplateBuilder(
+                Collections.singletonList(appPolicy), Collections.<SubscriptionPolicy>emptyList());
+        String siddhiQuery = templateBuilder.getThrottlePolicyForAllLevels();
+        Assert.assertTrue(siddhiQuery.contains("FROM ApplicationEligibilityStream["));
+        Assert.assertFalse(siddhiQuery.contains("SubscriptionEligibilityStream"));
+    }
 }
+
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.core.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.SampleTestObjectCreator;
+import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.CompositeAPI;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test cases for the API cache
+ */
+public class APICacheTestCase {
+
+    @Test
+    public void testAPILoadedOnce() throws Exception {
+        APICache apiCache = new APICache(true, 10, 60000);
+        API api = SampleTestObjectCreator.createDefaultAPI().build();
+        AtomicInteger loadCount = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            API cachedAPI = apiCache.getAPI(api.getId(), () -> {
+                loadCount.incrementAndGet();
+                return api;
+            });
+            Assert.assertEquals(cachedAPI.getId(), api.getId());
+        }
+        Assert.assertEquals(loadCount.get(), 1);
+        Assert.assertEquals(apiCache.getMissCount(), 1);
+        Assert.assertEquals(apiCache.getHitCount(), 4);
+    }
+
+    @Test
+    public void testCachedAPIReturnedAsCopy() throws Exception {
+        APICache apiCache = new APICache(true, 10, 60000);
+        API api = SampleTestObjectCreator.createDefaultAPI().build();
+        API firstCopy = apiCache.getAPI(api.getId(), () -> api);
+        firstCopy.getUriTemplates().clear();
+        firstCopy.getPermissionMap().put("admin", 7);
+        firstCopy.getLabels().add("private");
+        firstCopy.getCorsConfiguration().getAllowOrigins().add("https://example.com");
+
+        API secondCopy = apiCache.getAPI(api.getId(), () -> api);
+        Assert.assertNotSame(secondCopy, firstCopy);
+        Assert.assertEquals(secondCopy.getUriTemplates().size(), api.getUriTemplates().size());
+        Assert.assertFalse(secondCopy.getPermissionMap().containsKey("admin"));
+        Assert.assertFalse(secondCopy.getLabels().contains("private"));
+        Assert.assertFalse(secondCopy.getCorsConfiguration().getAllowOrigins().contains("https://example.com"));
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        APICache apiCache = new APICache(true, 10, 60000);
+        List<String> publishedApiIds = new ArrayList<>();
+        apiCache.setInvalidationPublisher(publishedApiIds::add);
+        API api = SampleTestObjectCreator.createDefaultAPI().build();
+        AtomicInteger loadCount = new AtomicInteger();
+        APICache.Loader<API> loader = () -> {
+            loadCount.incrementAndGet();
+            return api;
+        };
+
+        apiCache.getAPI(api.getId(), loader);
+        apiCache.invalidate(api.getId());
+        apiCache.getAPI(api.getId(), loader);
+        Assert.assertEquals(loadCount.get(), 2);
+        Assert.assertEquals(publishedApiIds.size(), 1);
+        Assert.assertEquals(publishedApiIds.get(0), api.getId());
+
+        // invalidations received from other nodes are not published again
+        apiCache.invalidateLocally(api.getId());
+        Assert.assertEquals(apiCache.size(), 0);
+        Assert.assertEquals(publishedApiIds.size(), 1);
+        Assert.assertEquals(apiCache.getInvalidationCount(), 2);
+    }
+
+    @Test
+    public void testAPIInvalidatedWhileLoadingNotCached() throws Exception {
+        APICache apiCache = new APICache(true, 10, 60000);
+        API api = SampleTestObjectCreator.createDefaultAPI().build();
+        apiCache.getAPI(api.getId(), () -> {
+            // the API is changed by another thread after it was read from the database
+            apiCache.invalidate(api.getId());
+            return api;
+        });
+        Assert.assertEquals(apiCache.size(), 0);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedAPIEvicted() throws Exception {
+        APICache apiCache = new APICache(true, 2, 60000);
+        API api1 = SampleTestObjectCreator.createUniqueAPI().build();
+        API api2 = SampleTestObjectCreator.createUniqueAPI().build();
+        API api3 = SampleTestObjectCreator.createUniqueAPI().build();
+        AtomicInteger loadCount = new AtomicInteger();
+
+        apiCache.getAPI(api1.getId(), () -> api1);
+        apiCache.getAPI(api2.getId(), () -> api2);
+        apiCache.getAPI(api1.getId(), () -> api1);
+        apiCache.getAPI(api3.getId(), () -> api3);
+        Assert.assertEquals(apiCache.size(), 2);
+        Assert.assertEquals(apiCache.getEvictionCount(), 1);
+
+        apiCache.getAPI(api1.getId(), () -> {
+            loadCount.incrementAndGet();
+            return api1;
+        });
+        Assert.assertEquals(loadCount.get(), 0);
+    }
+
+    @Test
+    public void testExpiredAPIReloaded() throws Exception {
+        APICache apiCache = new APICache(true, 10, 0);
+        API api = SampleTestObjectCreator.createDefaultAPI().build();
+        AtomicInteger loadCount = new AtomicInteger();
+        APICache.Loader<API> loader = () -> {
+            loadCount.incrementAndGet();
+            return api;
+        };
+
+        apiCache.getAPI(api.getId(), loader);
+        apiCache.getAPI(api.getId(), loader);
+        Assert.assertEquals(loadCount.get(), 2);
+    }
+
+    @Test
+    public void testCompositeAPICached() throws Exception {
+        APICache apiCache = new APICache(true, 10, 60000);
+        CompositeAPI compositeAPI = SampleTestObjectCreator.createUniqueCompositeAPI().build();
+        AtomicInteger loadCount = new AtomicInteger();
+        APICache.Loader<CompositeAPI> loader = () -> {
+            loadCount.incrementAndGet();
+            return compositeAPI;
+        };
+
+        CompositeAPI firstCopy = apiCache.getCompositeAPI(compositeAPI.getId(), loader);
+        firstCopy.getTransport().add("ws");
+        firstCopy.getPermissionMap().put("admin", 7);
+
+        CompositeAPI secondCopy = apiCache.getCompositeAPI(compositeAPI.getId(), loader);
+        Assert.assertNotSame(secondCopy, firstCopy);
+        Assert.assertEquals(secondCopy.getId(), compositeAPI.getId());
+        Assert.assertFalse(secondCopy.getTransport().contains("ws"));
+        Assert.assertFalse(secondCopy.getPermissionMap().containsKey("admin"));
+        Assert.assertEquals(loadCount.get(), 1);
+    }
+
+    @Test
+    public void testMissingAPINotCached() throws Exception {
+        APICache apiCache = new APICache(true, 10, 60000);
+        AtomicInteger loadCount = new AtomicInteger();
+        APICache.Loader<API> loader = () -> {
+            loadCount.incrementAndGet();
+            return null;
+        };
+
+        Assert.assertNull(apiCache.getAPI("missing", loader));
+        Assert.assertNull(apiCache.getAPI("missing", loader));
+        Assert.assertEquals(loadCount.get(), 2);
+    }
+
+    @Test
+    public void testDisabledCache() throws Exception {
+        APICache apiCache = new APICache(false, 10, 60000);
+        API api = SampleTestObjectCreator.createDefaultAPI().build();
+
+        Assert.assertSame(apiCache.getAPI(api.getId(), () -> api), api);
+        Assert.assertEquals(apiCache.size(), 0);
+        Assert.assertEquals(apiCache.getMissCount(), 0);
+    }
+}
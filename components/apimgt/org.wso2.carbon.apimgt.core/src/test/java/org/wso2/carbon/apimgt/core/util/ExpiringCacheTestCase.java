@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.core.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for the bounded expiring cache
+ */
+public class ExpiringCacheTestCase {
+
+    @Test
+    public void testLeastRecentlyUsedEvictedByWeight() throws Exception {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, 60000, String::length);
+        cache.put("a", "aaaa", cache.getInvalidationStamp());
+        cache.put("b", "bbbb", cache.getInvalidationStamp());
+        // a is the most recently used value
+        Assert.assertEquals(cache.get("a"), "aaaa");
+        cache.put("c", "cccc", cache.getInvalidationStamp());
+
+        Assert.assertEquals(cache.size(), 2);
+        Assert.assertEquals(cache.getWeight(), 8);
+        Assert.assertEquals(cache.getEvictionCount(), 1);
+        Assert.assertNull(cache.get("b"));
+
+        // a value heavier than the cache is not cached and does not evict the others
+        cache.put("d", "ddddddddddd", cache.getInvalidationStamp());
+        Assert.assertNull(cache.get("d"));
+        Assert.assertEquals(cache.size(), 2);
+    }
+
+    @Test
+    public void testValueNoLongerCurrentRemoved() throws Exception {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, 60000);
+        cache.put("a", "v1", cache.getInvalidationStamp());
+
+        Assert.assertEquals(cache.get("a", "v1"::equals), "v1");
+        Assert.assertNull(cache.get("a", "v2"::equals));
+        Assert.assertEquals(cache.size(), 0);
+        Assert.assertEquals(cache.getHitCount(), 1);
+        Assert.assertEquals(cache.getMissCount(), 1);
+    }
+
+    @Test
+    public void testValueLoadedBeforeInvalidationNotCached() throws Exception {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, 60000);
+        long invalidationStamp = cache.getInvalidationStamp();
+        cache.invalidate("a");
+        cache.put("a", "v1", invalidationStamp);
+        Assert.assertNull(cache.get("a"));
+
+        cache.put("a", "v1", cache.getInvalidationStamp());
+        cache.invalidateAll();
+        Assert.assertEquals(cache.size(), 0);
+        Assert.assertEquals(cache.getInvalidationCount(), 2);
+    }
+
+    @Test
+    public void testValueLoadedBeforeOtherKeyInvalidatedCached() throws Exception {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, 60000);
+        long invalidationStamp = cache.getInvalidationStamp();
+        cache.invalidate("b");
+        cache.put("a", "v1", invalidationStamp);
+        Assert.assertEquals(cache.get("a"), "v1");
+
+        // the value of b loaded after its invalidation is cached
+        cache.put("b", "v2", cache.getInvalidationStamp());
+        Assert.assertEquals(cache.get("b"), "v2");
+    }
+
+    @Test
+    public void testExpiry() throws Exception {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, 60000);
+        cache.put("a", "v1", cache.getInvalidationStamp(), System.currentTimeMillis() - 1);
+        Assert.assertNull(cache.get("a"));
+        Assert.assertEquals(cache.getEvictionCount(), 1);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.core.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+import org.wso2.carbon.apimgt.core.exception.GatewayException;
+import org.wso2.carbon.apimgt.core.models.events.GatewayEvent;
+import org.wso2.carbon.apimgt.core.models.events.GatewayEventBatch;
+import org.wso2.carbon.apimgt.core.models.events.PolicyEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Test cases for batching gateway events
+ */
+public class GatewayEventBatcherTestCase {
+
+    private static final String TOPIC = "ThrottleTopic";
+
+    @Test
+    public void testBatchPublishedWhenFull() throws Exception {
+        List<GatewayEvent> publishedEvents = Collections.synchronizedList(new ArrayList<>());
+        GatewayEventBatcher batcher = new GatewayEventBatcher((topic, event) -> publishedEvents.add(event), 3,
+                60000);
+        batcher.add(TOPIC, createPolicyEvent(APIMgtConstants.GatewayEventTypes.POLICY_CREATE, "1"), null);
+        batcher.add(TOPIC, createPolicyEvent(APIMgtConstants.GatewayEventTypes.POLICY_CREATE, "2"), null);
+        Assert.assertTrue(publishedEvents.isEmpty());
+
+        batcher.add(TOPIC, createPolicyEvent(APIMgtConstants.GatewayEventTypes.POLICY_CREATE, "3"), null);
+        Assert.assertEquals(publishedEvents.size(), 1);
+        GatewayEventBatch batch = (GatewayEventBatch) publishedEvents.get(0);
+        Assert.assertEquals(batch.getEventType(), APIMgtConstants.GatewayEventTypes.BATCH);
+        Assert.assertEquals(batch.getEvents().size(), 3);
+        Assert.assertEquals(((PolicyEvent) batch.getEvents().get(0)).getId(), "1");
+        Assert.assertEquals(((PolicyEvent) batch.getEvents().get(2)).getId(), "3");
+        Assert.assertEquals(batcher.getPublishedEventCount(), 3);
+        batcher.shutdown();
+    }
+
+    @Test
+    public void testSupersededEventsCoalesced() throws Exception {
+        List<GatewayEvent> publishedEvents = Collections.synchronizedList(new ArrayList<>());
+        GatewayEventBatcher batcher = new GatewayEventBatcher((topic, event) -> publishedEvents.add(event), 100,
+                60000);
+        batcher.add(TOPIC, createPolicyEvent(APIMgtConstants.GatewayEventTypes.POLICY_CREATE, "1"), null);
+        batcher.add(TOPIC, createPolicyEvent(APIMgtConstants.GatewayEventTypes.POLICY_UPDATE, "1"), "1");
+        batcher.add(TOPIC, createPolicyEvent(APIMgtConstants.GatewayEventTypes.POLICY_CREATE, "2"), null);
+        PolicyEvent latestUpdate = createPolicyEvent(APIMgtConstants.GatewayEventTypes.POLICY_UPDATE, "1");
+        batcher.add(TOPIC, latestUpdate, "1");
+        batcher.flushAll();
+
+        Assert.assertEquals(publishedEvents.size(), 1);
+        List<GatewayEvent> events = ((GatewayEventBatch) publishedEvents.get(0)).getEvents();
+        Assert.assertEquals(events.size(), 3);
+        Assert.assertEquals(events.get(0).getEventType(), APIMgtConstants.GatewayEventTypes.POLICY_CREATE);
+        Assert.assertSame(events.get(2), latestUpdate);
+        Assert.assertEquals(batcher.getCoalescedEventCount(), 1);
+        batcher.shutdown();
+    }
+
+    @Test
+    public void testBatchPublishedAfterLingerTime() throws Exception {
+        List<GatewayEvent> publishedEvents = Collections.synchronizedList(new ArrayList<>());
+        GatewayEventBatcher batcher = new GatewayEventBatcher((topic, event) -> publishedEvents.add(event), 100, 10);
+        PolicyEvent event = createPolicyEvent(APIMgtConstants.GatewayEventTypes.POLICY_DELETE, "1");
+        batcher.add(TOPIC, event, null);
+
+        long waitUntil = System.currentTimeMillis() + 5000;
+        while (publishedEvents.isEmpty() && System.currentTimeMillis() < waitUntil) {
+            Thread.sleep(10);
+        }
+        // a batch with a single event is published as the event itself
+        Assert.assertEquals(publishedEvents.size(), 1);
+        Assert.assertSame(publishedEvents.get(0), event);
+        batcher.shutdown();
+    }
+
+    @Test
+    public void testFailedBatchPublishedAgain() throws Exception {
+        List<GatewayEvent> publishedEvents = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean brokerAvailable = new AtomicBoolean(false);
+        GatewayEventBatcher batcher = new GatewayEventBatcher((topic, event) -> {
+            if (!brokerAvailable.get()) {
+                throw new GatewayException("Broker is not available", ExceptionCodes.GATEWAY_EXCEPTION);
+            }
+            publishedEvents.add(event);
+        }, 100, 60000);
+        batcher.add(TOPIC, createPolicyEvent(APIMgtConstants.GatewayEventTypes.POLICY_CREATE, "1"), null);
+        batcher.add(TOPIC, createPolicyEvent(APIMgtConstants.GatewayEventTypes.POLICY_UPDATE, "2"), "2");
+        batcher.add(TOPIC, createPolicyEvent(APIMgtConstants.GatewayEventTypes.POLICY_UPDATE, "3"), "3");
+        batcher.flushAll();
+        Assert.assertTrue(publishedEvents.isEmpty());
+        Assert.assertEquals(batcher.getFailedBatchCount(), 1);
+        Assert.assertEquals(batcher.getPendingEventCount(), 3);
+
+        // events added after the failure are published after the failed events, superseding them if coalesced
+        PolicyEvent latestUpdate = createPolicyEvent(APIMgtConstants.GatewayEventTypes.POLICY_UPDATE, "2");
+        batcher.add(TOPIC, latestUpdate, "2");
+        batcher.add(TOPIC, createPolicyEvent(APIMgtConstants.GatewayEventTypes.POLICY_DELETE, "4"), null);
+        brokerAvailable.set(true);
+        batcher.flushAll();
+
+        Assert.assertEquals(publishedEvents.size(), 1);
+        List<GatewayEvent> events = ((GatewayEventBatch) publishedEvents.get(0)).getEvents();
+        Assert.assertEquals(events.size(), 4);
+        Assert.assertEquals(((PolicyEvent) events.get(0)).getId(), "1");
+        Assert.assertEquals(((PolicyEvent) events.get(1)).getId(), "3");
+        Assert.assertSame(events.get(2), latestUpdate);
+        Assert.assertEquals(((PolicyEvent) events.get(3)).getId(), "4");
+        Assert.assertEquals(batcher.getPendingEventCount(), 0);
+        Assert.assertEquals(batcher.getPublishedEventCount(), 4);
+        batcher.shutdown();
+    }
+
+    @Test
+    public void testFailedBatchRetriedAfterLingerTime() throws Exception {
+        List<GatewayEvent> publishedEvents = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean brokerAvailable = new AtomicBoolean(false);
+        GatewayEventBatcher batcher = new GatewayEventBatcher((topic, event) -> {
+            if (!brokerAvailable.getAndSet(true)) {
+                throw new GatewayException("Broker is not available", ExceptionCodes.GATEWAY_EXCEPTION);
+            }
+            publishedEvents.add(event);
+        }, 100, 10);
+        PolicyEvent event = createPolicyEvent(APIMgtConstants.GatewayEventTypes.POLICY_DELETE, "1");
+        batcher.add(TOPIC, event, null);
+
+        long waitUntil = System.currentTimeMillis() + 5000;
+        while (publishedEvents.isEmpty() && System.currentTimeMillis() < waitUntil) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(publishedEvents.size(), 1);
+        Assert.assertSame(publishedEvents.get(0), event);
+        Assert.assertEquals(batcher.getFailedBatchCount(), 1);
+        batcher.shutdown();
+    }
+
+    private PolicyEvent createPolicyEvent(String eventType, String id) {
+        PolicyEvent policyEvent = new PolicyEvent(eventType);
+        policyEvent.setId(id);
+        policyEvent.setName("policy" + id);
+        return policyEvent;
+    }
+}
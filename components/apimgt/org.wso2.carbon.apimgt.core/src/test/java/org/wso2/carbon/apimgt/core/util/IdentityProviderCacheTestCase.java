@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.core.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+import org.wso2.carbon.apimgt.core.exception.IdentityProviderException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test cases for the identity provider cache
+ */
+public class IdentityProviderCacheTestCase {
+
+    @Test
+    public void testUserIdLoadedOnce() throws Exception {
+        IdentityProviderCache cache = new IdentityProviderCache(true, 10, 60000, false);
+        AtomicInteger loadCount = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            String userId = cache.getUserId("John", () -> {
+                loadCount.incrementAndGet();
+                return "cfbde56e-8422-498e-b6dc-85a6f1f8b058";
+            });
+            Assert.assertEquals(userId, "cfbde56e-8422-498e-b6dc-85a6f1f8b058");
+        }
+        Assert.assertEquals(loadCount.get(), 1);
+        Assert.assertEquals(cache.getMissCount(), 1);
+        Assert.assertEquals(cache.getHitCount(), 4);
+    }
+
+    @Test
+    public void testUserRolesNotModifiable() throws Exception {
+        IdentityProviderCache cache = new IdentityProviderCache(true, 10, 60000, false);
+        IdentityProviderCache.UserRoles userRoles = cache.getUserRoles("user1", () ->
+                new IdentityProviderCache.UserRoles(new ArrayList<>(Arrays.asList("subscriber", "manager")),
+                        new ArrayList<>(Arrays.asList("roleId1", "roleId2"))));
+        try {
+            userRoles.getRoleNames().add("admin");
+            Assert.fail("Cached role names should not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            Assert.assertEquals(cache.getUserRoles("user1", () -> null).getRoleNames().size(), 2);
+        }
+    }
+
+    @Test
+    public void testFailedLookupNotCached() throws Exception {
+        IdentityProviderCache cache = new IdentityProviderCache(true, 10, 60000, true);
+        try {
+            cache.getRoleName("roleId1", () -> {
+                throw new IdentityProviderException("Role not found", ExceptionCodes.RESOURCE_RETRIEVAL_FAILED);
+            });
+            Assert.fail("Exception of the loader should be thrown");
+        } catch (IdentityProviderException e) {
+            Assert.assertEquals(e.getMessage(), "Role not found");
+        }
+        Assert.assertEquals(cache.size(), 0);
+        Assert.assertEquals(cache.getRoleName("roleId1", () -> "subscriber"), "subscriber");
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        IdentityProviderCache cache = new IdentityProviderCache(true, 10, 60000, false);
+        AtomicInteger loadCount = new AtomicInteger();
+        IdentityProviderCache.Loader<IdentityProviderCache.UserRoles> loader = () -> {
+            loadCount.incrementAndGet();
+            return new IdentityProviderCache.UserRoles(Arrays.asList("subscriber"), Arrays.asList("roleId1"));
+        };
+
+        cache.getUserId("John", () -> "user1");
+        cache.getRoleName("roleId1", () -> "subscriber");
+        cache.getUserRoles("user1", loader);
+        cache.invalidateUser("user1");
+        cache.getUserRoles("user1", loader);
+        Assert.assertEquals(loadCount.get(), 2);
+
+        // roles of users hold role names, hence they are removed along with a role
+        cache.invalidateRole("roleId1");
+        Assert.assertEquals(cache.size(), 1);
+        cache.getUserRoles("user1", loader);
+        Assert.assertEquals(loadCount.get(), 3);
+
+        cache.invalidateAll();
+        Assert.assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void testInvalidatedWhileLoadingNotCached() throws Exception {
+        IdentityProviderCache cache = new IdentityProviderCache(true, 10, 60000, true);
+        cache.getUserId("John", () -> {
+            // the user is renamed by another thread after it was retrieved from the identity provider
+            cache.invalidateUserName("John");
+            return "user1";
+        });
+        Assert.assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() throws Exception {
+        IdentityProviderCache cache = new IdentityProviderCache(true, 2, 60000, false);
+        cache.getRoleName("roleId1", () -> "subscriber");
+        cache.getRoleName("roleId2", () -> "manager");
+        cache.getRoleName("roleId1", () -> "subscriber");
+        cache.getRoleName("roleId3", () -> "engineer");
+        Assert.assertEquals(cache.size(), 2);
+        Assert.assertEquals(cache.getEvictionCount(), 1);
+
+        AtomicInteger loadCount = new AtomicInteger();
+        cache.getRoleName("roleId1", () -> {
+            loadCount.incrementAndGet();
+            return "subscriber";
+        });
+        cache.getRoleName("roleId2", () -> {
+            loadCount.incrementAndGet();
+            return "manager";
+        });
+        Assert.assertEquals(loadCount.get(), 1);
+    }
+
+    @Test
+    public void testExpiredEntryLoadedAgain() throws Exception {
+        IdentityProviderCache cache = new IdentityProviderCache(true, 10, 0, false);
+        AtomicInteger loadCount = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            cache.getUserId("John", () -> {
+                loadCount.incrementAndGet();
+                return "user1";
+            });
+        }
+        Assert.assertEquals(loadCount.get(), 3);
+    }
+
+    @Test
+    public void testDisabledCache() throws Exception {
+        IdentityProviderCache cache = new IdentityProviderCache(false, 10, 60000, true);
+        AtomicInteger loadCount = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            cache.getUserId("John", () -> {
+                loadCount.incrementAndGet();
+                return "user1";
+            });
+        }
+        Assert.assertEquals(loadCount.get(), 3);
+        Assert.assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void testConcurrentMissesCoalesced() throws Exception {
+        IdentityProviderCache cache = new IdentityProviderCache(true, 10, 60000, true);
+        int threadCount = 5;
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        AtomicInteger loadCount = new AtomicInteger();
+        IdentityProviderCache.Loader<String> loader = () -> {
+            loadCount.incrementAndGet();
+            loadStarted.countDown();
+            try {
+                releaseLoad.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "user1";
+        };
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executorService.submit(() -> cache.getUserId("John", loader)));
+            Assert.assertTrue(loadStarted.await(10, TimeUnit.SECONDS));
+            for (int i = 1; i < threadCount; i++) {
+                results.add(executorService.submit(() -> cache.getUserId("John", loader)));
+            }
+            // wait until the other threads are waiting for the pending load
+            long deadline = System.currentTimeMillis() + 10000;
+            while (cache.getCoalescedMissCount() < threadCount - 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            releaseLoad.countDown();
+            for (Future<String> result : results) {
+                Assert.assertEquals(result.get(10, TimeUnit.SECONDS), "user1");
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assert.assertEquals(loadCount.get(), 1);
+        Assert.assertEquals(cache.getMissCount(), threadCount);
+        Assert.assertEquals(cache.getCoalescedMissCount(), threadCount - 1);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.core.util;
+
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.api.Broker;
+import org.wso2.carbon.apimgt.core.exception.BrokerException;
+
+import javax.jms.JMSException;
+import javax.jms.TextMessage;
+import javax.jms.Topic;
+import javax.jms.TopicConnection;
+import javax.jms.TopicPublisher;
+import javax.jms.TopicSession;
+
+/**
+ * Test cases for pooled topic publishers
+ */
+public class TopicPublisherPoolTestCase {
+
+    private static final String TOPIC = "PublisherTopic";
+
+    @Test
+    public void testConnectionAndSessionReused() throws Exception {
+        Broker broker = Mockito.mock(Broker.class);
+        TopicConnection topicConnection = createTopicConnection();
+        Mockito.when(broker.getTopicConnection()).thenReturn(topicConnection);
+
+        TopicPublisherPool topicPublisherPool = new TopicPublisherPool(broker, 2, 1000);
+        for (int i = 0; i < 10; i++) {
+            topicPublisherPool.publish(TOPIC, "message" + i);
+        }
+        Mockito.verify(broker, Mockito.times(1)).getTopicConnection();
+        Mockito.verify(topicConnection, Mockito.times(1)).start();
+        Mockito.verify(topicConnection, Mockito.times(1)).createTopicSession(Mockito.anyBoolean(), Mockito.anyInt());
+        Assert.assertEquals(topicPublisherPool.getPublishCount(), 10);
+        Assert.assertEquals(topicPublisherPool.getActiveSessionCount(), 0);
+
+        topicPublisherPool.close();
+        Mockito.verify(topicConnection, Mockito.times(1)).close();
+    }
+
+    @Test
+    public void testReconnectOnPublishFailure() throws Exception {
+        Broker broker = Mockito.mock(Broker.class);
+        TopicConnection brokenConnection = createTopicConnection();
+        TopicSession brokenSession = brokenConnection.createTopicSession(false, 1);
+        TopicPublisher brokenPublisher = brokenSession.createPublisher(null);
+        Mockito.doThrow(new JMSException("connection lost")).when(brokenPublisher)
+                .publish(Mockito.any(TextMessage.class));
+        TopicConnection topicConnection = createTopicConnection();
+        Mockito.when(broker.getTopicConnection()).thenReturn(brokenConnection, topicConnection);
+
+        TopicPublisherPool topicPublisherPool = new TopicPublisherPool(broker, 2, 1000);
+        topicPublisherPool.publish(TOPIC, "message");
+
+        Mockito.verify(brokenConnection, Mockito.times(1)).close();
+        Mockito.verify(broker, Mockito.times(2)).getTopicConnection();
+        Assert.assertEquals(topicPublisherPool.getReconnectCount(), 1);
+        Assert.assertEquals(topicPublisherPool.getPublishCount(), 1);
+        Assert.assertEquals(topicPublisherPool.getPublishFailureCount(), 0);
+    }
+
+    @Test(expectedExceptions = BrokerException.class)
+    public void testPoolExhausted() throws Exception {
+        Broker broker = Mockito.mock(Broker.class);
+        Mockito.when(broker.getTopicConnection()).thenReturn(createTopicConnection());
+
+        TopicPublisherPool topicPublisherPool = new TopicPublisherPool(broker, 0, 10);
+        try {
+            topicPublisherPool.publish(TOPIC, "message");
+        } finally {
+            Assert.assertEquals(topicPublisherPool.getPoolExhaustedCount(), 1);
+            Assert.assertEquals(topicPublisherPool.getPublishFailureCount(), 1);
+        }
+    }
+
+    private TopicConnection createTopicConnection() throws JMSException {
+        TopicConnection topicConnection = Mockito.mock(TopicConnection.class);
+        TopicSession topicSession = Mockito.mock(TopicSession.class);
+        TopicPublisher topicPublisher = Mockito.mock(TopicPublisher.class);
+        Mockito.when(topicConnection.createTopicSession(Mockito.anyBoolean(), Mockito.anyInt()))
+                .thenReturn(topicSession);
+        Mockito.when(topicSession.createTopic(Mockito.anyString())).thenReturn(Mockito.mock(Topic.class));
+        Mockito.when(topicSession.createPublisher(Mockito.any(Topic.class))).thenReturn(topicPublisher);
+        Mockito.when(topicSession.createTextMessage(Mockito.anyString())).thenReturn(Mockito.mock(TextMessage.class));
+        return topicConnection;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.core.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for the WSDL cache
+ */
+public class WSDLCacheTestCase {
+    private static final String API_ID = "api";
+    private static final String LABEL = "Default";
+
+    @Test
+    public void testWSDLCachedForVersion() throws Exception {
+        WSDLCache wsdlCache = new WSDLCache(true, 1024, 60000);
+        WSDLCache.ProcessedWSDL processedWSDL = createProcessedWSDL(100);
+        wsdlCache.put(API_ID, LABEL, "v1", processedWSDL, wsdlCache.getInvalidationStamp());
+
+        Assert.assertSame(wsdlCache.get(API_ID, LABEL, "v1"), processedWSDL);
+        Assert.assertNull(wsdlCache.get(API_ID, "other", "v1"));
+        Assert.assertEquals(wsdlCache.getHitCount(), 1);
+        Assert.assertEquals(wsdlCache.getMissCount(), 1);
+
+        // a WSDL processed from an older version is discarded
+        Assert.assertNull(wsdlCache.get(API_ID, LABEL, "v2"));
+        Assert.assertEquals(wsdlCache.size(), 0);
+        Assert.assertEquals(wsdlCache.getSizeInBytes(), 0);
+        Assert.assertNull(wsdlCache.get(API_ID, LABEL, "v1"));
+    }
+
+    @Test
+    public void testEvictionBySize() throws Exception {
+        WSDLCache wsdlCache = new WSDLCache(true, 250, 60000);
+        wsdlCache.put("api1", LABEL, "v1", createProcessedWSDL(100), wsdlCache.getInvalidationStamp());
+        wsdlCache.put("api2", LABEL, "v1", createProcessedWSDL(100), wsdlCache.getInvalidationStamp());
+        // api1 is the most recently used WSDL
+        Assert.assertNotNull(wsdlCache.get("api1", LABEL, "v1"));
+        wsdlCache.put("api3", LABEL, "v1", createProcessedWSDL(100), wsdlCache.getInvalidationStamp());
+
+        Assert.assertEquals(wsdlCache.size(), 2);
+        Assert.assertEquals(wsdlCache.getSizeInBytes(), 200);
+        Assert.assertEquals(wsdlCache.getEvictionCount(), 1);
+        Assert.assertNotNull(wsdlCache.get("api1", LABEL, "v1"));
+        Assert.assertNull(wsdlCache.get("api2", LABEL, "v1"));
+        Assert.assertNotNull(wsdlCache.get("api3", LABEL, "v1"));
+
+        // a WSDL larger than the cache is not cached
+        wsdlCache.put("api4", LABEL, "v1", createProcessedWSDL(300), wsdlCache.getInvalidationStamp());
+        Assert.assertNull(wsdlCache.get("api4", LABEL, "v1"));
+        Assert.assertEquals(wsdlCache.getSizeInBytes(), 200);
+    }
+
+    @Test
+    public void testReplaceWSDL() throws Exception {
+        WSDLCache wsdlCache = new WSDLCache(true, 1024, 60000);
+        wsdlCache.put(API_ID, LABEL, "v1", createProcessedWSDL(100), wsdlCache.getInvalidationStamp());
+        wsdlCache.put(API_ID, LABEL, "v2", createProcessedWSDL(50), wsdlCache.getInvalidationStamp());
+
+        Assert.assertEquals(wsdlCache.size(), 1);
+        Assert.assertEquals(wsdlCache.getSizeInBytes(), 50);
+        Assert.assertNotNull(wsdlCache.get(API_ID, LABEL, "v2"));
+    }
+
+    @Test
+    public void testInvalidateAll() throws Exception {
+        WSDLCache wsdlCache = new WSDLCache(true, 1024, 60000);
+        wsdlCache.put(API_ID, LABEL, "v1", createProcessedWSDL(100), wsdlCache.getInvalidationStamp());
+        long invalidationStamp = wsdlCache.getInvalidationStamp();
+        wsdlCache.invalidateAll();
+
+        Assert.assertNull(wsdlCache.get(API_ID, LABEL, "v1"));
+        Assert.assertEquals(wsdlCache.getSizeInBytes(), 0);
+        // a WSDL processed before the invalidation is not cached
+        wsdlCache.put(API_ID, LABEL, "v1", createProcessedWSDL(100), invalidationStamp);
+        Assert.assertNull(wsdlCache.get(API_ID, LABEL, "v1"));
+    }
+
+    @Test
+    public void testExpiry() throws Exception {
+        WSDLCache wsdlCache = new WSDLCache(true, 1024, 0);
+        wsdlCache.put(API_ID, LABEL, "v1", createProcessedWSDL(100), wsdlCache.getInvalidationStamp());
+        Assert.assertNull(wsdlCache.get(API_ID, LABEL, "v1"));
+    }
+
+    @Test
+    public void testDisabledCache() throws Exception {
+        WSDLCache wsdlCache = new WSDLCache(false, 1024, 60000);
+        wsdlCache.put(API_ID, LABEL, "v1", createProcessedWSDL(100), wsdlCache.getInvalidationStamp());
+        Assert.assertNull(wsdlCache.get(API_ID, LABEL, "v1"));
+        Assert.assertEquals(wsdlCache.size(), 0);
+    }
+
+    private static WSDLCache.ProcessedWSDL createProcessedWSDL(int size) throws Exception {
+        byte[] content = new byte[size];
+        return new WSDLCache.ProcessedWSDL(content, ETagUtils.generateETag(content), null, null);
+    }
+}
@@ -0,0 +1,67 @@
+package org.wso2.carbon.apimgt.rest.api.admin;
+
+
+import io.swagger.annotations.ApiParam;
+
+import org.wso2.carbon.apimgt.rest.api.admin.dto.APICacheStatisticsDTO;
+import org.wso2.carbon.apimgt.rest.api.admin.dto.ErrorDTO;
+import org.wso2.carbon.apimgt.rest.api.admin.factories.CachesApiServiceFactory;
+
+import org.wso2.msf4j.Microservice;
+import org.wso2.msf4j.Request;
+import org.wso2.msf4j.formparam.FileInfo;
+import org.wso2.msf4j.formparam.FormDataParam;
+import org.osgi.service.component.annotations.Component;
+
+import java.io.InputStream;
+import javax.ws.rs.ApplicationPath;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.FormParam;
+import javax.ws.rs.GET;
+import javax.ws.rs.HEAD;
+import javax.ws.rs.OPTIONS;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.POST;
+import javax.ws.rs.PUT;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Response;
+
+@Component(
+    name = "org.wso2.carbon.apimgt.rest.api.admin.CachesApi",
+    service = Microservice.class,
+    immediate = true
+)
+@Path("/api/am/admin/v1.[\\d]+/caches")
+@Consumes({ "application/json" })
+@Produces({ "application/json" })
+@ApplicationPath("/caches")
+@io.swagger.annotations.Api(description = "the caches API")
+public class CachesApi implements Microservice  {
+   private final CachesApiService delegate = CachesApiServiceFactory.getCachesApi();
+
+    @OPTIONS
+    @GET
+    @Path("/api")
+    @Consumes({ "application/json" })
+    @Produces({ "application/json" })
+    @io.swagger.annotations.ApiOperation(value = "Get the statistics of the API cache", notes = "Get the size, hit, miss, eviction and invalidation counts of the API cache of the node serving the request ", response = APICacheStatisticsDTO.class, authorizations = {
+        @io.swagger.annotations.Authorization(value = "OAuth2Security", scopes = {
+            @io.swagger.annotations.AuthorizationScope(scope = "apim:cache_view", description = "Cache statistics view")
+        })
+    }, tags={ "API Cache", })
+    @io.swagger.annotations.ApiResponses(value = { 
+        @io.swagger.annotations.ApiResponse(code = 200, message = "OK. API cache statistics returned ", response = APICacheStatisticsDTO.class),
+        
+        @io.swagger.annotations.ApiResponse(code = 500, message = "Internal Server Error. ", response = APICacheStatisticsDTO.class) })
+    public Response cachesApiGet( @Context Request request)
+    throws NotFoundException {
+        
+        return delegate.cachesApiGet(request);
+    }
+}
@@ -0,0 +1,23 @@
+package org.wso2.carbon.apimgt.rest.api.admin;
+
+import org.wso2.carbon.apimgt.rest.api.admin.*;
+import org.wso2.carbon.apimgt.rest.api.admin.dto.*;
+
+import org.wso2.msf4j.formparam.FormDataParam;
+import org.wso2.msf4j.formparam.FileInfo;
+import org.wso2.msf4j.Request;
+
+import org.wso2.carbon.apimgt.rest.api.admin.dto.APICacheStatisticsDTO;
+import org.wso2.carbon.apimgt.rest.api.admin.dto.ErrorDTO;
+
+import java.util.List;
+import org.wso2.carbon.apimgt.rest.api.admin.NotFoundException;
+
+import java.io.InputStream;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+
+public abstract class CachesApiService {
+    public abstract Response cachesApiGet( Request request) throws NotFoundException;
+}
@@ -0,0 +1,211 @@
+package org.wso2.carbon.apimgt.rest.api.admin.dto;
+
+
+import com.google.gson.annotations.SerializedName;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.Objects;
+
+/**
+ * APICacheStatisticsDTO
+ */
+public class APICacheStatisticsDTO   {
+  @SerializedName("enabled")
+  private Boolean enabled = null;
+
+  @SerializedName("size")
+  private Integer size = null;
+
+  @SerializedName("maxSize")
+  private Integer maxSize = null;
+
+  @SerializedName("hitCount")
+  private Long hitCount = null;
+
+  @SerializedName("missCount")
+  private Long missCount = null;
+
+  @SerializedName("evictionCount")
+  private Long evictionCount = null;
+
+  @SerializedName("invalidationCount")
+  private Long invalidationCount = null;
+
+  public APICacheStatisticsDTO enabled(Boolean enabled) {
+    this.enabled = enabled;
+    return this;
+  }
+
+   /**
+   * Whether the API cache is enabled
+   * @return enabled
+  **/
+  @ApiModelProperty(example = "true", value = "Whether the API cache is enabled")
+  public Boolean getEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(Boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public APICacheStatisticsDTO size(Integer size) {
+    this.size = size;
+    return this;
+  }
+
+   /**
+   * Number of APIs currently in the cache
+   * @return size
+  **/
+  @ApiModelProperty(example = "120", value = "Number of APIs currently in the cache")
+  public Integer getSize() {
+    return size;
+  }
+
+  public void setSize(Integer size) {
+    this.size = size;
+  }
+
+  public APICacheStatisticsDTO maxSize(Integer maxSize) {
+    this.maxSize = maxSize;
+    return this;
+  }
+
+   /**
+   * Maximum number of APIs kept in the cache
+   * @return maxSize
+  **/
+  @ApiModelProperty(example = "1000", value = "Maximum number of APIs kept in the cache")
+  public Integer getMaxSize() {
+    return maxSize;
+  }
+
+  public void setMaxSize(Integer maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public APICacheStatisticsDTO hitCount(Long hitCount) {
+    this.hitCount = hitCount;
+    return this;
+  }
+
+   /**
+   * Number of API lookups served from the cache
+   * @return hitCount
+  **/
+  @ApiModelProperty(example = "5400", value = "Number of API lookups served from the cache")
+  public Long getHitCount() {
+    return hitCount;
+  }
+
+  public void setHitCount(Long hitCount) {
+    this.hitCount = hitCount;
+  }
+
+  public APICacheStatisticsDTO missCount(Long missCount) {
+    this.missCount = missCount;
+    return this;
+  }
+
+   /**
+   * Number of API lookups served from the database
+   * @return missCount
+  **/
+  @ApiModelProperty(example = "130", value = "Number of API lookups served from the database")
+  public Long getMissCount() {
+    return missCount;
+  }
+
+  public void setMissCount(Long missCount) {
+    this.missCount = missCount;
+  }
+
+  public APICacheStatisticsDTO evictionCount(Long evictionCount) {
+    this.evictionCount = evictionCount;
+    return this;
+  }
+
+   /**
+   * Number of APIs removed from the cache due to size or expiry
+   * @return evictionCount
+  **/
+  @ApiModelProperty(example = "10", value = "Number of APIs removed from the cache due to size or expiry")
+  public Long getEvictionCount() {
+    return evictionCount;
+  }
+
+  public void setEvictionCount(Long evictionCount) {
+    this.evictionCount = evictionCount;
+  }
+
+  public APICacheStatisticsDTO invalidationCount(Long invalidationCount) {
+    this.invalidationCount = invalidationCount;
+    return this;
+  }
+
+   /**
+   * Number of invalidations caused by changes to APIs
+   * @return invalidationCount
+  **/
+  @ApiModelProperty(example = "25", value = "Number of invalidations caused by changes to APIs")
+  public Long getInvalidationCount() {
+    return invalidationCount;
+  }
+
+  public void setInvalidationCount(Long invalidationCount) {
+    this.invalidationCount = invalidationCount;
+  }
+
+
+  @Override
+  public boolean equals(java.lang.Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    APICacheStatisticsDTO aPICacheStatistics = (APICacheStatisticsDTO) o;
+    return Objects.equals(this.enabled, aPICacheStatistics.enabled) &&
+        Objects.equals(this.size, aPICacheStatistics.size) &&
+        Objects.equals(this.maxSize, aPICacheStatistics.maxSize) &&
+        Objects.equals(this.hitCount, aPICacheStatistics.hitCount) &&
+        Objects.equals(this.missCount, aPICacheStatistics.missCount) &&
+        Objects.equals(this.evictionCount, aPICacheStatistics.evictionCount) &&
+        Objects.equals(this.invalidationCount, aPICacheStatistics.invalidationCount);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(enabled, size, maxSize, hitCount, missCount, evictionCount, invalidationCount);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class APICacheStatisticsDTO {\n");
+    
+    sb.append("    enabled: ").append(toIndentedString(enabled)).append("\n");
+    sb.append("    size: ").append(toIndentedString(size)).append("\n");
+    sb.append("    maxSize: ").append(toIndentedString(maxSize)).append("\n");
+    sb.append("    hitCount: ").append(toIndentedString(hitCount)).append("\n");
+    sb.append("    missCount: ").append(toIndentedString(missCount)).append("\n");
+    sb.append("    evictionCount: ").append(toIndentedString(evictionCount)).append("\n");
+    sb.append("    invalidationCount: ").append(toIndentedString(invalidationCount)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces
+   * (except the first line).
+   */
+  private String toIndentedString(java.lang.Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
+
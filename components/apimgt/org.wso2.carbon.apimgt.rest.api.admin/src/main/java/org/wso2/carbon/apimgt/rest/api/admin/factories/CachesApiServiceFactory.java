@@ -0,0 +1,12 @@
+package org.wso2.carbon.apimgt.rest.api.admin.factories;
+
+import org.wso2.carbon.apimgt.rest.api.admin.CachesApiService;
+import org.wso2.carbon.apimgt.rest.api.admin.impl.CachesApiServiceImpl;
+
+public class CachesApiServiceFactory {
+    private static final CachesApiService service = new CachesApiServiceImpl();
+
+    public static CachesApiService getCachesApi() {
+        return service;
+    }
+}
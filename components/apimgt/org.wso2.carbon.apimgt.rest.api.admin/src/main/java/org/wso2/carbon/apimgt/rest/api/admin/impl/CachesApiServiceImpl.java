@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.rest.api.admin.impl;
+
+import org.wso2.carbon.apimgt.core.util.APICache;
+import org.wso2.carbon.apimgt.rest.api.admin.CachesApiService;
+import org.wso2.carbon.apimgt.rest.api.admin.NotFoundException;
+import org.wso2.carbon.apimgt.rest.api.admin.mappings.CacheMappingUtil;
+import org.wso2.msf4j.Request;
+
+import javax.ws.rs.core.Response;
+
+public class CachesApiServiceImpl extends CachesApiService {
+
+    /**
+     * Gets the statistics of the API cache of this node
+     *
+     * @param request msf4j request object
+     * @return API cache statistics
+     * @throws NotFoundException When the particular resource does not exist in the system
+     */
+    @Override
+    public Response cachesApiGet(Request request) throws NotFoundException {
+        return Response.status(Response.Status.OK)
+                .entity(CacheMappingUtil.fromAPICacheToStatisticsDTO(APICache.getInstance())).build();
+    }
+}
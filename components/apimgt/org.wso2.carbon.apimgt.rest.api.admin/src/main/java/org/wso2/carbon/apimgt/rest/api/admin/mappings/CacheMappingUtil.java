@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.rest.api.admin.mappings;
+
+import org.wso2.carbon.apimgt.core.util.APICache;
+import org.wso2.carbon.apimgt.rest.api.admin.dto.APICacheStatisticsDTO;
+
+/**
+ * Mapping cache statistics to rest api DTO objects.
+ */
+public class CacheMappingUtil {
+
+    /**
+     * Converts the statistics of an API cache into a REST API DTO object.
+     *
+     * @param apiCache API cache
+     * @return API cache statistics DTO
+     */
+    public static APICacheStatisticsDTO fromAPICacheToStatisticsDTO(APICache apiCache) {
+        APICacheStatisticsDTO statisticsDTO = new APICacheStatisticsDTO();
+        statisticsDTO.setEnabled(apiCache.isEnabled());
+        statisticsDTO.setSize(apiCache.size());
+        statisticsDTO.setMaxSize(apiCache.getMaxSize());
+        statisticsDTO.setHitCount(apiCache.getHitCount());
+        statisticsDTO.setMissCount(apiCache.getMissCount());
+        statisticsDTO.setEvictionCount(apiCache.getEvictionCount());
+        statisticsDTO.setInvalidationCount(apiCache.getInvalidationCount());
+        return statisticsDTO;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ *
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ *
+ */
+
+package org.wso2.carbon.apimgt.rest.api.admin.mappings;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.models.CompositeAPI;
+import org.wso2.carbon.apimgt.core.util.APICache;
+import org.wso2.carbon.apimgt.rest.api.admin.dto.APICacheStatisticsDTO;
+
+public class CacheMappingUtilTest {
+
+    @Test
+    public void testFromAPICacheToStatisticsDTO() throws Exception {
+        APICache apiCache = new APICache(true, 100, 60000);
+        CompositeAPI compositeAPI = new CompositeAPI.Builder().id("api-1").build();
+        apiCache.getCompositeAPI("api-1", () -> compositeAPI);
+        apiCache.getCompositeAPI("api-1", () -> compositeAPI);
+        apiCache.invalidate("api-1");
+
+        APICacheStatisticsDTO statisticsDTO = CacheMappingUtil.fromAPICacheToStatisticsDTO(apiCache);
+        Assert.assertTrue(statisticsDTO.getEnabled());
+        Assert.assertEquals(statisticsDTO.getSize(), Integer.valueOf(0));
+        Assert.assertEquals(statisticsDTO.getMaxSize(), Integer.valueOf(100));
+        Assert.assertEquals(statisticsDTO.getHitCount(), Long.valueOf(1));
+        Assert.assertEquals(statisticsDTO.getMissCount(), Long.valueOf(1));
+        Assert.assertEquals(statisticsDTO.getEvictionCount(), Long.valueOf(0));
+        Assert.assertEquals(statisticsDTO.getInvalidationCount(), Long.valueOf(1));
+    }
+}
@@ -47,6 +47,7 @@ import org.wso2.carbon.apimgt.rest.api.authenticator.constants.AuthenticatorCons
 import org.wso2.carbon.apimgt.rest.api.authenticator.utils.AuthUtil;
 import org.wso2.carbon.apimgt.rest.api.authenticator.utils.bean.AuthResponseBean;
 import org.wso2.carbon.apimgt.rest.api.common.APIConstants;
+import org.wso2.carbon.apimgt.rest.api.common.cache.TokenInfoCache;
 import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
 
 import java.io.UnsupportedEncodingException;
@@ -248,6 +249,7 @@ public class AuthenticatorService {
         Map<String, String> consumerKeySecretMap = getConsumerKeySecret(appName);
         getKeyManager().revokeAccessToken(accessToken,
                 consumerKeySecretMap.get("CONSUMER_KEY"), consumerKeySecretMap.get("CONSUMER_SECRET"));
+        TokenInfoCache.getInstance().invalidate(accessToken);
     }
 
     /**
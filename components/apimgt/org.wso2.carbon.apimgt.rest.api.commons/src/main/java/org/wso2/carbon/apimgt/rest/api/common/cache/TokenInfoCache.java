@@ -0,0 +1,164 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package org.wso2.carbon.apimgt.rest.api.common.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.configuration.APIMConfigurationService;
+import org.wso2.carbon.apimgt.core.configuration.models.KeyMgtConfigurations;
+import org.wso2.carbon.apimgt.core.models.AccessTokenInfo;
+import org.wso2.carbon.apimgt.core.util.ExpiringCache;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of validated access token information used by the REST API authenticator.
+ * <p>
+ * Entries are keyed by a SHA-256 hash of the token so raw tokens are never kept in memory, and each entry expires
+ * at the earlier of the configured expiry time and the token's own expiry time. Least recently used entries are
+ * evicted once the configured maximum size is reached.
+ */
+public class TokenInfoCache {
+    private static final Logger log = LoggerFactory.getLogger(TokenInfoCache.class);
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private static final TokenInfoCache instance = createDefaultInstance();
+
+    private final boolean enabled;
+    private final long expiryTimeInMillis;
+    private final ExpiringCache<String, AccessTokenInfo> tokenInfoCache;
+
+    /**
+     * Creates a token info cache. Use {@link #getInstance()} to get the cache configured for the server.
+     *
+     * @param enabled            Whether caching is enabled
+     * @param maxSize            Maximum number of tokens kept in the cache
+     * @param expiryTimeInMillis Maximum time a token is kept in the cache
+     */
+    public TokenInfoCache(boolean enabled, int maxSize, long expiryTimeInMillis) {
+        this.enabled = enabled;
+        this.expiryTimeInMillis = expiryTimeInMillis;
+        this.tokenInfoCache = new ExpiringCache<>(maxSize, expiryTimeInMillis);
+    }
+
+    /**
+     * Get TokenInfoCache instance
+     *
+     * @return TokenInfoCache object
+     */
+    public static TokenInfoCache getInstance() {
+        return instance;
+    }
+
+    private static TokenInfoCache createDefaultInstance() {
+        KeyMgtConfigurations keyMgtConfigurations = APIMConfigurationService.getInstance().getApimConfigurations()
+                .getKeyManagerConfigs();
+        return new TokenInfoCache(keyMgtConfigurations.isTokenInfoCacheEnabled(),
+                keyMgtConfigurations.getTokenInfoCacheMaxSize(),
+                TimeUnit.SECONDS.toMillis(keyMgtConfigurations.getTokenInfoCacheExpiryTime()));
+    }
+
+    /**
+     * Returns the cached information of a previously validated access token.
+     *
+     * @param accessToken Access token
+     * @return cached {@link AccessTokenInfo} or {@code null} if the token is not cached or has expired
+     */
+    public AccessTokenInfo get(String accessToken) {
+        if (!enabled || accessToken == null) {
+            return null;
+        }
+        return tokenInfoCache.get(hash(accessToken));
+    }
+
+    /**
+     * Adds the information of a validated access token to the cache. Only valid tokens which have not expired are
+     * cached.
+     *
+     * @param accessToken     Access token
+     * @param accessTokenInfo Information returned by the key manager for the token
+     */
+    public void put(String accessToken, AccessTokenInfo accessTokenInfo) {
+        if (!enabled || accessToken == null || accessTokenInfo == null || !accessTokenInfo.isTokenValid()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expiresAt = now + expiryTimeInMillis;
+        if (accessTokenInfo.getExpiryTime() > 0) {
+            expiresAt = Math.min(expiresAt, TimeUnit.SECONDS.toMillis(accessTokenInfo.getExpiryTime()));
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+        tokenInfoCache.put(hash(accessToken), accessTokenInfo, tokenInfoCache.getInvalidationStamp(), expiresAt);
+    }
+
+    /**
+     * Removes a token from the cache. This must be called whenever a token is revoked so that the revoked token is
+     * validated against the key manager on its next use.
+     *
+     * @param accessToken Access token to be removed
+     */
+    public void invalidate(String accessToken) {
+        if (accessToken == null) {
+            return;
+        }
+        tokenInfoCache.invalidate(hash(accessToken));
+        log.debug("Removed revoked access token from token info cache");
+    }
+
+    /**
+     * Removes all the tokens from the cache.
+     */
+    public void invalidateAll() {
+        tokenInfoCache.invalidateAll();
+    }
+
+    public int size() {
+        return tokenInfoCache.size();
+    }
+
+    public long getHitCount() {
+        return tokenInfoCache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return tokenInfoCache.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return tokenInfoCache.getEvictionCount();
+    }
+
+    private static String hash(String accessToken) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(HASH_ALGORITHM);
+            byte[] digest = messageDigest.digest(accessToken.getBytes(StandardCharsets.UTF_8));
+            return String.format("%064x", new BigInteger(1, digest));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is mandated by the JVM specification, hence this cannot happen
+            throw new IllegalStateException("Error while hashing access token", e);
+        }
+    }
+}
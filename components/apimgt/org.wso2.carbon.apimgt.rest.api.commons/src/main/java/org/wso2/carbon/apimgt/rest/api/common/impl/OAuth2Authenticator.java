@@ -35,6 +35,7 @@ import org.wso2.carbon.apimgt.core.models.AccessTokenInfo;
 import org.wso2.carbon.apimgt.rest.api.common.APIConstants;
 import org.wso2.carbon.apimgt.rest.api.common.RestApiConstants;
 import org.wso2.carbon.apimgt.rest.api.common.api.RESTAPIAuthenticator;
+import org.wso2.carbon.apimgt.rest.api.common.cache.TokenInfoCache;
 import org.wso2.carbon.apimgt.rest.api.common.exception.APIMgtSecurityException;
 import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
 import org.wso2.msf4j.Request;
@@ -100,14 +101,16 @@ public class OAuth2Authenticator implements RESTAPIAuthenticator {
                         partialTokenFromHeader + partialTokenFromCookie :
                         partialTokenFromCookie;
             }
-            isTokenValid = validateTokenAndScopes(request, serviceMethodInfo, accessToken);
-            request.setProperty(LOGGED_IN_USER, getEndUserName(accessToken));
+            AccessTokenInfo accessTokenInfo = validateToken(accessToken);
+            isTokenValid = validateTokenAndScopes(request, serviceMethodInfo, accessTokenInfo);
+            request.setProperty(LOGGED_IN_USER, accessTokenInfo.getEndUserName());
         } else if (headers != null && isAuthorizationHeaderPresent) {
             String authHeader = request.getHeader(RestApiConstants.AUTHORIZATION_HTTP_HEADER);
             String accessToken = extractAccessToken(authHeader);
             if (accessToken != null) {
-                isTokenValid = validateTokenAndScopes(request, serviceMethodInfo, accessToken);
-                request.setProperty(LOGGED_IN_USER, getEndUserName(accessToken));
+                AccessTokenInfo accessTokenInfo = validateToken(accessToken);
+                isTokenValid = validateTokenAndScopes(request, serviceMethodInfo, accessTokenInfo);
+                request.setProperty(LOGGED_IN_USER, accessTokenInfo.getEndUserName());
             }
         } else {
             throw new APIMgtSecurityException("Missing Authorization header in the request.`",
@@ -117,10 +120,8 @@ public class OAuth2Authenticator implements RESTAPIAuthenticator {
         return isTokenValid;
     }
 
-    private boolean validateTokenAndScopes(Request request, ServiceMethodInfo serviceMethodInfo, String accessToken)
-            throws APIMgtSecurityException {
-        //Map<String, String> tokenInfo = validateToken(accessToken);
-        AccessTokenInfo accessTokenInfo = validateToken(accessToken);
+    private boolean validateTokenAndScopes(Request request, ServiceMethodInfo serviceMethodInfo,
+                                           AccessTokenInfo accessTokenInfo) throws APIMgtSecurityException {
         String restAPIResource = getRestAPIResource(request);
 
         //scope validation
@@ -128,32 +129,27 @@ public class OAuth2Authenticator implements RESTAPIAuthenticator {
     }
 
     /**
-     * Extract the EndUsername from accessToken.
-     *
-     * @param accessToken the access token
-     * @return loggedInUser if the token is a valid token
-     */
-    private String getEndUserName(String accessToken) throws APIMgtSecurityException {
-        String loggedInUser;
-        loggedInUser = validateToken(accessToken).getEndUserName();
-        return loggedInUser;
-    }
-
-    /**
-     * Extract the accessToken from the give Authorization header value and validates the accessToken
-     * with an external key manager.
+     * Validates the accessToken with an external key manager, unless a valid result is already cached.
      *
      * @param accessToken the access token
      * @return responseData if the token is a valid token
      */
     private AccessTokenInfo validateToken(String accessToken) throws APIMgtSecurityException {
-        // 1. Send a request to key server's introspect endpoint to validate this token
-        AccessTokenInfo accessTokenInfo = getValidatedTokenResponse(accessToken);
+        // 1. Return the token information if the token has already been validated and not yet expired
+        TokenInfoCache tokenInfoCache = TokenInfoCache.getInstance();
+        AccessTokenInfo accessTokenInfo = tokenInfoCache.get(accessToken);
+        if (accessTokenInfo != null) {
+            return accessTokenInfo;
+        }
 
-        // 2. Process the response and return true if the token is valid.
+        // 2. Send a request to key server's introspect endpoint to validate this token
+        accessTokenInfo = getValidatedTokenResponse(accessToken);
+
+        // 3. Process the response and return true if the token is valid.
         if (!accessTokenInfo.isTokenValid()) {
             throw new APIMgtSecurityException("Invalid Access token.", ExceptionCodes.ACCESS_TOKEN_INACTIVE);
         }
+        tokenInfoCache.put(accessToken, accessTokenInfo);
         return accessTokenInfo;
 
         /*
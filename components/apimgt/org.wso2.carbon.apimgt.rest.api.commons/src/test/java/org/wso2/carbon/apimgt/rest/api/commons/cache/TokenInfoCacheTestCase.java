@@ -0,0 +1,108 @@
+/*
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.rest.api.commons.cache;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.models.AccessTokenInfo;
+import org.wso2.carbon.apimgt.rest.api.common.cache.TokenInfoCache;
+
+import java.util.concurrent.TimeUnit;
+
+public class TokenInfoCacheTestCase {
+
+    private static final String ACCESS_TOKEN = "7d33e3cd-60f0-3484-9651-cc31f2e09fb4";
+
+    @Test
+    public void testGetAndPut() throws Exception {
+        TokenInfoCache tokenInfoCache = new TokenInfoCache(true, 10, TimeUnit.MINUTES.toMillis(15));
+        Assert.assertNull(tokenInfoCache.get(ACCESS_TOKEN));
+
+        AccessTokenInfo accessTokenInfo = createTokenInfo(true);
+        tokenInfoCache.put(ACCESS_TOKEN, accessTokenInfo);
+        Assert.assertSame(tokenInfoCache.get(ACCESS_TOKEN), accessTokenInfo);
+        Assert.assertEquals(tokenInfoCache.getHitCount(), 1);
+        Assert.assertEquals(tokenInfoCache.getMissCount(), 1);
+    }
+
+    @Test
+    public void testInvalidTokenNotCached() throws Exception {
+        TokenInfoCache tokenInfoCache = new TokenInfoCache(true, 10, TimeUnit.MINUTES.toMillis(15));
+        tokenInfoCache.put(ACCESS_TOKEN, createTokenInfo(false));
+        Assert.assertEquals(tokenInfoCache.size(), 0);
+    }
+
+    @Test
+    public void testTokenExpiry() throws Exception {
+        TokenInfoCache tokenInfoCache = new TokenInfoCache(true, 10, TimeUnit.MINUTES.toMillis(15));
+        AccessTokenInfo accessTokenInfo = createTokenInfo(true);
+        // token which has already expired should not be cached
+        accessTokenInfo.setExpiryTime(TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) - 1);
+        tokenInfoCache.put(ACCESS_TOKEN, accessTokenInfo);
+        Assert.assertNull(tokenInfoCache.get(ACCESS_TOKEN));
+
+        tokenInfoCache = new TokenInfoCache(true, 10, 0);
+        tokenInfoCache.put(ACCESS_TOKEN, createTokenInfo(true));
+        Assert.assertNull(tokenInfoCache.get(ACCESS_TOKEN));
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        TokenInfoCache tokenInfoCache = new TokenInfoCache(true, 10, TimeUnit.MINUTES.toMillis(15));
+        tokenInfoCache.put(ACCESS_TOKEN, createTokenInfo(true));
+        tokenInfoCache.put("another-token", createTokenInfo(true));
+        tokenInfoCache.invalidate(ACCESS_TOKEN);
+        Assert.assertNull(tokenInfoCache.get(ACCESS_TOKEN));
+        Assert.assertNotNull(tokenInfoCache.get("another-token"));
+
+        tokenInfoCache.invalidateAll();
+        Assert.assertEquals(tokenInfoCache.size(), 0);
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        TokenInfoCache tokenInfoCache = new TokenInfoCache(true, 2, TimeUnit.MINUTES.toMillis(15));
+        tokenInfoCache.put("token1", createTokenInfo(true));
+        tokenInfoCache.put("token2", createTokenInfo(true));
+        // access token1 so that token2 becomes the least recently used entry
+        tokenInfoCache.get("token1");
+        tokenInfoCache.put("token3", createTokenInfo(true));
+
+        Assert.assertEquals(tokenInfoCache.size(), 2);
+        Assert.assertEquals(tokenInfoCache.getEvictionCount(), 1);
+        Assert.assertNotNull(tokenInfoCache.get("token1"));
+        Assert.assertNull(tokenInfoCache.get("token2"));
+    }
+
+    @Test
+    public void testDisabledCache() throws Exception {
+        TokenInfoCache tokenInfoCache = new TokenInfoCache(false, 10, TimeUnit.MINUTES.toMillis(15));
+        tokenInfoCache.put(ACCESS_TOKEN, createTokenInfo(true));
+        Assert.assertNull(tokenInfoCache.get(ACCESS_TOKEN));
+    }
+
+    private AccessTokenInfo createTokenInfo(boolean isValid) {
+        AccessTokenInfo accessTokenInfo = new AccessTokenInfo();
+        accessTokenInfo.setTokenValid(isValid);
+        accessTokenInfo.setEndUserName("admin");
+        accessTokenInfo.setScopes("apim:api_view");
+        return accessTokenInfo;
+    }
+}
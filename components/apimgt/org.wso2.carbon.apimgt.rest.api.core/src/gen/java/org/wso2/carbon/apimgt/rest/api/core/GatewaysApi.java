@@ -4,6 +4,8 @@ package org.wso2.carbon.apimgt.rest.api.core;
 import io.swagger.annotations.ApiParam;
 
 import org.wso2.carbon.apimgt.rest.api.core.dto.ErrorDTO;
+import java.io.File;
+import org.wso2.carbon.apimgt.rest.api.core.dto.GatewayChangeListDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.RegistrationDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.RegistrationSummaryDTO;
 import org.wso2.carbon.apimgt.rest.api.core.factories.GatewaysApiServiceFactory;
@@ -46,6 +48,25 @@ import javax.ws.rs.core.Response;
 public class GatewaysApi implements Microservice  {
    private final GatewaysApiService delegate = GatewaysApiServiceFactory.getGatewaysApi();
 
+    @OPTIONS
+    @GET
+    @Path("/changes")
+    @Consumes({ "application/json" })
+    @Produces({ "application/json" })
+    @io.swagger.annotations.ApiOperation(value = "Retrieve the changes published to gateways after a revision", notes = "This operation can be used by a gateway to catch up with the subscription, application, policy and block condition changes it missed, for example while it was disconnected from the message broker. Changes are returned in revision order with the same event payloads that are published to the broker. Pass the returned revision as the since parameter of the next request until hasMore is false. ", response = GatewayChangeListDTO.class, tags={ "Register Gateway", })
+    @io.swagger.annotations.ApiResponses(value = { 
+        @io.swagger.annotations.ApiResponse(code = 200, message = "OK. The list of changes. ", response = GatewayChangeListDTO.class),
+        
+        @io.swagger.annotations.ApiResponse(code = 400, message = "Bad Request. Invalid request or validation error. ", response = GatewayChangeListDTO.class) })
+    public Response gatewaysChangesGet(@ApiParam(value = "Revision of the last change applied by the gateway. Changes after this revision are returned. ",required=true) @QueryParam("since") Long since
+,@ApiParam(value = "Number of entities that should be retrieved. ") @QueryParam("limit") Integer limit
+,@ApiParam(value = "Media types acceptable for the response. Default is application/json. " , defaultValue="application/json")@HeaderParam("Accept") String accept
+ ,@Context Request request)
+    throws NotFoundException {
+        accept=accept==null?String.valueOf("application/json"):accept;
+        
+        return delegate.gatewaysChangesGet(since,limit,accept,request);
+    }
     @OPTIONS
     @POST
     @Path("/register")
@@ -66,4 +87,22 @@ public class GatewaysApi implements Microservice  {
         
         return delegate.gatewaysRegisterPost(body,contentType,request);
     }
+    @OPTIONS
+    @GET
+    @Path("/snapshot")
+    @Consumes({ "application/json" })
+    @Produces({ "application/gzip" })
+    @io.swagger.annotations.ApiOperation(value = "Retrieve the bootstrap snapshot of a gateway", notes = "This operation can be used by a gateway to load everything it needs at startup in one request. The response is a gzip compressed stream of newline delimited JSON records. The first record describes the snapshot, followed by records of APIs with their gateway configurations and resources, endpoints, block conditions, policies, threat protection policies, applications and subscriptions. The last record carries the revision of the snapshot and the number of records, and marks the stream as complete. ", response = File.class, tags={ "Register Gateway", })
+    @io.swagger.annotations.ApiResponses(value = { 
+        @io.swagger.annotations.ApiResponse(code = 200, message = "OK. Snapshot stream returned. ", response = File.class),
+        
+        @io.swagger.annotations.ApiResponse(code = 400, message = "Bad Request. Invalid request or validation error. ", response = File.class) })
+    public Response gatewaysSnapshotGet(@ApiParam(value = "Comma seperated gateway labels ") @QueryParam("labels") String labels
+,@ApiParam(value = "Media types acceptable for the response. Default is application/json. " , defaultValue="application/json")@HeaderParam("Accept") String accept
+ ,@Context Request request)
+    throws NotFoundException {
+        accept=accept==null?String.valueOf("application/json"):accept;
+        
+        return delegate.gatewaysSnapshotGet(labels,accept,request);
+    }
 }
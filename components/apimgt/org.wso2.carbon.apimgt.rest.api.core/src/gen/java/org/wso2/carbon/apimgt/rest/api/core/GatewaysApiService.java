@@ -8,6 +8,8 @@ import org.wso2.msf4j.formparam.FileInfo;
 import org.wso2.msf4j.Request;
 
 import org.wso2.carbon.apimgt.rest.api.core.dto.ErrorDTO;
+import java.io.File;
+import org.wso2.carbon.apimgt.rest.api.core.dto.GatewayChangeListDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.RegistrationDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.RegistrationSummaryDTO;
 
@@ -20,7 +22,14 @@ import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 
 public abstract class GatewaysApiService {
+    public abstract Response gatewaysChangesGet(Long since
+ ,Integer limit
+ ,String accept
+  ,Request request) throws NotFoundException;
     public abstract Response gatewaysRegisterPost(RegistrationDTO body
  ,String contentType
+  ,Request request) throws NotFoundException;
+    public abstract Response gatewaysSnapshotGet(String labels
+ ,String accept
   ,Request request) throws NotFoundException;
 }
@@ -16,6 +16,21 @@ public class JWTInfoDTO   {
   @SerializedName("jwtHeader")
   private String jwtHeader = null;
 
+  @SerializedName("enableSelfContainedTokenValidation")
+  private Boolean enableSelfContainedTokenValidation = null;
+
+  @SerializedName("jwksEndpoint")
+  private String jwksEndpoint = null;
+
+  @SerializedName("tokenIssuer")
+  private String tokenIssuer = null;
+
+  @SerializedName("signatureAlgorithm")
+  private String signatureAlgorithm = null;
+
+  @SerializedName("jwksCacheExpiryTime")
+  private Long jwksCacheExpiryTime = null;
+
   public JWTInfoDTO enableJWTGeneration(Boolean enableJWTGeneration) {
     this.enableJWTGeneration = enableJWTGeneration;
     return this;
@@ -52,6 +67,96 @@ public class JWTInfoDTO   {
     this.jwtHeader = jwtHeader;
   }
 
+  public JWTInfoDTO enableSelfContainedTokenValidation(Boolean enableSelfContainedTokenValidation) {
+    this.enableSelfContainedTokenValidation = enableSelfContainedTokenValidation;
+    return this;
+  }
+
+   /**
+   * Get enableSelfContainedTokenValidation
+   * @return enableSelfContainedTokenValidation
+  **/
+  @ApiModelProperty(example = "true", value = "")
+  public Boolean getEnableSelfContainedTokenValidation() {
+    return enableSelfContainedTokenValidation;
+  }
+
+  public void setEnableSelfContainedTokenValidation(Boolean enableSelfContainedTokenValidation) {
+    this.enableSelfContainedTokenValidation = enableSelfContainedTokenValidation;
+  }
+
+  public JWTInfoDTO jwksEndpoint(String jwksEndpoint) {
+    this.jwksEndpoint = jwksEndpoint;
+    return this;
+  }
+
+   /**
+   * Get jwksEndpoint
+   * @return jwksEndpoint
+  **/
+  @ApiModelProperty(example = "https://localhost:9443/oauth2/jwks", value = "")
+  public String getJwksEndpoint() {
+    return jwksEndpoint;
+  }
+
+  public void setJwksEndpoint(String jwksEndpoint) {
+    this.jwksEndpoint = jwksEndpoint;
+  }
+
+  public JWTInfoDTO tokenIssuer(String tokenIssuer) {
+    this.tokenIssuer = tokenIssuer;
+    return this;
+  }
+
+   /**
+   * Get tokenIssuer
+   * @return tokenIssuer
+  **/
+  @ApiModelProperty(example = "https://localhost:9443/oauth2/token", value = "")
+  public String getTokenIssuer() {
+    return tokenIssuer;
+  }
+
+  public void setTokenIssuer(String tokenIssuer) {
+    this.tokenIssuer = tokenIssuer;
+  }
+
+  public JWTInfoDTO signatureAlgorithm(String signatureAlgorithm) {
+    this.signatureAlgorithm = signatureAlgorithm;
+    return this;
+  }
+
+   /**
+   * Get signatureAlgorithm
+   * @return signatureAlgorithm
+  **/
+  @ApiModelProperty(example = "SHA256withRSA", value = "")
+  public String getSignatureAlgorithm() {
+    return signatureAlgorithm;
+  }
+
+  public void setSignatureAlgorithm(String signatureAlgorithm) {
+    this.signatureAlgorithm = signatureAlgorithm;
+  }
+
+  public JWTInfoDTO jwksCacheExpiryTime(Long jwksCacheExpiryTime) {
+    this.jwksCacheExpiryTime = jwksCacheExpiryTime;
+    return this;
+  }
+
+   /**
+   * Get jwksCacheExpiryTime
+   * @return jwksCacheExpiryTime
+  **/
+  @ApiModelProperty(example = "3600", value = "")
+  public Long getJwksCacheExpiryTime() {
+    return jwksCacheExpiryTime;
+  }
+
+  public void setJwksCacheExpiryTime(Long jwksCacheExpiryTime) {
+    this.jwksCacheExpiryTime = jwksCacheExpiryTime;
+  }
+
 
   @Override
   public boolean equals(java.lang.Object o) {
@@ -63,12 +168,17 @@ public class JWTInfoDTO   {
     }
     JWTInfoDTO jwTInfo = (JWTInfoDTO) o;
     return Objects.equals(this.enableJWTGeneration, jwTInfo.enableJWTGeneration) &&
-        Objects.equals(this.jwtHeader, jwTInfo.jwtHeader);
+        Objects.equals(this.jwtHeader, jwTInfo.jwtHeader) &&
+        Objects.equals(this.enableSelfContainedTokenValidation, jwTInfo.enableSelfContainedTokenValidation) &&
+        Objects.equals(this.jwksEndpoint, jwTInfo.jwksEndpoint) &&
+        Objects.equals(this.tokenIssuer, jwTInfo.tokenIssuer) &&
+        Objects.equals(this.signatureAlgorithm, jwTInfo.signatureAlgorithm) &&
+        Objects.equals(this.jwksCacheExpiryTime, jwTInfo.jwksCacheExpiryTime);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(enableJWTGeneration, jwtHeader);
+    return Objects.hash(enableJWTGeneration, jwtHeader, enableSelfContainedTokenValidation, jwksEndpoint, tokenIssuer, signatureAlgorithm, jwksCacheExpiryTime);
   }
 
   @Override
@@ -78,6 +188,11 @@ public class JWTInfoDTO   {
     
     sb.append("    enableJWTGeneration: ").append(toIndentedString(enableJWTGeneration)).append("\n");
     sb.append("    jwtHeader: ").append(toIndentedString(jwtHeader)).append("\n");
+    sb.append("    enableSelfContainedTokenValidation: ").append(toIndentedString(enableSelfContainedTokenValidation)).append("\n");
+    sb.append("    jwksEndpoint: ").append(toIndentedString(jwksEndpoint)).append("\n");
+    sb.append("    tokenIssuer: ").append(toIndentedString(tokenIssuer)).append("\n");
+    sb.append("    signatureAlgorithm: ").append(toIndentedString(signatureAlgorithm)).append("\n");
+    sb.append("    jwksCacheExpiryTime: ").append(toIndentedString(jwksCacheExpiryTime)).append("\n");
     sb.append("}");
     return sb.toString();
   }
@@ -19,6 +19,18 @@ public class PolicyDTO   {
   @SerializedName("stopOnQuotaReach")
   private Boolean stopOnQuotaReach = null;
 
+  @SerializedName("requestCount")
+  private Long requestCount = null;
+
+  @SerializedName("unitTime")
+  private Integer unitTime = null;
+
+  @SerializedName("timeUnit")
+  private String timeUnit = null;
+
+  @SerializedName("policyLevel")
+  private String policyLevel = null;
+
   public PolicyDTO id(String id) {
     this.id = id;
     return this;
@@ -73,6 +85,78 @@ public class PolicyDTO   {
     this.stopOnQuotaReach = stopOnQuotaReach;
   }
 
+  public PolicyDTO requestCount(Long requestCount) {
+    this.requestCount = requestCount;
+    return this;
+  }
+
+   /**
+   * Number of requests allowed in the unit time, if the policy limits the request count
+   * @return requestCount
+  **/
+  @ApiModelProperty(example = "1000", value = "Number of requests allowed in the unit time, if the policy limits the request count")
+  public Long getRequestCount() {
+    return requestCount;
+  }
+
+  public void setRequestCount(Long requestCount) {
+    this.requestCount = requestCount;
+  }
+
+  public PolicyDTO unitTime(Integer unitTime) {
+    this.unitTime = unitTime;
+    return this;
+  }
+
+   /**
+   * Get unitTime
+   * @return unitTime
+  **/
+  @ApiModelProperty(example = "1", value = "")
+  public Integer getUnitTime() {
+    return unitTime;
+  }
+
+  public void setUnitTime(Integer unitTime) {
+    this.unitTime = unitTime;
+  }
+
+  public PolicyDTO timeUnit(String timeUnit) {
+    this.timeUnit = timeUnit;
+    return this;
+  }
+
+   /**
+   * Get timeUnit
+   * @return timeUnit
+  **/
+  @ApiModelProperty(example = "min", value = "")
+  public String getTimeUnit() {
+    return timeUnit;
+  }
+
+  public void setTimeUnit(String timeUnit) {
+    this.timeUnit = timeUnit;
+  }
+
+  public PolicyDTO policyLevel(String policyLevel) {
+    this.policyLevel = policyLevel;
+    return this;
+  }
+
+   /**
+   * Level of the policy, api, application or subscription
+   * @return policyLevel
+  **/
+  @ApiModelProperty(example = "subscription", value = "Level of the policy, api, application or subscription")
+  public String getPolicyLevel() {
+    return policyLevel;
+  }
+
+  public void setPolicyLevel(String policyLevel) {
+    this.policyLevel = policyLevel;
+  }
+
 
   @Override
   public boolean equals(java.lang.Object o) {
@@ -85,12 +169,16 @@ public class PolicyDTO   {
     PolicyDTO policy = (PolicyDTO) o;
     return Objects.equals(this.id, policy.id) &&
         Objects.equals(this.name, policy.name) &&
-        Objects.equals(this.stopOnQuotaReach, policy.stopOnQuotaReach);
+        Objects.equals(this.stopOnQuotaReach, policy.stopOnQuotaReach) &&
+        Objects.equals(this.requestCount, policy.requestCount) &&
+        Objects.equals(this.unitTime, policy.unitTime) &&
+        Objects.equals(this.timeUnit, policy.timeUnit) &&
+        Objects.equals(this.policyLevel, policy.policyLevel);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(id, name, stopOnQuotaReach);
+    return Objects.hash(id, name, stopOnQuotaReach, requestCount, unitTime, timeUnit, policyLevel);
   }
 
   @Override
@@ -101,6 +189,10 @@ public class PolicyDTO   {
     sb.append("    id: ").append(toIndentedString(id)).append("\n");
     sb.append("    name: ").append(toIndentedString(name)).append("\n");
     sb.append("    stopOnQuotaReach: ").append(toIndentedString(stopOnQuotaReach)).append("\n");
+    sb.append("    requestCount: ").append(toIndentedString(requestCount)).append("\n");
+    sb.append("    unitTime: ").append(toIndentedString(unitTime)).append("\n");
+    sb.append("    timeUnit: ").append(toIndentedString(timeUnit)).append("\n");
+    sb.append("    policyLevel: ").append(toIndentedString(policyLevel)).append("\n");
     sb.append("}");
     return sb.toString();
   }
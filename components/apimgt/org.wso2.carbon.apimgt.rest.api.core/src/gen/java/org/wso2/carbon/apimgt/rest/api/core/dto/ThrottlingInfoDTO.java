@@ -17,6 +17,12 @@ public class ThrottlingInfoDTO   {
   @SerializedName("credentials")
   private CredentialsDTO credentials = null;
 
+  @SerializedName("localThrottlingEnabled")
+  private Boolean localThrottlingEnabled = null;
+
+  @SerializedName("gatewayNodeCount")
+  private Integer gatewayNodeCount = null;
+
   public ThrottlingInfoDTO serverURL(String serverURL) {
     this.serverURL = serverURL;
     return this;
@@ -53,6 +59,42 @@ public class ThrottlingInfoDTO   {
     this.credentials = credentials;
   }
 
+  public ThrottlingInfoDTO localThrottlingEnabled(Boolean localThrottlingEnabled) {
+    this.localThrottlingEnabled = localThrottlingEnabled;
+    return this;
+  }
+
+   /**
+   * Get localThrottlingEnabled
+   * @return localThrottlingEnabled
+  **/
+  @ApiModelProperty(example = "false", value = "")
+  public Boolean getLocalThrottlingEnabled() {
+    return localThrottlingEnabled;
+  }
+
+  public void setLocalThrottlingEnabled(Boolean localThrottlingEnabled) {
+    this.localThrottlingEnabled = localThrottlingEnabled;
+  }
+
+  public ThrottlingInfoDTO gatewayNodeCount(Integer gatewayNodeCount) {
+    this.gatewayNodeCount = gatewayNodeCount;
+    return this;
+  }
+
+   /**
+   * Get gatewayNodeCount
+   * @return gatewayNodeCount
+  **/
+  @ApiModelProperty(example = "1", value = "")
+  public Integer getGatewayNodeCount() {
+    return gatewayNodeCount;
+  }
+
+  public void setGatewayNodeCount(Integer gatewayNodeCount) {
+    this.gatewayNodeCount = gatewayNodeCount;
+  }
+
 
   @Override
   public boolean equals(java.lang.Object o) {
@@ -64,12 +106,14 @@ public class ThrottlingInfoDTO   {
     }
     ThrottlingInfoDTO throttlingInfo = (ThrottlingInfoDTO) o;
     return Objects.equals(this.serverURL, throttlingInfo.serverURL) &&
-        Objects.equals(this.credentials, throttlingInfo.credentials);
+        Objects.equals(this.credentials, throttlingInfo.credentials) &&
+        Objects.equals(this.localThrottlingEnabled, throttlingInfo.localThrottlingEnabled) &&
+        Objects.equals(this.gatewayNodeCount, throttlingInfo.gatewayNodeCount);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(serverURL, credentials);
+    return Objects.hash(serverURL, credentials, localThrottlingEnabled, gatewayNodeCount);
   }
 
   @Override
@@ -79,6 +123,8 @@ public class ThrottlingInfoDTO   {
     
     sb.append("    serverURL: ").append(toIndentedString(serverURL)).append("\n");
     sb.append("    credentials: ").append(toIndentedString(credentials)).append("\n");
+    sb.append("    localThrottlingEnabled: ").append(toIndentedString(localThrottlingEnabled)).append("\n");
+    sb.append("    gatewayNodeCount: ").append(toIndentedString(gatewayNodeCount)).append("\n");
     sb.append("}");
     return sb.toString();
   }
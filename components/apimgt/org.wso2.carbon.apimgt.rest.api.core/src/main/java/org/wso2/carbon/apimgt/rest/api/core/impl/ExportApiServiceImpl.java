@@ -5,6 +5,7 @@ import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.api.APIMgtAdminService;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.impl.APIManagerFactory;
+import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
 import org.wso2.carbon.apimgt.core.util.APIFileUtils;
 import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
 import org.wso2.carbon.apimgt.rest.api.core.ExportApiService;
@@ -46,7 +47,10 @@ public class ExportApiServiceImpl extends ExportApiService {
         }
         try {
             APIMgtAdminService apiMgtAdminService = APIManagerFactory.getInstance().getAPIMgtAdminService();
-            PolicyExportManager policyExportManager = new PolicyExportManager(apiMgtAdminService);
+            boolean combinedExecutionPlan = ServiceReferenceHolder.getInstance().getAPIMConfiguration()
+                    .getThrottlingConfigurations().getPolicyDeployerConfiguration().isCombinedExecutionPlan();
+            PolicyExportManager policyExportManager = new PolicyExportManager(apiMgtAdminService,
+                    combinedExecutionPlan);
             //create archive and get the archive location
             String zippedFilePath = policyExportManager
                     .createArchiveFromExecutionPlans(exportedPoliciesDirName, archiveDir, archiveName);
@@ -5,32 +5,84 @@ import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.api.APIMgtAdminService;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.exception.APIMgtResourceNotFoundException;
+import org.wso2.carbon.apimgt.core.exception.ErrorHandler;
 import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+import org.wso2.carbon.apimgt.core.models.GatewayChange;
 import org.wso2.carbon.apimgt.core.models.Label;
 import org.wso2.carbon.apimgt.core.models.RegistrationSummary;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
 import org.wso2.carbon.apimgt.rest.api.core.GatewaysApiService;
 import org.wso2.carbon.apimgt.rest.api.core.NotFoundException;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 
 import java.io.InputStream;
 
+import org.wso2.carbon.apimgt.rest.api.core.dto.GatewayChangeListDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.LabelInfoDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.RegistrationDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.RegistrationSummaryDTO;
+import org.wso2.carbon.apimgt.rest.api.core.utils.GatewaySnapshotWriter;
 import org.wso2.carbon.apimgt.rest.api.core.utils.MappingUtil;
 import org.wso2.msf4j.Request;
 import org.wso2.msf4j.formparam.FormDataParam;
 import org.wso2.msf4j.formparam.FileInfo;
 
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 
 public class GatewaysApiServiceImpl extends GatewaysApiService {
 
     private static final Logger log = LoggerFactory.getLogger(GatewaysApiServiceImpl.class);
+    private static final String SNAPSHOT_CONTENT_TYPE = "application/gzip";
+    private static final String SNAPSHOT_FILE_NAME = "gateway-snapshot.ndjson.gz";
+    private static final int DEFAULT_CHANGE_LIMIT = 1000;
+
+    /**
+     * Retrieve the changes published to gateways after a revision
+     *
+     * @param since   Revision of the last change applied by the gateway
+     * @param limit   Maximum number of changes to return
+     * @param accept  Accept header value
+     * @param request msf4j request object
+     * @return Changes after the revision
+     * @throws NotFoundException If failed to retrieve the changes
+     */
+    @Override
+    public Response gatewaysChangesGet(Long since, Integer limit, String accept, Request request)
+            throws NotFoundException {
+        if (since == null || since < 0) {
+            String errorMessage = "A valid revision should be provided";
+            ErrorHandler errorHandler = ExceptionCodes.PARAMETER_NOT_PROVIDED;
+            org.wso2.carbon.apimgt.rest.api.common.dto.ErrorDTO errorDTO = RestApiUtil.getErrorDTO(errorHandler);
+            log.error(errorMessage);
+            return Response.status(errorHandler.getHttpStatusCode()).entity(errorDTO).build();
+        }
+        int changeLimit = limit == null || limit <= 0 ? DEFAULT_CHANGE_LIMIT : limit;
+        try {
+            APIMgtAdminService adminService = RestApiUtil.getAPIMgtAdminService();
+            // one extra change is read to find out whether there are more changes than the limit
+            List<GatewayChange> changes = adminService.getGatewayChanges(since, changeLimit + 1);
+            boolean hasMore = changes.size() > changeLimit;
+            if (hasMore) {
+                changes = changes.subList(0, changeLimit);
+            }
+            GatewayChangeListDTO gatewayChangeListDTO = MappingUtil.toGatewayChangeListDTO(changes, since, hasMore);
+            return Response.ok().entity(gatewayChangeListDTO).build();
+        } catch (APIManagementException e) {
+            String errorMessage = "Error while retrieving gateway changes since revision " + since;
+            HashMap<String, String> paramList = new HashMap<String, String>();
+            org.wso2.carbon.apimgt.rest.api.common.dto.ErrorDTO errorDTO = RestApiUtil
+                    .getErrorDTO(e.getErrorHandler(), paramList);
+            log.error(errorMessage, e);
+            return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
+        }
+    }
 
     /**
      * Register gateway
@@ -72,4 +124,38 @@ public class GatewaysApiServiceImpl extends GatewaysApiService {
             return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
         }
     }
+
+    /**
+     * Retrieve the bootstrap snapshot of a gateway
+     *
+     * @param labels  Comma separated gateway labels, the default label is used if empty
+     * @param accept  Accept header value
+     * @param request msf4j request object
+     * @return gzip compressed stream of newline delimited JSON records
+     * @throws NotFoundException If failed to retrieve the snapshot
+     */
+    @Override
+    public Response gatewaysSnapshotGet(String labels, String accept, Request request) throws NotFoundException {
+        List<String> labelList;
+        if (labels != null && !labels.isEmpty()) {
+            labelList = new ArrayList<>(Arrays.asList(labels.split(",")));
+        } else {
+            labelList = new ArrayList<>();
+            labelList.add(APIMgtConstants.DEFAULT_LABEL_NAME);
+        }
+        try {
+            APIMgtAdminService adminService = RestApiUtil.getAPIMgtAdminService();
+            GatewaySnapshotWriter snapshotWriter = new GatewaySnapshotWriter(adminService, labelList).load();
+            return Response.ok().entity(snapshotWriter)
+                    .header(HttpHeaders.CONTENT_TYPE, SNAPSHOT_CONTENT_TYPE)
+                    .header("Content-Disposition", "attachment; filename=\"" + SNAPSHOT_FILE_NAME + "\"").build();
+        } catch (APIManagementException e) {
+            String errorMessage = "Error while retrieving the gateway snapshot";
+            HashMap<String, String> paramList = new HashMap<String, String>();
+            org.wso2.carbon.apimgt.rest.api.common.dto.ErrorDTO errorDTO = RestApiUtil
+                    .getErrorDTO(e.getErrorHandler(), paramList);
+            log.error(errorMessage, e);
+            return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
+        }
+    }
 }
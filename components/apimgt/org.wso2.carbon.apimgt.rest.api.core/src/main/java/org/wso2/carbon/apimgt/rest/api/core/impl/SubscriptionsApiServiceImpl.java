@@ -15,6 +15,7 @@ import org.wso2.carbon.apimgt.rest.api.core.NotFoundException;
 import org.wso2.carbon.apimgt.rest.api.core.SubscriptionsApiService;
 import org.wso2.carbon.apimgt.rest.api.core.dto.SubscriptionListDTO;
 import org.wso2.carbon.apimgt.rest.api.core.utils.MappingUtil;
+import org.wso2.carbon.apimgt.rest.api.core.utils.SubscriptionListWriter;
 import org.wso2.msf4j.Request;
 
 import java.util.HashMap;
@@ -31,7 +32,7 @@ public class SubscriptionsApiServiceImpl extends SubscriptionsApiService {
      *
      * @param apiContext Context of the API
      * @param apiVersion API version
-     * @param limit      Limit value
+     * @param limit      Limit value, all subscriptions are streamed if not given
      * @return Subscriptions of the API
      * @throws NotFoundException If failed to retrieve subscriptions
      */
@@ -44,6 +45,10 @@ public class SubscriptionsApiServiceImpl extends SubscriptionsApiService {
             List<SubscriptionValidationData> subscriptionsOfApi;
             if (StringUtils.isEmpty(apiContext) || StringUtils.isEmpty(apiVersion)) {
                 APIUtils.logDebug("API Context or version is null or empty. Retrieving subscriptions of all APIs", log);
+                if (limit == null || limit < 0) {
+                    // all subscriptions are streamed page by page instead of being built as a single list
+                    return Response.ok(new SubscriptionListWriter(apiMgtAdminService).load()).build();
+                }
                 subscriptionsOfApi = apiMgtAdminService.getAPISubscriptions(limit);
             } else {
                 subscriptionsOfApi = apiMgtAdminService.getAPISubscriptionsOfApi(apiContext, apiVersion);
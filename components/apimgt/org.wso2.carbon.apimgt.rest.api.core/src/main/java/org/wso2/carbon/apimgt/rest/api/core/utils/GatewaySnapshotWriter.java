@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.rest.api.core.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.wso2.carbon.apimgt.core.api.APIMgtAdminService;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.Application;
+import org.wso2.carbon.apimgt.core.models.BlockConditions;
+import org.wso2.carbon.apimgt.core.models.Endpoint;
+import org.wso2.carbon.apimgt.core.models.PolicyValidationData;
+import org.wso2.carbon.apimgt.core.models.SubscriptionValidationData;
+import org.wso2.carbon.apimgt.core.models.policy.ThreatProtectionPolicy;
+import org.wso2.carbon.apimgt.rest.api.core.dto.APIInfoDTO;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * Writes everything a gateway of the given labels needs at startup as a gzip compressed stream of newline delimited
+ * JSON records.
+ * <p>
+ * Every record has a {@code type}. The stream starts with a {@value #RECORD_SNAPSHOT} record and ends with an
+ * {@value #RECORD_END} record that carries the record count and the revision of the snapshot, which is the SHA-256
+ * digest of the records before it, so an unchanged snapshot keeps its revision. A stream without the end record is
+ * incomplete. The lists are loaded by {@link #load()} so that failures can still be reported as an error response,
+ * while the gateway configuration and resources of each API, and the subscriptions after the first page, are read
+ * while they are written.
+ * <p>
+ * The snapshot record carries the latest gateway change revision read before the entities, so that the gateway can
+ * catch up with the changes made while the snapshot was taken from the gateway change log.
+ */
+public class GatewaySnapshotWriter implements StreamingOutput {
+
+    public static final String RECORD_SNAPSHOT = "snapshot";
+    public static final String RECORD_API = "api";
+    public static final String RECORD_GATEWAY_CONFIG = "gatewayConfig";
+    public static final String RECORD_RESOURCES = "resources";
+    public static final String RECORD_ENDPOINT = "endpoint";
+    public static final String RECORD_BLOCK_CONDITION = "blockCondition";
+    public static final String RECORD_POLICY = "policy";
+    public static final String RECORD_THREAT_PROTECTION_POLICY = "threatProtectionPolicy";
+    public static final String RECORD_APPLICATION = "application";
+    public static final String RECORD_SUBSCRIPTION = "subscription";
+    public static final String RECORD_END = "end";
+    public static final String SNAPSHOT_FORMAT_VERSION = "1";
+
+    private static final String TYPE = "type";
+    private static final String DATA = "data";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Gson gson = new Gson();
+    private final APIMgtAdminService adminService;
+    private final List<String> labels;
+    private List<API> apis;
+    private List<Endpoint> endpoints;
+    private List<BlockConditions> blockConditions;
+    private Set<PolicyValidationData> policies;
+    private List<ThreatProtectionPolicy> threatProtectionPolicies;
+    private List<Application> applications;
+    private List<SubscriptionValidationData> subscriptions;
+    private long changeRevision;
+    private long recordCount;
+
+    public GatewaySnapshotWriter(APIMgtAdminService adminService, List<String> labels) {
+        this.adminService = adminService;
+        this.labels = labels;
+    }
+
+    /**
+     * Load the entities of the snapshot
+     *
+     * @return this writer
+     * @throws APIManagementException if an entity list cannot be retrieved
+     */
+    public GatewaySnapshotWriter load() throws APIManagementException {
+        changeRevision = adminService.getLatestGatewayChangeRevision();
+        apis = adminService.getAPIsByGatewayLabel(labels);
+        endpoints = adminService.getAllEndpoints();
+        blockConditions = adminService.getBlockConditions();
+        policies = adminService.getAllPolicies();
+        threatProtectionPolicies = adminService.getThreatProtectionPolicyList();
+        applications = adminService.getAllApplications();
+        subscriptions = adminService.getAPISubscriptionsAfter(null, null, SubscriptionListWriter.DEFAULT_PAGE_SIZE);
+        return this;
+    }
+
+    @Override
+    public void write(OutputStream outputStream) throws IOException {
+        if (apis == null) {
+            throw new IllegalStateException("Snapshot entities are not loaded");
+        }
+        MessageDigest digest = getDigest();
+        GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(new DigestOutputStream(gzipOutputStream, digest),
+                StandardCharsets.UTF_8), BUFFER_SIZE);
+        recordCount = 0;
+
+        JsonObject snapshot = record(RECORD_SNAPSHOT);
+        snapshot.addProperty("formatVersion", SNAPSHOT_FORMAT_VERSION);
+        snapshot.add("labels", gson.toJsonTree(labels));
+        snapshot.addProperty("changeRevision", changeRevision);
+        writeRecord(writer, snapshot);
+
+        List<APIInfoDTO> apiInfoList = MappingUtil.toAPIListDTO(apis).getList();
+        for (int i = 0; i < apiInfoList.size(); i++) {
+            API api = apis.get(i);
+            writeRecord(writer, record(RECORD_API, apiInfoList.get(i)));
+
+            JsonObject gatewayConfig = record(RECORD_GATEWAY_CONFIG);
+            gatewayConfig.addProperty("id", api.getId());
+            try {
+                gatewayConfig.addProperty(DATA, adminService.getAPIGatewayServiceConfig(api.getId()));
+                writeRecord(writer, gatewayConfig);
+
+                JsonObject resources = record(RECORD_RESOURCES, MappingUtil.convertToResourceListDto(
+                        adminService.getAllResourcesForApi(api.getContext(), api.getVersion())));
+                resources.addProperty("apiContext", api.getContext());
+                resources.addProperty("apiVersion", api.getVersion());
+                writeRecord(writer, resources);
+            } catch (APIManagementException e) {
+                // the end record is never written, so the gateway sees the snapshot as incomplete
+                throw new IOException("Error while writing gateway snapshot of API : " + api.getId(), e);
+            }
+        }
+        for (Object endpoint : MappingUtil.toEndpointListDto(endpoints)) {
+            writeRecord(writer, record(RECORD_ENDPOINT, endpoint));
+        }
+        for (Object blockCondition : MappingUtil.fromBlockConditionListToListDTO(blockConditions).getList()) {
+            writeRecord(writer, record(RECORD_BLOCK_CONDITION, blockCondition));
+        }
+        for (Object policy : MappingUtil.convertToPolicyDtoList(policies)) {
+            writeRecord(writer, record(RECORD_POLICY, policy));
+        }
+        for (ThreatProtectionPolicy policy : threatProtectionPolicies) {
+            writeRecord(writer, record(RECORD_THREAT_PROTECTION_POLICY,
+                    MappingUtil.toThreatProtectionPolicyDTO(policy)));
+        }
+        for (Object application : MappingUtil.convertToApplicationDtoList(applications)) {
+            writeRecord(writer, record(RECORD_APPLICATION, application));
+        }
+        writeSubscriptions(writer);
+        writer.flush();
+
+        JsonObject end = record(RECORD_END);
+        end.addProperty("count", recordCount);
+        end.addProperty("revision", toHex(digest.digest()));
+        end.addProperty("createdTime", System.currentTimeMillis());
+        writeRecord(writer, end);
+        writer.flush();
+        gzipOutputStream.finish();
+        outputStream.flush();
+    }
+
+    private void writeSubscriptions(Writer writer) throws IOException {
+        List<SubscriptionValidationData> page = subscriptions;
+        while (true) {
+            for (Object subscription : MappingUtil.convertToSubscriptionListDto(page)) {
+                writeRecord(writer, record(RECORD_SUBSCRIPTION, subscription));
+            }
+            if (page.size() < SubscriptionListWriter.DEFAULT_PAGE_SIZE) {
+                return;
+            }
+            SubscriptionValidationData last = page.get(page.size() - 1);
+            try {
+                page = adminService.getAPISubscriptionsAfter(last.getSubscriptionId(), last.getKeyEnvType(),
+                        SubscriptionListWriter.DEFAULT_PAGE_SIZE);
+            } catch (APIManagementException e) {
+                throw new IOException("Error while writing gateway snapshot subscriptions after subscription : "
+                        + last.getSubscriptionId(), e);
+            }
+        }
+    }
+
+    private JsonObject record(String type) {
+        JsonObject record = new JsonObject();
+        record.addProperty(TYPE, type);
+        return record;
+    }
+
+    private JsonObject record(String type, Object data) {
+        JsonObject record = record(type);
+        record.add(DATA, gson.toJsonTree(data));
+        return record;
+    }
+
+    private void writeRecord(Writer writer, JsonObject record) throws IOException {
+        gson.toJson(record, writer);
+        writer.write('\n');
+        recordCount++;
+    }
+
+    private static MessageDigest getDigest() throws IOException {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Digest algorithm " + DIGEST_ALGORITHM + " is not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+}
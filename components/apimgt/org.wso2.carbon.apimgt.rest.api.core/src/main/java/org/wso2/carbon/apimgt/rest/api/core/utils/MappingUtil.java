@@ -20,10 +20,12 @@
 package org.wso2.carbon.apimgt.rest.api.core.utils;
 
 
+import com.google.gson.JsonParser;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.Application;
 import org.wso2.carbon.apimgt.core.models.BlockConditions;
 import org.wso2.carbon.apimgt.core.models.Endpoint;
+import org.wso2.carbon.apimgt.core.models.GatewayChange;
 import org.wso2.carbon.apimgt.core.models.Label;
 import org.wso2.carbon.apimgt.core.models.PolicyValidationData;
 import org.wso2.carbon.apimgt.core.models.RegistrationSummary;
@@ -40,6 +42,8 @@ import org.wso2.carbon.apimgt.rest.api.core.dto.BlockingConditionDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.BlockingConditionListDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.CredentialsDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.EndPointDTO;
+import org.wso2.carbon.apimgt.rest.api.core.dto.GatewayChangeDTO;
+import org.wso2.carbon.apimgt.rest.api.core.dto.GatewayChangeListDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.GoogleAnalyticsTrackingInfoDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.JWTInfoDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.KeyManagerInfoDTO;
@@ -246,6 +250,12 @@ public class MappingUtil {
         JWTInfoDTO jwtInfoDTO = new JWTInfoDTO();
         jwtInfoDTO.enableJWTGeneration(registrationSummary.getJwtInfo().isEnableJWTGeneration());
         jwtInfoDTO.jwtHeader(registrationSummary.getJwtInfo().getJwtHeader());
+        jwtInfoDTO.enableSelfContainedTokenValidation(registrationSummary.getJwtInfo()
+                .isEnableSelfContainedTokenValidation());
+        jwtInfoDTO.jwksEndpoint(registrationSummary.getJwtInfo().getJwksEndpoint());
+        jwtInfoDTO.tokenIssuer(registrationSummary.getJwtInfo().getTokenIssuer());
+        jwtInfoDTO.signatureAlgorithm(registrationSummary.getJwtInfo().getSignatureAlgorithm());
+        jwtInfoDTO.jwksCacheExpiryTime(registrationSummary.getJwtInfo().getJwksCacheExpiryTime());
         return jwtInfoDTO;
     }
 
@@ -264,6 +274,8 @@ public class MappingUtil {
         throttlingServerCredentials.setPassword(registrationSummary.getThrottlingInfo().getDataPublisher()
                 .getCredentials().getPassword());
         throttlingInfoDTO.setCredentials(throttlingServerCredentials);
+        throttlingInfoDTO.localThrottlingEnabled(registrationSummary.getThrottlingInfo().isLocalThrottlingEnabled());
+        throttlingInfoDTO.gatewayNodeCount(registrationSummary.getThrottlingInfo().getGatewayNodeCount());
         return throttlingInfoDTO;
     }
 
@@ -288,11 +300,46 @@ public class MappingUtil {
             policyDTO.setId(v.getId());
             policyDTO.setName(v.getName());
             policyDTO.setStopOnQuotaReach(v.isStopOnQuotaReach());
+            policyDTO.setPolicyLevel(v.getPolicyLevel());
+            if (v.getRequestCount() > 0) {
+                policyDTO.setRequestCount(v.getRequestCount());
+                policyDTO.setUnitTime(v.getUnitTime());
+                policyDTO.setTimeUnit(v.getTimeUnit());
+            }
             policyDTOList.add(policyDTO);
         });
         return policyDTOList;
     }
 
+    /**
+     * Converts the gateway changes after a revision to {@link GatewayChangeListDTO}
+     *
+     * @param changes  changes in revision order
+     * @param revision revision after which the changes were retrieved
+     * @param hasMore  whether there are more changes after the given changes
+     * @return GatewayChangeListDTO
+     */
+    public static GatewayChangeListDTO toGatewayChangeListDTO(List<GatewayChange> changes, long revision,
+                                                              boolean hasMore) {
+        GatewayChangeListDTO gatewayChangeListDTO = new GatewayChangeListDTO();
+        JsonParser jsonParser = new JsonParser();
+        long lastRevision = revision;
+        for (GatewayChange change : changes) {
+            GatewayChangeDTO gatewayChangeDTO = new GatewayChangeDTO();
+            gatewayChangeDTO.setRevision(change.getRevision());
+            gatewayChangeDTO.setEventType(change.getEventType());
+            if (change.getEvent() != null) {
+                gatewayChangeDTO.setEvent(jsonParser.parse(change.getEvent()));
+            }
+            gatewayChangeListDTO.addListItem(gatewayChangeDTO);
+            lastRevision = change.getRevision();
+        }
+        gatewayChangeListDTO.setCount(changes.size());
+        gatewayChangeListDTO.setRevision(lastRevision);
+        gatewayChangeListDTO.setHasMore(hasMore);
+        return gatewayChangeListDTO;
+    }
+
     /**
      * Converts {@link Endpoint} list to {@link EndPointDTO} list
      *
@@ -27,10 +27,12 @@ import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.models.policy.APIPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.ApplicationPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.CustomPolicy;
+import org.wso2.carbon.apimgt.core.models.policy.Policy;
 import org.wso2.carbon.apimgt.core.models.policy.SubscriptionPolicy;
 import org.wso2.carbon.apimgt.core.template.APITemplateException;
 import org.wso2.carbon.apimgt.core.template.APIThrottlePolicyTemplateBuilder;
 import org.wso2.carbon.apimgt.core.template.ApplicationThrottlePolicyTemplateBuilder;
+import org.wso2.carbon.apimgt.core.template.CombinedThrottlePolicyTemplateBuilder;
 import org.wso2.carbon.apimgt.core.template.CustomThrottlePolicyTemplateBuilder;
 import org.wso2.carbon.apimgt.core.template.SubscriptionThrottlePolicyTemplateBuilder;
 import org.wso2.carbon.apimgt.core.util.APIFileUtils;
@@ -56,9 +58,20 @@ public class PolicyExportManager {
     private static final String EXPORT_POLICIES = "ExportPolicies";
     private static final String SIDDHI_EXTENSION = ".siddhi";
     private APIMgtAdminService apiMgtAdminService;
+    private boolean combinedExecutionPlan;
 
     public PolicyExportManager(APIMgtAdminService adminService) {
+        this(adminService, false);
+    }
+
+    /**
+     * @param adminService          admin service to retrieve the policies from
+     * @param combinedExecutionPlan whether the request count application and subscription policies are exported as a
+     *                              single execution plan instead of one per policy
+     */
+    public PolicyExportManager(APIMgtAdminService adminService, boolean combinedExecutionPlan) {
         apiMgtAdminService = adminService;
+        this.combinedExecutionPlan = combinedExecutionPlan;
     }
 
     public String createArchiveFromExecutionPlans(String exportedPoliciesDirName, String archiveDir, String archiveName)
@@ -78,6 +91,16 @@ public class PolicyExportManager {
                     prepareFile(dirLocation, map);
                 }
             }
+            if (combinedExecutionPlan) {
+                List<ApplicationPolicy> combinedApplicationPolicies = new ArrayList<>();
+                List<SubscriptionPolicy> combinedSubscriptionPolicies = new ArrayList<>();
+                applicationPolicies = splitCombinablePolicies(applicationPolicies, combinedApplicationPolicies);
+                subscriptionPolicies = splitCombinablePolicies(subscriptionPolicies, combinedSubscriptionPolicies);
+                if (!combinedApplicationPolicies.isEmpty() || !combinedSubscriptionPolicies.isEmpty()) {
+                    prepareFile(dirLocation, getCombinedPolicySiddhiApp(combinedApplicationPolicies,
+                            combinedSubscriptionPolicies));
+                }
+            }
             if (!applicationPolicies.isEmpty()) {
                 prepareFile(dirLocation, getAppPolicySiddhiApps(applicationPolicies));
             }
@@ -218,6 +241,47 @@ public class PolicyExportManager {
         return siddhiApps;
     }
 
+    /**
+     * Move the policies that can be throttled by the combined execution plan to a separate list.
+     *
+     * @param policies           policies of a level
+     * @param combinablePolicies list to which the combinable policies are added
+     * @return the policies that need an execution plan of their own
+     */
+    private <T extends Policy> List<T> splitCombinablePolicies(List<T> policies, List<T> combinablePolicies) {
+        List<T> otherPolicies = new ArrayList<>();
+        for (T policy : policies) {
+            if (CombinedThrottlePolicyTemplateBuilder.isCombinable(policy)) {
+                combinablePolicies.add(policy);
+            } else {
+                otherPolicies.add(policy);
+            }
+        }
+        return otherPolicies;
+    }
+
+    /**
+     * Get the execution plan/ siddhi app for the combined application and subscription policies.
+     *
+     * @param applicationPolicies  ApplicationPolicy object list
+     * @param subscriptionPolicies SubscriptionPolicy object list
+     * @return Map<String, String> containing execution plan name and execution plan.
+     * @throws APITemplateException If template generating fails
+     */
+    private Map<String, String> getCombinedPolicySiddhiApp(List<ApplicationPolicy> applicationPolicies,
+                                                           List<SubscriptionPolicy> subscriptionPolicies)
+            throws APITemplateException {
+        if (log.isDebugEnabled()) {
+            log.debug("Get combined execution plan for application and subscription policies.");
+        }
+        Map<String, String> siddhiApps = new HashMap<>();
+        CombinedThrottlePolicyTemplateBuilder templateBuilder = new CombinedThrottlePolicyTemplateBuilder(
+                applicationPolicies, subscriptionPolicies);
+        siddhiApps.put(CombinedThrottlePolicyTemplateBuilder.COMBINED_POLICY_NAME,
+                templateBuilder.getThrottlePolicyForAllLevels());
+        return siddhiApps;
+    }
+
     /**
      * Get execution plan/ siddhi apps for custom policies.
      *
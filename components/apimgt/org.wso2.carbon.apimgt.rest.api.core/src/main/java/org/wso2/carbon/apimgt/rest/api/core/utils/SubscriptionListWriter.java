@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.rest.api.core.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import org.wso2.carbon.apimgt.core.api.APIMgtAdminService;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.models.SubscriptionValidationData;
+import org.wso2.carbon.apimgt.rest.api.core.dto.SubscriptionDTO;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * Writes the subscriptions of all APIs in the form of a subscription list, reading them page by page so that only
+ * one page is held in memory regardless of the number of subscriptions. The first page is read by {@link #load()} so
+ * that a failure can still be reported as an error response.
+ */
+public class SubscriptionListWriter implements StreamingOutput {
+
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Gson gson = new Gson();
+    private final APIMgtAdminService adminService;
+    private final int pageSize;
+    private List<SubscriptionValidationData> firstPage;
+
+    public SubscriptionListWriter(APIMgtAdminService adminService) {
+        this(adminService, DEFAULT_PAGE_SIZE);
+    }
+
+    public SubscriptionListWriter(APIMgtAdminService adminService, int pageSize) {
+        this.adminService = adminService;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Load the first page of subscriptions
+     *
+     * @return this writer
+     * @throws APIManagementException if the subscriptions cannot be retrieved
+     */
+    public SubscriptionListWriter load() throws APIManagementException {
+        firstPage = adminService.getAPISubscriptionsAfter(null, null, pageSize);
+        return this;
+    }
+
+    @Override
+    public void write(OutputStream outputStream) throws IOException {
+        if (firstPage == null) {
+            throw new IllegalStateException("Subscriptions are not loaded");
+        }
+        JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(outputStream,
+                StandardCharsets.UTF_8), BUFFER_SIZE));
+        writer.beginObject();
+        writer.name("list");
+        writer.beginArray();
+        List<SubscriptionValidationData> page = firstPage;
+        firstPage = null;
+        while (true) {
+            for (SubscriptionDTO subscription : MappingUtil.convertToSubscriptionListDto(page)) {
+                gson.toJson(subscription, SubscriptionDTO.class, writer);
+            }
+            if (page.size() < pageSize) {
+                break;
+            }
+            SubscriptionValidationData last = page.get(page.size() - 1);
+            try {
+                page = adminService.getAPISubscriptionsAfter(last.getSubscriptionId(), last.getKeyEnvType(),
+                        pageSize);
+            } catch (APIManagementException e) {
+                // the list is left open, so the client fails to parse the incomplete response
+                throw new IOException("Error while writing subscriptions after subscription : "
+                        + last.getSubscriptionId(), e);
+            }
+        }
+        writer.endArray();
+        writer.endObject();
+        writer.flush();
+    }
+}
@@ -19,6 +19,8 @@
 
 package org.wso2.carbon.apimgt.rest.api.core.impl;
 
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -26,16 +28,37 @@ import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
 import org.wso2.carbon.apimgt.core.impl.APIMgtAdminServiceImpl;
+import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.GatewayChange;
+import org.wso2.carbon.apimgt.core.models.PolicyValidationData;
 import org.wso2.carbon.apimgt.core.models.RegistrationSummary;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
 import org.wso2.carbon.apimgt.rest.api.core.dto.CredentialsDTO;
+import org.wso2.carbon.apimgt.rest.api.core.dto.GatewayChangeListDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.LabelInfoDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.RegistrationDTO;
 import org.wso2.carbon.apimgt.rest.api.core.dto.RegistrationSummaryDTO;
+import org.wso2.carbon.apimgt.rest.api.core.utils.GatewaySnapshotWriter;
+import org.wso2.carbon.apimgt.rest.api.core.utils.SampleTestObjectCreator;
+import org.wso2.carbon.apimgt.rest.api.core.utils.SubscriptionListWriter;
 import org.wso2.msf4j.Request;
 import org.wso2.transport.http.netty.message.HTTPCarbonMessage;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 import javax.ws.rs.core.Response;
 
 @RunWith(PowerMockRunner.class)
@@ -144,6 +167,151 @@ public class GatewaysApiServiceImplTestCase {
         Assert.assertEquals(response.getStatus(), Response.Status.INTERNAL_SERVER_ERROR.getStatusCode());
     }
 
+    @Test
+    public void gatewaysSnapshotGetTest() throws Exception {
+
+        APIMgtAdminServiceImpl adminService = Mockito.mock(APIMgtAdminServiceImpl.class);
+        PowerMockito.mockStatic(RestApiUtil.class);
+        PowerMockito.when(RestApiUtil.getAPIMgtAdminService()).thenReturn(adminService);
+
+        API api = SampleTestObjectCreator.createUniqueAPI().build();
+        Mockito.when(adminService.getAPIsByGatewayLabel(Collections.singletonList(APIMgtConstants.DEFAULT_LABEL_NAME)))
+                .thenReturn(Collections.singletonList(api));
+        Mockito.when(adminService.getAPIGatewayServiceConfig(api.getId())).thenReturn("service config");
+        Mockito.when(adminService.getAllResourcesForApi(api.getContext(), api.getVersion()))
+                .thenReturn(Collections.singletonList(SampleTestObjectCreator.createUniqueUriTemplate()));
+        Mockito.when(adminService.getAllEndpoints())
+                .thenReturn(Collections.singletonList(SampleTestObjectCreator.createUniqueEndpoint()));
+        Mockito.when(adminService.getBlockConditions()).thenReturn(Collections.singletonList(
+                SampleTestObjectCreator.createUniqueBlockConditions(APIMgtConstants.ThrottlePolicyConstants
+                        .BLOCKING_CONDITIONS_IP)));
+        Mockito.when(adminService.getAllPolicies()).thenReturn(new HashSet<>(Collections.singletonList(
+                new PolicyValidationData("policyId", "Gold", false))));
+        Mockito.when(adminService.getThreatProtectionPolicyList()).thenReturn(Collections.singletonList(
+                SampleTestObjectCreator.createUniqueThreatProtectionPolicy()));
+        Mockito.when(adminService.getAllApplications())
+                .thenReturn(Collections.singletonList(SampleTestObjectCreator.createRandomApplication()));
+        Mockito.when(adminService.getAPISubscriptionsAfter(null, null, SubscriptionListWriter.DEFAULT_PAGE_SIZE))
+                .thenReturn(Collections.singletonList(SampleTestObjectCreator.createSubscriptionValidationData()));
+        Mockito.when(adminService.getLatestGatewayChangeRevision()).thenReturn(42L);
+
+        GatewaysApiServiceImpl gatewaysApiService = new GatewaysApiServiceImpl();
+        Response response = gatewaysApiService.gatewaysSnapshotGet(null, "application/json", getRequest());
+        Assert.assertEquals(response.getStatus(), Response.Status.OK.getStatusCode());
+
+        List<JsonObject> records = readSnapshot((GatewaySnapshotWriter) response.getEntity());
+        Assert.assertEquals(14, records.size());
+        Assert.assertEquals(GatewaySnapshotWriter.RECORD_SNAPSHOT, getType(records.get(0)));
+        Assert.assertEquals(42L, records.get(0).get("changeRevision").getAsLong());
+        Assert.assertEquals(GatewaySnapshotWriter.RECORD_API, getType(records.get(1)));
+        Assert.assertEquals(api.getId(), records.get(1).getAsJsonObject("data").get("id").getAsString());
+        Assert.assertEquals(GatewaySnapshotWriter.RECORD_GATEWAY_CONFIG, getType(records.get(2)));
+        Assert.assertEquals("service config", records.get(2).get("data").getAsString());
+        Assert.assertEquals(GatewaySnapshotWriter.RECORD_RESOURCES, getType(records.get(3)));
+        Assert.assertEquals(1, records.get(3).getAsJsonArray("data").size());
+        Assert.assertEquals(GatewaySnapshotWriter.RECORD_SUBSCRIPTION, getType(records.get(12)));
+
+        JsonObject end = records.get(13);
+        Assert.assertEquals(GatewaySnapshotWriter.RECORD_END, getType(end));
+        Assert.assertEquals(13, end.get("count").getAsLong());
+        // the revision only depends on the content of the snapshot
+        String revision = end.get("revision").getAsString();
+        List<JsonObject> secondRead = readSnapshot((GatewaySnapshotWriter) gatewaysApiService
+                .gatewaysSnapshotGet(APIMgtConstants.DEFAULT_LABEL_NAME, "application/json", getRequest())
+                .getEntity());
+        Assert.assertEquals(revision, secondRead.get(13).get("revision").getAsString());
+    }
+
+    @Test
+    public void gatewaysSnapshotGetExceptionTest() throws Exception {
+
+        APIMgtAdminServiceImpl adminService = Mockito.mock(APIMgtAdminServiceImpl.class);
+        PowerMockito.mockStatic(RestApiUtil.class);
+        PowerMockito.when(RestApiUtil.getAPIMgtAdminService()).thenReturn(adminService);
+        Mockito.when(adminService.getAPIsByGatewayLabel(Mockito.anyList()))
+                .thenThrow(new APIManagementException("Error occurred", ExceptionCodes.APIMGT_DAO_EXCEPTION));
+
+        GatewaysApiServiceImpl gatewaysApiService = new GatewaysApiServiceImpl();
+        Response response = gatewaysApiService.gatewaysSnapshotGet("Default", "application/json", getRequest());
+        Assert.assertEquals(response.getStatus(), Response.Status.INTERNAL_SERVER_ERROR.getStatusCode());
+    }
+
+    @Test
+    public void gatewaysChangesGetTest() throws Exception {
+
+        APIMgtAdminServiceImpl adminService = Mockito.mock(APIMgtAdminServiceImpl.class);
+        PowerMockito.mockStatic(RestApiUtil.class);
+        PowerMockito.when(RestApiUtil.getAPIMgtAdminService()).thenReturn(adminService);
+        List<GatewayChange> changes = new ArrayList<>();
+        changes.add(new GatewayChange(11, APIMgtConstants.GatewayEventTypes.APPLICATION_CREATE,
+                "{\"applicationId\":\"app1\",\"eventType\":\"APPLICATION_CREATE\"}", Instant.now()));
+        changes.add(new GatewayChange(12, APIMgtConstants.GatewayEventTypes.POLICY_DELETE,
+                "{\"id\":\"policy1\",\"eventType\":\"POLICY_DELETE\"}", Instant.now()));
+        changes.add(new GatewayChange(15, APIMgtConstants.GatewayEventTypes.APPLICATION_DELETE,
+                "{\"applicationId\":\"app1\",\"eventType\":\"APPLICATION_DELETE\"}", Instant.now()));
+        Mockito.when(adminService.getGatewayChanges(10, 3)).thenReturn(changes);
+        Mockito.when(adminService.getGatewayChanges(15, 3)).thenReturn(new ArrayList<>());
+
+        GatewaysApiServiceImpl gatewaysApiService = new GatewaysApiServiceImpl();
+        Response response = gatewaysApiService.gatewaysChangesGet(10L, 2, "application/json", getRequest());
+        Assert.assertEquals(response.getStatus(), Response.Status.OK.getStatusCode());
+        GatewayChangeListDTO changeList = (GatewayChangeListDTO) response.getEntity();
+        Assert.assertEquals(2, changeList.getCount().intValue());
+        Assert.assertEquals(12L, changeList.getRevision().longValue());
+        Assert.assertTrue(changeList.getHasMore());
+        Assert.assertEquals(APIMgtConstants.GatewayEventTypes.APPLICATION_CREATE,
+                changeList.getList().get(0).getEventType());
+        Assert.assertEquals("app1", ((JsonObject) changeList.getList().get(0).getEvent()).get("applicationId")
+                .getAsString());
+
+        // no changes after the latest revision
+        response = gatewaysApiService.gatewaysChangesGet(15L, 2, "application/json", getRequest());
+        changeList = (GatewayChangeListDTO) response.getEntity();
+        Assert.assertEquals(0, changeList.getCount().intValue());
+        Assert.assertEquals(15L, changeList.getRevision().longValue());
+        Assert.assertFalse(changeList.getHasMore());
+    }
+
+    @Test
+    public void gatewaysChangesGetWithoutRevisionTest() throws Exception {
+
+        GatewaysApiServiceImpl gatewaysApiService = new GatewaysApiServiceImpl();
+        Response response = gatewaysApiService.gatewaysChangesGet(null, null, "application/json", getRequest());
+        Assert.assertEquals(response.getStatus(), Response.Status.BAD_REQUEST.getStatusCode());
+    }
+
+    @Test
+    public void gatewaysChangesGetExceptionTest() throws Exception {
+
+        APIMgtAdminServiceImpl adminService = Mockito.mock(APIMgtAdminServiceImpl.class);
+        PowerMockito.mockStatic(RestApiUtil.class);
+        PowerMockito.when(RestApiUtil.getAPIMgtAdminService()).thenReturn(adminService);
+        Mockito.when(adminService.getGatewayChanges(Mockito.anyLong(), Mockito.anyInt()))
+                .thenThrow(new APIManagementException("Error occurred", ExceptionCodes.APIMGT_DAO_EXCEPTION));
+
+        GatewaysApiServiceImpl gatewaysApiService = new GatewaysApiServiceImpl();
+        Response response = gatewaysApiService.gatewaysChangesGet(1L, null, "application/json", getRequest());
+        Assert.assertEquals(response.getStatus(), Response.Status.INTERNAL_SERVER_ERROR.getStatusCode());
+    }
+
+    private List<JsonObject> readSnapshot(GatewaySnapshotWriter snapshotWriter) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        snapshotWriter.write(outputStream);
+        List<JsonObject> records = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(
+                new ByteArrayInputStream(outputStream.toByteArray())), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                records.add(new JsonParser().parse(line).getAsJsonObject());
+            }
+        }
+        return records;
+    }
+
+    private String getType(JsonObject record) {
+        return record.get("type").getAsString();
+    }
+
     private Request getRequest() throws Exception {
         HTTPCarbonMessage carbonMessage = Mockito.mock(HTTPCarbonMessage.class);
         Request request = new Request(carbonMessage);
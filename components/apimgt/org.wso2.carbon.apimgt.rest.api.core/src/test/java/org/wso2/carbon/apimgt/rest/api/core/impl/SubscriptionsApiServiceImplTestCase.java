@@ -19,6 +19,7 @@
 
 package org.wso2.carbon.apimgt.rest.api.core.impl;
 
+import com.google.gson.Gson;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -26,16 +27,23 @@ import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
 import org.wso2.carbon.apimgt.core.impl.APIManagerFactory;
 import org.wso2.carbon.apimgt.core.impl.APIMgtAdminServiceImpl;
 import org.wso2.carbon.apimgt.core.models.SubscriptionValidationData;
 import org.wso2.carbon.apimgt.rest.api.core.dto.SubscriptionListDTO;
 import org.wso2.carbon.apimgt.rest.api.core.utils.SampleTestObjectCreator;
+import org.wso2.carbon.apimgt.rest.api.core.utils.SubscriptionListWriter;
 import org.wso2.msf4j.Request;
 import org.wso2.transport.http.netty.message.HTTPCarbonMessage;
 
 import javax.ws.rs.core.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @RunWith(PowerMockRunner.class)
@@ -79,6 +87,58 @@ public class SubscriptionsApiServiceImplTestCase {
         Assert.assertEquals(((SubscriptionListDTO) response.getEntity()).getList().size(), 2);
     }
 
+    @Test
+    public void subscriptionsStreamGetTest() throws Exception {
+        APIMgtAdminServiceImpl apiMgtAdminService = Mockito.mock(APIMgtAdminServiceImpl.class);
+        APIManagerFactory instance = Mockito.mock(APIManagerFactory.class);
+        PowerMockito.mockStatic(APIManagerFactory.class);
+        PowerMockito.when(APIManagerFactory.getInstance()).thenReturn(instance);
+        Mockito.when(instance.getAPIMgtAdminService()).thenReturn(apiMgtAdminService);
+
+        SubscriptionsApiServiceImpl subscriptionsApiService = new SubscriptionsApiServiceImpl();
+
+        Mockito.when(apiMgtAdminService.getAPISubscriptionsAfter(null, null, SubscriptionListWriter.DEFAULT_PAGE_SIZE))
+                .thenReturn(createSubscriptionValidationDataList());
+        Response response = subscriptionsApiService.subscriptionsGet(null, null, null, null, getRequest());
+
+        Assert.assertEquals(response.getStatus(), Response.Status.OK.getStatusCode());
+        Assert.assertEquals(readSubscriptionList((SubscriptionListWriter) response.getEntity()).getList().size(), 2);
+        Mockito.verify(apiMgtAdminService, Mockito.never()).getAPISubscriptions(Mockito.anyInt());
+    }
+
+    @Test
+    public void subscriptionListWriterPagingTest() throws Exception {
+        APIMgtAdminServiceImpl apiMgtAdminService = Mockito.mock(APIMgtAdminServiceImpl.class);
+        List<SubscriptionValidationData> firstPage = createSubscriptionValidationDataList();
+        firstPage.get(0).setSubscriptionId("subscription1");
+        firstPage.get(0).setKeyEnvType("PRODUCTION");
+        firstPage.get(1).setSubscriptionId("subscription1");
+        firstPage.get(1).setKeyEnvType("SANDBOX");
+        Mockito.when(apiMgtAdminService.getAPISubscriptionsAfter(null, null, 2)).thenReturn(firstPage);
+        Mockito.when(apiMgtAdminService.getAPISubscriptionsAfter("subscription1", "SANDBOX", 2))
+                .thenReturn(Collections.singletonList(SampleTestObjectCreator.createSubscriptionValidationData()));
+
+        SubscriptionListDTO subscriptionList = readSubscriptionList(
+                new SubscriptionListWriter(apiMgtAdminService, 2).load());
+        Assert.assertEquals(subscriptionList.getList().size(), 3);
+        Assert.assertEquals(subscriptionList.getList().get(0).getKeyEnvType(), "PRODUCTION");
+        Mockito.verify(apiMgtAdminService, Mockito.times(1)).getAPISubscriptionsAfter("subscription1", "SANDBOX", 2);
+    }
+
+    @Test(expected = IOException.class)
+    public void subscriptionListWriterExceptionTest() throws Exception {
+        APIMgtAdminServiceImpl apiMgtAdminService = Mockito.mock(APIMgtAdminServiceImpl.class);
+        List<SubscriptionValidationData> firstPage = createSubscriptionValidationDataList();
+        Mockito.when(apiMgtAdminService.getAPISubscriptionsAfter(null, null, 2)).thenReturn(firstPage);
+        Mockito.when(apiMgtAdminService.getAPISubscriptionsAfter(Mockito.anyString(), Mockito.anyString(),
+                Mockito.eq(2))).thenThrow(new APIManagementException("Error while retrieving subscriptions",
+                ExceptionCodes.APIMGT_DAO_EXCEPTION));
+        firstPage.get(1).setSubscriptionId("subscription1");
+        firstPage.get(1).setKeyEnvType("SANDBOX");
+
+        new SubscriptionListWriter(apiMgtAdminService, 2).load().write(new ByteArrayOutputStream());
+    }
+
     @Test
     public void policiesGetExceptionTest() throws Exception {
         SubscriptionsApiServiceImpl subscriptionsApiService = new SubscriptionsApiServiceImpl();
@@ -114,6 +174,13 @@ public class SubscriptionsApiServiceImplTestCase {
         return subscriptionsApiService.subscriptionsGet(apiContext, apiVersion, LIMIT, null, getRequest());
     }
 
+    private SubscriptionListDTO readSubscriptionList(SubscriptionListWriter writer) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writer.write(outputStream);
+        return new Gson().fromJson(new String(outputStream.toByteArray(), StandardCharsets.UTF_8),
+                SubscriptionListDTO.class);
+    }
+
     private List<SubscriptionValidationData> createSubscriptionValidationDataList() throws Exception {
         SubscriptionValidationData subscriptionValidationDataOne = SampleTestObjectCreator
                 .createSubscriptionValidationData();
@@ -81,4 +81,33 @@ public class PolicyExportManagerTest {
                 new File(APIFileUtils.getDirectoryList(unzippedPath).iterator().next()).listFiles().length == 6, true,
                 "Exported policy count is not equal to ");
     }
+
+    @Test(description = "testing creating archive with the combined execution plan")
+    public void testCreateArchiveWithCombinedExecutionPlan() throws APIManagementException {
+
+        APIMgtAdminService apiMgtAdminService = Mockito.mock(APIMgtAdminService.class);
+        List<APIPolicy> apiPolicies = new ArrayList<>();
+        List<ApplicationPolicy> applicationPolicies = new ArrayList<>();
+        List<SubscriptionPolicy> subscriptionPolicies = new ArrayList<>();
+        List<CustomPolicy> customPolicies = new ArrayList<>();
+
+        apiPolicies.add(SampleTestObjectCreator.createDefaultAPIPolicy());
+        applicationPolicies.add(SampleTestObjectCreator.createDefaultApplicationPolicy());
+        subscriptionPolicies.add(SampleTestObjectCreator.createDefaultSubscriptionPolicy());
+        customPolicies.add(SampleTestObjectCreator.createDefaultCustomPolicy());
+        Mockito.when(apiMgtAdminService.getApiPolicies()).thenReturn(apiPolicies);
+        Mockito.when(apiMgtAdminService.getApplicationPolicies()).thenReturn(applicationPolicies);
+        Mockito.when(apiMgtAdminService.getCustomRules()).thenReturn(customPolicies);
+        Mockito.when(apiMgtAdminService.getSubscriptionPolicies()).thenReturn(subscriptionPolicies);
+
+        PolicyExportManager policyExportManager = new PolicyExportManager(apiMgtAdminService, true);
+        String path = policyExportManager
+                .createArchiveFromExecutionPlans("exportCombinedDir", exportRootDirectory, "combined-policies");
+        String unzippedPath = exportRootDirectory + File.separator + "export-combined-policies";
+        APIFileUtils.extractArchive(path, unzippedPath);
+        // the application and subscription policies are exported as a single execution plan
+        Assert.assertEquals(
+                new File(APIFileUtils.getDirectoryList(unzippedPath).iterator().next()).listFiles().length, 5,
+                "Exported policy count is not equal to ");
+    }
 }
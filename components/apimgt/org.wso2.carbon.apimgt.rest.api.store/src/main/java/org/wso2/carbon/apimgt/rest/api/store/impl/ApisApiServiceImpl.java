@@ -745,6 +745,12 @@ public class ApisApiServiceImpl extends ApisApiService {
                 labelName = APIMgtConstants.LabelConstants.DEFAULT;
             }
 
+            String existingFingerprint = apiStore.getAPIWSDLFingerprint(apiId, labelName);
+            if (!StringUtils.isEmpty(ifNoneMatch) && !StringUtils.isEmpty(existingFingerprint) && ifNoneMatch
+                    .contains(existingFingerprint)) {
+                return Response.notModified().build();
+            }
+
             boolean isWSDLArchiveExists = apiStore.isWSDLArchiveExists(apiId);
             if (log.isDebugEnabled()) {
                 log.debug("API has WSDL archive?: " + isWSDLArchiveExists);
@@ -755,8 +761,9 @@ public class ApisApiServiceImpl extends ApisApiService {
                     log.debug("Successfully retrieved WSDL archive for API: " + apiId);
                 }
                 //wsdlArchiveInfo will not be null all the time so no need null check
-                File archive = new File(wsdlArchiveInfo.getAbsoluteFilePath());
-                return Response.ok(archive)
+                Object archive = wsdlArchiveInfo.getContent() != null ? wsdlArchiveInfo.getContent()
+                        : new File(wsdlArchiveInfo.getAbsoluteFilePath());
+                return addWSDLFingerprint(Response.ok(archive), apiStore, apiId, labelName, existingFingerprint)
                         .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_TYPE)
                         .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\""
                                 + wsdlArchiveInfo.getFileName() + "\"")
@@ -766,7 +773,7 @@ public class ApisApiServiceImpl extends ApisApiService {
                 if (log.isDebugEnabled()) {
                     log.debug("Successfully retrieved WSDL for API: " + apiId);
                 }
-                return Response.ok(wsdlString)
+                return addWSDLFingerprint(Response.ok(wsdlString), apiStore, apiId, labelName, existingFingerprint)
                         .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN)
                         .build();
             }
@@ -776,21 +783,32 @@ public class ApisApiServiceImpl extends ApisApiService {
             ErrorDTO errorDTO = RestApiUtil.getErrorDTO(e.getErrorHandler(), paramList);
             log.error("Error while getting WSDL for API:" + apiId + " and label:" + labelName, e);
             return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
-        } finally {
-            //Commented below since MSFJ fails to reply when the files are already deleted. Need to fix this properly
-            /*
-            if (wsdlArchiveInfo != null) {
-                try {
-                    APIFileUtils.deleteDirectory(wsdlArchiveInfo.getLocation());
-                } catch (APIMgtDAOException e) {
-                    //This is not a blocker. Give a warning and continue
-                    log.warn("Error occured while deleting processed WSDL artifacts folder : " + wsdlArchiveInfo
-                            .getLocation());
-                }
-            }*/
         }
     }
 
+    /**
+     * Adds the ETag of a WSDL to a response. A WSDL that was not processed before the request is cached by now, so its
+     * fingerprint is read again if it was not known at the start of the request.
+     *
+     * @param responseBuilder     WSDL response
+     * @param apiStore            API store of the user
+     * @param apiId               UUID of API
+     * @param labelName           Name of the label
+     * @param existingFingerprint Fingerprint of the WSDL at the start of the request
+     * @return the response with the ETag of the WSDL, if the WSDL is cached
+     * @throws APIManagementException if error occurs while reading the fingerprint
+     */
+    private Response.ResponseBuilder addWSDLFingerprint(Response.ResponseBuilder responseBuilder, APIStore apiStore,
+                                                        String apiId, String labelName, String existingFingerprint)
+            throws APIManagementException {
+        String fingerprint = existingFingerprint != null ? existingFingerprint
+                : apiStore.getAPIWSDLFingerprint(apiId, labelName);
+        if (fingerprint != null) {
+            responseBuilder.header(HttpHeaders.ETAG, "\"" + fingerprint + "\"");
+        }
+        return responseBuilder;
+    }
+
     /**
      * Retrieves the fingerprint of the API given its ID
      *
@@ -902,6 +902,43 @@ public class ApisApiServiceImplTestCase {
         Assert.assertTrue(response.getEntity() instanceof File);
     }
 
+    @Test
+    public void testApisApiIdWsdlGetArchiveFromMemory() throws Exception {
+        printTestMethodName();
+        final String uuid = "11112222-3333-4444-5555-666677778888";
+        ApisApiServiceImpl apisApiService = new ApisApiServiceImpl();
+        APIStore apiStore = Mockito.mock(APIStoreImpl.class);
+        PowerMockito.mockStatic(RestApiUtil.class);
+        PowerMockito.when(RestApiUtil.getConsumer(USER)).thenReturn(apiStore);
+        Request request = getRequest();
+        PowerMockito.when(RestApiUtil.getLoggedInUsername(request)).thenReturn(USER);
+        Mockito.doReturn(true).when(apiStore).isWSDLExists(uuid);
+        Mockito.doReturn(true).when(apiStore).isWSDLArchiveExists(uuid);
+        WSDLArchiveInfo archiveInfo = new WSDLArchiveInfo(WSDL_ZIP, new byte[]{1, 2, 3});
+        Mockito.doReturn(archiveInfo).when(apiStore).getAPIWSDLArchive(uuid, "Sample");
+        Mockito.doReturn("fingerprint").when(apiStore).getAPIWSDLFingerprint(uuid, "Sample");
+        Response response = apisApiService.apisApiIdWsdlGet(uuid, "Sample", null, null, request);
+        Assert.assertEquals(response.getStatus(), 200);
+        Assert.assertTrue(response.getEntity() instanceof byte[]);
+    }
+
+    @Test
+    public void testApisApiIdWsdlGetNotModified() throws Exception {
+        printTestMethodName();
+        final String uuid = "11112222-3333-4444-5555-666677778888";
+        ApisApiServiceImpl apisApiService = new ApisApiServiceImpl();
+        APIStore apiStore = Mockito.mock(APIStoreImpl.class);
+        PowerMockito.mockStatic(RestApiUtil.class);
+        PowerMockito.when(RestApiUtil.getConsumer(USER)).thenReturn(apiStore);
+        Request request = getRequest();
+        PowerMockito.when(RestApiUtil.getLoggedInUsername(request)).thenReturn(USER);
+        Mockito.doReturn(true).when(apiStore).isWSDLExists(uuid);
+        Mockito.doReturn("fingerprint").when(apiStore).getAPIWSDLFingerprint(uuid, "Sample");
+        Response response = apisApiService.apisApiIdWsdlGet(uuid, "Sample", "\"fingerprint\"", null, request);
+        Assert.assertEquals(response.getStatus(), 304);
+        Mockito.verify(apiStore, Mockito.never()).getAPIWSDL(uuid, "Sample");
+    }
+
     @Test
     public void testApisApiIdWsdlGetNone() throws Exception {
         printTestMethodName();
@@ -155,7 +155,7 @@ class AuthManager {
             grant_type: 'password',
             validity_period: 3600,
             scopes: 'apim:tier_view apim:tier_manage apim:bl_view apim:bl_manage apim:label_view ' +
-            'apim:label_manage apim:workflow_view apim:workflow_approve'
+            'apim:label_manage apim:workflow_view apim:workflow_approve apim:cache_view'
 
         };
         let promised_response = axios(Utils.getLoginTokenPath(environment), {
@@ -207,7 +207,7 @@ class AuthManager {
             grant_type: 'refresh_token',
             validity_period: '3600',
             scopes: 'apim:tier_view apim:tier_manage apim:bl_view apim:bl_manage apim:label_view ' +
-            'apim:label_manage apim:workflow_view apim:workflow_approve'
+            'apim:label_manage apim:workflow_view apim:workflow_approve apim:cache_view'
         };
         let referrer = (document.referrer.indexOf("https") !== -1) ? document.referrer : null;
         let url = Utils.CONST.CONTEXT_PATH + '/auth/apis/login/token';
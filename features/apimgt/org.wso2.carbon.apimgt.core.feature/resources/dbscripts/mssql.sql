@@ -501,3 +501,19 @@ CREATE TABLE AM_USER_NAME_MAPPING (
   USER_IDENTIFIER VARCHAR(255) NOT NULL UNIQUE,
   PRIMARY KEY(PSEUDO_NAME)
 );
+
+IF NOT  EXISTS (SELECT * FROM SYS.OBJECTS WHERE OBJECT_ID = OBJECT_ID(N'[DBO].[AM_GATEWAY_CHANGE_LOG]') AND TYPE IN (N'U'))
+CREATE TABLE AM_GATEWAY_CHANGE_LOG (
+  REVISION BIGINT NOT NULL,
+  EVENT_TYPE VARCHAR(64) NOT NULL,
+  EVENT VARBINARY(max),
+  CREATED_TIME DATETIME2(6) DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (REVISION)
+);
+
+IF NOT  EXISTS (SELECT * FROM SYS.OBJECTS WHERE OBJECT_ID = OBJECT_ID(N'[DBO].[AM_GATEWAY_CHANGE_REVISION]') AND TYPE IN (N'U'))
+CREATE TABLE AM_GATEWAY_CHANGE_REVISION (
+  ID INTEGER NOT NULL,
+  REVISION BIGINT NOT NULL,
+  PRIMARY KEY (ID)
+);
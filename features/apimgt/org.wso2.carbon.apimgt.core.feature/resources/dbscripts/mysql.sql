@@ -498,3 +498,17 @@ CREATE TABLE IF NOT EXISTS AM_USER_NAME_MAPPING (
   PRIMARY KEY(PSEUDO_NAME),
   UNIQUE (USER_IDENTIFIER)
 )CHARACTER SET utf8 COLLATE utf8_general_ci;
+
+CREATE TABLE IF NOT EXISTS AM_GATEWAY_CHANGE_LOG (
+  REVISION BIGINT NOT NULL,
+  EVENT_TYPE VARCHAR(64) NOT NULL,
+  EVENT LONGBLOB,
+  CREATED_TIME TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6),
+  PRIMARY KEY (REVISION)
+)CHARACTER SET utf8 COLLATE utf8_general_ci;
+
+CREATE TABLE IF NOT EXISTS AM_GATEWAY_CHANGE_REVISION (
+  ID INTEGER NOT NULL,
+  REVISION BIGINT NOT NULL,
+  PRIMARY KEY (ID)
+)CHARACTER SET utf8 COLLATE utf8_general_ci;
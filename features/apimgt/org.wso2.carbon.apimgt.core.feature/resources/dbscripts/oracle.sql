@@ -683,3 +683,19 @@ CREATE TABLE AM_USER_NAME_MAPPING (
   UNIQUE (USER_IDENTIFIER)
 )
 /
+
+CREATE TABLE AM_GATEWAY_CHANGE_LOG (
+  REVISION NUMBER(19) NOT NULL,
+  EVENT_TYPE VARCHAR2(64) NOT NULL,
+  EVENT BLOB,
+  CREATED_TIME TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6),
+  PRIMARY KEY (REVISION)
+)
+/
+
+CREATE TABLE AM_GATEWAY_CHANGE_REVISION (
+  ID NUMBER(10) NOT NULL,
+  REVISION NUMBER(19) NOT NULL,
+  PRIMARY KEY (ID)
+)
+/
@@ -10,6 +10,7 @@ import org.wso2.carbon.apimgt.gateway.utils as gatewayUtil;
 import org.wso2.carbon.apimgt.gateway.holders as holder;
 import org.wso2.carbon.apimgt.gateway.constants;
 import org.wso2.carbon.apimgt.ballerina.util;
+import org.wso2.carbon.apimgt.ballerina.jwt;
 
 function main(string[] args) {
     system:println("Hello, World!");
@@ -36,7 +37,9 @@ function authenticate (message m) (boolean, message) {
     dto:SubscriptionDto subscriptionDto;
     dto:ResourceDto resourceDto;
     json userInfo;
+    json tokenClaims;
     boolean introspectCacheHit = true;
+    boolean selfContainedToken = false;
     string apiContext = messages:getProperty(m,constants:BASE_PATH);
     //todo get this from ballerina property once they set versioning
     string version = "1.0.0";
@@ -97,8 +100,11 @@ function authenticate (message m) (boolean, message) {
         dto:IntrospectDto introspectDto = holder:getFromTokenCache(authToken);
         if (introspectDto == null) {
             introspectCacheHit = false;
-            // if not exist
-            introspectDto = doIntrospect(authToken);
+            // if not exist, validate self contained tokens locally and introspect the others
+            selfContainedToken, introspectDto, tokenClaims = validateSelfContainedToken(authToken);
+            if (!selfContainedToken) {
+                introspectDto = doIntrospect(authToken);
+            }
         }
 
         if (!introspectDto.active) {
@@ -116,7 +122,12 @@ function authenticate (message m) (boolean, message) {
             userInfo = holder:getFromUserInfoCache(introspectDto.username);
             if ((userInfo == null) && (introspectDto.scope != "")
                 && (strings:contains(introspectDto.scope, "openid"))) {
-                userInfo = retrieveUserInfo(authToken);
+                if (selfContainedToken) {
+                    // claims of the user are already in the token
+                    userInfo = tokenClaims;
+                } else {
+                    userInfo = retrieveUserInfo(authToken);
+                }
                 holder:putIntoUserInfoCache(introspectDto.username, userInfo);
             }
         }
@@ -199,6 +210,22 @@ function doIntrospect (string authToken) (dto:IntrospectDto) {
     dto:IntrospectDto introspectDto = gatewayUtil:fromJsonToIntrospectDto(messages:getJsonPayload(introspectResponse));
     return introspectDto;
 }
+function validateSelfContainedToken (string authToken) (boolean, dto:IntrospectDto, json) {
+    dto:GatewayConfDTO gatewayConf = holder:getGatewayConf();
+    dto:JWTInfoDTO jwtInfo = gatewayConf.jwtInfo;
+    if (jwtInfo == null || !jwtInfo.enableSelfContainedTokenValidation) {
+        return false, null, null;
+    }
+    boolean validated;
+    json introspectResponse;
+    validated, introspectResponse = jwt:validate(authToken, jwtInfo.jwksEndpoint, jwtInfo.tokenIssuer,
+                                                 jwtInfo.signatureAlgorithm, jwtInfo.jwksCacheExpiryTime);
+    if (!validated) {
+        return false, null, null;
+    }
+    dto:IntrospectDto introspectDto = gatewayUtil:fromJsonToIntrospectDto(introspectResponse);
+    return true, introspectDto, introspectResponse.claims;
+}
 function validateSubscription (string apiContext, string version, dto:IntrospectDto introspectDto) (dto:SubscriptionDto) {
     string cacheKey = apiContext + ":" + version + ":" + introspectDto.client_id;
     dto:SubscriptionDto subscriptionDto = holder:getFromSubscriptionCache(apiContext, version, introspectDto.client_id);
@@ -22,6 +22,7 @@ const string BLOCKING_CONDITION_IP_RANGE = "IP_RANGE";
 const string BLOCK_CONDITION_ADD = "BLOCK_CONDITION_ADD";
 const string BLOCK_CONDITION_UPDATE = "BLOCK_CONDITION_UPDATE";
 const string BLOCK_CONDITION_DELETE = "BLOCK_CONDITION_DELETE";
+const string BATCH = "BATCH";
 const string EVENT_TYPE = "eventType";
 const string INTROSPECT_CONTEXT = "/oauth2/introspect";
 const string USER_INFO_CONTEXT = "/oauth2/userinfo";
@@ -38,6 +39,7 @@ const string RESOURCE_CACHE = "RESOURCE_CACHE";
 const string POLICY_CACHE = "POLICY_CACHE";
 const string API_CACHE = "API_CACHE";
 const string BLOCK_CONDITION_MAP = "BLOCK_CONDITION_MAP";
+const string GATEWAY_CHANGE_REVISION = "GATEWAY_CHANGE_REVISION";
 const string BLOCK_CONDITION_IP_RANGE_MAP = "BLOCK_CONDITION_IP_RANGE_MAP";
 
 const string THROTTLE_KEY = "throttleKey";
@@ -19,6 +19,11 @@ struct KeyManagerInfoDTO {
 struct JWTInfoDTO {
     boolean enableJWTGeneration;
     string jwtHeader;
+    boolean enableSelfContainedTokenValidation;
+    string jwksEndpoint;
+    string tokenIssuer;
+    string signatureAlgorithm;
+    int jwksCacheExpiryTime;
 }
 
 struct AnalyticsInfoDTO {
@@ -35,6 +40,8 @@ struct ThrottlingInfoDTO {
     string serverURL;
     string authServerURL;
     CredentialsDTO credentials;
+    boolean localThrottlingEnabled;
+    int gatewayNodeCount;
 }
 
 struct GAnalyticsTrackingInfoDTO {
@@ -3,5 +3,9 @@ package org.wso2.carbon.apimgt.gateway.dto;
 struct PolicyDto {
     string id;
     string name;
+    string policyLevel;
     boolean stopOnQuotaReach;
+    int requestCount;
+    int unitTime;
+    string timeUnit;
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ import org.wso2.carbon.apimgt.gateway.dto as dto;
 import org.wso2.carbon.apimgt.gateway.constants;
 import org.wso2.carbon.apimgt.ballerina.caching;
 import org.wso2.carbon.apimgt.ballerina.maps as apimgtMaps;
+import org.wso2.carbon.apimgt.ballerina.util as apimgtUtil;
 import ballerina.lang.system;
 import ballerina.lang.maps;
 import ballerina.lang.errors;
@@ -115,6 +116,18 @@ function getGatewayConf () (dto:GatewayConfDTO) {
     }
     return gatewayConf;
 }
+function setGatewayChangeRevision (int revision) {
+    apimgtMaps:putMapEntry(constants:GATEWAY_CHANGE_REVISION, revision);
+}
+function getGatewayChangeRevision () (int) {
+    any entry = apimgtMaps:getMapEntry(constants:GATEWAY_CHANGE_REVISION);
+    int revision;
+    errors:TypeCastError err;
+    if (entry != null) {
+        revision, err = (int)entry;
+    }
+    return revision;
+}
 function getKeyManagerConf () (dto:KeyManagerInfoDTO) {
     getGatewayConf();
     return keyManagerConf;
@@ -246,6 +259,10 @@ function addBlockConditions (dto:BlockConditionDto blockConditionDto) {
     }
     blockConditionMap[blockConditionDto.key] = blockConditionDto;
     apimgtMaps:putMapEntry(constants:BLOCK_CONDITION_MAP, blockConditionMap);
+    if (blockConditionDto.conditionType == constants:BLOCKING_CONDITION_IP_RANGE) {
+        boolean isRangeAdded = apimgtUtil:addIpv4Range(blockConditionDto.key, blockConditionDto.startingIP,
+                                                        blockConditionDto.endingIP);
+    }
 }
 function removeBlockCondition (dto:BlockConditionDto blockConditionDto) {
     any entry = apimgtMaps:getMapEntry(constants:BLOCK_CONDITION_MAP);
@@ -256,6 +273,7 @@ function removeBlockCondition (dto:BlockConditionDto blockConditionDto) {
     }
     maps:remove(blockConditionMap,blockConditionDto.key);
     apimgtMaps:putMapEntry(constants:BLOCK_CONDITION_MAP, blockConditionMap);
+    apimgtUtil:removeIpRange(blockConditionDto.key);
 }
 function updateBlockCondition (dto:BlockConditionDto blockConditionDto) {
     any entry = apimgtMaps:getMapEntry(constants:BLOCK_CONDITION_MAP);
@@ -265,8 +283,13 @@ function updateBlockCondition (dto:BlockConditionDto blockConditionDto) {
         blockConditionMap, err = (map)entry;
     }
     maps:remove(blockConditionMap,blockConditionDto.key);
+    apimgtUtil:removeIpRange(blockConditionDto.key);
     if (blockConditionDto.enabled) {
         blockConditionMap[blockConditionDto.key] = blockConditionDto;
+        if (blockConditionDto.conditionType == constants:BLOCKING_CONDITION_IP_RANGE) {
+            boolean isRangeAdded = apimgtUtil:addIpv4Range(blockConditionDto.key, blockConditionDto.startingIP,
+                                                            blockConditionDto.endingIP);
+        }
     }
     apimgtMaps:putMapEntry(constants:BLOCK_CONDITION_MAP, blockConditionMap);
 }
@@ -2,9 +2,7 @@ package org.wso2.carbon.apimgt.gateway.holders;
 
 import ballerina.lang.maps;
 import ballerina.lang.system;
-import ballerina.lang.strings;
 import org.wso2.carbon.apimgt.gateway.constants;
-import org.wso2.carbon.apimgt.gateway.dto;
 import org.wso2.carbon.apimgt.ballerina.util as apimgtUtil;
 import org.wso2.carbon.apimgt.ballerina.maps as mapHolder;
 import ballerina.lang.errors;
@@ -79,30 +77,10 @@ function isRequestBlocked (string apiBlockingKey, string applicationBlockingKey,
     return (blockConditions[apiBlockingKey] != null ||
             blockConditions[applicationBlockingKey] != null ||
             blockConditions[userBlockingKey] != null ||
-            blockConditions[ipBlockingKey] != null || isIpRangeBlocked(ipBlockingKey, blockConditions));
+            blockConditions[ipBlockingKey] != null || isIpRangeBlocked(ipBlockingKey));
 }
-function isIpRangeBlocked (string ipBlockingKey, map conditionsMap) (boolean) {
-    boolean status = false;
-    if (ipBlockingKey != "") {
-        int longValueOfIp = apimgtUtil:convertIpToLong(ipBlockingKey);
-        string[] conditionKeys = maps:keys(conditionsMap);
-        int length = maps:length(conditionsMap);
-        int i = 0;
-        while (i > length) {
-            string key = conditionKeys[i];
-            if (strings:contains(key, constants:BLOCKING_CONDITION_IP_RANGE)) {
-                dto:BlockConditionDto condition;
-                errors:TypeCastError err;
-                condition, err = (dto:BlockConditionDto)conditionsMap[key];
-
-                if ((condition.startingIP <= longValueOfIp) && (condition.endingIP <= longValueOfIp)) {
-                    status =  true;
-                    break;
-                }
-            }
-        }
-    }
-    return status;
+function isIpRangeBlocked (string ipBlockingKey) (boolean) {
+    return ipBlockingKey != "" && apimgtUtil:isIpInRange(ipBlockingKey);
 }
 
 function isThrottled (string throttleKey, message msg) (boolean) {
@@ -5,10 +5,12 @@ import ballerina.net.jms;
 import ballerina.net.http;
 import ballerina.lang.system;
 import ballerina.lang.errors;
+import ballerina.lang.jsons;
 import org.wso2.carbon.apimgt.gateway.constants as Constants;
 import org.wso2.carbon.apimgt.gateway.utils as gatewayUtils;
 import org.wso2.carbon.apimgt.gateway.holders;
 import org.wso2.carbon.apimgt.gateway.dto;
+import org.wso2.carbon.apimgt.ballerina.throttle as localThrottle;
 
 @jms:config {
     initialContextFactory:"org.wso2.andes.jndi.PropertiesFileInitialContextFactory",
@@ -27,26 +29,16 @@ service<jms> ThrottleCoreJmsService {
         string eventType;
         eventType, err = (string)event[Constants:EVENT_TYPE];
         try {
-            if(eventType == Constants:POLICY_CREATE){
-                gatewayUtils:putIntoPolicyCache(event);
-            }else if(eventType == Constants:POLICY_UPDATE){
-                string eventId;
-                eventId, err = (string )event.id;
-                holders:removeFromPolicyCache(eventId);
-                gatewayUtils:putIntoPolicyCache(event);
-            }else if(eventType == Constants:POLICY_DELETE){
-                string eventId;
-                eventId, err = (string )event.id;
-                holders:removeFromPolicyCache(eventId);
-             }else if(eventType == Constants:BLOCK_CONDITION_ADD){
-                dto:BlockConditionDto condition = gatewayUtils:fromJsonToBlockConditionDto(event);
-                holders:addBlockConditions(condition);
-            }else if(eventType == Constants:BLOCK_CONDITION_UPDATE){
-                dto:BlockConditionDto condition = gatewayUtils:fromJsonToBlockConditionDto(event);
-                holders:updateBlockCondition(condition);
-            }else if(eventType == Constants:BLOCK_CONDITION_DELETE){
-                dto:BlockConditionDto condition = gatewayUtils:fromJsonToBlockConditionDto(event);
-                holders:removeBlockCondition(condition);
+            if (eventType == Constants:BATCH) {
+                json events = event.events;
+                int length = jsons:getInt(events, "$.length()");
+                int i = 0;
+                while (i < length) {
+                    processThrottleCoreEvent(events[i]);
+                    i = i + 1;
+                }
+            } else {
+                processThrottleCoreEvent(event);
             }
         } catch (errors:Error e) {
         system:println( e.msg);
@@ -55,3 +47,33 @@ service<jms> ThrottleCoreJmsService {
     }
 }
 
+function processThrottleCoreEvent (json event) {
+    errors:TypeCastError err;
+    string eventType;
+    eventType, err = (string)event[Constants:EVENT_TYPE];
+    if(eventType == Constants:POLICY_CREATE){
+        gatewayUtils:putIntoPolicyCache(event);
+    }else if(eventType == Constants:POLICY_UPDATE){
+        string eventId;
+        eventId, err = (string )event.id;
+        holders:removeFromPolicyCache(eventId);
+        gatewayUtils:putIntoPolicyCache(event);
+    }else if(eventType == Constants:POLICY_DELETE){
+        string eventId;
+        eventId, err = (string )event.id;
+        dto:PolicyDto policy = holders:getFromPolicyCache(eventId);
+        if (policy != null) {
+            localThrottle:removeLocalLimit(policy.policyLevel, policy.name);
+        }
+        holders:removeFromPolicyCache(eventId);
+    }else if(eventType == Constants:BLOCK_CONDITION_ADD){
+        dto:BlockConditionDto condition = gatewayUtils:fromJsonToBlockConditionDto(event);
+        holders:addBlockConditions(condition);
+    }else if(eventType == Constants:BLOCK_CONDITION_UPDATE){
+        dto:BlockConditionDto condition = gatewayUtils:fromJsonToBlockConditionDto(event);
+        holders:updateBlockCondition(condition);
+    }else if(eventType == Constants:BLOCK_CONDITION_DELETE){
+        dto:BlockConditionDto condition = gatewayUtils:fromJsonToBlockConditionDto(event);
+        holders:removeBlockCondition(condition);
+    }
+}
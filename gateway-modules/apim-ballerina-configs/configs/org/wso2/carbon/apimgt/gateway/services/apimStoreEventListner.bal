@@ -5,6 +5,7 @@ import ballerina.net.jms;
 import ballerina.net.http;
 import ballerina.lang.system;
 import ballerina.lang.errors;
+import ballerina.lang.jsons;
 import ballerina.lang.strings;
 import org.wso2.carbon.apimgt.gateway.constants as Constants;
 import org.wso2.carbon.apimgt.gateway.utils as gatewayUtil;
@@ -26,26 +27,17 @@ service<jms> apimStoreEventListner {
             json event = messages:getJsonPayload(m);
             string eventType;
             eventType, err = (string)event[Constants:EVENT_TYPE];
-            if (strings:equalsIgnoreCase(eventType, Constants:SUBSCRIPTION_CREATE)) {
-                json subscriptionsList = event.subscriptionsList;
-                gatewayUtil:putIntoSubscriptionCache(subscriptionsList);
-            } else if (strings:equalsIgnoreCase(eventType, Constants:SUBSCRIPTION_DELETE)) {
-                json subscriptionsList = event.subscriptionsList;
-                gatewayUtil:removeFromSubscriptionCache(subscriptionsList);
-            } else if (strings:equalsIgnoreCase(eventType, Constants:APPLICATION_CREATE)) {
-                gatewayUtil:putIntoApplicationCache(event);
-            } else if (strings:equalsIgnoreCase(eventType, Constants:APPLICATION_UPDATE)) {
-                gatewayUtil:putIntoApplicationCache(event);
-            } else if (strings:equalsIgnoreCase(eventType, Constants:APPLICATION_DELETE)) {
-                gatewayUtil:removeFromApplicationCache(event);
-            } else if (strings:equalsIgnoreCase(eventType, Constants:SUBSCRIPTION_STATUS_CHANGE)) {
-                json subscriptionsList = event.subscriptionsList;
-                gatewayUtil:removeFromSubscriptionCache(subscriptionsList);
-                gatewayUtil:putIntoSubscriptionCache(subscriptionsList);
+            if (strings:equalsIgnoreCase(eventType, Constants:BATCH)) {
+                json events = event.events;
+                int length = jsons:getInt(events, "$.length()");
+                int i = 0;
+                while (i < length) {
+                    processStoreEvent(events[i]);
+                    i = i + 1;
+                }
             } else {
-                system:println("Invalid event received");
+                processStoreEvent(event);
             }
-
         } catch (errors:Error e) {
             system:println(e.msg);
             system:println("Error occurred while processing gateway event ");
@@ -53,3 +45,28 @@ service<jms> apimStoreEventListner {
     }
 
 }
+
+function processStoreEvent (json event) {
+    errors:TypeCastError err;
+    string eventType;
+    eventType, err = (string)event[Constants:EVENT_TYPE];
+    if (strings:equalsIgnoreCase(eventType, Constants:SUBSCRIPTION_CREATE)) {
+        json subscriptionsList = event.subscriptionsList;
+        gatewayUtil:putIntoSubscriptionCache(subscriptionsList);
+    } else if (strings:equalsIgnoreCase(eventType, Constants:SUBSCRIPTION_DELETE)) {
+        json subscriptionsList = event.subscriptionsList;
+        gatewayUtil:removeFromSubscriptionCache(subscriptionsList);
+    } else if (strings:equalsIgnoreCase(eventType, Constants:APPLICATION_CREATE)) {
+        gatewayUtil:putIntoApplicationCache(event);
+    } else if (strings:equalsIgnoreCase(eventType, Constants:APPLICATION_UPDATE)) {
+        gatewayUtil:putIntoApplicationCache(event);
+    } else if (strings:equalsIgnoreCase(eventType, Constants:APPLICATION_DELETE)) {
+        gatewayUtil:removeFromApplicationCache(event);
+    } else if (strings:equalsIgnoreCase(eventType, Constants:SUBSCRIPTION_STATUS_CHANGE)) {
+        json subscriptionsList = event.subscriptionsList;
+        gatewayUtil:removeFromSubscriptionCache(subscriptionsList);
+        gatewayUtil:putIntoSubscriptionCache(subscriptionsList);
+    } else {
+        system:println("Invalid event received");
+    }
+}
@@ -2,6 +2,7 @@ package org.wso2.carbon.apimgt.gateway.services;
 
 import ballerina.lang.system;
 import ballerina.lang.errors;
+import ballerina.lang.jsons;
 import org.wso2.carbon.apimgt.gateway.utils as gatewayUtil;
 import org.wso2.carbon.apimgt.gateway.holders as holder;
 import org.wso2.carbon.apimgt.gateway.threatprotection;
@@ -12,9 +13,6 @@ service<http> gatewayInitService {
     boolean isCacheInitialized = holder:initializeCache();
     boolean isMapsAdded = holder:addThrottleMaps();
     boolean isReady = initGateway();
-    boolean subscriptionsInitialized = gatewayUtil:retrieveSubscriptions();
-    boolean applicationsInitialized = gatewayUtil:retrieveApplications();
-    boolean policiesInitialized = gatewayUtil:retrievePolicies();
 }
 
 function initGateway () (boolean) {
@@ -24,12 +22,28 @@ function initGateway () (boolean) {
         //Test to get the gateway Label. Can uncomment when required.
        // string label = gatewayUtil:getSystemProperty("label");
         gatewayUtil:registerGateway();
-        //Retrieve APIs from API Core and deploy
-        gatewayUtil:loadAPIs();
-        gatewayUtil:loadGlobalEndpoints();
-        gatewayUtil:loadBlockConditions();
-        //set threat protection configurations
-        threatprotection:initThreatProtection();
+        //Load everything the gateway needs from the snapshot in one request
+        json snapshot = gatewayUtil:getGatewaySnapshot();
+        if (snapshot != null) {
+            gatewayUtil:loadGatewaySnapshot(snapshot);
+            json threatProtectionPolicies = {"list":snapshot.threatProtectionPolicies};
+            threatprotection:storePolicies(threatProtectionPolicies);
+            //Changes after this revision are not in the snapshot and have to be retrieved from API Core
+            int changeRevision = jsons:getInt(snapshot, "$.changeRevision");
+            holder:setGatewayChangeRevision(changeRevision);
+            system:println("Gateway loaded from snapshot revision " + gatewayUtil:getJsonString(snapshot, "$.revision")
+                           + " at change revision " + changeRevision);
+        } else {
+            //Retrieve APIs from API Core and deploy
+            gatewayUtil:loadAPIs();
+            gatewayUtil:loadGlobalEndpoints();
+            gatewayUtil:loadBlockConditions();
+            gatewayUtil:retrieveSubscriptions();
+            gatewayUtil:retrieveApplications();
+            gatewayUtil:retrievePolicies();
+            //set threat protection configurations
+            threatprotection:initThreatProtection();
+        }
 
     } catch (errors:Error e) {
         system:println("Error while initilazing API gateway. " + e.msg);
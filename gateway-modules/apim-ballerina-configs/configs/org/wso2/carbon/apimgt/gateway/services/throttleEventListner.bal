@@ -9,6 +9,7 @@ import ballerina.lang.strings;
 import org.wso2.carbon.apimgt.gateway.constants as Constants;
 import org.wso2.carbon.apimgt.gateway.holders as throttle;
 import org.wso2.carbon.apimgt.gateway.utils as util;
+import org.wso2.carbon.apimgt.ballerina.throttle as localThrottle;
 
 @jms:config {
     initialContextFactory:"org.wso2.andes.jndi.PropertiesFileInitialContextFactory",
@@ -83,6 +84,7 @@ function handleThrottleUpdateMessage(json event){
     } else {
         throttle:removeThrottleData(throttleKey);
     }
+    localThrottle:reconcileThrottleDecision(throttleKey, throttleState == Constants:TRUE);
 }
 
 
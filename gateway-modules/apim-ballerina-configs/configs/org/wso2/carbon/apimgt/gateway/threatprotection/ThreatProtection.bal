@@ -30,10 +30,10 @@ function analyzePayload(message m, string apiContext, string policyId) (boolean,
         system:println("Threat Protection: No Content-Type declared for " + apiContext);
         return true, m;
     }
-    string payload = messages:getStringPayload(m);
+    blob payload = messages:getBinaryPayload(m);
     boolean ok;
     string errMessage;
-    ok, errMessage = threatprotection:analyze(contentType, payload, apiContext, policyId);
+    ok, errMessage = threatprotection:analyzeBinary(contentType, payload, apiContext, policyId);
 
     if (ok) {
         return true, m;
@@ -18,6 +18,8 @@ const string RESOURCE_THROTTLE_OUT_ERROR_CODE = "900802";
 const string APPLICATION_THROTTLE_OUT_ERROR_CODE = "900803";
 const string SUBSCRIPTION_THROTTLE_OUT_ERROR_CODE = "900804";
 const string BLOCKED_ERROR_CODE = "900805";
+const string APPLICATION_POLICY_LEVEL = "application";
+const string SUBSCRIPTION_POLICY_LEVEL = "subscription";
 const int HTTP_FORBIDDEN = 403;
 const int HTTP_TOO_MANY_REQUESTS = 429;
 const int HTTP_UNAUTHORIZED = 401;
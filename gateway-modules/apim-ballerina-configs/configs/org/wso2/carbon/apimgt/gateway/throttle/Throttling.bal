@@ -11,6 +11,7 @@ import org.wso2.carbon.apimgt.gateway.constants as constants;
 import org.wso2.carbon.apimgt.gateway.event.publisher;
 import org.wso2.carbon.apimgt.gateway.dto;
 import org.wso2.carbon.apimgt.ballerina.util;
+import org.wso2.carbon.apimgt.ballerina.throttle as localThrottle;
 
 errors:TypeCastError err;
 
@@ -141,7 +142,10 @@ function isRequestThrottled( message msg) (boolean){
     }
 
     // Subscription Level throttling
-    isSubscriptionLevelThrottled = throttle:isThrottled(subscriptionLevelThrottleKey, msg);
+    // A burst is throttled with the share of this node before the traffic manager has counted it
+    isSubscriptionLevelThrottled = localThrottle:isLocallyThrottled(subscriptionLevelThrottleKey,
+                                                                   SUBSCRIPTION_POLICY_LEVEL, subscriptionLevelPolicy)
+                                   || throttle:isThrottled(subscriptionLevelThrottleKey, msg);
     boolean stopOnQuotaReach = keyValidationDto.stopOnQuotaReach;
 
     if(isSubscriptionLevelThrottled){
@@ -161,7 +165,9 @@ function isRequestThrottled( message msg) (boolean){
 
     // Application Level Throttling
     applicationLevelThrottleKey = applicationId + ":" + authorizedUser;
-    isApplicationLevelThrottled = throttle:isThrottled(applicationLevelThrottleKey, msg);
+    isApplicationLevelThrottled = localThrottle:isLocallyThrottled(applicationLevelThrottleKey,
+                                                                  APPLICATION_POLICY_LEVEL, applicationLevelPolicy)
+                                  || throttle:isThrottled(applicationLevelThrottleKey, msg);
 
     if(isApplicationLevelThrottled){
         http:setStatusCode( msg, HTTP_TOO_MANY_REQUESTS );
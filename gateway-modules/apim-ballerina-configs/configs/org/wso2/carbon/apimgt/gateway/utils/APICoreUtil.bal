@@ -4,6 +4,7 @@ import ballerina.lang.errors;
 import ballerina.lang.system;
 import ballerina.net.http;
 import ballerina.lang.messages;
+import ballerina.lang.jsons;
 import org.wso2.carbon.apimgt.gateway.constants as Constants;
 import org.wso2.carbon.apimgt.gateway.dto as dto;
 import org.wso2.carbon.apimgt.gateway.holders as holder;
@@ -82,6 +83,81 @@ function loadAPIs () {
     }
 }
 
+function getGatewaySnapshot () (json) {
+    message request = {};
+    message response = {};
+    json snapshot;
+    try {
+        http:ClientConnector client = create http:ClientConnector(getAPICoreURL());
+        string query = "?labels=Default";
+        response = http:ClientConnector.get(client, "/api/am/core/v1.0/gateways/snapshot" + query, request);
+        int status = http:getStatusCode(response);
+        if (status != 200) {
+            system:println("Gateway snapshot could not be retrieved from API Core. Status : " + status);
+            return snapshot;
+        }
+        snapshot = apimgtUtil:readGatewaySnapshot(messages:getBinaryPayload(response));
+    } catch (errors:Error e) {
+        system:println("Error occurred while retrieving gateway snapshot from API Core. " + e.msg);
+    }
+    return snapshot;
+}
+
+function loadGatewaySnapshot (json snapshot) {
+    json apiList = snapshot.apis;
+    int count = jsons:getInt(apiList, "$.length()");
+    int index = 0;
+    while (index < count) {
+        json apiJson = apiList[index];
+        dto:APIDTO api = fromJSONToAPIDTO(apiJson);
+        //todo : tobe implement
+        // deployService(api, apiConfig);
+        holder:putIntoAPICache(api);
+        json resources = apiJson.resources;
+        int resourceCount = jsons:getInt(resources, "$.length()");
+        int i = 0;
+        while (i < resourceCount) {
+            holder:putIntoResourceCache(api.context, api.version, fromJsonToResourceDto(resources[i]));
+            i = i + 1;
+        }
+        index = index + 1;
+    }
+
+    json endpointList = snapshot.endpoints;
+    count = jsons:getInt(endpointList, "$.length()");
+    index = 0;
+    while (index < count) {
+        holder:putIntoEndpointCache(fromJsonToEndpointDto(endpointList[index]));
+        index = index + 1;
+    }
+
+    json blockConditionList = snapshot.blockConditions;
+    count = jsons:getInt(blockConditionList, "$.length()");
+    index = 0;
+    while (index < count) {
+        holder:addBlockConditions(fromJsonToBlockConditionDto(blockConditionList[index]));
+        index = index + 1;
+    }
+
+    json policyList = snapshot.policies;
+    count = jsons:getInt(policyList, "$.length()");
+    index = 0;
+    while (index < count) {
+        putIntoPolicyCache(policyList[index]);
+        index = index + 1;
+    }
+
+    json applicationList = snapshot.applications;
+    count = jsons:getInt(applicationList, "$.length()");
+    index = 0;
+    while (index < count) {
+        putIntoApplicationCache(applicationList[index]);
+        index = index + 1;
+    }
+
+    putIntoSubscriptionCache(snapshot.subscriptions);
+}
+
 function getAPIs () (json) {
     string apiCoreURL;
     message request = {};
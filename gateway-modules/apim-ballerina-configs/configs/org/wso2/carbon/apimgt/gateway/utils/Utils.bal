@@ -8,6 +8,7 @@ import org.wso2.carbon.apimgt.gateway.dto as dto;
 import org.wso2.carbon.apimgt.gateway.holders as holders;
 import org.wso2.carbon.apimgt.gateway.constants;
 import org.wso2.carbon.apimgt.ballerina.util;
+import org.wso2.carbon.apimgt.ballerina.throttle as localThrottle;
 
 errors:TypeCastError err;
 
@@ -200,7 +201,21 @@ function putIntoPolicyCache (json policy) {
     dto:PolicyDto policyDto = {};
     policyDto.id, err = (string)policy.id;
     policyDto.name, err = (string)policy.name;
+    policyDto.policyLevel, err = (string)policy.policyLevel;
     policyDto.stopOnQuotaReach, err = (boolean)policy.stopOnQuotaReach;
+    policyDto.requestCount, err = (int)policy.requestCount;
+    policyDto.unitTime, err = (int)policy.unitTime;
+    policyDto.timeUnit, err = (string)policy.timeUnit;
+    if (policyDto.requestCount > 0) {
+        boolean isLimited = localThrottle:setLocalLimit(policyDto.policyLevel, policyDto.name, policyDto.requestCount,
+                                                        policyDto.unitTime, policyDto.timeUnit);
+        if (!isLimited) {
+            util:logWarn("Policy " + policyDto.name + " is not throttled locally. Unsupported time unit "
+                         + policyDto.timeUnit);
+        }
+    } else {
+        localThrottle:removeLocalLimit(policyDto.policyLevel, policyDto.name);
+    }
     holders:putIntoPolicyCache(policyDto);
 }
 function removeFromApplicationCache (json application) {
@@ -231,6 +246,11 @@ function fromJsonToGatewayConfDTO (json conf) (dto:GatewayConfDTO) {
     dto:JWTInfoDTO jwtInfoDTO = {};
     jwtInfoDTO.enableJWTGeneration, err = (boolean)jwTInfo.enableJWTGeneration;
     jwtInfoDTO.jwtHeader, err = (string)jwTInfo.jwtHeader;
+    jwtInfoDTO.enableSelfContainedTokenValidation, err = (boolean)jwTInfo.enableSelfContainedTokenValidation;
+    jwtInfoDTO.jwksEndpoint, err = (string)jwTInfo.jwksEndpoint;
+    jwtInfoDTO.tokenIssuer, err = (string)jwTInfo.tokenIssuer;
+    jwtInfoDTO.signatureAlgorithm, err = (string)jwTInfo.signatureAlgorithm;
+    jwtInfoDTO.jwksCacheExpiryTime, err = (int)jwTInfo.jwksCacheExpiryTime;
     gatewayConf.jwtInfo = jwtInfoDTO;
     //todo: pass the missed attributes from APIM core
     //Extract Analytics Server information and populate AnalyticsInfoDTO to be cached
@@ -258,6 +278,9 @@ function fromJsonToGatewayConfDTO (json conf) (dto:GatewayConfDTO) {
     throttlingServerCredentialsDTO.username, err = (string)throttlingServerCredentials.username;
     throttlingServerCredentialsDTO.password, err = (string)throttlingServerCredentials.password;
     throttlingInfoDTO.credentials = throttlingServerCredentialsDTO;
+    throttlingInfoDTO.localThrottlingEnabled, err = (boolean)throttlingInfo.localThrottlingEnabled;
+    throttlingInfoDTO.gatewayNodeCount, err = (int)throttlingInfo.gatewayNodeCount;
+    localThrottle:configureLocalThrottling(throttlingInfoDTO.localThrottlingEnabled, throttlingInfoDTO.gatewayNodeCount);
     gatewayConf.throttlingInfo = throttlingInfoDTO;
     //Extract Google Analytics Tracking information and populate GAnalyticsTrackingInfoDTO
     json googleAnalyticsTrackingInfo = conf.googleAnalyticsTrackingInfo;
@@ -0,0 +1,15 @@
+package org.wso2.carbon.apimgt.ballerina.jwt;
+
+import ballerina.doc;
+
+
+@doc:Description { value: "Validate a self contained access token using the keys of the JWKS endpoint" }
+@doc:Param { value: "token: access token" }
+@doc:Param { value: "jwksEndpoint: JWKS endpoint of the key manager" }
+@doc:Param { value: "issuer: issuer of self contained access tokens" }
+@doc:Param { value: "signatureAlgorithm: signature algorithm of self contained access tokens" }
+@doc:Param { value: "jwksCacheExpiryTime: time in seconds the keys of the JWKS endpoint are kept" }
+@doc:Return { value: "boolean: true if the token was validated locally, false if it has to be introspected" }
+@doc:Return { value: "json: introspection result of the token" }
+native function validate (string token, string jwksEndpoint, string issuer, string signatureAlgorithm,
+                          int jwksCacheExpiryTime) (boolean, json);
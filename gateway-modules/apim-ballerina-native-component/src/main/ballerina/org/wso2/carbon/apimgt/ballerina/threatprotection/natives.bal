@@ -23,4 +23,13 @@ native function configureJsonAnalyzer(any jsonInfo, string event) (boolean);
 @doc:Param { value: "xmlInfo: ballerina struct containing XMLAnalyzer configurations" }
 @doc:Param {value: "event: Threat Protection Policy event (add/delete/update"}
 @doc:Return { value: "boolean: true if success, false otherwise" }
-native function configureXmlAnalyzer(any xmlInfo, string event) (boolean);
\ No newline at end of file
+native function configureXmlAnalyzer(any xmlInfo, string event) (boolean);
+
+@doc:Description { value: "Analyzes encoded payload for threats without decoding it into a string" }
+@doc:Param { value: "payloadType: payload type (json/xml)" }
+@doc:Param { value: "payload: json or xml payload bytes to analyze" }
+@doc:Param { value: "apiContext: api context" }
+@doc:Param { value: "policyId" }
+@doc:Return { value: "boolean: true of no threats detected, false otherwise" }
+@doc:Return { value: "string: error information" }
+native function analyzeBinary(string payloadType, blob payload, string apiContext, string policyId) (boolean, string);
@@ -0,0 +1,34 @@
+package org.wso2.carbon.apimgt.ballerina.throttle;
+
+import ballerina.doc;
+
+@doc:Description { value: "Enable or disable local throttling" }
+@doc:Param { value: "enabled: true to throttle requests locally" }
+@doc:Param { value: "nodeCount: number of gateway nodes that share the request count of a policy" }
+native function configureLocalThrottling (boolean enabled, int nodeCount);
+
+@doc:Description { value: "Add or replace the request count limit of a policy" }
+@doc:Param { value: "level: level of the policy" }
+@doc:Param { value: "policy: name of the policy" }
+@doc:Param { value: "requestCount: number of requests allowed in the unit time" }
+@doc:Param { value: "unitTime: unit time of the policy" }
+@doc:Param { value: "timeUnit: time unit of the policy" }
+@doc:Return { value: "boolean: true if the policy is limited locally" }
+native function setLocalLimit (string level, string policy, int requestCount, int unitTime, string timeUnit) (boolean);
+
+@doc:Description { value: "Remove the request count limit of a policy" }
+@doc:Param { value: "level: level of the policy" }
+@doc:Param { value: "policy: name of the policy" }
+native function removeLocalLimit (string level, string policy);
+
+@doc:Description { value: "Check whether this node has used up its share of the policy for a throttle key" }
+@doc:Param { value: "throttleKey: throttle key of the request" }
+@doc:Param { value: "level: level of the policy applied to the key" }
+@doc:Param { value: "policy: name of the policy applied to the key" }
+@doc:Return { value: "boolean: true if the request is throttled" }
+native function isLocallyThrottled (string throttleKey, string level, string policy) (boolean);
+
+@doc:Description { value: "Apply a decision of the traffic manager to the local throttle state of a key" }
+@doc:Param { value: "throttleKey: throttle key of the decision" }
+@doc:Param { value: "throttled: whether the traffic manager throttles the key" }
+native function reconcileThrottleDecision (string throttleKey, boolean throttled);
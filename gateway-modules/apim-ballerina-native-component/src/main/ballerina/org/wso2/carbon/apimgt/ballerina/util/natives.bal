@@ -37,4 +37,36 @@ native function listJSONFiles (string folderPath) (any );
 @doc:Description { value:"Returns an array of keys contained in the specified JSON."}
 @doc:Param { value:"json: A JSON object" }
 @doc:Return { value:"string[]: A string array of keys contained in the specified JSON" }
-native function getKeys(json j) (string[]);
\ No newline at end of file
+native function getKeys(json j) (string[]);
+
+@doc:Description { value:"Add the IP range of a blocking condition"}
+@doc:Param { value:"key: Key of the blocking condition" }
+@doc:Param { value:"startingIp: First IPv4 or IPv6 address of the range" }
+@doc:Param { value:"endingIp: Last IPv4 or IPv6 address of the range" }
+@doc:Return { value:"boolean: true if the range is valid and was added" }
+native function addIpRange (string key, string startingIp, string endingIp) (boolean);
+
+@doc:Description { value:"Add the IPv4 range of a blocking condition"}
+@doc:Param { value:"key: Key of the blocking condition" }
+@doc:Param { value:"startingIp: long value of the first ip of the range" }
+@doc:Param { value:"endingIp: long value of the last ip of the range" }
+@doc:Return { value:"boolean: true if the range is valid and was added" }
+native function addIpv4Range (string key, int startingIp, int endingIp) (boolean);
+
+@doc:Description { value:"Remove the IP range of a blocking condition"}
+@doc:Param { value:"key: Key of the blocking condition" }
+native function removeIpRange (string key);
+
+@doc:Description { value:"Check whether an ip is within a blocked IP range"}
+@doc:Param { value:"ip: IPv4 or IPv6 address" }
+@doc:Return { value:"boolean: true if the ip is within a blocked range" }
+native function isIpInRange (string ip) (boolean);
+
+@doc:Description { value:"Read the gzip compressed gateway snapshot retrieved from API Core"}
+@doc:Param { value:"snapshot: Snapshot payload" }
+@doc:Return { value:"json: Revision of the snapshot and the snapshot entities grouped by type" }
+native function readGatewaySnapshot (blob snapshot) (json);
+
+@doc:Description { value:"Log a warning to the gateway log"}
+@doc:Param { value:"message: The warning message" }
+native function logWarn (string message);
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the RSA public keys published by a JWKS endpoint.
+ * <p>
+ * Keys are retrieved on first use and again once they expire. A token signed with a key that is not known yet
+ * triggers a refresh as well, so rotated keys are picked up without waiting for the expiry, but at most once every
+ * {@link #MIN_REFRESH_INTERVAL_MILLIS} to avoid hitting the key manager for every token signed with an unknown key.
+ * When the endpoint cannot be reached the keys retrieved last are kept.
+ */
+public class JWKSKeyCache {
+    private static final Logger log = LoggerFactory.getLogger(JWKSKeyCache.class);
+
+    static final long MIN_REFRESH_INTERVAL_MILLIS = 30000L;
+    private static final int CONNECTION_TIMEOUT_MILLIS = 10000;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String jwksEndpoint;
+    private final long expiryMillis;
+    private final KeySetRetriever retriever;
+
+    private volatile Map<String, PublicKey> keys = Collections.emptyMap();
+    private volatile long expiresAt;
+    private long lastRefreshAttempt = -MIN_REFRESH_INTERVAL_MILLIS;
+
+    public JWKSKeyCache(String jwksEndpoint, long expiryMillis) {
+        this(jwksEndpoint, expiryMillis, JWKSKeyCache::retrieveKeySet);
+    }
+
+    JWKSKeyCache(String jwksEndpoint, long expiryMillis, KeySetRetriever retriever) {
+        this.jwksEndpoint = jwksEndpoint;
+        this.expiryMillis = expiryMillis;
+        this.retriever = retriever;
+    }
+
+    /**
+     * Get the public key with the given key id.
+     *
+     * @param keyId key id of the JWT header, or {@code null} if the JWT does not name the key
+     * @return public key, or {@code null} if the key set does not contain such a key
+     */
+    public PublicKey getKey(String keyId) {
+        long now = System.currentTimeMillis();
+        Map<String, PublicKey> currentKeys = keys;
+        PublicKey key = findKey(currentKeys, keyId);
+        if (key != null && now < expiresAt) {
+            return key;
+        }
+        synchronized (this) {
+            if (keys == currentKeys && now - lastRefreshAttempt >= MIN_REFRESH_INTERVAL_MILLIS
+                    && (key == null || now >= expiresAt)) {
+                lastRefreshAttempt = now;
+                refresh(now);
+            }
+            return findKey(keys, keyId);
+        }
+    }
+
+    private void refresh(long now) {
+        try {
+            keys = parseKeySet(retriever.retrieve(jwksEndpoint));
+            expiresAt = now + expiryMillis;
+        } catch (IOException | GeneralSecurityException e) {
+            log.error("Error while retrieving the key set from " + jwksEndpoint, e);
+            // keep using the keys retrieved last until the next refresh attempt is due
+            expiresAt = now + MIN_REFRESH_INTERVAL_MILLIS;
+        }
+    }
+
+    private static PublicKey findKey(Map<String, PublicKey> keys, String keyId) {
+        if (keyId == null) {
+            // a JWT that does not name its key can only be verified against a key set with a single key
+            return keys.size() == 1 ? keys.values().iterator().next() : null;
+        }
+        return keys.get(keyId);
+    }
+
+    static Map<String, PublicKey> parseKeySet(String keySet) throws IOException, GeneralSecurityException {
+        JsonNode keysNode = MAPPER.readTree(keySet).path("keys");
+        Map<String, PublicKey> parsedKeys = new HashMap<>();
+        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+        for (JsonNode keyNode : keysNode) {
+            // only RSA signing keys are used to verify access tokens
+            if (!"RSA".equals(keyNode.path("kty").asText()) || "enc".equals(keyNode.path("use").asText())) {
+                continue;
+            }
+            BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode(keyNode.path("n").asText()));
+            BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode(keyNode.path("e").asText()));
+            parsedKeys.put(keyNode.path("kid").asText(), keyFactory.generatePublic(
+                    new RSAPublicKeySpec(modulus, exponent)));
+        }
+        return parsedKeys;
+    }
+
+    private static String retrieveKeySet(String jwksEndpoint) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(jwksEndpoint).openConnection();
+        connection.setConnectTimeout(CONNECTION_TIMEOUT_MILLIS);
+        connection.setReadTimeout(CONNECTION_TIMEOUT_MILLIS);
+        connection.setRequestProperty("Accept", "application/json");
+        try {
+            if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Unexpected response code " + connection.getResponseCode());
+            }
+            try (InputStream inputStream = connection.getInputStream()) {
+                return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * Retrieves the key set published by a JWKS endpoint
+     */
+    interface KeySetRetriever {
+        String retrieve(String jwksEndpoint) throws IOException;
+    }
+}
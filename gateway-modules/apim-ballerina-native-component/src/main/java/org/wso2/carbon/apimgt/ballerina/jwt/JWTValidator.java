@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Validates self contained (JWT) access tokens locally using the keys of the JWKS endpoint of the key manager.
+ * <p>
+ * The result has the same fields as the response of the introspection endpoint, so the gateway handles both kinds
+ * of tokens alike. Tokens that can not be validated locally, such as opaque tokens, tokens of another issuer or
+ * tokens signed with a key that is not in the key set, are left to introspection.
+ */
+public class JWTValidator {
+    private static final Logger log = LoggerFactory.getLogger(JWTValidator.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<String, String> SIGNATURE_ALGORITHMS = new HashMap<>();
+
+    static {
+        SIGNATURE_ALGORITHMS.put("SHA256withRSA", "RS256");
+        SIGNATURE_ALGORITHMS.put("SHA384withRSA", "RS384");
+        SIGNATURE_ALGORITHMS.put("SHA512withRSA", "RS512");
+    }
+
+    private final JWKSKeyCache keyCache;
+    private final String issuer;
+    private final String signatureAlgorithm;
+    private final String jwsAlgorithm;
+
+    /**
+     * @param keyCache           keys of the JWKS endpoint of the key manager
+     * @param issuer             expected issuer of the tokens, not checked if empty
+     * @param signatureAlgorithm signature algorithm of the tokens, such as SHA256withRSA
+     */
+    public JWTValidator(JWKSKeyCache keyCache, String issuer, String signatureAlgorithm) {
+        this.keyCache = keyCache;
+        this.issuer = issuer;
+        this.signatureAlgorithm = signatureAlgorithm;
+        this.jwsAlgorithm = SIGNATURE_ALGORITHMS.get(signatureAlgorithm);
+        if (jwsAlgorithm == null) {
+            log.warn("Signature algorithm " + signatureAlgorithm + " is not supported for validating self contained "
+                    + "access tokens. Access tokens will be introspected.");
+        }
+    }
+
+    /**
+     * Validate an access token.
+     *
+     * @param token       access token
+     * @param currentTime current time in seconds
+     * @return introspection result of the token, or {@code null} if the token can not be validated locally
+     */
+    public ObjectNode validate(String token, long currentTime) {
+        if (jwsAlgorithm == null) {
+            return null;
+        }
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = headerEnd < 0 ? -1 : token.indexOf('.', headerEnd + 1);
+        if (payloadEnd < 0 || token.indexOf('.', payloadEnd + 1) >= 0) {
+            // not a JWS in compact serialization
+            return null;
+        }
+        JsonNode header;
+        JsonNode claims;
+        byte[] signature;
+        try {
+            header = decode(token.substring(0, headerEnd));
+            claims = decode(token.substring(headerEnd + 1, payloadEnd));
+            signature = Base64.getUrlDecoder().decode(token.substring(payloadEnd + 1));
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+        if (!header.isObject() || !claims.isObject() || !jwsAlgorithm.equals(header.path("alg").asText())) {
+            return null;
+        }
+        if (issuer != null && !issuer.isEmpty() && !issuer.equals(claims.path("iss").asText())) {
+            return null;
+        }
+        PublicKey key = keyCache.getKey(header.hasNonNull("kid") ? header.get("kid").asText() : null);
+        if (key == null) {
+            return null;
+        }
+
+        ObjectNode result = MAPPER.createObjectNode();
+        if (!verify(token.substring(0, payloadEnd), signature, key)) {
+            log.debug("Signature verification failed for self contained access token");
+            result.put("active", false);
+            return result;
+        }
+        if (!claims.path("exp").isNumber()) {
+            // a token without an expiry time is left to the key manager, which also checks whether it was revoked
+            return null;
+        }
+        long exp = claims.get("exp").asLong();
+        if (exp < currentTime || claims.path("nbf").asLong(0) > currentTime) {
+            result.put("active", false);
+            return result;
+        }
+        result.put("active", true);
+        result.put("exp", exp);
+        result.put("iat", claims.path("iat").asLong(0));
+        result.put("token_type", "Bearer");
+        if (claims.hasNonNull("sub")) {
+            result.put("username", claims.get("sub").asText());
+        }
+        String scope = getScope(claims);
+        if (scope != null) {
+            result.put("scope", scope);
+        }
+        String clientId = getClientId(claims);
+        if (clientId != null) {
+            result.put("client_id", clientId);
+        }
+        result.set("claims", claims);
+        return result;
+    }
+
+    private boolean verify(String signingInput, byte[] signature, PublicKey key) {
+        try {
+            Signature verifier = Signature.getInstance(signatureAlgorithm);
+            verifier.initVerify(key);
+            verifier.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return verifier.verify(signature);
+        } catch (GeneralSecurityException e) {
+            log.error("Error while verifying the signature of self contained access token", e);
+            return false;
+        }
+    }
+
+    private static JsonNode decode(String part) throws IOException {
+        return MAPPER.readTree(Base64.getUrlDecoder().decode(part));
+    }
+
+    private static String getScope(JsonNode claims) {
+        JsonNode scope = claims.get("scope");
+        if (scope == null || scope.isNull()) {
+            return null;
+        }
+        if (!scope.isArray()) {
+            return scope.asText();
+        }
+        StringBuilder scopes = new StringBuilder();
+        for (JsonNode value : scope) {
+            if (scopes.length() > 0) {
+                scopes.append(' ');
+            }
+            scopes.append(value.asText());
+        }
+        return scopes.toString();
+    }
+
+    private static String getClientId(JsonNode claims) {
+        if (claims.hasNonNull("client_id")) {
+            return claims.get("client_id").asText();
+        }
+        if (claims.hasNonNull("azp")) {
+            return claims.get("azp").asText();
+        }
+        JsonNode audience = claims.get("aud");
+        if (audience != null && audience.isArray() && audience.size() == 1) {
+            audience = audience.get(0);
+        }
+        return audience != null && audience.isTextual() ? audience.asText() : null;
+    }
+}
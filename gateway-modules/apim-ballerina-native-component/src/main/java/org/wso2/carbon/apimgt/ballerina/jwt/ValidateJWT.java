@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.jwt;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.Attribute;
+import org.ballerinalang.natives.annotations.BallerinaAnnotation;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.ReturnType;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ballerina function to validate a self contained access token locally
+ * <br>
+ * org.wso2.carbon.apimgt.ballerina.jwt:validate
+ */
+@BallerinaFunction(
+        packageName = "org.wso2.carbon.apimgt.ballerina.jwt",
+        functionName = "validate",
+        args = {@Argument(name = "token", type = TypeEnum.STRING),
+                @Argument(name = "jwksEndpoint", type = TypeEnum.STRING),
+                @Argument(name = "issuer", type = TypeEnum.STRING),
+                @Argument(name = "signatureAlgorithm", type = TypeEnum.STRING),
+                @Argument(name = "jwksCacheExpiryTime", type = TypeEnum.INT)},
+        returnType = {@ReturnType(type = TypeEnum.BOOLEAN), @ReturnType(type = TypeEnum.JSON)},
+        isPublic = true
+)
+@BallerinaAnnotation(annotationName = "Description", attributes = {@Attribute(name = "value",
+        value = "Validate a self contained access token using the keys of the JWKS endpoint")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "token",
+        value = "Access token")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "jwksEndpoint",
+        value = "JWKS endpoint of the key manager")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "issuer",
+        value = "Issuer of self contained access tokens")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "signatureAlgorithm",
+        value = "Signature algorithm of self contained access tokens")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "jwksCacheExpiryTime",
+        value = "Time in seconds the keys of the JWKS endpoint are kept")})
+@BallerinaAnnotation(annotationName = "Return", attributes = {@Attribute(name = "boolean",
+        value = "true if the token was validated locally, false if it has to be introspected")})
+@BallerinaAnnotation(annotationName = "Return", attributes = {@Attribute(name = "json",
+        value = "Introspection result of the token")})
+public class ValidateJWT extends AbstractNativeFunction {
+    private static final ConcurrentMap<String, JWTValidator> validators = new ConcurrentHashMap<>();
+
+    @Override
+    public BValue[] execute(Context context) {
+        String token = getStringArgument(context, 0);
+        String jwksEndpoint = getStringArgument(context, 1);
+        String issuer = getStringArgument(context, 2);
+        String signatureAlgorithm = getStringArgument(context, 3);
+        long jwksCacheExpiryTime = getIntArgument(context, 0);
+
+        JWTValidator validator = validators.computeIfAbsent(jwksEndpoint + "|" + issuer + "|" + signatureAlgorithm
+                + "|" + jwksCacheExpiryTime, key -> new JWTValidator(new JWKSKeyCache(jwksEndpoint,
+                TimeUnit.SECONDS.toMillis(jwksCacheExpiryTime)), issuer, signatureAlgorithm));
+        ObjectNode result = validator.validate(token, TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+        if (result == null) {
+            return getBValues(new BBoolean(false), new BJSON(JsonNodeFactory.instance.objectNode()));
+        }
+        return getBValues(new BBoolean(true), new BJSON(result));
+    }
+}
@@ -84,7 +84,6 @@ public class Analyze extends AbstractNativeFunction {
             errMessage = e.getMessage();
         }
 
-        AnalyzerHolder.returnObject(analyzer);
         return getBValues(new BBoolean(noThreatsDetected), new BString(errMessage));
     }
 }
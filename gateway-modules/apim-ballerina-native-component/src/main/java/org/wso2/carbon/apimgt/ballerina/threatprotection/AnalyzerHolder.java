@@ -15,24 +15,22 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-
 package org.wso2.carbon.apimgt.ballerina.threatprotection;
 
-import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.ballerina.threatprotection.analyzer.APIMThreatAnalyzer;
 import org.wso2.carbon.apimgt.ballerina.threatprotection.analyzer.JSONAnalyzer;
 import org.wso2.carbon.apimgt.ballerina.threatprotection.analyzer.XMLAnalyzer;
-import org.wso2.carbon.apimgt.ballerina.threatprotection.configurations.ConfigurationHolder;
 import org.wso2.carbon.apimgt.ballerina.threatprotection.configurations.JSONConfig;
 import org.wso2.carbon.apimgt.ballerina.threatprotection.configurations.XMLConfig;
-import org.wso2.carbon.apimgt.ballerina.threatprotection.pool.AnalyzerPool;
-import org.wso2.carbon.apimgt.ballerina.threatprotection.pool.JSONAnalyzerFactory;
-import org.wso2.carbon.apimgt.ballerina.threatprotection.pool.XMLAnalyzerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Holds the object pools for XML and JSON Analyzers
+ * Holds the XML and JSON Analyzers of the threat protection policies.
+ * <p>
+ * An analyzer is created and configured once, when its policy is added or updated, and is then shared by all
+ * requests. Analyzers are not reconfigured after they are created, so they can be used concurrently.
  */
 public class AnalyzerHolder {
     private static final String T_TEXT_XML = "text/xml";
@@ -40,85 +38,63 @@ public class AnalyzerHolder {
     private static final String T_TEXT_JSON = "text/json";
     private static final String T_APPLICATION_JSON = "application/json";
 
-    private static Logger logger = LoggerFactory.getLogger(AnalyzerHolder.class);
-
-    private static AnalyzerPool<XMLAnalyzer> xmlAnalyzerAnalyzerPool;
-    private static AnalyzerPool<JSONAnalyzer> jsonAnalyzerAnalyzerPool;
-    private static GenericObjectPoolConfig poolConfig;
-
-    static {
-        poolConfig = new GenericObjectPoolConfig();
-        poolConfig.setMaxTotal(200);
-
-        poolConfig.setBlockWhenExhausted(false);
-        poolConfig.setMaxWaitMillis(0);
+    private static final String GLOBAL_XML_POLICY_ID = "GLOBAL-XML";
+    private static final String GLOBAL_JSON_POLICY_ID = "GLOBAL-JSON";
 
-        xmlAnalyzerAnalyzerPool = new AnalyzerPool<>(new XMLAnalyzerFactory(), poolConfig);
-        jsonAnalyzerAnalyzerPool = new AnalyzerPool<>(new JSONAnalyzerFactory(), poolConfig);
-    }
+    private static Map<String, XMLAnalyzer> xmlAnalyzerMap = new ConcurrentHashMap<>();
+    private static Map<String, JSONAnalyzer> jsonAnalyzerMap = new ConcurrentHashMap<>();
 
     private AnalyzerHolder() {
 
     }
 
     /**
-     * Borrows an object from pools (xml or json) for threat analysis
+     * Returns the analyzer of a policy (xml or json) for threat analysis
      *
      * @param contentType Content-Type of the payload
-     * @param policyId ID of the API
-     * @return Instance of APIMThreatAnalyzer based on content type
+     * @param policyId ID of the policy
+     * @return Instance of APIMThreatAnalyzer based on content type, or null if there is no policy to apply
      */
     public static APIMThreatAnalyzer getAnalyzer(String contentType, String policyId) {
-        APIMThreatAnalyzer analyzer = null;
         if (T_TEXT_XML.equalsIgnoreCase(contentType) || T_APPLICATION_XML.equalsIgnoreCase(contentType)) {
-            try {
-                analyzer = xmlAnalyzerAnalyzerPool.borrowObject();
-
-                //configure per api
-                XMLConfig xmlConfig = ConfigurationHolder.getXmlConfig(policyId);
-                if (xmlConfig == null) {
-                    xmlConfig = ConfigurationHolder.getXmlConfig("GLOBAL-XML");
-                }
-
-                if (xmlConfig == null) {
-                    return null;
-                }
-                analyzer.configure(xmlConfig);
-            } catch (Exception e) {
-                logger.error("Threat Protection: Failed to create XMLAnalyzer, " + e.getMessage());
-            }
+            XMLAnalyzer analyzer = xmlAnalyzerMap.get(policyId);
+            return analyzer != null ? analyzer : xmlAnalyzerMap.get(GLOBAL_XML_POLICY_ID);
         } else if (T_TEXT_JSON.equalsIgnoreCase(contentType) || T_APPLICATION_JSON.equalsIgnoreCase(contentType)) {
-            try {
-                analyzer = jsonAnalyzerAnalyzerPool.borrowObject();
-
-                //configure per api
-                JSONConfig jsonConfig = ConfigurationHolder.getJsonConfig(policyId);
-                if (jsonConfig == null) {
-                    jsonConfig = ConfigurationHolder.getJsonConfig("GLOBAL-JSON");
-                }
-
-                if (jsonConfig == null) {
-                    return null;
-                }
-                analyzer.configure(jsonConfig);
-            } catch (Exception e) {
-                logger.error("Threat Protection: Failed to create JSONAnalyzer, " + e.getMessage());
-            }
+            JSONAnalyzer analyzer = jsonAnalyzerMap.get(policyId);
+            return analyzer != null ? analyzer : jsonAnalyzerMap.get(GLOBAL_JSON_POLICY_ID);
         }
-        return analyzer;
+        return null;
     }
 
     /**
-     * Returns objects back to the pool
+     * Creates the XML analyzer of a policy, replacing the analyzer of the previous version of the policy
      *
-     * @param analyzer borrowed instance of {@link APIMThreatAnalyzer} via
-     * {@link AnalyzerHolder#getAnalyzer(String, String)}
+     * @param policyId ID of the policy
+     * @param config XML configuration of the policy
      */
-    public static void returnObject(APIMThreatAnalyzer analyzer) {
-        if (analyzer instanceof JSONAnalyzer) {
-            jsonAnalyzerAnalyzerPool.returnObject((JSONAnalyzer) analyzer);
-        } else if (analyzer instanceof XMLAnalyzer) {
-            xmlAnalyzerAnalyzerPool.returnObject((XMLAnalyzer) analyzer);
-        }
+    public static void addXmlAnalyzer(String policyId, XMLConfig config) {
+        XMLAnalyzer analyzer = new XMLAnalyzer();
+        analyzer.configure(config);
+        xmlAnalyzerMap.put(policyId, analyzer);
+    }
+
+    /**
+     * Creates the JSON analyzer of a policy, replacing the analyzer of the previous version of the policy
+     *
+     * @param policyId ID of the policy
+     * @param config JSON configuration of the policy
+     */
+    public static void addJsonAnalyzer(String policyId, JSONConfig config) {
+        JSONAnalyzer analyzer = new JSONAnalyzer();
+        analyzer.configure(config);
+        jsonAnalyzerMap.put(policyId, analyzer);
+    }
+
+    public static void removeXmlAnalyzer(String policyId) {
+        xmlAnalyzerMap.remove(policyId);
+    }
+
+    public static void removeJsonAnalyzer(String policyId) {
+        jsonAnalyzerMap.remove(policyId);
     }
 }
@@ -31,7 +31,6 @@ import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.wso2.carbon.apimgt.ballerina.threatprotection.configurations.ConfigurationHolder;
 import org.wso2.carbon.apimgt.ballerina.threatprotection.configurations.JSONConfig;
 
 /**
@@ -85,12 +84,12 @@ public class ConfigureJsonAnalyzer extends AbstractNativeFunction {
                     jsonConfig.setMaxArrayElementCount(arrayElementCount);
                     jsonConfig.setMaxKeyLength(keyLength);
                     jsonConfig.setMaxJsonDepth(maxJSONDepth);
-                    //put into ConfigurationHolder
-                    ConfigurationHolder.addJsonConfig(jsonPolicyId, jsonConfig);
+                    //analyzers are rebuilt only when the policy changes
+                    AnalyzerHolder.addJsonAnalyzer(jsonPolicyId, jsonConfig);
                     break;
 
                 case THREAT_PROTECTION_POLICY_DELETE:
-                    ConfigurationHolder.removeJsonConfig(jsonPolicyId);
+                    AnalyzerHolder.removeJsonAnalyzer(jsonPolicyId);
                     break;
 
                 default:
@@ -31,7 +31,6 @@ import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.wso2.carbon.apimgt.ballerina.threatprotection.configurations.ConfigurationHolder;
 import org.wso2.carbon.apimgt.ballerina.threatprotection.configurations.XMLConfig;
 
 /**
@@ -91,12 +90,12 @@ public class ConfigureXmlAnalyzer extends AbstractNativeFunction {
                     xmlConfig.setEntityExpansionLimit(entityExpansionLimit);
                     xmlConfig.setMaxChildrenPerElement(childrenPerElement);
 
-                    //put into ConfigurationHolder
-                    ConfigurationHolder.addXmlConfig(xmlPolicyId, xmlConfig);
+                    //analyzers are rebuilt only when the policy changes
+                    AnalyzerHolder.addXmlAnalyzer(xmlPolicyId, xmlConfig);
                     break;
 
                 case THREAT_PROTECTION_POLICY_DELETE:
-                    ConfigurationHolder.removeXmlConfig(xmlPolicyId);
+                    AnalyzerHolder.removeXmlAnalyzer(xmlPolicyId);
                     break;
 
                 default:
@@ -22,6 +22,8 @@ import org.wso2.carbon.apimgt.ballerina.threatprotection.APIMThreatAnalyzerExcep
 import org.wso2.carbon.apimgt.ballerina.threatprotection.configurations.JSONConfig;
 import org.wso2.carbon.apimgt.ballerina.threatprotection.configurations.XMLConfig;
 
+import java.io.InputStream;
+
 /**
  * Interface for json/xml analyzers
  */
@@ -35,6 +37,24 @@ public interface APIMThreatAnalyzer {
      */
     void analyze(String payload, String apiContext) throws APIMThreatAnalyzerException;
 
+    /**
+     * Analyzes encoded json/xml payloads for malicious content
+     *
+     * @param payload json/xml payload bytes
+     * @param apiContext API Context
+     * @throws APIMThreatAnalyzerException
+     */
+    void analyze(byte[] payload, String apiContext) throws APIMThreatAnalyzerException;
+
+    /**
+     * Analyzes json/xml payloads for malicious content while they are read from a stream
+     *
+     * @param payload json/xml payload stream
+     * @param apiContext API Context
+     * @throws APIMThreatAnalyzerException
+     */
+    void analyze(InputStream payload, String apiContext) throws APIMThreatAnalyzerException;
+
     /**
      * Configures the XMLAnalyzer using XMLConfig
      *
@@ -29,7 +29,7 @@ import org.wso2.carbon.apimgt.ballerina.threatprotection.configurations.JSONConf
 import org.wso2.carbon.apimgt.ballerina.threatprotection.configurations.XMLConfig;
 
 import java.io.IOException;
-import java.io.StringReader;
+import java.io.InputStream;
 
 /**
  * Implementation of APIMThreatAnalyzer for JSON Payloads
@@ -75,62 +75,91 @@ public class JSONAnalyzer implements APIMThreatAnalyzer {
      */
     @Override
     public void analyze(String payload, String apiContext) throws APIMThreatAnalyzerException {
-        try (JsonParser parser = factory.createParser(new StringReader(payload))) {
-            int currentDepth = 0;
-            int currentFieldCount = 0;
-            JsonToken token;
-            while ((token = parser.nextToken()) != null) {
-                switch (token) {
-                    case START_OBJECT:
-                        currentDepth += 1;
-                        try {
-                            analyzeDepth(maxJsonDepth, currentDepth, apiContext);
-                        } catch (APIMThreatAnalyzerException e) {
-                            throw e;
-                        }
-                        break;
-
-                    case END_OBJECT:
-                        currentDepth -= 1;
-                        break;
-
-                    case FIELD_NAME:
-                        currentFieldCount += 1;
-                        String name = parser.getCurrentName();
-                        try {
-                            analyzeField(name, maxFieldCount, currentFieldCount, maxFieldLength, apiContext);
-                        } catch (APIMThreatAnalyzerException e) {
-                            throw e;
-                        }
-                        break;
-
-                    case VALUE_STRING:
-                        String value = parser.getText();
-                        try {
-                            analyzeString(value, maxStringLength, apiContext);
-                        } catch (APIMThreatAnalyzerException e) {
-                            throw e;
-                        }
-                        break;
-
-                    case START_ARRAY:
-                        try {
-                            analyzeArray(parser, maxArrayElementCount, maxStringLength, apiContext);
-                        } catch (APIMThreatAnalyzerException e) {
-                            throw e;
-                        }
-                        break;
-                }
+        try (JsonParser parser = factory.createParser(payload)) {
+            analyze(parser, apiContext);
+        } catch (IOException e) {
+            handleParserException(e, apiContext);
+        }
+    }
+
+    /**
+     * Analyzes the encoded json payload without decoding it into a String first
+     *
+     * @param payload json payload bytes
+     * @throws APIMThreatAnalyzerException if defined limits for json payload exceeds
+     */
+    @Override
+    public void analyze(byte[] payload, String apiContext) throws APIMThreatAnalyzerException {
+        try (JsonParser parser = factory.createParser(payload)) {
+            analyze(parser, apiContext);
+        } catch (IOException e) {
+            handleParserException(e, apiContext);
+        }
+    }
+
+    /**
+     * Analyzes the json payload while it is read from the stream, stopping at the first violation
+     *
+     * @param payload json payload stream
+     * @throws APIMThreatAnalyzerException if defined limits for json payload exceeds
+     */
+    @Override
+    public void analyze(InputStream payload, String apiContext) throws APIMThreatAnalyzerException {
+        try (JsonParser parser = factory.createParser(payload)) {
+            analyze(parser, apiContext);
+        } catch (IOException e) {
+            handleParserException(e, apiContext);
+        }
+    }
+
+    /**
+     * Walks through the tokens of the payload. Lengths of keys and string values are taken from the parser buffers
+     * with {@link JsonParser#getTextLength()}, so no String is created for them.
+     */
+    private void analyze(JsonParser parser, String apiContext) throws IOException, APIMThreatAnalyzerException {
+        int currentDepth = 0;
+        int currentFieldCount = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            switch (token) {
+                case START_OBJECT:
+                    currentDepth += 1;
+                    analyzeDepth(maxJsonDepth, currentDepth, apiContext);
+                    break;
+
+                case END_OBJECT:
+                    currentDepth -= 1;
+                    break;
+
+                case FIELD_NAME:
+                    currentFieldCount += 1;
+                    analyzeField(parser.getTextLength(), maxFieldCount, currentFieldCount, maxFieldLength,
+                            apiContext);
+                    break;
+
+                case VALUE_STRING:
+                    analyzeString(parser.getTextLength(), maxStringLength, apiContext);
+                    break;
+
+                case START_ARRAY:
+                    analyzeArray(parser, maxArrayElementCount, maxStringLength, apiContext);
+                    break;
+
+                default:
+                    break;
             }
-        } catch (JsonParseException e) {
+        }
+    }
+
+    private void handleParserException(IOException e, String apiContext) throws APIMThreatAnalyzerException {
+        if (e instanceof JsonParseException) {
             logger.error(JSON_THREAT_PROTECTION_MSG_PREFIX + apiContext + " - Payload parsing failed", e);
             throw new APIMThreatAnalyzerException(JSON_THREAT_PROTECTION_MSG_PREFIX + apiContext
                     + " - Payload parsing failed", e);
-        } catch (IOException e) {
-            logger.error(JSON_THREAT_PROTECTION_MSG_PREFIX + apiContext + " - Payload build failed", e);
-            throw new APIMThreatAnalyzerException(JSON_THREAT_PROTECTION_MSG_PREFIX + apiContext
-                    + " - Payload build failed", e);
         }
+        logger.error(JSON_THREAT_PROTECTION_MSG_PREFIX + apiContext + " - Payload build failed", e);
+        throw new APIMThreatAnalyzerException(JSON_THREAT_PROTECTION_MSG_PREFIX + apiContext
+                + " - Payload build failed", e);
     }
 
     /**
@@ -154,20 +183,16 @@ public class JSONAnalyzer implements APIMThreatAnalyzer {
     /**
      * Analyzes json fields using defined limits
      *
-     * @param field value of the json field
+     * @param fieldLength length of the json field
      * @param maxFieldCount maximum number of fields allowed
      * @param currentFieldCount current field count
      * @param maxFieldLength maximum field length allowed
      * @param apiContext current api context
      * @throws APIMThreatAnalyzerException if current values exceed maximum values
      */
-    private void analyzeField(String field, int maxFieldCount, int currentFieldCount, int maxFieldLength,
+    private void analyzeField(int fieldLength, int maxFieldCount, int currentFieldCount, int maxFieldLength,
             String apiContext) throws APIMThreatAnalyzerException {
-        if (field == null) {
-            return;
-        }
-
-        if (maxFieldLength > 0 && field.length() > maxFieldLength) {
+        if (maxFieldLength > 0 && fieldLength > maxFieldLength) {
             logger.error(JSON_THREAT_PROTECTION_MSG_PREFIX + apiContext + " - Max Key Length Reached");
             throw new APIMThreatAnalyzerException(JSON_THREAT_PROTECTION_MSG_PREFIX + apiContext
                     + " - Max Key Length Reached");
@@ -184,17 +209,17 @@ public class JSONAnalyzer implements APIMThreatAnalyzer {
     /**
      * Analyzes json string values using defined limits
      *
-     * @param value value of the string
+     * @param length length of the string
      * @param maxLength maximum string length allowed
      * @param apiContext current api context
      * @throws APIMThreatAnalyzerException if string length is greater than maximum length provided
      */
-    private void analyzeString(String value, int maxLength, String apiContext) throws APIMThreatAnalyzerException {
-        if (value == null || maxLength == 0) {
+    private void analyzeString(int length, int maxLength, String apiContext) throws APIMThreatAnalyzerException {
+        if (maxLength == 0) {
             return;
         }
 
-        if (value.length() > maxLength) {
+        if (length > maxLength) {
             logger.error(JSON_THREAT_PROTECTION_MSG_PREFIX + apiContext
                     + " - Max String Length Reached");
             throw new APIMThreatAnalyzerException(JSON_THREAT_PROTECTION_MSG_PREFIX + apiContext
@@ -224,12 +249,7 @@ public class JSONAnalyzer implements APIMThreatAnalyzer {
             while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
                 //analyzing string values inside array
                 if (token == JsonToken.VALUE_STRING) {
-                    String value = parser.getText();
-                    try {
-                        analyzeString(value, maxStringLength, apiContext);
-                    } catch (APIMThreatAnalyzerException e) {
-                        throw e;
-                    }
+                    analyzeString(parser.getTextLength(), maxStringLength, apiContext);
                 }
 
                 arrayElementCount += 1;
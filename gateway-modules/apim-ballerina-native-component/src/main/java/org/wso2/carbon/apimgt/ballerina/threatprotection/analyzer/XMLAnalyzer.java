@@ -26,8 +26,8 @@ import org.wso2.carbon.apimgt.ballerina.threatprotection.APIMThreatAnalyzerExcep
 import org.wso2.carbon.apimgt.ballerina.threatprotection.configurations.JSONConfig;
 import org.wso2.carbon.apimgt.ballerina.threatprotection.configurations.XMLConfig;
 
-import java.io.IOException;
-import java.io.Reader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.io.StringReader;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
@@ -83,53 +83,88 @@ public class XMLAnalyzer implements APIMThreatAnalyzer {
      */
     @Override
     public void analyze(String payload, String apiContext) throws APIMThreatAnalyzerException {
-        Reader reader = null;
         XMLStreamReader xmlStreamReader = null;
         try {
-            reader = new StringReader(payload);
-            xmlStreamReader = factory.createXMLStreamReader(reader);
-            while (xmlStreamReader.hasNext()) {
-                int xmlStreamEvent = xmlStreamReader.next();
-
-                //By default, stream parsing does not enforce attribute limits on the xml content.
-                //see: https://stackoverflow.com/a/7447769
-                //So, we are manually checking attribute length and count
-                if (xmlStreamEvent == XMLStreamReader.START_ELEMENT) {
-                    int currentAttributeCount = xmlStreamReader.getAttributeCount();
-                    if (currentAttributeCount > config.getMaxAttributeCount()) {
-                        throw new APIMThreatAnalyzerException(XML_THREAT_PROTECTION_MSG_PREFIX + apiContext
-                                + " - XML Validation Failed: Maximum attribute limit reached.");
-                    }
+            xmlStreamReader = factory.createXMLStreamReader(new StringReader(payload));
+            analyze(xmlStreamReader, apiContext);
+        } catch (XMLStreamException e) {
+            handleParserException(e, apiContext);
+        } finally {
+            close(xmlStreamReader, apiContext);
+        }
+    }
 
-                    for (int i = 0; i < currentAttributeCount; i++) {
-                        String attributeValue = xmlStreamReader.getAttributeValue(i);
-                        if (attributeValue.length() > config.getMaxAttributeLength()) {
-                            throw new APIMThreatAnalyzerException(XML_THREAT_PROTECTION_MSG_PREFIX + apiContext
-                                    + " - XML Validation Failed: Maximum attribute length reached.");
-                        }
-                    }
-                }
-            }
+    /**
+     * Analyzes the encoded xml payload, leaving the detection of the encoding to the parser
+     *
+     * @param payload xml payload bytes
+     * @throws APIMThreatAnalyzerException
+     */
+    @Override
+    public void analyze(byte[] payload, String apiContext) throws APIMThreatAnalyzerException {
+        analyze(new ByteArrayInputStream(payload), apiContext);
+    }
+
+    /**
+     * Analyzes the xml payload while it is read from the stream, stopping at the first violation
+     *
+     * @param payload xml payload stream
+     * @throws APIMThreatAnalyzerException
+     */
+    @Override
+    public void analyze(InputStream payload, String apiContext) throws APIMThreatAnalyzerException {
+        XMLStreamReader xmlStreamReader = null;
+        try {
+            xmlStreamReader = factory.createXMLStreamReader(payload);
+            analyze(xmlStreamReader, apiContext);
         } catch (XMLStreamException e) {
-            log.error(XML_THREAT_PROTECTION_MSG_PREFIX + apiContext + " - XML Validation Failed: "
-                    + e.getMessage(), e);
-            throw new APIMThreatAnalyzerException(XML_THREAT_PROTECTION_MSG_PREFIX + apiContext
-                    + " - XML Validation Failed: " + e.getMessage(), e);
+            handleParserException(e, apiContext);
         } finally {
-            try {
-                if (xmlStreamReader != null) {
-                    xmlStreamReader.close();
+            close(xmlStreamReader, apiContext);
+        }
+    }
+
+    private void analyze(XMLStreamReader xmlStreamReader, String apiContext)
+            throws XMLStreamException, APIMThreatAnalyzerException {
+        while (xmlStreamReader.hasNext()) {
+            int xmlStreamEvent = xmlStreamReader.next();
+
+            //By default, stream parsing does not enforce attribute limits on the xml content.
+            //see: https://stackoverflow.com/a/7447769
+            //So, we are manually checking attribute length and count
+            if (xmlStreamEvent == XMLStreamReader.START_ELEMENT) {
+                int currentAttributeCount = xmlStreamReader.getAttributeCount();
+                if (currentAttributeCount > config.getMaxAttributeCount()) {
+                    throw new APIMThreatAnalyzerException(XML_THREAT_PROTECTION_MSG_PREFIX + apiContext
+                            + " - XML Validation Failed: Maximum attribute limit reached.");
                 }
-                if (reader != null) {
-                    reader.close();
+
+                for (int i = 0; i < currentAttributeCount; i++) {
+                    String attributeValue = xmlStreamReader.getAttributeValue(i);
+                    if (attributeValue.length() > config.getMaxAttributeLength()) {
+                        throw new APIMThreatAnalyzerException(XML_THREAT_PROTECTION_MSG_PREFIX + apiContext
+                                + " - XML Validation Failed: Maximum attribute length reached.");
+                    }
                 }
-            } catch (XMLStreamException e) {
-                log.warn(XML_THREAT_PROTECTION_MSG_PREFIX + apiContext
-                        + " - Failed to close XMLEventReader", e);
-            } catch (IOException e) {
-                log.warn(XML_THREAT_PROTECTION_MSG_PREFIX + apiContext
-                        + " - Failed to close payload StringReader", e);
             }
         }
     }
+
+    private void handleParserException(XMLStreamException e, String apiContext) throws APIMThreatAnalyzerException {
+        log.error(XML_THREAT_PROTECTION_MSG_PREFIX + apiContext + " - XML Validation Failed: "
+                + e.getMessage(), e);
+        throw new APIMThreatAnalyzerException(XML_THREAT_PROTECTION_MSG_PREFIX + apiContext
+                + " - XML Validation Failed: " + e.getMessage(), e);
+    }
+
+    private void close(XMLStreamReader xmlStreamReader, String apiContext) {
+        try {
+            if (xmlStreamReader != null) {
+                xmlStreamReader.close();
+            }
+        } catch (XMLStreamException e) {
+            log.warn(XML_THREAT_PROTECTION_MSG_PREFIX + apiContext
+                    + " - Failed to close XMLEventReader", e);
+        }
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.throttle;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.Attribute;
+import org.ballerinalang.natives.annotations.BallerinaAnnotation;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+
+/**
+ * Ballerina function to enable or disable local throttling
+ * <br>
+ * org.wso2.carbon.apimgt.ballerina.throttle:configureLocalThrottling
+ */
+@BallerinaFunction(
+        packageName = "org.wso2.carbon.apimgt.ballerina.throttle",
+        functionName = "configureLocalThrottling",
+        args = {@Argument(name = "enabled", type = TypeEnum.BOOLEAN),
+                @Argument(name = "nodeCount", type = TypeEnum.INT)},
+        isPublic = true
+)
+@BallerinaAnnotation(annotationName = "Description", attributes = {@Attribute(name = "value",
+        value = "Enable or disable local throttling")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "enabled",
+        value = "true to throttle requests locally")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "nodeCount",
+        value = "number of gateway nodes that share the request count of a policy")})
+public class ConfigureLocalThrottling extends AbstractNativeFunction {
+
+    @Override
+    public BValue[] execute(Context context) {
+        boolean enabled = getBooleanArgument(context, 0);
+        long nodeCount = getIntArgument(context, 0);
+        LocalThrottler.getInstance().configure(enabled, (int) nodeCount);
+        return VOID_RETURN;
+    }
+}
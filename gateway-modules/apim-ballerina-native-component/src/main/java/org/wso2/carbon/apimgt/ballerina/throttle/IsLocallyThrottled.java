@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.throttle;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.Attribute;
+import org.ballerinalang.natives.annotations.BallerinaAnnotation;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.ReturnType;
+
+/**
+ * Ballerina function to check whether this node has used up its share of the policy for a throttle key
+ * <br>
+ * org.wso2.carbon.apimgt.ballerina.throttle:isLocallyThrottled
+ */
+@BallerinaFunction(
+        packageName = "org.wso2.carbon.apimgt.ballerina.throttle",
+        functionName = "isLocallyThrottled",
+        args = {@Argument(name = "throttleKey", type = TypeEnum.STRING),
+                @Argument(name = "level", type = TypeEnum.STRING),
+                @Argument(name = "policy", type = TypeEnum.STRING)},
+        returnType = {@ReturnType(type = TypeEnum.BOOLEAN)},
+        isPublic = true
+)
+@BallerinaAnnotation(annotationName = "Description", attributes = {@Attribute(name = "value",
+        value = "Check whether this node has used up its share of the policy for a throttle key")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "throttleKey",
+        value = "throttle key of the request")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "level",
+        value = "level of the policy applied to the key")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "policy",
+        value = "name of the policy applied to the key")})
+@BallerinaAnnotation(annotationName = "Return", attributes = {@Attribute(name = "boolean",
+        value = "true if the request is throttled")})
+public class IsLocallyThrottled extends AbstractNativeFunction {
+
+    @Override
+    public BValue[] execute(Context context) {
+        String throttleKey = getStringArgument(context, 0);
+        String level = getStringArgument(context, 1);
+        String policy = getStringArgument(context, 2);
+        return getBValues(new BBoolean(LocalThrottler.getInstance().isThrottled(throttleKey, level, policy)));
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.throttle;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node local rate limiter that throttles a burst as soon as it arrives at the gateway, instead of after the traffic
+ * manager has counted it and published its decision.
+ * <p>
+ * Each node enforces its share of the request count of a policy, the request count divided by the number of gateway
+ * nodes. The requests of a throttle key are limited with a token bucket, kept as the time at which the bucket is
+ * full again (the generic cell rate algorithm), so a bucket is a single long that is updated with compare and set,
+ * and requests of different keys never wait on each other. A full bucket is the same as no bucket, so buckets that
+ * have refilled are removed periodically.
+ * <p>
+ * The decisions of the traffic manager are still applied as they arrive, see {@link #reconcile(String, boolean)}.
+ */
+public class LocalThrottler {
+    private static final LocalThrottler instance = new LocalThrottler();
+    private static final long SWEEP_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepTime = new AtomicLong(System.nanoTime() + SWEEP_INTERVAL);
+    private volatile boolean enabled;
+    private volatile int nodeCount = 1;
+
+    LocalThrottler() {
+    }
+
+    public static LocalThrottler getInstance() {
+        return instance;
+    }
+
+    /**
+     * Enable or disable local throttling
+     *
+     * @param enabled   whether requests are throttled locally
+     * @param nodeCount number of gateway nodes that share the request count of a policy
+     */
+    public void configure(boolean enabled, int nodeCount) {
+        this.nodeCount = Math.max(nodeCount, 1);
+        this.enabled = enabled;
+        buckets.clear();
+    }
+
+    /**
+     * Add or replace the request count limit of a policy
+     *
+     * @param level        level of the policy, such as application or subscription
+     * @param policy       name of the policy
+     * @param requestCount number of requests allowed in the unit time
+     * @param unitTime     unit time
+     * @param timeUnit     time unit of the policy, such as sec, min, hour or day
+     * @return {@code false} if the limit is not a valid request count limit, in which case the policy is not limited
+     * locally
+     */
+    public boolean setLimit(String level, String policy, long requestCount, long unitTime, String timeUnit) {
+        long period = toNanos(unitTime, timeUnit);
+        if (requestCount <= 0 || period <= 0) {
+            limits.remove(getLimitKey(level, policy));
+            return false;
+        }
+        limits.put(getLimitKey(level, policy), new Limit(requestCount, period));
+        return true;
+    }
+
+    /**
+     * Remove the request count limit of a policy
+     *
+     * @param level  level of the policy
+     * @param policy name of the policy
+     */
+    public void removeLimit(String level, String policy) {
+        limits.remove(getLimitKey(level, policy));
+    }
+
+    /**
+     * Take a request of a throttle key from its bucket.
+     *
+     * @param throttleKey throttle key of the request
+     * @param level       level of the policy applied to the key
+     * @param policy      name of the policy applied to the key
+     * @return {@code true} if the node has used up its share of the policy for the key
+     */
+    public boolean isThrottled(String throttleKey, String level, String policy) {
+        if (!enabled) {
+            return false;
+        }
+        Limit limit = limits.get(getLimitKey(level, policy));
+        if (limit == null) {
+            return false;
+        }
+        long now = System.nanoTime();
+        sweep(now);
+        long interval = limit.getInterval(nodeCount);
+        long tolerance = limit.period - interval;
+        // the bucket of a key is the time at which it is full again
+        AtomicLong bucket = buckets.get(throttleKey);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(throttleKey, key -> new AtomicLong(now));
+        }
+        while (true) {
+            long fullTime = bucket.get();
+            long start = Math.max(fullTime, now);
+            if (start - now > tolerance) {
+                return true;
+            }
+            if (bucket.compareAndSet(fullTime, start + interval)) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Apply a decision of the traffic manager to the bucket of a throttle key. A throttled key is already rejected by
+     * the decision itself until it expires, and a key that is no longer throttled starts again with a full bucket, so
+     * that the node follows the windows of the traffic manager.
+     *
+     * @param throttleKey throttle key of the decision
+     * @param throttled   whether the traffic manager throttles the key
+     */
+    public void reconcile(String throttleKey, boolean throttled) {
+        if (!throttled) {
+            buckets.remove(throttleKey);
+        }
+    }
+
+    /**
+     * @return number of throttle keys whose bucket is not full
+     */
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    /**
+     * Policies of different levels may have the same name, such as the Unlimited policies, hence limits are kept per
+     * level and name.
+     */
+    private static String getLimitKey(String level, String policy) {
+        return level + ":" + policy;
+    }
+
+    /**
+     * Drop the buckets of keys that have not sent a request for long enough to be full again, so that a key seen
+     * once does not hold memory forever. Checked on every request, but the buckets are only walked once a minute.
+     */
+    private void sweep(long now) {
+        long sweepTime = nextSweepTime.get();
+        if (now - sweepTime < 0 || !nextSweepTime.compareAndSet(sweepTime, now + SWEEP_INTERVAL)) {
+            return;
+        }
+        Iterator<AtomicLong> iterator = buckets.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().get() - now <= 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    static long toNanos(long unitTime, String timeUnit) {
+        if (timeUnit == null) {
+            return -1;
+        }
+        switch (timeUnit.toLowerCase(Locale.ENGLISH)) {
+            case "ms":
+                return TimeUnit.MILLISECONDS.toNanos(unitTime);
+            case "s":
+            case "sec":
+            case "second":
+            case "seconds":
+                return TimeUnit.SECONDS.toNanos(unitTime);
+            case "min":
+            case "minute":
+            case "minutes":
+                return TimeUnit.MINUTES.toNanos(unitTime);
+            case "h":
+            case "hour":
+            case "hours":
+                return TimeUnit.HOURS.toNanos(unitTime);
+            case "day":
+            case "days":
+                return TimeUnit.DAYS.toNanos(unitTime);
+            case "month":
+            case "months":
+                return TimeUnit.DAYS.toNanos(unitTime * 30);
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Request count limit of a policy
+     */
+    private static final class Limit {
+        private final long requestCount;
+        private final long period;
+
+        private Limit(long requestCount, long period) {
+            this.requestCount = requestCount;
+            this.period = period;
+        }
+
+        /**
+         * @return time in nanoseconds it takes to add a request to a bucket
+         */
+        private long getInterval(int nodeCount) {
+            long localCount = Math.max((requestCount + nodeCount - 1) / nodeCount, 1);
+            return Math.max(period / localCount, 1);
+        }
+    }
+}
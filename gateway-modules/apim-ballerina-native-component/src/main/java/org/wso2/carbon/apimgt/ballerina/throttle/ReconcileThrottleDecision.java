@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.throttle;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.Attribute;
+import org.ballerinalang.natives.annotations.BallerinaAnnotation;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+
+/**
+ * Ballerina function to apply a decision of the traffic manager to the local throttle state of a key
+ * <br>
+ * org.wso2.carbon.apimgt.ballerina.throttle:reconcileThrottleDecision
+ */
+@BallerinaFunction(
+        packageName = "org.wso2.carbon.apimgt.ballerina.throttle",
+        functionName = "reconcileThrottleDecision",
+        args = {@Argument(name = "throttleKey", type = TypeEnum.STRING),
+                @Argument(name = "throttled", type = TypeEnum.BOOLEAN)},
+        isPublic = true
+)
+@BallerinaAnnotation(annotationName = "Description", attributes = {@Attribute(name = "value",
+        value = "Apply a decision of the traffic manager to the local throttle state of a key")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "throttleKey",
+        value = "throttle key of the decision")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "throttled",
+        value = "whether the traffic manager throttles the key")})
+public class ReconcileThrottleDecision extends AbstractNativeFunction {
+
+    @Override
+    public BValue[] execute(Context context) {
+        String throttleKey = getStringArgument(context, 0);
+        boolean throttled = getBooleanArgument(context, 0);
+        LocalThrottler.getInstance().reconcile(throttleKey, throttled);
+        return VOID_RETURN;
+    }
+}
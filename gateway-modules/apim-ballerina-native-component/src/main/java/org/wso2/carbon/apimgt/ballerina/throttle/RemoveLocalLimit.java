@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.throttle;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.Attribute;
+import org.ballerinalang.natives.annotations.BallerinaAnnotation;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+
+/**
+ * Ballerina function to remove the request count limit of a policy
+ * <br>
+ * org.wso2.carbon.apimgt.ballerina.throttle:removeLocalLimit
+ */
+@BallerinaFunction(
+        packageName = "org.wso2.carbon.apimgt.ballerina.throttle",
+        functionName = "removeLocalLimit",
+        args = {@Argument(name = "level", type = TypeEnum.STRING),
+                @Argument(name = "policy", type = TypeEnum.STRING)},
+        isPublic = true
+)
+@BallerinaAnnotation(annotationName = "Description", attributes = {@Attribute(name = "value",
+        value = "Remove the request count limit of a policy")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "level",
+        value = "level of the policy")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "policy",
+        value = "name of the policy")})
+public class RemoveLocalLimit extends AbstractNativeFunction {
+
+    @Override
+    public BValue[] execute(Context context) {
+        String level = getStringArgument(context, 0);
+        String policy = getStringArgument(context, 1);
+        LocalThrottler.getInstance().removeLimit(level, policy);
+        return VOID_RETURN;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.util;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.Attribute;
+import org.ballerinalang.natives.annotations.BallerinaAnnotation;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.ReturnType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ballerina function to add the IPv4 address range of a blocking condition, given as the long values of the
+ * addresses sent in blocking condition events
+ * <br>
+ * org.wso2.carbon.apimgt.ballerina.util:addIpv4Range
+ */
+@BallerinaFunction(
+        packageName = "org.wso2.carbon.apimgt.ballerina.util",
+        functionName = "addIpv4Range",
+        args = {@Argument(name = "key", type = TypeEnum.STRING),
+                @Argument(name = "startingIp", type = TypeEnum.INT),
+                @Argument(name = "endingIp", type = TypeEnum.INT)},
+        returnType = {@ReturnType(type = TypeEnum.BOOLEAN)},
+        isPublic = true
+)
+@BallerinaAnnotation(annotationName = "Description", attributes = {@Attribute(name = "value",
+        value = "Add the IPv4 range of a blocking condition")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "key",
+        value = "Key of the blocking condition")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "startingIp",
+        value = "long value of the first ip of the range")})
+@BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "endingIp",
+        value = "long value of the last ip of the range")})
+@BallerinaAnnotation(annotationName = "Return", attributes = {@Attribute(name = "boolean",
+        value = "true if the range is valid and was added")})
+public class AddIPv4Range extends AbstractNativeFunction {
+    private static final Logger log = LoggerFactory.getLogger(AddIPv4Range.class);
+
+    @Override
+    public BValue[] execute(Context context) {
+        String key = getStringArgument(context, 0);
+        long startingIp = getIntArgument(context, 0);
+        long endingIp = getIntArgument(context, 1);
+        try {
+            IPRangeIndexHolder.getInstance().putRange(key, IPRangeIndex.IPRange.ofIpv4(startingIp, endingIp));
+            return getBValues(new BBoolean(true));
+        } catch (IllegalArgumentException e) {
+            log.error("Error adding IP range of blocking condition " + key, e);
+            return getBValues(new BBoolean(false));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads the gzip compressed, newline delimited gateway snapshot served by API Core in a single pass and groups the
+ * records by type. The gateway configuration and resources of an API are added to the API itself.
+ */
+public final class GatewaySnapshotReader {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private GatewaySnapshotReader() {
+    }
+
+    /**
+     * Read a gateway snapshot
+     *
+     * @param snapshot gzip compressed snapshot
+     * @return snapshot with the revision, the gateway change revision and an array per entity type
+     * @throws IOException if the snapshot cannot be read or is incomplete
+     */
+    public static ObjectNode read(byte[] snapshot) throws IOException {
+        return read(new ByteArrayInputStream(snapshot));
+    }
+
+    /**
+     * Read a gateway snapshot
+     *
+     * @param snapshot gzip compressed snapshot
+     * @return snapshot with the revision, the gateway change revision and an array per entity type
+     * @throws IOException if the snapshot cannot be read or is incomplete
+     */
+    public static ObjectNode read(InputStream snapshot) throws IOException {
+        ObjectNode result = mapper.createObjectNode();
+        ArrayNode apis = result.putArray("apis");
+        ArrayNode endpoints = result.putArray("endpoints");
+        ArrayNode blockConditions = result.putArray("blockConditions");
+        ArrayNode policies = result.putArray("policies");
+        ArrayNode threatProtectionPolicies = result.putArray("threatProtectionPolicies");
+        ArrayNode applications = result.putArray("applications");
+        ArrayNode subscriptions = result.putArray("subscriptions");
+        ObjectNode currentApi = null;
+        long count = 0;
+        JsonNode end = null;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(snapshot),
+                StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (end != null) {
+                    throw new IOException("Gateway snapshot has records after the end record");
+                }
+                JsonNode record = mapper.readTree(line);
+                String type = record.path("type").asText();
+                JsonNode data = record.get("data");
+                switch (type) {
+                case "snapshot":
+                    result.set("labels", record.get("labels"));
+                    result.put("changeRevision", record.path("changeRevision").asLong());
+                    break;
+                case "api":
+                    currentApi = (ObjectNode) data;
+                    apis.add(currentApi);
+                    break;
+                case "gatewayConfig":
+                    getApi(currentApi, record.path("id").asText()).set("gatewayConfig", data);
+                    break;
+                case "resources":
+                    getApi(currentApi, null).set("resources", data);
+                    break;
+                case "endpoint":
+                    endpoints.add(data);
+                    break;
+                case "blockCondition":
+                    blockConditions.add(data);
+                    break;
+                case "policy":
+                    policies.add(data);
+                    break;
+                case "threatProtectionPolicy":
+                    threatProtectionPolicies.add(data);
+                    break;
+                case "application":
+                    applications.add(data);
+                    break;
+                case "subscription":
+                    subscriptions.add(data);
+                    break;
+                case "end":
+                    end = record;
+                    continue;
+                default:
+                    // records of types unknown to this gateway are skipped
+                    break;
+                }
+                count++;
+            }
+        }
+        if (end == null) {
+            throw new IOException("Gateway snapshot is incomplete, end record is missing");
+        }
+        if (end.path("count").asLong() != count) {
+            throw new IOException("Gateway snapshot is incomplete, expected " + end.path("count").asLong()
+                    + " records but read " + count);
+        }
+        result.put("revision", end.path("revision").asText());
+        return result;
+    }
+
+    private static ObjectNode getApi(ObjectNode currentApi, String apiId) throws IOException {
+        if (currentApi == null || (apiId != null && !apiId.equals(currentApi.path("id").asText()))) {
+            throw new IOException("Gateway snapshot has an API record out of order");
+        }
+        return currentApi;
+    }
+}
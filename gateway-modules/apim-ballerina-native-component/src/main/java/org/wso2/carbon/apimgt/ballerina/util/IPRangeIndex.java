@@ -0,0 +1,416 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable index of IP address ranges.
+ * <p>
+ * Overlapping and adjacent ranges are merged when the index is built, so the index holds sorted, disjoint intervals
+ * and an address is looked up with a binary search. IPv4 and IPv6 ranges are kept in separate intervals, with IPv6
+ * addresses held as two unsigned 64 bit halves.
+ */
+public final class IPRangeIndex {
+
+    private static final IPRangeIndex EMPTY = new IPRangeIndex(new long[0], new long[0], new long[0], new long[0],
+            new long[0], new long[0]);
+
+    // keeps the parsed halves of an IPv6 address so that lookups do not allocate
+    private static final ThreadLocal<long[]> IPV6_BUFFER = ThreadLocal.withInitial(() -> new long[2]);
+
+    private final long[] ipv4Starts;
+    private final long[] ipv4Ends;
+    private final long[] ipv6StartsHigh;
+    private final long[] ipv6StartsLow;
+    private final long[] ipv6EndsHigh;
+    private final long[] ipv6EndsLow;
+
+    private IPRangeIndex(long[] ipv4Starts, long[] ipv4Ends, long[] ipv6StartsHigh, long[] ipv6StartsLow,
+                         long[] ipv6EndsHigh, long[] ipv6EndsLow) {
+        this.ipv4Starts = ipv4Starts;
+        this.ipv4Ends = ipv4Ends;
+        this.ipv6StartsHigh = ipv6StartsHigh;
+        this.ipv6StartsLow = ipv6StartsLow;
+        this.ipv6EndsHigh = ipv6EndsHigh;
+        this.ipv6EndsLow = ipv6EndsLow;
+    }
+
+    /**
+     * @return index without any ranges
+     */
+    public static IPRangeIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build an index of the given ranges.
+     *
+     * @param ranges IP ranges
+     * @return index of the ranges
+     */
+    public static IPRangeIndex build(Collection<IPRange> ranges) {
+        List<IPRange> ipv4Ranges = new ArrayList<>();
+        List<IPRange> ipv6Ranges = new ArrayList<>();
+        for (IPRange range : ranges) {
+            if (range.isIpv6()) {
+                ipv6Ranges.add(range);
+            } else {
+                ipv4Ranges.add(range);
+            }
+        }
+        ipv4Ranges.sort((range1, range2) -> Long.compare(range1.startLow, range2.startLow));
+        ipv6Ranges.sort((range1, range2) -> compareUnsigned(range1.startHigh, range1.startLow, range2.startHigh,
+                range2.startLow));
+
+        List<IPRange> mergedIpv4Ranges = new ArrayList<>();
+        for (IPRange range : ipv4Ranges) {
+            int last = mergedIpv4Ranges.size() - 1;
+            // IPv4 addresses are never negative, hence the end can be incremented to merge adjacent ranges
+            if (last >= 0 && range.startLow <= mergedIpv4Ranges.get(last).endLow + 1) {
+                IPRange lastRange = mergedIpv4Ranges.get(last);
+                if (range.endLow > lastRange.endLow) {
+                    mergedIpv4Ranges.set(last, new IPRange(false, 0, lastRange.startLow, 0, range.endLow));
+                }
+            } else {
+                mergedIpv4Ranges.add(range);
+            }
+        }
+        List<IPRange> mergedIpv6Ranges = new ArrayList<>();
+        for (IPRange range : ipv6Ranges) {
+            int last = mergedIpv6Ranges.size() - 1;
+            if (last >= 0 && !isAfterNext(range.startHigh, range.startLow, mergedIpv6Ranges.get(last).endHigh,
+                    mergedIpv6Ranges.get(last).endLow)) {
+                IPRange lastRange = mergedIpv6Ranges.get(last);
+                if (compareUnsigned(range.endHigh, range.endLow, lastRange.endHigh, lastRange.endLow) > 0) {
+                    mergedIpv6Ranges.set(last, new IPRange(true, lastRange.startHigh, lastRange.startLow,
+                            range.endHigh, range.endLow));
+                }
+            } else {
+                mergedIpv6Ranges.add(range);
+            }
+        }
+
+        long[] ipv4Starts = new long[mergedIpv4Ranges.size()];
+        long[] ipv4Ends = new long[mergedIpv4Ranges.size()];
+        for (int i = 0; i < ipv4Starts.length; i++) {
+            ipv4Starts[i] = mergedIpv4Ranges.get(i).startLow;
+            ipv4Ends[i] = mergedIpv4Ranges.get(i).endLow;
+        }
+        long[] ipv6StartsHigh = new long[mergedIpv6Ranges.size()];
+        long[] ipv6StartsLow = new long[mergedIpv6Ranges.size()];
+        long[] ipv6EndsHigh = new long[mergedIpv6Ranges.size()];
+        long[] ipv6EndsLow = new long[mergedIpv6Ranges.size()];
+        for (int i = 0; i < ipv6StartsHigh.length; i++) {
+            IPRange range = mergedIpv6Ranges.get(i);
+            ipv6StartsHigh[i] = range.startHigh;
+            ipv6StartsLow[i] = range.startLow;
+            ipv6EndsHigh[i] = range.endHigh;
+            ipv6EndsLow[i] = range.endLow;
+        }
+        return new IPRangeIndex(ipv4Starts, ipv4Ends, ipv6StartsHigh, ipv6StartsLow, ipv6EndsHigh, ipv6EndsLow);
+    }
+
+    /**
+     * Check whether an address falls into any of the ranges of the index.
+     *
+     * @param ip IPv4 or IPv6 address
+     * @return {@code true} if the address is within a range, {@code false} if it is not or is not a valid address
+     */
+    public boolean contains(String ip) {
+        if (ip == null) {
+            return false;
+        }
+        if (ip.indexOf(':') < 0) {
+            long ipv4 = parseIpv4(ip, 0, ip.length());
+            return ipv4 >= 0 && containsIpv4(ipv4);
+        }
+        long[] ipv6 = IPV6_BUFFER.get();
+        if (!parseIpv6(ip, ipv6)) {
+            return false;
+        }
+        if (ipv6[0] == 0 && (ipv6[1] >>> 32) == 0xFFFFL) {
+            // IPv4 mapped IPv6 address
+            return containsIpv4(ipv6[1] & 0xFFFFFFFFL) || containsIpv6(ipv6[0], ipv6[1]);
+        }
+        return containsIpv6(ipv6[0], ipv6[1]);
+    }
+
+    /**
+     * Check whether an IPv4 address falls into any of the IPv4 ranges of the index.
+     *
+     * @param ipv4 numeric value of the IPv4 address
+     * @return {@code true} if the address is within a range
+     */
+    public boolean containsIpv4(long ipv4) {
+        int low = 0;
+        int high = ipv4Starts.length - 1;
+        // find the last range starting at or before the address
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (ipv4Starts[mid] <= ipv4) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high >= 0 && ipv4 <= ipv4Ends[high];
+    }
+
+    private boolean containsIpv6(long ipHigh, long ipLow) {
+        int low = 0;
+        int high = ipv6StartsHigh.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (compareUnsigned(ipv6StartsHigh[mid], ipv6StartsLow[mid], ipHigh, ipLow) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high >= 0 && compareUnsigned(ipHigh, ipLow, ipv6EndsHigh[high], ipv6EndsLow[high]) <= 0;
+    }
+
+    /**
+     * @return number of disjoint intervals held by the index after merging the ranges
+     */
+    public int size() {
+        return ipv4Starts.length + ipv6StartsHigh.length;
+    }
+
+    private static int compareUnsigned(long high1, long low1, long high2, long low2) {
+        int result = Long.compareUnsigned(high1, high2);
+        return result != 0 ? result : Long.compareUnsigned(low1, low2);
+    }
+
+    /**
+     * @return whether the first address is greater than the address following the second address
+     */
+    private static boolean isAfterNext(long high1, long low1, long high2, long low2) {
+        if (high2 == -1L && low2 == -1L) {
+            // nothing comes after the last address
+            return false;
+        }
+        long nextLow = low2 + 1;
+        long nextHigh = nextLow == 0 ? high2 + 1 : high2;
+        return compareUnsigned(high1, low1, nextHigh, nextLow) > 0;
+    }
+
+    /**
+     * Parse a dotted decimal IPv4 address.
+     *
+     * @return numeric value of the address, or -1 if the address is not valid
+     */
+    static long parseIpv4(String ip, int from, int to) {
+        long value = 0;
+        int octets = 0;
+        int octet = -1;
+        for (int i = from; i < to; i++) {
+            char c = ip.charAt(i);
+            if (c == '.') {
+                if (octet < 0 || ++octets > 3) {
+                    return -1;
+                }
+                value = (value << 8) | octet;
+                octet = -1;
+            } else if (c >= '0' && c <= '9') {
+                octet = (octet < 0 ? 0 : octet * 10) + (c - '0');
+                if (octet > 255) {
+                    return -1;
+                }
+            } else {
+                return -1;
+            }
+        }
+        if (octet < 0 || octets != 3) {
+            return -1;
+        }
+        return (value << 8) | octet;
+    }
+
+    /**
+     * Parse an IPv6 address, including the compressed form and an embedded IPv4 address in the last 32 bits.
+     *
+     * @param ip     IPv6 address
+     * @param result array which receives the high and low 64 bits of the address
+     * @return {@code true} if the address is valid
+     */
+    static boolean parseIpv6(String ip, long[] result) {
+        int length = ip.length();
+        int zoneIndex = ip.indexOf('%');
+        if (zoneIndex >= 0) {
+            length = zoneIndex;
+        }
+        long headHigh = 0;
+        long headLow = 0;
+        long tailHigh = 0;
+        long tailLow = 0;
+        int headGroups = 0;
+        int tailGroups = 0;
+        boolean compressed = false;
+        int i = 0;
+        if (length >= 2 && ip.charAt(0) == ':' && ip.charAt(1) == ':') {
+            compressed = true;
+            i = 2;
+        }
+        while (i < length) {
+            int groupEnd = i;
+            int group = 0;
+            while (groupEnd < length && groupEnd - i < 5) {
+                int digit = Character.digit(ip.charAt(groupEnd), 16);
+                if (digit < 0) {
+                    break;
+                }
+                group = (group << 4) | digit;
+                groupEnd++;
+            }
+            int groupBits = 16;
+            if (groupEnd < length && ip.charAt(groupEnd) == '.') {
+                // embedded IPv4 address, which must be the last part of the address
+                long ipv4 = parseIpv4(ip, i, length);
+                if (ipv4 < 0) {
+                    return false;
+                }
+                group = (int) ipv4;
+                groupBits = 32;
+                groupEnd = length;
+            } else if (groupEnd == i || groupEnd - i > 4) {
+                return false;
+            }
+            int groups = groupBits / 16;
+            if (compressed) {
+                tailHigh = (tailHigh << groupBits) | (tailLow >>> (64 - groupBits));
+                tailLow = (tailLow << groupBits) | (group & 0xFFFFFFFFL);
+                tailGroups += groups;
+            } else {
+                headHigh = (headHigh << groupBits) | (headLow >>> (64 - groupBits));
+                headLow = (headLow << groupBits) | (group & 0xFFFFFFFFL);
+                headGroups += groups;
+            }
+            if (headGroups + tailGroups > 8) {
+                return false;
+            }
+            i = groupEnd;
+            if (i == length) {
+                break;
+            }
+            if (ip.charAt(i) != ':' || groupBits == 32) {
+                return false;
+            }
+            i++;
+            if (i < length && ip.charAt(i) == ':') {
+                if (compressed) {
+                    return false;
+                }
+                compressed = true;
+                i++;
+            } else if (i == length) {
+                // trailing single colon
+                return false;
+            }
+        }
+        if (compressed ? headGroups + tailGroups > 7 : headGroups != 8) {
+            return false;
+        }
+        // shift the groups before the compression to the top of the address
+        int shift = (8 - headGroups) * 16;
+        if (shift >= 128) {
+            headHigh = 0;
+            headLow = 0;
+        } else if (shift >= 64) {
+            headHigh = headLow << (shift - 64);
+            headLow = 0;
+        } else if (shift > 0) {
+            headHigh = (headHigh << shift) | (headLow >>> (64 - shift));
+            headLow = headLow << shift;
+        }
+        result[0] = headHigh | tailHigh;
+        result[1] = headLow | tailLow;
+        return true;
+    }
+
+    /**
+     * Range of IP addresses with inclusive start and end addresses.
+     */
+    public static final class IPRange {
+        private final boolean ipv6;
+        private final long startHigh;
+        private final long startLow;
+        private final long endHigh;
+        private final long endLow;
+
+        private IPRange(boolean ipv6, long startHigh, long startLow, long endHigh, long endLow) {
+            this.ipv6 = ipv6;
+            this.startHigh = startHigh;
+            this.startLow = startLow;
+            this.endHigh = endHigh;
+            this.endLow = endLow;
+        }
+
+        /**
+         * Create a range of IPv4 addresses from their numeric values.
+         *
+         * @param startingIp numeric value of the first address
+         * @param endingIp   numeric value of the last address
+         * @return IPv4 range
+         */
+        public static IPRange ofIpv4(long startingIp, long endingIp) {
+            if (startingIp < 0 || endingIp > 0xFFFFFFFFL || startingIp > endingIp) {
+                throw new IllegalArgumentException("Invalid IPv4 range : " + startingIp + " - " + endingIp);
+            }
+            return new IPRange(false, 0, startingIp, 0, endingIp);
+        }
+
+        /**
+         * Create a range from the textual form of its first and last addresses. Both addresses must be of the same
+         * IP version.
+         *
+         * @param startingIp first IPv4 or IPv6 address
+         * @param endingIp   last IPv4 or IPv6 address
+         * @return IP range
+         */
+        public static IPRange of(String startingIp, String endingIp) {
+            boolean ipv6 = startingIp.indexOf(':') >= 0;
+            if (ipv6 != endingIp.indexOf(':') >= 0) {
+                throw new IllegalArgumentException("IP versions of range do not match : " + startingIp + " - "
+                        + endingIp);
+            }
+            if (!ipv6) {
+                long start = parseIpv4(startingIp, 0, startingIp.length());
+                long end = parseIpv4(endingIp, 0, endingIp.length());
+                if (start < 0 || end < 0) {
+                    throw new IllegalArgumentException("Invalid IPv4 range : " + startingIp + " - " + endingIp);
+                }
+                return ofIpv4(start, end);
+            }
+            long[] start = new long[2];
+            long[] end = new long[2];
+            if (!parseIpv6(startingIp, start) || !parseIpv6(endingIp, end)
+                    || compareUnsigned(start[0], start[1], end[0], end[1]) > 0) {
+                throw new IllegalArgumentException("Invalid IPv6 range : " + startingIp + " - " + endingIp);
+            }
+            return new IPRange(true, start[0], start[1], end[0], end[1]);
+        }
+
+        boolean isIpv6() {
+            return ipv6;
+        }
+    }
+}
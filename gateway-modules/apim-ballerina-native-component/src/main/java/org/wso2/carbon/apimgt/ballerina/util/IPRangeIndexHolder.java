@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds the IP ranges of the IP range blocking conditions of the gateway.
+ * <p>
+ * Ranges are added and removed by key as blocking condition events arrive. The index used for lookups is rebuilt
+ * on the first lookup after a change and then replaced atomically, so lookups never see a partially built index and
+ * loading many conditions at start up does not rebuild the index for each condition.
+ */
+public class IPRangeIndexHolder {
+    private static final IPRangeIndexHolder instance = new IPRangeIndexHolder();
+
+    private final Map<String, IPRangeIndex.IPRange> ranges = new HashMap<>();
+    private volatile IPRangeIndex index = IPRangeIndex.empty();
+    private volatile boolean changed;
+
+    private IPRangeIndexHolder() {
+    }
+
+    public static IPRangeIndexHolder getInstance() {
+        return instance;
+    }
+
+    /**
+     * Add or replace the range of a blocking condition
+     *
+     * @param key   Key of the blocking condition
+     * @param range IP range
+     */
+    public synchronized void putRange(String key, IPRangeIndex.IPRange range) {
+        ranges.put(key, range);
+        changed = true;
+    }
+
+    /**
+     * Remove the range of a blocking condition
+     *
+     * @param key Key of the blocking condition
+     */
+    public synchronized void removeRange(String key) {
+        if (ranges.remove(key) != null) {
+            changed = true;
+        }
+    }
+
+    /**
+     * Check whether an address is within the range of any blocking condition
+     *
+     * @param ip IPv4 or IPv6 address
+     * @return {@code true} if the address is blocked
+     */
+    public boolean contains(String ip) {
+        return getIndex().contains(ip);
+    }
+
+    IPRangeIndex getIndex() {
+        if (changed) {
+            synchronized (this) {
+                if (changed) {
+                    index = IPRangeIndex.build(ranges.values());
+                    changed = false;
+                }
+            }
+        }
+        return index;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.ballerina.jwt;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for local validation of self contained access tokens
+ */
+public class JWTValidatorTestCase {
+    private static final String JWKS_ENDPOINT = "https://localhost:9443/oauth2/jwks";
+    private static final String ISSUER = "https://localhost:9443/oauth2/token";
+    private static final long NOW = 1500000000L;
+
+    private KeyPair keyPair;
+    private KeyPair otherKeyPair;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+        otherKeyPair = generator.generateKeyPair();
+    }
+
+    @Test
+    public void testValidToken() throws Exception {
+        AtomicInteger retrievals = new AtomicInteger();
+        JWTValidator validator = createValidator(retrievals);
+        String token = createToken(keyPair, "RS256", "key1", "{\"iss\":\"" + ISSUER + "\",\"sub\":\"admin\","
+                + "\"azp\":\"client1\",\"scope\":\"openid apim:api_view\",\"iat\":" + (NOW - 10) + ",\"exp\":"
+                + (NOW + 3600) + "}");
+        for (int i = 0; i < 10; i++) {
+            ObjectNode result = validator.validate(token, NOW);
+            Assert.assertNotNull(result);
+            Assert.assertTrue(result.get("active").asBoolean());
+            Assert.assertEquals(result.get("username").asText(), "admin");
+            Assert.assertEquals(result.get("client_id").asText(), "client1");
+            Assert.assertEquals(result.get("scope").asText(), "openid apim:api_view");
+            Assert.assertEquals(result.get("exp").asLong(), NOW + 3600);
+            Assert.assertEquals(result.get("claims").get("sub").asText(), "admin");
+        }
+        // keys are retrieved once and then served from the cache
+        Assert.assertEquals(retrievals.get(), 1);
+    }
+
+    @Test
+    public void testExpiredToken() throws Exception {
+        JWTValidator validator = createValidator(new AtomicInteger());
+        String token = createToken(keyPair, "RS256", "key1", "{\"iss\":\"" + ISSUER + "\",\"sub\":\"admin\","
+                + "\"exp\":" + (NOW - 1) + "}");
+        ObjectNode result = validator.validate(token, NOW);
+        Assert.assertNotNull(result);
+        Assert.assertFalse(result.get("active").asBoolean());
+    }
+
+    @Test
+    public void testTokenWithoutExpiryTimeIntrospected() throws Exception {
+        JWTValidator validator = createValidator(new AtomicInteger());
+        String token = createToken(keyPair, "RS256", "key1", "{\"iss\":\"" + ISSUER + "\",\"sub\":\"admin\"}");
+        Assert.assertNull(validator.validate(token, NOW));
+    }
+
+    @Test
+    public void testTamperedToken() throws Exception {
+        JWTValidator validator = createValidator(new AtomicInteger());
+        String token = createToken(otherKeyPair, "RS256", "key1", "{\"iss\":\"" + ISSUER + "\",\"sub\":\"admin\","
+                + "\"exp\":" + (NOW + 3600) + "}");
+        ObjectNode result = validator.validate(token, NOW);
+        Assert.assertNotNull(result);
+        Assert.assertFalse(result.get("active").asBoolean());
+    }
+
+    @Test
+    public void testTokensLeftToIntrospection() throws Exception {
+        AtomicInteger retrievals = new AtomicInteger();
+        JWTValidator validator = createValidator(retrievals);
+        // opaque token
+        Assert.assertNull(validator.validate("3a1b8f0c-2f6e-3b5e-a6c1-5a4f1e2d3c4b", NOW));
+        Assert.assertNull(validator.validate("a.b.c", NOW));
+        Assert.assertEquals(retrievals.get(), 0);
+        // token of another issuer
+        Assert.assertNull(validator.validate(createToken(keyPair, "RS256", "key1",
+                "{\"iss\":\"https://example.com\",\"sub\":\"admin\"}"), NOW));
+        // token signed with another algorithm
+        Assert.assertNull(validator.validate(createToken(keyPair, "RS512", "key1",
+                "{\"iss\":\"" + ISSUER + "\",\"sub\":\"admin\"}"), NOW));
+        // token signed with an unknown key
+        Assert.assertNull(validator.validate(createToken(otherKeyPair, "RS256", "key2",
+                "{\"iss\":\"" + ISSUER + "\",\"sub\":\"admin\"}"), NOW));
+        Assert.assertEquals(retrievals.get(), 1);
+    }
+
+    private JWTValidator createValidator(AtomicInteger retrievals) {
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        String keySet = "{\"keys\":[{\"kty\":\"RSA\",\"use\":\"sig\",\"kid\":\"key1\",\"alg\":\"RS256\",\"n\":\""
+                + encode(toUnsignedBytes(publicKey.getModulus().toByteArray())) + "\",\"e\":\""
+                + encode(toUnsignedBytes(publicKey.getPublicExponent().toByteArray())) + "\"}]}";
+        JWKSKeyCache keyCache = new JWKSKeyCache(JWKS_ENDPOINT, 3600000L, endpoint -> {
+            retrievals.incrementAndGet();
+            return keySet;
+        });
+        return new JWTValidator(keyCache, ISSUER, "SHA256withRSA");
+    }
+
+    private static String createToken(KeyPair signingKeyPair, String algorithm, String keyId, String claims)
+            throws Exception {
+        String signingInput = encode(("{\"alg\":\"" + algorithm + "\",\"kid\":\"" + keyId + "\"}")
+                .getBytes(StandardCharsets.UTF_8)) + "." + encode(claims.getBytes(StandardCharsets.UTF_8));
+        Signature signature = Signature.getInstance("RS512".equals(algorithm) ? "SHA512withRSA" : "SHA256withRSA");
+        signature.initSign(signingKeyPair.getPrivate());
+        signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + "." + encode(signature.sign());
+    }
+
+    private static byte[] toUnsignedBytes(byte[] bytes) {
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] unsigned = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+            return unsigned;
+        }
+        return bytes;
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
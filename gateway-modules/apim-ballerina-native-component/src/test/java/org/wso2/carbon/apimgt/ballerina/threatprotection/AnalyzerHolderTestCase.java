@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.threatprotection;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.ballerina.threatprotection.analyzer.APIMThreatAnalyzer;
+import org.wso2.carbon.apimgt.ballerina.threatprotection.configurations.JSONConfig;
+import org.wso2.carbon.apimgt.ballerina.threatprotection.configurations.XMLConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class AnalyzerHolderTestCase {
+    private static final int THREAD_COUNT = 64;
+    private static final int REQUESTS_PER_THREAD = 500;
+
+    @BeforeClass
+    public void init() {
+        JSONConfig jsonConfig = new JSONConfig();
+        jsonConfig.setMaxStringLength(10);
+        jsonConfig.setMaxJsonDepth(3);
+        AnalyzerHolder.addJsonAnalyzer("GLOBAL-JSON", jsonConfig);
+
+        XMLConfig xmlConfig = new XMLConfig();
+        xmlConfig.setMaxDepth(5);
+        xmlConfig.setMaxElementCount(100);
+        xmlConfig.setMaxAttributeCount(2);
+        xmlConfig.setMaxAttributeLength(10);
+        xmlConfig.setEntityExpansionLimit(10);
+        xmlConfig.setMaxChildrenPerElement(10);
+        AnalyzerHolder.addXmlAnalyzer("GLOBAL-XML", xmlConfig);
+    }
+
+    @AfterClass
+    public void cleanup() {
+        AnalyzerHolder.removeJsonAnalyzer("GLOBAL-JSON");
+        AnalyzerHolder.removeXmlAnalyzer("GLOBAL-XML");
+        AnalyzerHolder.removeJsonAnalyzer("policy1");
+    }
+
+    @Test
+    public void testPolicyLookup() {
+        Assert.assertNull(AnalyzerHolder.getAnalyzer("text/plain", "GLOBAL"));
+        APIMThreatAnalyzer globalAnalyzer = AnalyzerHolder.getAnalyzer("application/json", "GLOBAL");
+        Assert.assertNotNull(globalAnalyzer);
+        // the same analyzer is returned for every request until the policy changes
+        Assert.assertSame(AnalyzerHolder.getAnalyzer("text/json", "GLOBAL"), globalAnalyzer);
+
+        JSONConfig policyConfig = new JSONConfig();
+        policyConfig.setMaxStringLength(100);
+        AnalyzerHolder.addJsonAnalyzer("policy1", policyConfig);
+        APIMThreatAnalyzer policyAnalyzer = AnalyzerHolder.getAnalyzer("application/json", "policy1");
+        Assert.assertNotSame(policyAnalyzer, globalAnalyzer);
+
+        AnalyzerHolder.removeJsonAnalyzer("policy1");
+        Assert.assertSame(AnalyzerHolder.getAnalyzer("application/json", "policy1"), globalAnalyzer);
+    }
+
+    @Test
+    public void testConcurrentAnalysis() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            final int thread = i;
+            tasks.add(() -> {
+                int detected = 0;
+                for (int j = 0; j < REQUESTS_PER_THREAD; j++) {
+                    boolean invalid = (thread + j) % 2 == 0;
+                    String json = invalid ? "{\"a\": \"abcdefghijk\"}" : "{\"a\": \"abcdefghij\"}";
+                    String xml = invalid ? "<a x=\"1\" y=\"2\" z=\"3\"/>" : "<a x=\"1\" y=\"2\"/>";
+                    detected += analyze("application/json", json) + analyze("application/xml", xml);
+                }
+                return detected;
+            });
+        }
+        int detected = 0;
+        for (Future<Integer> result : executor.invokeAll(tasks)) {
+            detected += result.get();
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // every request is analyzed, none is skipped for lack of an analyzer
+        Assert.assertEquals(detected, THREAD_COUNT * REQUESTS_PER_THREAD);
+    }
+
+    private static int analyze(String contentType, String payload) {
+        APIMThreatAnalyzer analyzer = AnalyzerHolder.getAnalyzer(contentType, "GLOBAL");
+        Assert.assertNotNull(analyzer);
+        try {
+            analyzer.analyze(payload, "/foo");
+            return 0;
+        } catch (APIMThreatAnalyzerException e) {
+            return 1;
+        }
+    }
+}
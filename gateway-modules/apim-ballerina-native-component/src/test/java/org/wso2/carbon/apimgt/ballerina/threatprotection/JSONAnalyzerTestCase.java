@@ -20,11 +20,15 @@ package org.wso2.carbon.apimgt.ballerina.threatprotection;
 
 
 import org.mockito.Mockito;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 import org.wso2.carbon.apimgt.ballerina.threatprotection.analyzer.JSONAnalyzer;
 import org.wso2.carbon.apimgt.ballerina.threatprotection.configurations.JSONConfig;
 import org.wso2.carbon.apimgt.ballerina.threatprotection.configurations.XMLConfig;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
 public class JSONAnalyzerTestCase {
     @Test(expectedExceptions = UnsupportedOperationException.class)
     public void testConfigureAnalyzerException() throws Exception {
@@ -184,4 +188,86 @@ public class JSONAnalyzerTestCase {
         String jsonString = "{abcdef: {\"abc\"}:\", \"123456\", 3, 4, 5, 6]}";
         analyzer.analyze(jsonString, "/foo");
     }
+
+    @Test(expectedExceptions = APIMThreatAnalyzerException.class)
+    public void testBinaryMaxStringLengthFail() throws Exception {
+        JSONConfig config = Mockito.mock(JSONConfig.class);
+        Mockito.when(config.getMaxStringLength()).thenReturn(5);
+
+        JSONAnalyzer analyzer = new JSONAnalyzer();
+        analyzer.configure(config);
+
+        String jsonString = "{\"abcdef\": [1, \"\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\", 3]}";
+        analyzer.analyze(jsonString.getBytes(StandardCharsets.UTF_8), "/foo");
+    }
+
+    @Test
+    public void testBinaryMaxStringLengthPass() throws Exception {
+        JSONConfig config = Mockito.mock(JSONConfig.class);
+        Mockito.when(config.getMaxStringLength()).thenReturn(5);
+
+        JSONAnalyzer analyzer = new JSONAnalyzer();
+        analyzer.configure(config);
+
+        // multi byte characters are counted as characters, as in the string mode
+        String jsonString = "{\"abcdef\": [1, \"\u00e9\u00e9\u00e9\u00e9\u00e9\", 3]}";
+        analyzer.analyze(jsonString.getBytes(StandardCharsets.UTF_8), "/foo");
+    }
+
+    @Test(expectedExceptions = APIMThreatAnalyzerException.class)
+    public void testBinaryMaxFieldLengthFail() throws Exception {
+        JSONConfig config = Mockito.mock(JSONConfig.class);
+        Mockito.when(config.getMaxKeyLength()).thenReturn(5);
+
+        JSONAnalyzer analyzer = new JSONAnalyzer();
+        analyzer.configure(config);
+
+        String jsonString = "{\"abcdef\": 1}";
+        analyzer.analyze(new ByteArrayInputStream(jsonString.getBytes(StandardCharsets.UTF_8)), "/foo");
+    }
+
+    @Test(expectedExceptions = APIMThreatAnalyzerException.class)
+    public void testBinaryInvalidJsonPayload() throws Exception {
+        JSONAnalyzer analyzer = new JSONAnalyzer();
+
+        String jsonString = "{abcdef: {\"abc\"}:\", \"123456\", 3, 4, 5, 6]}";
+        analyzer.analyze(jsonString.getBytes(StandardCharsets.UTF_8), "/foo");
+    }
+
+    @Test
+    public void testBinaryLargePayloads() throws Exception {
+        JSONConfig config = Mockito.mock(JSONConfig.class);
+        Mockito.when(config.getMaxStringLength()).thenReturn(100);
+        Mockito.when(config.getMaxKeyLength()).thenReturn(20);
+        Mockito.when(config.getMaxJsonDepth()).thenReturn(5);
+
+        JSONAnalyzer analyzer = new JSONAnalyzer();
+        analyzer.configure(config);
+
+        for (int size : new int[]{1024, 100 * 1024, 10 * 1024 * 1024}) {
+            byte[] payload = createPayload(size, "value").getBytes(StandardCharsets.UTF_8);
+            analyzer.analyze(payload, "/foo");
+            analyzer.analyze(new ByteArrayInputStream(payload), "/foo");
+
+            // a violation at the end of the payload is detected in both modes
+            byte[] invalidPayload = createPayload(size, new String(new char[101]).replace('\0', 'a'))
+                    .getBytes(StandardCharsets.UTF_8);
+            try {
+                analyzer.analyze(invalidPayload, "/foo");
+                Assert.fail("Max string length violation not detected for payload of " + size + " bytes");
+            } catch (APIMThreatAnalyzerException e) {
+                Assert.assertTrue(e.getMessage().contains("Max String Length Reached"));
+            }
+        }
+    }
+
+    private static String createPayload(int size, String lastValue) {
+        StringBuilder payload = new StringBuilder("{\"items\": [");
+        int i = 0;
+        while (payload.length() < size) {
+            payload.append("{\"id\": ").append(i).append(", \"name\": \"item").append(i).append("\"}, ");
+            i++;
+        }
+        return payload.append("\"").append(lastValue).append("\"]}").toString();
+    }
 }
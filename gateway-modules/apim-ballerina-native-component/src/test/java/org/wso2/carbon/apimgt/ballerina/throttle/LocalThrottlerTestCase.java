@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.ballerina.throttle;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for the local token bucket throttler
+ */
+public class LocalThrottlerTestCase {
+    private static final String SUBSCRIPTION = "subscription";
+    private static final String APPLICATION = "application";
+    private static final String API = "api";
+
+    @Test
+    public void testThrottleBurst() {
+        LocalThrottler throttler = new LocalThrottler();
+        throttler.configure(true, 1);
+        Assert.assertTrue(throttler.setLimit(SUBSCRIPTION, "Gold", 10, 1, "hour"));
+        for (int i = 0; i < 10; i++) {
+            Assert.assertFalse(throttler.isThrottled("app1:admin", SUBSCRIPTION, "Gold"),
+                    "Request " + i + " was throttled");
+        }
+        Assert.assertTrue(throttler.isThrottled("app1:admin", SUBSCRIPTION, "Gold"));
+        // other keys have buckets of their own
+        Assert.assertFalse(throttler.isThrottled("app2:admin", SUBSCRIPTION, "Gold"));
+        // keys of policies without a limit are not throttled locally
+        Assert.assertFalse(throttler.isThrottled("app1:admin", SUBSCRIPTION, "Unlimited"));
+    }
+
+    @Test
+    public void testNodeShare() {
+        LocalThrottler throttler = new LocalThrottler();
+        throttler.configure(true, 4);
+        throttler.setLimit(SUBSCRIPTION, "Gold", 10, 1, "min");
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (!throttler.isThrottled("app1:admin", SUBSCRIPTION, "Gold")) {
+                allowed++;
+            }
+        }
+        Assert.assertEquals(allowed, 3);
+    }
+
+    @Test
+    public void testRefill() throws InterruptedException {
+        LocalThrottler throttler = new LocalThrottler();
+        throttler.configure(true, 1);
+        throttler.setLimit(SUBSCRIPTION, "Bronze", 2, 200, "ms");
+        Assert.assertFalse(throttler.isThrottled("key", SUBSCRIPTION, "Bronze"));
+        Assert.assertFalse(throttler.isThrottled("key", SUBSCRIPTION, "Bronze"));
+        Assert.assertTrue(throttler.isThrottled("key", SUBSCRIPTION, "Bronze"));
+        Thread.sleep(250);
+        Assert.assertFalse(throttler.isThrottled("key", SUBSCRIPTION, "Bronze"));
+    }
+
+    @Test
+    public void testReconcile() {
+        LocalThrottler throttler = new LocalThrottler();
+        throttler.configure(true, 1);
+        throttler.setLimit(SUBSCRIPTION, "Gold", 1, 1, "hour");
+        Assert.assertFalse(throttler.isThrottled("key", SUBSCRIPTION, "Gold"));
+        Assert.assertTrue(throttler.isThrottled("key", SUBSCRIPTION, "Gold"));
+        throttler.reconcile("key", true);
+        Assert.assertTrue(throttler.isThrottled("key", SUBSCRIPTION, "Gold"));
+        // the traffic manager has started a new window for the key
+        throttler.reconcile("key", false);
+        Assert.assertEquals(throttler.getBucketCount(), 0);
+        Assert.assertFalse(throttler.isThrottled("key", SUBSCRIPTION, "Gold"));
+    }
+
+    @Test
+    public void testPoliciesOfDifferentLevelsWithSameName() {
+        LocalThrottler throttler = new LocalThrottler();
+        throttler.configure(true, 1);
+        throttler.setLimit(SUBSCRIPTION, "Custom", 1, 1, "hour");
+        throttler.setLimit(APPLICATION, "Custom", 2, 1, "hour");
+        // an api policy without a request count limit does not remove the limits of the other levels
+        Assert.assertFalse(throttler.setLimit(API, "Custom", 0, 1, "hour"));
+        throttler.removeLimit(API, "Custom");
+
+        Assert.assertFalse(throttler.isThrottled("app1:/pizza:1.0", SUBSCRIPTION, "Custom"));
+        Assert.assertTrue(throttler.isThrottled("app1:/pizza:1.0", SUBSCRIPTION, "Custom"));
+        Assert.assertFalse(throttler.isThrottled("app1:admin", APPLICATION, "Custom"));
+        Assert.assertFalse(throttler.isThrottled("app1:admin", APPLICATION, "Custom"));
+        Assert.assertTrue(throttler.isThrottled("app1:admin", APPLICATION, "Custom"));
+        Assert.assertFalse(throttler.isThrottled("api1", API, "Custom"));
+    }
+
+    @Test
+    public void testDisabledAndInvalidLimits() {
+        LocalThrottler throttler = new LocalThrottler();
+        throttler.setLimit(SUBSCRIPTION, "Gold", 1, 1, "hour");
+        Assert.assertFalse(throttler.isThrottled("key", SUBSCRIPTION, "Gold"));
+        Assert.assertFalse(throttler.isThrottled("key", SUBSCRIPTION, "Gold"));
+        Assert.assertFalse(throttler.setLimit(SUBSCRIPTION, "Gold", 0, 1, "hour"));
+        Assert.assertFalse(throttler.setLimit(SUBSCRIPTION, "Gold", 10, 1, "fortnight"));
+        throttler.configure(true, 1);
+        Assert.assertFalse(throttler.isThrottled("key", SUBSCRIPTION, "Gold"));
+        Assert.assertFalse(throttler.isThrottled("key", SUBSCRIPTION, "Gold"));
+    }
+
+    @Test
+    public void testConcurrentRequests() throws InterruptedException {
+        final LocalThrottler throttler = new LocalThrottler();
+        throttler.configure(true, 1);
+        throttler.setLimit(SUBSCRIPTION, "Gold", 1000, 1, "hour");
+        final AtomicInteger allowed = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < 500; j++) {
+                    if (!throttler.isThrottled("key", SUBSCRIPTION, "Gold")) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        Assert.assertEquals(allowed.get(), 1000);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.ballerina.util;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Test class for reading the gateway snapshot served by API Core
+ */
+public class GatewaySnapshotReaderTestCase {
+
+    @Test
+    public void testReadSnapshot() throws IOException {
+        ObjectNode snapshot = GatewaySnapshotReader.read(gzip(
+                "{\"type\":\"snapshot\",\"formatVersion\":\"1\",\"labels\":[\"Default\"],\"changeRevision\":42}",
+                "{\"type\":\"api\",\"data\":{\"id\":\"api1\",\"context\":\"/pizza\"}}",
+                "{\"type\":\"gatewayConfig\",\"id\":\"api1\",\"data\":\"config\"}",
+                "{\"type\":\"resources\",\"data\":[{\"uriTemplate\":\"/menu\",\"httpVerb\":\"GET\"}]}",
+                "{\"type\":\"endpoint\",\"data\":{\"id\":\"ep1\"}}",
+                "{\"type\":\"policy\",\"data\":{\"id\":\"p1\"}}",
+                "{\"type\":\"application\",\"data\":{\"applicationId\":\"app1\"}}",
+                "{\"type\":\"subscription\",\"data\":{\"applicationId\":\"app1\"}}",
+                "{\"type\":\"end\",\"count\":7,\"revision\":\"abc\"}"));
+        Assert.assertEquals(snapshot.path("revision").asText(), "abc");
+        Assert.assertEquals(snapshot.path("labels").get(0).asText(), "Default");
+        Assert.assertEquals(snapshot.path("changeRevision").asLong(), 42);
+        Assert.assertEquals(snapshot.path("apis").size(), 1);
+        Assert.assertEquals(snapshot.path("apis").get(0).path("gatewayConfig").asText(), "config");
+        Assert.assertEquals(snapshot.path("apis").get(0).path("resources").get(0).path("uriTemplate").asText(),
+                "/menu");
+        Assert.assertEquals(snapshot.path("endpoints").size(), 1);
+        Assert.assertEquals(snapshot.path("blockConditions").size(), 0);
+        Assert.assertEquals(snapshot.path("policies").size(), 1);
+        Assert.assertEquals(snapshot.path("applications").size(), 1);
+        Assert.assertEquals(snapshot.path("subscriptions").size(), 1);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testReadTruncatedSnapshot() throws IOException {
+        GatewaySnapshotReader.read(gzip(
+                "{\"type\":\"snapshot\",\"formatVersion\":\"1\",\"labels\":[\"Default\"]}",
+                "{\"type\":\"endpoint\",\"data\":{\"id\":\"ep1\"}}"));
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testReadSnapshotWithCountMismatch() throws IOException {
+        GatewaySnapshotReader.read(gzip(
+                "{\"type\":\"snapshot\",\"formatVersion\":\"1\",\"labels\":[\"Default\"]}",
+                "{\"type\":\"endpoint\",\"data\":{\"id\":\"ep1\"}}",
+                "{\"type\":\"end\",\"count\":5,\"revision\":\"abc\"}"));
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testReadSnapshotWithOrphanGatewayConfig() throws IOException {
+        GatewaySnapshotReader.read(gzip(
+                "{\"type\":\"gatewayConfig\",\"id\":\"api1\",\"data\":\"config\"}",
+                "{\"type\":\"end\",\"count\":1,\"revision\":\"abc\"}"));
+    }
+
+    private static byte[] gzip(String... records) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            for (String record : records) {
+                gzip.write((record + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return out.toByteArray();
+    }
+}
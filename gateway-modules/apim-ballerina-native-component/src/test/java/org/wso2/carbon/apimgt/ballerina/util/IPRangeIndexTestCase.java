@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.ballerina.util;
+
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.ProgramFile;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.ballerina.caching.util.BTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test class for the IP range index used to evaluate IP range blocking conditions
+ */
+public class IPRangeIndexTestCase {
+
+    @Test
+    public void testIpv4Ranges() {
+        IPRangeIndex index = IPRangeIndex.build(Arrays.asList(
+                IPRangeIndex.IPRange.of("10.0.0.0", "10.0.0.255"),
+                IPRangeIndex.IPRange.of("10.0.1.0", "10.0.1.10"),
+                IPRangeIndex.IPRange.of("10.0.0.100", "10.0.0.120"),
+                IPRangeIndex.IPRange.of("192.168.1.10", "192.168.1.20")));
+        // first three ranges are merged into one
+        Assert.assertEquals(index.size(), 2);
+        Assert.assertTrue(index.contains("10.0.0.0"));
+        Assert.assertTrue(index.contains("10.0.1.10"));
+        Assert.assertTrue(index.contains("192.168.1.15"));
+        Assert.assertFalse(index.contains("10.0.1.11"));
+        Assert.assertFalse(index.contains("192.168.1.9"));
+        Assert.assertFalse(index.contains("192.168.1.21"));
+        Assert.assertTrue(index.contains("::ffff:192.168.1.10"));
+        Assert.assertFalse(index.contains("192.168.1"));
+        Assert.assertFalse(index.contains("192.168.1.256"));
+        Assert.assertFalse(index.contains(""));
+        Assert.assertFalse(index.contains(null));
+    }
+
+    @Test
+    public void testIpv6Ranges() {
+        IPRangeIndex index = IPRangeIndex.build(Arrays.asList(
+                IPRangeIndex.IPRange.of("2001:db8::", "2001:db8::ffff"),
+                IPRangeIndex.IPRange.of("2001:db8::1:0", "2001:db8::1:ff"),
+                IPRangeIndex.IPRange.of("fe80::1", "fe80::1")));
+        Assert.assertEquals(index.size(), 2);
+        Assert.assertTrue(index.contains("2001:db8::1"));
+        Assert.assertTrue(index.contains("2001:0db8:0000:0000:0000:0000:0001:00ff"));
+        Assert.assertTrue(index.contains("fe80::1%eth0"));
+        Assert.assertFalse(index.contains("2001:db8::1:100"));
+        Assert.assertFalse(index.contains("fe80::2"));
+        Assert.assertFalse(index.contains("2001:db8:::1"));
+        Assert.assertFalse(index.contains("10.0.0.1"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidRange() {
+        IPRangeIndex.IPRange.of("10.0.0.10", "10.0.0.1");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testMixedRange() {
+        IPRangeIndex.IPRange.of("10.0.0.1", "2001:db8::1");
+    }
+
+    @Test
+    public void testLookupsAgainstLinearScan() {
+        Random random = new Random(7);
+        List<IPRangeIndex.IPRange> ranges = new ArrayList<>();
+        long[][] bounds = new long[10000][2];
+        for (int i = 0; i < bounds.length; i++) {
+            long start = random.nextInt() & 0xFFFFFFFFL;
+            long end = Math.min(0xFFFFFFFFL, start + random.nextInt(100000));
+            bounds[i][0] = start;
+            bounds[i][1] = end;
+            ranges.add(IPRangeIndex.IPRange.ofIpv4(start, end));
+        }
+        IPRangeIndex index = IPRangeIndex.build(ranges);
+        for (int i = 0; i < 20000; i++) {
+            long ip = random.nextInt() & 0xFFFFFFFFL;
+            boolean expected = false;
+            for (long[] bound : bounds) {
+                if (bound[0] <= ip && ip <= bound[1]) {
+                    expected = true;
+                    break;
+                }
+            }
+            Assert.assertEquals(index.containsIpv4(ip), expected, "Lookup mismatch for " + ip);
+        }
+    }
+
+    @Test
+    public void testIpRangeFunctions() {
+        ProgramFile bLangProgram = BTestUtils.parseBalFile("samples/util/ipRange.bal");
+        BValue[] returns = BLangFunctions.invokeNew(bLangProgram, "testIpRange", new BValue[]{});
+        Assert.assertTrue(returns[0] instanceof BBoolean);
+        Assert.assertTrue(((BBoolean) returns[0]).booleanValue());
+    }
+}
@@ -0,0 +1,17 @@
+import org.wso2.carbon.apimgt.ballerina.util;
+
+function testIpRange () (boolean) {
+    // 10.0.0.0 - 10.0.0.255
+    boolean added = util:addIpv4Range("IP_RANGE : 167772160 : 167772415", 167772160, 167772415);
+    boolean addedIpv6 = util:addIpRange("IPv6_RANGE", "2001:db8::", "2001:db8::ffff");
+    boolean invalid = util:addIpRange("INVALID_RANGE", "10.0.0.10", "10.0.0.1");
+    if (!added || !addedIpv6 || invalid) {
+        return false;
+    }
+    if (!util:isIpInRange("10.0.0.20") || !util:isIpInRange("2001:db8::1") || util:isIpInRange("10.0.1.1")) {
+        return false;
+    }
+    util:removeIpRange("IP_RANGE : 167772160 : 167772415");
+    util:removeIpRange("IPv6_RANGE");
+    return !util:isIpInRange("10.0.0.20") && !util:isIpInRange("2001:db8::1");
+}
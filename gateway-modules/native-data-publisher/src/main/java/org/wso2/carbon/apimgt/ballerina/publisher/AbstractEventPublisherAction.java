@@ -18,6 +18,8 @@ package org.wso2.carbon.apimgt.ballerina.publisher;
  */
 
 import org.ballerinalang.natives.connectors.AbstractNativeAction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.wso2.carbon.databridge.agent.AgentHolder;
 import org.wso2.carbon.databridge.agent.DataPublisher;
 import org.wso2.carbon.databridge.agent.exception.DataEndpointAgentConfigurationException;
@@ -31,7 +33,11 @@ import org.wso2.carbon.databridge.commons.exception.TransportException;
  * EventPublisher implementation
  */
 public abstract class AbstractEventPublisherAction extends AbstractNativeAction implements EventPublisher {
+    private static final Logger log = LoggerFactory.getLogger(AbstractEventPublisherAction.class);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
     protected DataPublisher dataPublisher;
+    protected volatile AsyncEventPublisher asyncPublisher;
 
     public final void initDataPublisher(String type, String receiverURLSet, String authURLSet, String username,
             String password, String configPath)
@@ -41,7 +47,51 @@ public abstract class AbstractEventPublisherAction extends AbstractNativeAction
         dataPublisher = new DataPublisher(type, receiverURLSet, authURLSet, username, password);
     }
 
+    /**
+     * Publish events through a bounded buffer drained by a dedicated thread instead of on the caller. A publisher
+     * started by an earlier initialization is shut down after the new one takes over.
+     *
+     * @param queueSize      capacity of the buffer
+     * @param batchSize      maximum number of events drained at once
+     * @param overflowPolicy what to do when the buffer is full
+     * @param sampleRate     one out of this many events is kept when sampling
+     */
+    public final void startAsyncPublisher(int queueSize, int batchSize, OverflowPolicy overflowPolicy,
+            int sampleRate) {
+        final DataPublisher publisher = dataPublisher;
+        AsyncEventPublisher previous = asyncPublisher;
+        asyncPublisher = new AsyncEventPublisher("apim-event-publisher-" + System.identityHashCode(this),
+                publisher::publish, queueSize, batchSize, overflowPolicy, sampleRate);
+        shutdown(previous);
+    }
+
+    /**
+     * Stop the asynchronous publisher after publishing the events queued so far
+     */
+    public final void stopAsyncPublisher() {
+        AsyncEventPublisher previous = asyncPublisher;
+        asyncPublisher = null;
+        shutdown(previous);
+    }
+
+    private static void shutdown(AsyncEventPublisher publisher) {
+        if (publisher == null) {
+            return;
+        }
+        try {
+            publisher.shutdown(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while waiting for the queued events to be published", e);
+        }
+    }
+
     public final void publish(Event aEvent) {
-        dataPublisher.publish(aEvent);
+        AsyncEventPublisher publisher = asyncPublisher;
+        if (publisher != null) {
+            publisher.publish(aEvent);
+        } else {
+            dataPublisher.publish(aEvent);
+        }
     }
 }
@@ -0,0 +1,266 @@
+package org.wso2.carbon.apimgt.ballerina.publisher;
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.databridge.commons.Event;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Hands events over to a bounded ring buffer so that the ballerina worker publishing the event does not wait on the
+ * data bridge. A single publisher thread drains the buffer in batches and passes the events to the sink. When the
+ * buffer cannot take an event the configured {@link OverflowPolicy} decides whether it is dropped, sampled or the
+ * caller waits. The publisher thread logs the queue depth, the dropped and failed events and the publish latency
+ * periodically, and once more when the publisher is shut down.
+ */
+public class AsyncEventPublisher {
+    private static final Logger log = LoggerFactory.getLogger(AsyncEventPublisher.class);
+    private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCK_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long DROP_LOG_INTERVAL = 10000;
+    private static final long STATS_LOG_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final EventRingBuffer<Event> buffer;
+    private final Consumer<Event> sink;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+    private final int sampleThreshold;
+    private final Thread publisherThread;
+    private volatile boolean running = true;
+
+    private final LongAdder acceptedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder sampledOutCount = new LongAdder();
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong totalPublishNanos = new AtomicLong();
+    private final AtomicLong maxPublishNanos = new AtomicLong();
+    private long nextStatsLogNanos = System.nanoTime() + STATS_LOG_INTERVAL_NANOS;
+    private long lastLoggedDroppedCount;
+    private long lastLoggedFailedCount;
+
+    /**
+     * @param name           name of the publisher thread
+     * @param sink           receives the events on the publisher thread
+     * @param queueSize      capacity of the buffer, rounded up to a power of two
+     * @param batchSize      maximum number of events drained at once
+     * @param overflowPolicy what to do when the buffer cannot take an event
+     * @param sampleRate     one out of this many events is kept by {@link OverflowPolicy#SAMPLE} under pressure
+     */
+    public AsyncEventPublisher(String name, Consumer<Event> sink, int queueSize, int batchSize,
+            OverflowPolicy overflowPolicy, int sampleRate) {
+        this.buffer = new EventRingBuffer<>(queueSize);
+        this.sink = sink;
+        this.batchSize = Math.max(1, batchSize);
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.sampleThreshold = buffer.capacity() / 2;
+        this.publisherThread = new Thread(this::drain, name);
+        this.publisherThread.setDaemon(true);
+        this.publisherThread.start();
+    }
+
+    /**
+     * Queue an event to be published
+     *
+     * @param event event to publish
+     * @return true if the event was queued
+     */
+    public boolean publish(Event event) {
+        if (!running) {
+            drop();
+            return false;
+        }
+        if (overflowPolicy == OverflowPolicy.SAMPLE && buffer.size() >= sampleThreshold
+                && sampleCounter.getAndIncrement() % sampleRate != 0) {
+            sampledOutCount.increment();
+            return false;
+        }
+        if (buffer.offer(event)) {
+            acceptedCount.increment();
+            return true;
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            while (running) {
+                LockSupport.parkNanos(BLOCK_WAIT_NANOS);
+                if (buffer.offer(event)) {
+                    acceptedCount.increment();
+                    return true;
+                }
+            }
+        }
+        drop();
+        return false;
+    }
+
+    /**
+     * Stop accepting events and wait for the queued events to be published
+     *
+     * @param timeoutMillis maximum time to wait for the publisher thread
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void shutdown(long timeoutMillis) throws InterruptedException {
+        running = false;
+        publisherThread.join(timeoutMillis);
+        log.info("Stopped " + publisherThread.getName() + ". " + getStatistics());
+    }
+
+    /**
+     * @return summary of the queue depth, the event counts and the publish latency of this publisher
+     */
+    public String getStatistics() {
+        return "Queue depth: " + getQueueDepth() + "/" + getQueueCapacity() + ", accepted: " + getAcceptedCount()
+                + ", published: " + getPublishedCount() + ", failed: " + getFailedCount() + ", dropped: "
+                + getDroppedCount() + ", sampled out: " + getSampledOutCount() + ", batches: " + getBatchCount()
+                + ", average batch latency: " + TimeUnit.NANOSECONDS.toMicros(getAveragePublishLatencyNanos())
+                + " us, max batch latency: " + TimeUnit.NANOSECONDS.toMicros(getMaxPublishLatencyNanos()) + " us";
+    }
+
+    private void drop() {
+        droppedCount.increment();
+        long dropped = droppedCount.sum();
+        if (dropped == 1 || dropped % DROP_LOG_INTERVAL == 0) {
+            log.warn("Event queue of " + publisherThread.getName() + " is full, " + dropped
+                    + " events dropped so far");
+        }
+    }
+
+    private void drain() {
+        Event[] batch = new Event[batchSize];
+        while (true) {
+            logStatistics();
+            int count = buffer.drainTo(batch, batchSize);
+            if (count == 0) {
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_WAIT_NANOS);
+                continue;
+            }
+            long start = System.nanoTime();
+            int published = 0;
+            for (int i = 0; i < count; i++) {
+                try {
+                    sink.accept(batch[i]);
+                    published++;
+                } catch (RuntimeException e) {
+                    failedCount.incrementAndGet();
+                    log.error("Error occurred while publishing event to stream " + batch[i].getStreamId(), e);
+                }
+                batch[i] = null;
+            }
+            recordBatch(published, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Logs the statistics once per interval, as a warning if events were dropped or failed since the last report.
+     * Only called on the publisher thread.
+     */
+    private void logStatistics() {
+        long now = System.nanoTime();
+        if (now - nextStatsLogNanos < 0) {
+            return;
+        }
+        nextStatsLogNanos = now + STATS_LOG_INTERVAL_NANOS;
+        long dropped = getDroppedCount();
+        long failed = getFailedCount();
+        if (dropped != lastLoggedDroppedCount || failed != lastLoggedFailedCount) {
+            log.warn("Events were lost by " + publisherThread.getName() + ". " + getStatistics());
+        } else if (log.isDebugEnabled()) {
+            log.debug("Statistics of " + publisherThread.getName() + ". " + getStatistics());
+        }
+        lastLoggedDroppedCount = dropped;
+        lastLoggedFailedCount = failed;
+    }
+
+    private void recordBatch(int published, long elapsedNanos) {
+        publishedCount.addAndGet(published);
+        batchCount.incrementAndGet();
+        totalPublishNanos.addAndGet(elapsedNanos);
+        if (elapsedNanos > maxPublishNanos.get()) {
+            maxPublishNanos.set(elapsedNanos);
+        }
+    }
+
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    public int getQueueCapacity() {
+        return buffer.capacity();
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public long getAcceptedCount() {
+        return acceptedCount.sum();
+    }
+
+    /**
+     * @return number of events handed to the sink without an error
+     */
+    public long getPublishedCount() {
+        return publishedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getSampledOutCount() {
+        return sampledOutCount.sum();
+    }
+
+    /**
+     * @return number of events the sink failed to publish
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * @return average time taken to hand a drained batch to the sink, in nanoseconds
+     */
+    public long getAveragePublishLatencyNanos() {
+        long batches = batchCount.get();
+        return batches == 0 ? 0 : totalPublishNanos.get() / batches;
+    }
+
+    /**
+     * @return longest time taken to hand a drained batch to the sink, in nanoseconds
+     */
+    public long getMaxPublishLatencyNanos() {
+        return maxPublishNanos.get();
+    }
+}
@@ -28,6 +28,13 @@ public final class Constants {
     public static final String USERNAME = "username";
     public static final String PASSWORD = "password";
     public static final String CONFIG_PATH = "configPath";
+    public static final String QUEUE_SIZE = "queueSize";
+    public static final String BATCH_SIZE = "batchSize";
+    public static final String OVERFLOW_POLICY = "overflowPolicy";
+    public static final String SAMPLE_RATE = "sampleRate";
+    public static final int DEFAULT_QUEUE_SIZE = 8192;
+    public static final int DEFAULT_BATCH_SIZE = 200;
+    public static final int DEFAULT_SAMPLE_RATE = 10;
     public static final String PUBLISHER_INSTANCE = "publisher";
     public static final String STREAM_NAME = "streamName";
     public static final String STREAM_VERSION = "streamVersion";
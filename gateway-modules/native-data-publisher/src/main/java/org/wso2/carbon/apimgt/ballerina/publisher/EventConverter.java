@@ -0,0 +1,123 @@
+package org.wso2.carbon.apimgt.ballerina.publisher;
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.wso2.carbon.databridge.commons.Event;
+import org.wso2.carbon.databridge.commons.utils.DataBridgeCommonsUtils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Converts the json event built in the gateway into a data bridge {@link Event} by reading the jackson nodes
+ * directly, instead of serializing each attribute array and parsing it back.
+ * <p>
+ * Attribute values are mapped the same way the previous org.json based conversion did: integral numbers become
+ * {@link Integer} when they fit and {@link Long} otherwise, floating point numbers become {@link Double}, and
+ * strings and booleans keep their type. The generated stream id is cached per stream so that it is not rebuilt
+ * for every event.
+ */
+public final class EventConverter {
+    private static final ConcurrentMap<String, StreamInfo> streamInfoMap = new ConcurrentHashMap<>();
+    private static final Object[] EMPTY = new Object[0];
+
+    private EventConverter() {
+    }
+
+    /**
+     * Build a data bridge event from the json event
+     *
+     * @param json json event with stream name, version and attribute arrays
+     * @return data bridge event
+     */
+    public static Event toEvent(JsonNode json) {
+        String streamName = json.get(Constants.STREAM_NAME).asText();
+        String streamVersion = json.get(Constants.STREAM_VERSION).asText();
+        Event event = new Event();
+        event.setStreamId(getStreamId(streamName, streamVersion));
+        event.setMetaData(toAttributes(json.get(Constants.META_DATA)));
+        event.setCorrelationData(toAttributes(json.get(Constants.CORRELATION_DATA)));
+        event.setPayloadData(toAttributes(json.get(Constants.PAYLOAD_DATA)));
+        return event;
+    }
+
+    static String getStreamId(String streamName, String streamVersion) {
+        StreamInfo streamInfo = streamInfoMap.get(streamName);
+        if (streamInfo == null || !streamInfo.version.equals(streamVersion)) {
+            streamInfo = new StreamInfo(streamVersion,
+                    DataBridgeCommonsUtils.generateStreamId(streamName, streamVersion));
+            streamInfoMap.put(streamName, streamInfo);
+        }
+        return streamInfo.streamId;
+    }
+
+    static Object[] toAttributes(JsonNode array) {
+        if (array == null || array.size() == 0) {
+            return EMPTY;
+        }
+        int size = array.size();
+        Object[] attributes = new Object[size];
+        for (int i = 0; i < size; i++) {
+            attributes[i] = toAttribute(array.get(i));
+        }
+        return attributes;
+    }
+
+    static Object toAttribute(JsonNode node) {
+        switch (node.getNodeType()) {
+        case STRING:
+            return node.textValue();
+        case NUMBER:
+            if (node.isInt()) {
+                return node.intValue();
+            } else if (node.isLong()) {
+                long value = node.longValue();
+                if (value == (int) value) {
+                    return (int) value;
+                }
+                return value;
+            } else if (node.isIntegralNumber()) {
+                // out of long range, org.json kept such values as strings
+                return node.asText();
+            }
+            return node.doubleValue();
+        case BOOLEAN:
+            return node.booleanValue();
+        case NULL:
+        case MISSING:
+            return null;
+        default:
+            // nested objects and arrays are not valid stream attributes, publish them as json text
+            return node.toString();
+        }
+    }
+
+    /**
+     * Cached data of a stream
+     */
+    private static final class StreamInfo {
+        private final String version;
+        private final String streamId;
+
+        private StreamInfo(String version, String streamId) {
+            this.version = version;
+            this.streamId = streamId;
+        }
+    }
+}
@@ -49,7 +49,7 @@ public interface EventPublisher {
             DataEndpointException, DataEndpointConfigurationException;
 
     /**
-     * publish events synchronously
+     * publish events, through the asynchronous buffer when it is enabled
      *
      * @param aEvent event payload
      */
@@ -0,0 +1,131 @@
+package org.wso2.carbon.apimgt.ballerina.publisher;
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer with many producers and a single consumer.
+ * <p>
+ * Every slot carries a sequence number. A producer claims a slot by moving the enqueue position forward with a CAS
+ * and publishes the element by advancing the slot sequence; the consumer takes the element once the sequence shows
+ * it is published and then releases the slot for the next lap.
+ *
+ * @param <T> element type
+ */
+final class EventRingBuffer<T> {
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    private final AtomicLong dequeuePosition = new AtomicLong();
+
+    /**
+     * @param requestedCapacity minimum capacity, rounded up to the next power of two
+     */
+    EventRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid ring buffer capacity: " + requestedCapacity);
+        }
+        capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        mask = capacity - 1;
+        elements = new AtomicReferenceArray<>(capacity);
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Add an element without waiting
+     *
+     * @param element element to add
+     * @return false if the buffer is full
+     */
+    boolean offer(T element) {
+        long position = enqueuePosition.get();
+        for (;;) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = enqueuePosition.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = enqueuePosition.get();
+            }
+        }
+    }
+
+    /**
+     * Take the next element. Must only be called from the consumer thread.
+     *
+     * @return next element or null if none is published yet
+     */
+    T poll() {
+        long position = dequeuePosition.get();
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        T element = elements.get(index);
+        elements.lazySet(index, null);
+        sequences.lazySet(index, position + capacity);
+        dequeuePosition.lazySet(position + 1);
+        return element;
+    }
+
+    /**
+     * Move up to {@code max} elements into {@code batch}. Must only be called from the consumer thread.
+     *
+     * @param batch array to fill from index 0
+     * @param max   maximum number of elements to take
+     * @return number of elements taken
+     */
+    int drainTo(T[] batch, int max) {
+        int count = 0;
+        while (count < max) {
+            T element = poll();
+            if (element == null) {
+                break;
+            }
+            batch[count++] = element;
+        }
+        return count;
+    }
+
+    int size() {
+        long size = enqueuePosition.get() - dequeuePosition.get();
+        if (size < 0) {
+            return 0;
+        }
+        return (int) Math.min(size, capacity);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
@@ -29,6 +29,7 @@ import org.ballerinalang.natives.annotations.BallerinaAction;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.connectors.AbstractNativeAction;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.databridge.agent.exception.DataEndpointAgentConfigurationException;
@@ -88,6 +89,10 @@ public class Init extends AbstractEventPublisherAction implements BValue {
         configPath = System.getProperty("ballerina.home") + File.separator + configPath;
         try {
             initDataPublisher(type, receiverURLSet, authURLSet, username, password, configPath);
+            startAsyncPublisher(getIntOption(optionMap, Constants.QUEUE_SIZE, Constants.DEFAULT_QUEUE_SIZE),
+                    getIntOption(optionMap, Constants.BATCH_SIZE, Constants.DEFAULT_BATCH_SIZE),
+                    OverflowPolicy.fromString(getStringOption(optionMap, Constants.OVERFLOW_POLICY)),
+                    getIntOption(optionMap, Constants.SAMPLE_RATE, Constants.DEFAULT_SAMPLE_RATE));
             sharedMap.put(Constants.PUBLISHER_INSTANCE, this);
         } catch (DataEndpointAuthenticationException e) {
             log.error("Error occurred while authenticating.", e);
@@ -103,6 +108,32 @@ public class Init extends AbstractEventPublisherAction implements BValue {
         return null;
     }
 
+    /**
+     * Publishes the queued events and stops the publisher thread when the action is unregistered
+     */
+    @Deactivate
+    protected void deactivate() {
+        stopAsyncPublisher();
+    }
+
+    private static String getStringOption(BMap optionMap, String key) {
+        BValue value = optionMap.get(key);
+        return value == null ? null : value.stringValue();
+    }
+
+    private static int getIntOption(BMap optionMap, String key, int defaultValue) {
+        String value = getStringOption(optionMap, key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid value " + value + " for publisher option " + key + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
     @Override
     public String stringValue() {
         return "publisher";
@@ -0,0 +1,53 @@
+package org.wso2.carbon.apimgt.ballerina.publisher;
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * What the asynchronous publisher does with an event when its queue cannot take it
+ */
+public enum OverflowPolicy {
+    /**
+     * Drop the event when the queue is full
+     */
+    DROP,
+    /**
+     * Wait until the publisher thread makes room for the event
+     */
+    BLOCK,
+    /**
+     * Once the queue is half full accept only one event out of every sample rate events, and drop when full
+     */
+    SAMPLE;
+
+    /**
+     * Resolve the policy from a configuration value, falling back to {@link #DROP}
+     *
+     * @param value configured policy name
+     * @return overflow policy
+     */
+    public static OverflowPolicy fromString(String value) {
+        if (value != null) {
+            for (OverflowPolicy policy : values()) {
+                if (policy.name().equalsIgnoreCase(value.trim())) {
+                    return policy;
+                }
+            }
+        }
+        return DROP;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.ballerina.publisher;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.json.JSONArray;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.databridge.commons.Event;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for the event conversion and the asynchronous event publisher
+ */
+public class AsyncEventPublisherTestCase {
+    private static final String EVENT = "{\"streamName\":\"org.wso2.apimgt.statistics.fault\","
+            + "\"streamVersion\":\"1.0.0\",\"metaData\":[\"clientType\"],\"correlationData\":[],"
+            + "\"payloadData\":[\"testconsumerid\",\"/test\",2323,9007199254740992,1.5,true,-7]}";
+
+    @Test
+    public void testConversionMatchesJsonArrayMapping() throws IOException {
+        JsonNode json = new ObjectMapper().readTree(EVENT);
+        Event event = EventConverter.toEvent(json);
+        Assert.assertEquals(event.getStreamId(), "org.wso2.apimgt.statistics.fault:1.0.0");
+        Assert.assertEquals(event.getCorrelationData().length, 0);
+
+        Object[] payload = event.getPayloadData();
+        JSONArray expected = new JSONArray(json.get(Constants.PAYLOAD_DATA).toString());
+        Assert.assertEquals(payload.length, expected.length());
+        for (int i = 0; i < payload.length; i++) {
+            Assert.assertEquals(payload[i], expected.get(i), "Attribute " + i + " differs");
+            Assert.assertEquals(payload[i].getClass(), expected.get(i).getClass(), "Type of attribute " + i);
+        }
+        Assert.assertEquals(event.getMetaData()[0], "clientType");
+    }
+
+    @Test
+    public void testRingBufferBounds() {
+        EventRingBuffer<Integer> buffer = new EventRingBuffer<>(5);
+        Assert.assertEquals(buffer.capacity(), 8);
+        for (int i = 0; i < 8; i++) {
+            Assert.assertTrue(buffer.offer(i));
+        }
+        Assert.assertFalse(buffer.offer(8), "Full buffer accepted an element");
+        Assert.assertEquals(buffer.size(), 8);
+        Integer[] batch = new Integer[3];
+        Assert.assertEquals(buffer.drainTo(batch, 3), 3);
+        Assert.assertEquals(batch, new Integer[] { 0, 1, 2 });
+        Assert.assertTrue(buffer.offer(8));
+        for (int i = 3; i <= 8; i++) {
+            Assert.assertEquals(buffer.poll(), Integer.valueOf(i));
+        }
+        Assert.assertNull(buffer.poll());
+        Assert.assertEquals(buffer.size(), 0);
+    }
+
+    @Test
+    public void testConcurrentProducersLoseNoEvents() throws InterruptedException {
+        final int producers = 8;
+        final int eventsPerProducer = 20000;
+        final List<Event> received = Collections.synchronizedList(new ArrayList<>());
+        AsyncEventPublisher publisher = new AsyncEventPublisher("test-publisher", received::add, 1024, 100,
+                OverflowPolicy.BLOCK, 1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < eventsPerProducer; i++) {
+                    publisher.publish(new Event());
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        publisher.shutdown(10000);
+        Assert.assertEquals(received.size(), producers * eventsPerProducer);
+        Assert.assertEquals(publisher.getPublishedCount(), producers * eventsPerProducer);
+        Assert.assertEquals(publisher.getDroppedCount(), 0);
+        Assert.assertEquals(publisher.getQueueDepth(), 0);
+        Assert.assertTrue(publisher.getBatchCount() > 0);
+    }
+
+    @Test
+    public void testDropAndSamplePolicies() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        AsyncEventPublisher dropping = new AsyncEventPublisher("test-drop", event -> awaitRelease(started, release),
+                16, 1, OverflowPolicy.DROP, 1);
+        dropping.publish(new Event());
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        int accepted = 0;
+        for (int i = 0; i < 100; i++) {
+            if (dropping.publish(new Event())) {
+                accepted++;
+            }
+        }
+        Assert.assertEquals(accepted, 16);
+        Assert.assertEquals(dropping.getDroppedCount(), 84);
+        Assert.assertEquals(dropping.getQueueDepth(), 16);
+        release.countDown();
+        dropping.shutdown(10000);
+        Assert.assertEquals(dropping.getPublishedCount(), 17);
+
+        final CountDownLatch sampleRelease = new CountDownLatch(1);
+        final CountDownLatch sampleStarted = new CountDownLatch(1);
+        AsyncEventPublisher sampling = new AsyncEventPublisher("test-sample",
+                event -> awaitRelease(sampleStarted, sampleRelease), 16, 1, OverflowPolicy.SAMPLE, 4);
+        sampling.publish(new Event());
+        Assert.assertTrue(sampleStarted.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 8; i++) {
+            Assert.assertTrue(sampling.publish(new Event()), "Events below the sampling threshold are kept");
+        }
+        for (int i = 0; i < 8; i++) {
+            sampling.publish(new Event());
+        }
+        Assert.assertEquals(sampling.getSampledOutCount(), 6);
+        Assert.assertEquals(sampling.getQueueDepth(), 10);
+        sampleRelease.countDown();
+        sampling.shutdown(10000);
+    }
+
+    @Test
+    public void testFailedEventsNotCountedAsPublished() throws InterruptedException {
+        final List<Event> received = Collections.synchronizedList(new ArrayList<>());
+        AsyncEventPublisher publisher = new AsyncEventPublisher("test-failure", event -> {
+            if (received.size() % 2 == 1) {
+                received.add(null);
+                throw new IllegalStateException("Receiver is not reachable");
+            }
+            received.add(event);
+        }, 16, 4, OverflowPolicy.BLOCK, 1);
+        for (int i = 0; i < 10; i++) {
+            publisher.publish(new Event());
+        }
+        publisher.shutdown(10000);
+        Assert.assertEquals(publisher.getAcceptedCount(), 10);
+        Assert.assertEquals(publisher.getPublishedCount(), 5);
+        Assert.assertEquals(publisher.getFailedCount(), 5);
+        Assert.assertTrue(publisher.getStatistics().contains("failed: 5"));
+    }
+
+    private static void awaitRelease(CountDownLatch started, CountDownLatch release) {
+        started.countDown();
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}